@@ -0,0 +1,25 @@
+package co.com.bancolombia.config;
+
+import co.com.bancolombia.usecase.efficiency.ParallelEmployeeRanking;
+import co.com.bancolombia.usecase.efficiency.TraceSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class EfficiencyRankingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ParallelEmployeeRanking parallelEmployeeRanking(
+            @Value("${traceability.ranking.parallelism:0}") int parallelism) {
+        // Kept off the common pool so a full-trace ranking cannot starve parallel streams elsewhere
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ParallelEmployeeRanking(workers);
+    }
+
+    // Empty until the first refresh; raw-trace analytics read the database until then
+    @Bean
+    public TraceSnapshot traceSnapshot() {
+        return new TraceSnapshot();
+    }
+}
@@ -0,0 +1,19 @@
+package co.com.bancolombia.config;
+
+import co.com.bancolombia.usecase.ordertraceability.IdempotencyFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdempotencyConfig {
+
+    // Starts empty: keys stored before this node started are found by the transition check or the unique constraint
+    @Bean
+    public IdempotencyFilter idempotencyFilter(
+            @Value("${traceability.idempotency.keys-per-generation:1000000}") int keysPerGeneration,
+            @Value("${traceability.idempotency.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${traceability.idempotency.recent-keys:10000}") int recentKeys) {
+        return new IdempotencyFilter(keysPerGeneration, falsePositiveRate, recentKeys);
+    }
+}
@@ -0,0 +1,180 @@
+package co.com.bancolombia.config;
+
+import co.com.bancolombia.model.pagination.KeysetPage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Times every use case and repository call and, for repositories, records how many rows came back.
+ * Tags are limited to the component, the method and the outcome so series stay bounded.
+ * Reactive results are timed from subscription to completion, not from assembly.
+ */
+class MethodMetricsInterceptor implements MethodInterceptor {
+
+    static final String USE_CASE_TIMER = "traceability.usecase";
+    static final String REPOSITORY_TIMER = "traceability.repository";
+    static final String REPOSITORY_ROWS = "traceability.repository.rows";
+
+    private static final long NOT_COUNTED = -1;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Map<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    MethodMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return invocation.proceed();
+        }
+        MethodMeters methodMeters = meters.computeIfAbsent(invocation.getMethod(),
+                method -> MethodMeters.of(registry, method, invocation.getThis()));
+        AtomicLong streamedRows = methodMeters.countsRows() ? countConsumedRows(invocation.getArguments()) : null;
+
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            methodMeters.failure(start, e);
+            throw e;
+        }
+
+        if (result instanceof Mono<?> mono) {
+            return timeMono(mono, methodMeters);
+        }
+        if (result instanceof Flux<?> flux) {
+            return timeFlux(flux, methodMeters);
+        }
+        long rows = streamedRows != null ? streamedRows.get() : rowsOf(result, invocation.getMethod());
+        methodMeters.success(start, rows);
+        return result;
+    }
+
+    private static Mono<?> timeMono(Mono<?> mono, MethodMeters methodMeters) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return mono
+                    .doOnSuccess(value -> methodMeters.success(start, value == null ? 0 : rowsOf(value, null)))
+                    .doOnError(error -> methodMeters.failure(start, error));
+        });
+    }
+
+    private static Flux<?> timeFlux(Flux<?> flux, MethodMeters methodMeters) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicLong rows = new AtomicLong();
+            return flux
+                    .doOnNext(value -> rows.incrementAndGet())
+                    .doOnComplete(() -> methodMeters.success(start, rows.get()))
+                    .doOnError(error -> methodMeters.failure(start, error));
+        });
+    }
+
+    // forEach* scans hand rows to a callback instead of returning them
+    @SuppressWarnings("unchecked")
+    private static AtomicLong countConsumedRows(Object[] arguments) {
+        AtomicLong rows = null;
+        for (int i = 0; i < arguments.length; i++) {
+            if (arguments[i] instanceof Consumer<?> consumer) {
+                rows = rows == null ? new AtomicLong() : rows;
+                arguments[i] = ((Consumer<Object>) consumer).andThen(countingConsumer(rows));
+            } else if (arguments[i] instanceof LongConsumer consumer) {
+                rows = rows == null ? new AtomicLong() : rows;
+                AtomicLong counter = rows;
+                arguments[i] = consumer.andThen(value -> counter.incrementAndGet());
+            }
+        }
+        return rows;
+    }
+
+    private static Consumer<Object> countingConsumer(AtomicLong rows) {
+        return value -> rows.incrementAndGet();
+    }
+
+    private static long rowsOf(Object result, Method method) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof KeysetPage<?> page) {
+            return page.getItems().size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number || result instanceof Boolean) {
+            return NOT_COUNTED;
+        }
+        if (result == null) {
+            return method == null || method.getReturnType() == void.class ? NOT_COUNTED : 0;
+        }
+        return 1;
+    }
+
+    private record MethodMeters(MeterRegistry registry, String timerName, String componentTag, String component,
+                                String methodName, Timer successTimer, DistributionSummary rows) {
+
+        static MethodMeters of(MeterRegistry registry, Method method, Object target) {
+            Class<?> gateway = MethodMetricsPostProcessor.gatewayDeclaring(method, target.getClass());
+            String methodName = method.getName();
+            if (gateway == null) {
+                String component = MethodMetricsPostProcessor.targetClass(target).getSimpleName();
+                return new MethodMeters(registry, USE_CASE_TIMER, "usecase", component, methodName,
+                        timer(registry, USE_CASE_TIMER, "usecase", component, methodName, "success", "none"), null);
+            }
+            String component = gateway.getSimpleName();
+            DistributionSummary rows = DistributionSummary.builder(REPOSITORY_ROWS)
+                    .description("Rows returned or streamed per repository call")
+                    .tag("repository", component)
+                    .tag("method", methodName)
+                    .register(registry);
+            return new MethodMeters(registry, REPOSITORY_TIMER, "repository", component, methodName,
+                    timer(registry, REPOSITORY_TIMER, "repository", component, methodName, "success", "none"), rows);
+        }
+
+        boolean countsRows() {
+            return rows != null;
+        }
+
+        void success(long start, long rowCount) {
+            successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (rows != null && rowCount != NOT_COUNTED) {
+                rows.record(rowCount);
+            }
+        }
+
+        void failure(long start, Throwable error) {
+            timer(registry, timerName, componentTag, component, methodName, "error", error.getClass().getSimpleName())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        private static Timer timer(MeterRegistry registry, String name, String componentTag, String component,
+                                   String methodName, String outcome, String exception) {
+            return Timer.builder(name)
+                    .tag(componentTag, component)
+                    .tag("method", methodName)
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package co.com.bancolombia.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Wraps use cases ({@code co.com.bancolombia.usecase..*UseCase}) and gateway repositories
+ * ({@code co.com.bancolombia.model..gateways.*Repository}) with {@link MethodMetricsInterceptor}.
+ * The domain stays free of Micrometer; beans already proxied for transactions get the advisor added
+ * in front of the existing chain so the timing includes commit time.
+ */
+class MethodMetricsPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    private static final String USE_CASE_PACKAGE = "co.com.bancolombia.usecase.";
+    private static final String MODEL_PACKAGE = "co.com.bancolombia.model.";
+    private static final String GATEWAYS_PACKAGE_SUFFIX = ".gateways";
+
+    MethodMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.advisor = new DefaultPointcutAdvisor(new MeteredMethodPointcut(), new MethodMetricsInterceptor(meterRegistry));
+        this.beforeExistingAdvisors = true;
+    }
+
+    static Class<?> targetClass(Object target) {
+        return ClassUtils.getUserClass(AopUtils.getTargetClass(target));
+    }
+
+    static boolean isUseCase(Class<?> type) {
+        return type.getName().startsWith(USE_CASE_PACKAGE) && type.getSimpleName().endsWith("UseCase");
+    }
+
+    /**
+     * @return the gateway repository interface that declares {@code method} on {@code type}, or null
+     */
+    static Class<?> gatewayDeclaring(Method method, Class<?> type) {
+        for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(ClassUtils.getUserClass(type))) {
+            if (isGatewayRepository(candidate)
+                    && ClassUtils.hasMethod(candidate, method.getName(), method.getParameterTypes())) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isGatewayRepository(Class<?> type) {
+        String packageName = type.getPackageName();
+        return packageName.startsWith(MODEL_PACKAGE) && packageName.endsWith(GATEWAYS_PACKAGE_SUFFIX)
+                && type.getSimpleName().endsWith("Repository");
+    }
+
+    private static final class MeteredMethodPointcut extends StaticMethodMatcherPointcut {
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            if (!Modifier.isPublic(method.getModifiers()) || method.getDeclaringClass() == Object.class) {
+                return false;
+            }
+            Class<?> userClass = ClassUtils.getUserClass(targetClass);
+            return isUseCase(userClass) || gatewayDeclaring(method, userClass) != null;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package co.com.bancolombia.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Static and lazily resolving the registry: post-processors are created before any meter registry exists
+    @Bean
+    static MethodMetricsPostProcessor methodMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new MethodMetricsPostProcessor(meterRegistry);
+    }
+}
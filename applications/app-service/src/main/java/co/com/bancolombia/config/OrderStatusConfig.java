@@ -0,0 +1,18 @@
+package co.com.bancolombia.config;
+
+import co.com.bancolombia.usecase.ordertraceability.OrderStatusCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OrderStatusConfig {
+
+    // Bounded by stripes x max-orders-per-stripe active orders; evicted ones are reloaded on their next write
+    @Bean
+    public OrderStatusCache orderStatusCache(
+            @Value("${traceability.transitions.stripes:64}") int stripes,
+            @Value("${traceability.transitions.max-orders-per-stripe:4096}") int maxOrdersPerStripe) {
+        return new OrderStatusCache(stripes, maxOrdersPerStripe);
+    }
+}
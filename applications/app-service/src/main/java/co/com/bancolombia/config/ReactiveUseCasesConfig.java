@@ -0,0 +1,19 @@
+package co.com.bancolombia.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+
+// Reactive use cases depend on the R2DBC gateways, which only exist when the app runs as a reactive web application
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ComponentScan(basePackages = "co.com.bancolombia.usecase",
+        includeFilters = {
+                @ComponentScan.Filter(type = FilterType.REGEX, pattern = ReactiveUseCasesConfig.REACTIVE_USE_CASES)
+        },
+        useDefaultFilters = false)
+public class ReactiveUseCasesConfig {
+
+    static final String REACTIVE_USE_CASES = "^.+\\.Reactive\\w+UseCase$";
+}
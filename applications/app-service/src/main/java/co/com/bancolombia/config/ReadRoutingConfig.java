@@ -0,0 +1,16 @@
+package co.com.bancolombia.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ReadRoutingConfig {
+
+    // Without a replica every route resolves to the single pool, so the scopes are not worth creating
+    @Bean
+    @ConditionalOnProperty(name = "adapters.jpa.replica.url")
+    static ReplicaReadPostProcessor replicaReadPostProcessor() {
+        return new ReplicaReadPostProcessor();
+    }
+}
@@ -0,0 +1,54 @@
+package co.com.bancolombia.config;
+
+import co.com.bancolombia.jpa.routing.ReadRouting;
+import co.com.bancolombia.usecase.efficiency.OrderEfficiencyUseCase;
+import co.com.bancolombia.usecase.ordertraceability.OrderTraceabilityUseCase;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Set;
+
+/**
+ * Runs the read use cases that tolerate replica lag inside a {@link ReadRouting} replica scope: every
+ * {@link OrderEfficiencyUseCase} query and the order history reads of {@link OrderTraceabilityUseCase}.
+ * Writes stay on the primary because the routing never leaves a read-write transaction.
+ */
+class ReplicaReadPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    private static final Set<String> HISTORY_READS = Set.of("getOrderHistory", "getOrderHistoryPage");
+
+    ReplicaReadPostProcessor() {
+        MethodInterceptor replicaScope = invocation -> {
+            ReadRouting.Route previous = ReadRouting.enter(ReadRouting.Route.REPLICA);
+            try {
+                return invocation.proceed();
+            } finally {
+                ReadRouting.exit(previous);
+            }
+        };
+        this.advisor = new DefaultPointcutAdvisor(new ReplicaReadPointcut(), replicaScope);
+        this.beforeExistingAdvisors = true;
+    }
+
+    static boolean readsFromReplica(Method method, Class<?> targetClass) {
+        if (!Modifier.isPublic(method.getModifiers()) || method.getDeclaringClass() == Object.class) {
+            return false;
+        }
+        Class<?> userClass = ClassUtils.getUserClass(targetClass);
+        return userClass == OrderEfficiencyUseCase.class
+                || userClass == OrderTraceabilityUseCase.class && HISTORY_READS.contains(method.getName());
+    }
+
+    private static final class ReplicaReadPointcut extends StaticMethodMatcherPointcut {
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return readsFromReplica(method, targetClass);
+        }
+    }
+}
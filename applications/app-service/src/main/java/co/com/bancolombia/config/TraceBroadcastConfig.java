@@ -0,0 +1,25 @@
+package co.com.bancolombia.config;
+
+import co.com.bancolombia.model.ordertrace.gateways.OrderTraceBroadcaster;
+import co.com.bancolombia.usecase.efficiency.TraceSnapshot;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.List;
+
+@Configuration
+public class TraceBroadcastConfig {
+
+    @Bean
+    public OrderTraceBroadcaster traceSnapshotAppender(TraceSnapshot traceSnapshot) {
+        return traceSnapshot::append;
+    }
+
+    // Use cases take a single broadcaster: this one hands each committed trace to every other one
+    @Bean
+    @Primary
+    public OrderTraceBroadcaster orderTraceBroadcaster(List<OrderTraceBroadcaster> broadcasters) {
+        return orderTrace -> broadcasters.forEach(broadcaster -> broadcaster.broadcast(orderTrace));
+    }
+}
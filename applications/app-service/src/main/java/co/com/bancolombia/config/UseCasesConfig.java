@@ -9,6 +9,9 @@ import org.springframework.context.annotation.FilterType;
         includeFilters = {
                 @ComponentScan.Filter(type = FilterType.REGEX, pattern = "^.+UseCase$")
         },
+        excludeFilters = {
+                @ComponentScan.Filter(type = FilterType.REGEX, pattern = ReactiveUseCasesConfig.REACTIVE_USE_CASES)
+        },
         useDefaultFilters = false)
 public class UseCasesConfig {
 }
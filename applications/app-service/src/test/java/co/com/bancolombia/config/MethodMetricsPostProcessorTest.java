@@ -0,0 +1,132 @@
+package co.com.bancolombia.config;
+
+import co.com.bancolombia.model.efficiency.gateways.EmployeeEfficiencySummaryRepository;
+import co.com.bancolombia.model.efficiency.gateways.OrderEfficiencySummaryRepository;
+import co.com.bancolombia.model.ordertrace.OrderStatusChange;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.model.ordertrace.gateways.OrderTraceRepository;
+import co.com.bancolombia.usecase.efficiency.OrderEfficiencyService;
+import co.com.bancolombia.usecase.efficiency.OrderEfficiencyUseCase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class MethodMetricsPostProcessorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MethodMetricsPostProcessor postProcessor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry));
+        postProcessor = new MethodMetricsPostProcessor(beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+
+    @Test
+    void useCaseCall_ShouldBeTimedPerUseCaseAndMethod() {
+        // Arrange
+        OrderEfficiencySummaryRepository orderSummaries = mock(OrderEfficiencySummaryRepository.class);
+        when(orderSummaries.findAllCompleted()).thenReturn(Collections.emptyList());
+        OrderEfficiencyService service = (OrderEfficiencyService) postProcessor.postProcessAfterInitialization(
+                new OrderEfficiencyUseCase(orderSummaries, mock(EmployeeEfficiencySummaryRepository.class)),
+                "orderEfficiencyUseCase");
+
+        // Act
+        service.getAllOrdersEfficiency();
+
+        // Assert
+        assertEquals(1L, meterRegistry.get(MethodMetricsInterceptor.USE_CASE_TIMER)
+                .tag("usecase", "OrderEfficiencyUseCase")
+                .tag("method", "getAllOrdersEfficiency")
+                .tag("outcome", "success")
+                .timer().count());
+    }
+
+    @Test
+    void repositoryCall_ShouldRecordLatencyAndReturnedRows() {
+        // Arrange
+        OrderTraceRepository target = mock(OrderTraceRepository.class);
+        when(target.findByOrderId(1L)).thenReturn(List.of(new OrderTrace(), new OrderTrace()));
+        OrderTraceRepository repository = (OrderTraceRepository) postProcessor.postProcessAfterInitialization(target,
+                "orderTraceRepository");
+
+        // Act
+        repository.findByOrderId(1L);
+
+        // Assert
+        assertEquals(1L, meterRegistry.get(MethodMetricsInterceptor.REPOSITORY_TIMER)
+                .tag("repository", "OrderTraceRepository")
+                .tag("method", "findByOrderId")
+                .timer().count());
+        assertEquals(2.0, meterRegistry.get(MethodMetricsInterceptor.REPOSITORY_ROWS)
+                .tag("method", "findByOrderId")
+                .summary().totalAmount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void repositoryScan_ShouldCountRowsHandedToTheConsumer() {
+        // Arrange
+        OrderTraceRepository target = mock(OrderTraceRepository.class);
+        doAnswer(invocation -> {
+            Consumer<OrderStatusChange> consumer = invocation.getArgument(0);
+            for (long orderId = 1; orderId <= 3; orderId++) {
+                consumer.accept(OrderStatusChange.builder().orderId(orderId).build());
+            }
+            return null;
+        }).when(target).forEachStatusChange(any(Consumer.class));
+        OrderTraceRepository repository = (OrderTraceRepository) postProcessor.postProcessAfterInitialization(target,
+                "orderTraceRepository");
+        List<Long> seen = new ArrayList<>();
+
+        // Act
+        repository.forEachStatusChange(change -> seen.add(change.getOrderId()));
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L), seen);
+        assertEquals(3.0, meterRegistry.get(MethodMetricsInterceptor.REPOSITORY_ROWS)
+                .tag("method", "forEachStatusChange")
+                .summary().totalAmount());
+    }
+
+    @Test
+    void failedCall_ShouldBeTimedWithErrorOutcomeAndRethrown() {
+        // Arrange
+        OrderTraceRepository target = mock(OrderTraceRepository.class);
+        when(target.findByOrderId(1L)).thenThrow(new IllegalStateException("down"));
+        OrderTraceRepository repository = (OrderTraceRepository) postProcessor.postProcessAfterInitialization(target,
+                "orderTraceRepository");
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> repository.findByOrderId(1L));
+        assertEquals(1L, meterRegistry.get(MethodMetricsInterceptor.REPOSITORY_TIMER)
+                .tag("outcome", "error")
+                .tag("exception", "IllegalStateException")
+                .timer().count());
+    }
+
+    @Test
+    void unrelatedBean_ShouldNotBeProxied() {
+        // Arrange
+        Object bean = new Object();
+
+        // Act
+        Object result = postProcessor.postProcessAfterInitialization(bean, "other");
+
+        // Assert
+        assertSame(bean, result);
+    }
+}
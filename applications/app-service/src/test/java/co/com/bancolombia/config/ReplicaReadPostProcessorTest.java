@@ -0,0 +1,50 @@
+package co.com.bancolombia.config;
+
+import co.com.bancolombia.jpa.routing.ReadRouting;
+import co.com.bancolombia.model.efficiency.gateways.EmployeeEfficiencySummaryRepository;
+import co.com.bancolombia.model.efficiency.gateways.OrderEfficiencySummaryRepository;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.usecase.efficiency.OrderEfficiencyService;
+import co.com.bancolombia.usecase.efficiency.OrderEfficiencyUseCase;
+import co.com.bancolombia.usecase.ordertraceability.OrderTraceabilityUseCase;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaReadPostProcessorTest {
+
+    private final ReplicaReadPostProcessor postProcessor = new ReplicaReadPostProcessor();
+
+    @Test
+    void efficiencyQuery_ShouldRunInReplicaScope() {
+        // Arrange
+        List<ReadRouting.Route> routes = new ArrayList<>();
+        OrderEfficiencySummaryRepository orderSummaries = mock(OrderEfficiencySummaryRepository.class);
+        when(orderSummaries.findAllCompleted()).thenAnswer(invocation -> {
+            routes.add(ReadRouting.current());
+            return List.of();
+        });
+        OrderEfficiencyService service = (OrderEfficiencyService) postProcessor.postProcessAfterInitialization(
+                new OrderEfficiencyUseCase(orderSummaries, mock(EmployeeEfficiencySummaryRepository.class)),
+                "orderEfficiencyUseCase");
+
+        // Act
+        service.getAllOrdersEfficiency();
+
+        // Assert
+        assertEquals(List.of(ReadRouting.Route.REPLICA), routes);
+        assertNull(ReadRouting.current());
+    }
+
+    @Test
+    void onlyHistoryReadsOfTraceabilityUseCase_ShouldBeRouted() throws NoSuchMethodException {
+        assertTrue(ReplicaReadPostProcessor.readsFromReplica(
+                OrderTraceabilityUseCase.class.getMethod("getOrderHistory", Long.class), OrderTraceabilityUseCase.class));
+        assertFalse(ReplicaReadPostProcessor.readsFromReplica(
+                OrderTraceabilityUseCase.class.getMethod("createTrace", OrderTrace.class), OrderTraceabilityUseCase.class));
+    }
+}
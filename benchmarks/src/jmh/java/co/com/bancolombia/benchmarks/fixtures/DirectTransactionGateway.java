@@ -0,0 +1,13 @@
+package co.com.bancolombia.benchmarks.fixtures;
+
+import co.com.bancolombia.model.transaction.gateways.TransactionGateway;
+
+import java.util.function.Supplier;
+
+public class DirectTransactionGateway implements TransactionGateway {
+
+    @Override
+    public <T> T execute(Supplier<T> action) {
+        return action.get();
+    }
+}
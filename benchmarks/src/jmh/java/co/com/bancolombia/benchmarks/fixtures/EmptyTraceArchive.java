@@ -0,0 +1,26 @@
+package co.com.bancolombia.benchmarks.fixtures;
+
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.model.ordertrace.gateways.TraceArchiveRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+public class EmptyTraceArchive implements TraceArchiveRepository {
+
+    @Override
+    public void append(List<OrderTrace> orderTraces) {
+        // Nothing is archived in benchmarks
+    }
+
+    @Override
+    public List<OrderTrace> findByOrderId(Long orderId) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<OrderTrace> findByOrderIdAfter(Long orderId, LocalDateTime afterTimestamp, Long afterId, int limit) {
+        return Collections.emptyList();
+    }
+}
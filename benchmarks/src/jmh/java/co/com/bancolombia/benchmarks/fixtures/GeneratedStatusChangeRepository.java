@@ -0,0 +1,59 @@
+package co.com.bancolombia.benchmarks.fixtures;
+
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.OrderStatusChange;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Stands in for the database cursor behind {@code forEachStatusChange}: rows are built as they are read, the
+ * way the JPA adapter maps each fetched row, so nothing but the consumer's own state stays reachable.
+ * With {@code materialized} every row is collected into a list before the first one is handed over, which is
+ * what reading through {@code findAll} did.
+ */
+public class GeneratedStatusChangeRepository extends InMemoryOrderTraceRepository {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final OrderStatus[] LIFECYCLE = {OrderStatus.PENDING, OrderStatus.IN_PREPARATION,
+            OrderStatus.READY, OrderStatus.DELIVERED};
+    private static final long SEED = 42L;
+
+    private final int rows;
+    private final int employees;
+    private final boolean materialized;
+
+    public GeneratedStatusChangeRepository(int rows, int employees, boolean materialized) {
+        this.rows = rows;
+        this.employees = employees;
+        this.materialized = materialized;
+    }
+
+    @Override
+    public void forEachStatusChange(Consumer<OrderStatusChange> consumer) {
+        if (!materialized) {
+            generate(consumer);
+            return;
+        }
+        List<OrderStatusChange> changes = new ArrayList<>(rows);
+        generate(changes::add);
+        changes.forEach(consumer);
+    }
+
+    private void generate(Consumer<OrderStatusChange> consumer) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        long orders = rows / LIFECYCLE.length;
+        long id = 1;
+        for (long orderId = 1; orderId <= orders; orderId++) {
+            long employeeId = 1 + random.nextInt(employees);
+            long secondsPerStep = 60 + random.nextInt(1800);
+            for (int step = 0; step < LIFECYCLE.length; step++) {
+                LocalDateTime timestamp = BASE.plusSeconds(orderId * 30 + step * secondsPerStep);
+                consumer.accept(new OrderStatusChange(id++, orderId, employeeId, LIFECYCLE[step], timestamp));
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package co.com.bancolombia.benchmarks.fixtures;
+
+import co.com.bancolombia.model.efficiency.EmployeeEfficiencySummary;
+import co.com.bancolombia.model.efficiency.gateways.EmployeeEfficiencySummaryRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class InMemoryEmployeeEfficiencySummaryRepository implements EmployeeEfficiencySummaryRepository {
+
+    private final Map<Long, EmployeeEfficiencySummary> summaries = new HashMap<>();
+
+    @Override
+    public void addDelivery(Long employeeId, String employeeEmail, long durationInMinutes) {
+        EmployeeEfficiencySummary summary = summaries.computeIfAbsent(employeeId,
+                id -> EmployeeEfficiencySummary.builder()
+                        .employeeId(id)
+                        .employeeEmail(employeeEmail)
+                        .totalDurationInMinutes(0L)
+                        .deliveredOrders(0L)
+                        .build());
+        summary.setTotalDurationInMinutes(summary.getTotalDurationInMinutes() + durationInMinutes);
+        summary.setDeliveredOrders(summary.getDeliveredOrders() + 1);
+    }
+
+    @Override
+    public void removeDelivery(Long employeeId, long durationInMinutes) {
+        EmployeeEfficiencySummary summary = summaries.get(employeeId);
+        if (summary != null) {
+            summary.setTotalDurationInMinutes(summary.getTotalDurationInMinutes() - durationInMinutes);
+            summary.setDeliveredOrders(summary.getDeliveredOrders() - 1);
+        }
+    }
+
+    @Override
+    public EmployeeEfficiencySummary findByEmployeeId(Long employeeId) {
+        return summaries.get(employeeId);
+    }
+
+    @Override
+    public List<EmployeeEfficiencySummary> findAll() {
+        return new ArrayList<>(summaries.values());
+    }
+
+    @Override
+    public long rebuildFromOrderSummaries() {
+        return summaries.size();
+    }
+}
@@ -0,0 +1,109 @@
+package co.com.bancolombia.benchmarks.fixtures;
+
+import co.com.bancolombia.model.efficiency.EmployeeEfficiencySummary;
+import co.com.bancolombia.model.efficiency.OrderEfficiencySummary;
+import co.com.bancolombia.model.efficiency.TimeWindow;
+import co.com.bancolombia.model.efficiency.gateways.OrderEfficiencySummaryRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+public class InMemoryOrderEfficiencySummaryRepository implements OrderEfficiencySummaryRepository {
+
+    private final NavigableMap<Long, OrderEfficiencySummary> summaries = new TreeMap<>();
+
+    @Override
+    public OrderEfficiencySummary save(OrderEfficiencySummary summary) {
+        summaries.put(summary.getOrderId(), summary);
+        return summary;
+    }
+
+    @Override
+    public OrderEfficiencySummary findByOrderId(Long orderId) {
+        return summaries.get(orderId);
+    }
+
+    @Override
+    public OrderEfficiencySummary findByOrderIdForUpdate(Long orderId) {
+        // Single-threaded benchmarks: nothing to lock against
+        return summaries.get(orderId);
+    }
+
+    @Override
+    public List<OrderEfficiencySummary> findAll() {
+        return new ArrayList<>(summaries.values());
+    }
+
+    @Override
+    public List<OrderEfficiencySummary> findAllCompleted() {
+        return summaries.values().stream()
+                .filter(InMemoryOrderEfficiencySummaryRepository::isCompleted)
+                .toList();
+    }
+
+    @Override
+    public List<OrderEfficiencySummary> findCompletedAfter(Long afterOrderId, int limit) {
+        NavigableMap<Long, OrderEfficiencySummary> tail = afterOrderId != null
+                ? summaries.tailMap(afterOrderId, false)
+                : summaries;
+        return tail.values().stream()
+                .filter(InMemoryOrderEfficiencySummaryRepository::isCompleted)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<OrderEfficiencySummary> findCompletedWithin(TimeWindow window, Long afterOrderId, int limit) {
+        return findCompletedAfter(afterOrderId, Integer.MAX_VALUE).stream()
+                .filter(summary -> window.contains(summary.getDeliveredAt()))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<EmployeeEfficiencySummary> summarizeEmployees(TimeWindow window) {
+        return summaries.values().stream()
+                .filter(summary -> isCompleted(summary) && summary.getEmployeeId() != null)
+                .filter(summary -> window.contains(summary.getDeliveredAt()))
+                .collect(Collectors.groupingBy(OrderEfficiencySummary::getEmployeeId, TreeMap::new, Collectors.toList()))
+                .entrySet().stream()
+                .map(entry -> EmployeeEfficiencySummary.builder()
+                        .employeeId(entry.getKey())
+                        .totalDurationInMinutes(entry.getValue().stream()
+                                .mapToLong(OrderEfficiencySummary::getDurationInMinutes)
+                                .sum())
+                        .deliveredOrders((long) entry.getValue().size())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public EmployeeEfficiencySummary summarizeEmployee(Long employeeId, TimeWindow window) {
+        return summarizeEmployees(window).stream()
+                .filter(summary -> employeeId.equals(summary.getEmployeeId()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Override
+    public void forEachCompletedDuration(TimeWindow window, Long employeeId, LongConsumer consumer) {
+        summaries.values().stream()
+                .filter(InMemoryOrderEfficiencySummaryRepository::isCompleted)
+                .filter(summary -> employeeId == null || employeeId.equals(summary.getEmployeeId()))
+                .filter(summary -> !window.isBounded() || window.contains(summary.getDeliveredAt()))
+                .forEach(summary -> consumer.accept(summary.getDurationInMinutes()));
+    }
+
+    @Override
+    public long rebuildFromTraces() {
+        return summaries.size();
+    }
+
+    private static boolean isCompleted(OrderEfficiencySummary summary) {
+        return summary.getDurationInMinutes() != null && summary.getDurationInMinutes() >= 0;
+    }
+}
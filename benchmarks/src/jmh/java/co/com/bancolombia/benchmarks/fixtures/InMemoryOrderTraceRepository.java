@@ -0,0 +1,150 @@
+package co.com.bancolombia.benchmarks.fixtures;
+
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.DuplicateTraceException;
+import co.com.bancolombia.model.ordertrace.OrderStatusChange;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.model.ordertrace.gateways.OrderTraceRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public class InMemoryOrderTraceRepository implements OrderTraceRepository {
+
+    private static final Comparator<OrderTrace> KEYSET_ORDER = Comparator.comparing(OrderTrace::getTimestamp)
+            .thenComparing(OrderTrace::getId);
+
+    private final List<OrderTrace> traces = new ArrayList<>();
+    private final Map<Long, List<OrderTrace>> tracesByOrder = new HashMap<>();
+    private final Map<String, OrderTrace> tracesByKey = new HashMap<>();
+    private long nextId = 1;
+
+    @Override
+    public OrderTrace save(OrderTrace orderTrace) {
+        if (orderTrace.getIdempotencyKey() != null && tracesByKey.containsKey(orderTrace.getIdempotencyKey())) {
+            throw new DuplicateTraceException(orderTrace.getIdempotencyKey(), null);
+        }
+        OrderTrace saved = orderTrace.toBuilder().id(nextId++).build();
+        traces.add(saved);
+        tracesByOrder.computeIfAbsent(saved.getOrderId(), orderId -> new ArrayList<>()).add(saved);
+        if (saved.getIdempotencyKey() != null) {
+            tracesByKey.put(saved.getIdempotencyKey(), saved);
+        }
+        return saved;
+    }
+
+    @Override
+    public List<OrderTrace> saveAll(List<OrderTrace> orderTraces) {
+        return orderTraces.stream().map(this::save).toList();
+    }
+
+    @Override
+    public OrderTrace findByIdempotencyKey(String idempotencyKey) {
+        return tracesByKey.get(idempotencyKey);
+    }
+
+    @Override
+    public OrderStatus findLastStatus(Long orderId) {
+        return tracesByOrder.getOrDefault(orderId, List.of()).stream()
+                .max(KEYSET_ORDER)
+                .map(OrderTrace::getNewStatus)
+                .orElse(null);
+    }
+
+    @Override
+    public List<OrderTrace> findByOrderId(Long orderId) {
+        return List.copyOf(tracesByOrder.getOrDefault(orderId, List.of()));
+    }
+
+    @Override
+    public List<OrderTrace> findByOrderIdAfter(Long orderId, LocalDateTime afterTimestamp, Long afterId, int limit) {
+        return tracesByOrder.getOrDefault(orderId, List.of()).stream()
+                .filter(trace -> afterTimestamp == null || afterId == null
+                        || KEYSET_ORDER.compare(trace, OrderTrace.builder().timestamp(afterTimestamp).id(afterId).build()) > 0)
+                .sorted(KEYSET_ORDER)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<OrderTrace> findAll() {
+        return List.copyOf(traces);
+    }
+
+    @Override
+    public List<OrderTrace> findByEmployeeId(Long employeeId) {
+        return traces.stream()
+                .filter(trace -> employeeId.equals(trace.getEmployeeId()))
+                .toList();
+    }
+
+    @Override
+    public List<OrderStatusChange> findStatusChangesByEmployeeId(Long employeeId) {
+        return traces.stream()
+                .filter(trace -> employeeId.equals(trace.getEmployeeId()))
+                .map(InMemoryOrderTraceRepository::toStatusChange)
+                .toList();
+    }
+
+    @Override
+    public void forEachStatusChange(Consumer<OrderStatusChange> consumer) {
+        traces.forEach(trace -> consumer.accept(toStatusChange(trace)));
+    }
+
+    @Override
+    public List<Long> findClosedOrderIdsBefore(LocalDateTime cutoff, Long afterOrderId, int limit) {
+        return tracesByOrder.entrySet().stream()
+                .filter(entry -> entry.getKey() > afterOrderId)
+                .filter(entry -> entry.getValue().stream().allMatch(trace -> trace.getTimestamp().isBefore(cutoff)))
+                .filter(entry -> entry.getValue().stream().anyMatch(trace -> trace.getNewStatus().isTerminal()))
+                .map(Map.Entry::getKey)
+                .sorted()
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<OrderTrace> findByOrderIds(List<Long> orderIds) {
+        return orderIds.stream()
+                .sorted()
+                .flatMap(orderId -> tracesByOrder.getOrDefault(orderId, List.of()).stream().sorted(KEYSET_ORDER))
+                .toList();
+    }
+
+    @Override
+    public int deleteByOrderIds(List<Long> orderIds, LocalDateTime cutoff) {
+        int before = traces.size();
+        traces.removeIf(trace -> orderIds.contains(trace.getOrderId()) && trace.getTimestamp().isBefore(cutoff));
+        orderIds.forEach(orderId -> tracesByOrder.computeIfPresent(orderId, (id, orderTraces) -> {
+            orderTraces.removeIf(trace -> trace.getTimestamp().isBefore(cutoff));
+            return orderTraces.isEmpty() ? null : orderTraces;
+        }));
+        return before - traces.size();
+    }
+
+    public int size() {
+        return traces.size();
+    }
+
+    // Drops everything saved after the fixture was loaded so write benchmarks do not grow without bound
+    public void truncate(int size) {
+        for (int i = traces.size() - 1; i >= size; i--) {
+            OrderTrace removed = traces.remove(i);
+            List<OrderTrace> orderTraces = tracesByOrder.get(removed.getOrderId());
+            orderTraces.remove(orderTraces.size() - 1);
+            if (removed.getIdempotencyKey() != null) {
+                tracesByKey.remove(removed.getIdempotencyKey());
+            }
+        }
+    }
+
+    private static OrderStatusChange toStatusChange(OrderTrace trace) {
+        return new OrderStatusChange(trace.getId(), trace.getOrderId(), trace.getEmployeeId(), trace.getNewStatus(),
+                trace.getTimestamp());
+    }
+}
@@ -0,0 +1,12 @@
+package co.com.bancolombia.benchmarks.fixtures;
+
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.model.ordertrace.gateways.OrderTraceBroadcaster;
+
+public class NoOpOrderTraceBroadcaster implements OrderTraceBroadcaster {
+
+    @Override
+    public void broadcast(OrderTrace orderTrace) {
+        // No subscribers in benchmarks
+    }
+}
@@ -0,0 +1,106 @@
+package co.com.bancolombia.benchmarks.fixtures;
+
+import co.com.bancolombia.model.efficiency.OrderEfficiencySummary;
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic data set: every order goes PENDING -> IN_PREPARATION -> READY -> DELIVERED,
+ * so {@code traces / 4} orders are spread over {@code employees} employees and {@code clients} clients.
+ * Summaries are filled the same way createTrace would, without replaying the use case.
+ */
+public class TraceFixture {
+
+    public static final int TRACES_PER_ORDER = 4;
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final long SEED = 42L;
+
+    private final InMemoryOrderTraceRepository traceRepository = new InMemoryOrderTraceRepository();
+    private final InMemoryOrderEfficiencySummaryRepository orderSummaryRepository =
+            new InMemoryOrderEfficiencySummaryRepository();
+    private final InMemoryEmployeeEfficiencySummaryRepository employeeSummaryRepository =
+            new InMemoryEmployeeEfficiencySummaryRepository();
+
+    private final int orders;
+    private final int employees;
+
+    public TraceFixture(int traces, int employees, int clients) {
+        this.orders = traces / TRACES_PER_ORDER;
+        this.employees = employees;
+
+        String[] employeeEmails = emails("employee", employees);
+        String[] clientEmails = emails("client", clients);
+        SplittableRandom random = new SplittableRandom(SEED);
+
+        for (long orderId = 1; orderId <= orders; orderId++) {
+            long employeeId = 1 + random.nextInt(employees);
+            long clientId = 1 + random.nextInt(clients);
+            long duration = 5 + random.nextInt(115);
+            LocalDateTime pendingAt = BASE.plusSeconds(orderId * 30);
+            LocalDateTime deliveredAt = pendingAt.plusMinutes(duration);
+
+            OrderTrace template = OrderTrace.builder()
+                    .orderId(orderId)
+                    .clientId(clientId)
+                    .clientEmail(clientEmails[(int) clientId - 1])
+                    .employeeId(employeeId)
+                    .employeeEmail(employeeEmails[(int) employeeId - 1])
+                    .build();
+
+            traceRepository.save(step(template, null, OrderStatus.PENDING, pendingAt));
+            traceRepository.save(step(template, OrderStatus.PENDING, OrderStatus.IN_PREPARATION, pendingAt.plusMinutes(1)));
+            traceRepository.save(step(template, OrderStatus.IN_PREPARATION, OrderStatus.READY, deliveredAt.minusMinutes(1)));
+            traceRepository.save(step(template, OrderStatus.READY, OrderStatus.DELIVERED, deliveredAt));
+
+            orderSummaryRepository.save(OrderEfficiencySummary.builder()
+                    .orderId(orderId)
+                    .pendingAt(pendingAt)
+                    .deliveredAt(deliveredAt)
+                    .durationInMinutes(duration)
+                    .employeeId(employeeId)
+                    .build());
+            employeeSummaryRepository.addDelivery(employeeId, employeeEmails[(int) employeeId - 1], duration);
+        }
+    }
+
+    private static OrderTrace step(OrderTrace template, OrderStatus previous, OrderStatus next,
+                                   LocalDateTime timestamp) {
+        return template.toBuilder()
+                .previousStatus(previous)
+                .newStatus(next)
+                .timestamp(timestamp)
+                .build();
+    }
+
+    private static String[] emails(String prefix, int count) {
+        String[] emails = new String[count];
+        for (int i = 0; i < count; i++) {
+            emails[i] = prefix + (i + 1) + "@plazoleta.com";
+        }
+        return emails;
+    }
+
+    public InMemoryOrderTraceRepository traceRepository() {
+        return traceRepository;
+    }
+
+    public InMemoryOrderEfficiencySummaryRepository orderSummaryRepository() {
+        return orderSummaryRepository;
+    }
+
+    public InMemoryEmployeeEfficiencySummaryRepository employeeSummaryRepository() {
+        return employeeSummaryRepository;
+    }
+
+    public int orders() {
+        return orders;
+    }
+
+    public int employees() {
+        return employees;
+    }
+}
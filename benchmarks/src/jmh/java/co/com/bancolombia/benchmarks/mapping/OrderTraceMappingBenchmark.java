@@ -0,0 +1,86 @@
+package co.com.bancolombia.benchmarks.mapping;
+
+import co.com.bancolombia.jpa.entity.ordertrace.OrderTraceEntity;
+import co.com.bancolombia.jpa.entity.ordertrace.OrderTraceEntityMapper;
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.reactivecommons.utils.ObjectMapper;
+import org.reactivecommons.utils.ObjectMapperImp;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row cost of the entity/model conversions done by OrderTraceJPARepositoryAdapter:
+ * the reflective ObjectMapper it used before against the generated OrderTraceEntityMapper.
+ * Run with the gc profiler (configured in build.gradle) to compare gc.alloc.rate.norm per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderTraceMappingBenchmark {
+
+    private static final int ROWS = 1024;
+
+    private final ObjectMapper reflectiveMapper = new ObjectMapperImp();
+    private final OrderTraceEntityMapper generatedMapper = Mappers.getMapper(OrderTraceEntityMapper.class);
+
+    private OrderTraceEntity[] entities;
+    private OrderTrace[] models;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        entities = new OrderTraceEntity[ROWS];
+        models = new OrderTrace[ROWS];
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        OrderStatus[] statuses = OrderStatus.values();
+        for (int i = 0; i < ROWS; i++) {
+            entities[i] = OrderTraceEntity.builder()
+                    .id((long) i)
+                    .orderId((long) i / 5)
+                    .clientId((long) i % 97)
+                    .clientEmail("client" + i + "@test.com")
+                    .previousStatus(statuses[i % statuses.length])
+                    .newStatus(statuses[(i + 1) % statuses.length])
+                    .employeeId((long) i % 13)
+                    .employeeEmail("employee" + i % 13 + "@test.com")
+                    .timestamp(base.plusMinutes(i))
+                    .build();
+            models[i] = generatedMapper.toModel(entities[i]);
+        }
+    }
+
+    private int nextRow() {
+        next = (next + 1) & (ROWS - 1);
+        return next;
+    }
+
+    @Benchmark
+    public OrderTrace entityToModelReflective() {
+        return reflectiveMapper.map(entities[nextRow()], OrderTrace.class);
+    }
+
+    @Benchmark
+    public OrderTrace entityToModelGenerated() {
+        return generatedMapper.toModel(entities[nextRow()]);
+    }
+
+    @Benchmark
+    public OrderTraceEntity modelToEntityReflective() {
+        return reflectiveMapper.map(models[nextRow()], OrderTraceEntity.class);
+    }
+
+    @Benchmark
+    public OrderTraceEntity modelToEntityGenerated() {
+        return generatedMapper.toEntity(models[nextRow()]);
+    }
+}
@@ -0,0 +1,158 @@
+package co.com.bancolombia.benchmarks.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trace inserts per second with IDENTITY ids, which Hibernate cannot batch because it needs each generated key
+ * back before the next row, versus the pooled TABLE generator {@code OrderTraceEntity} uses (allocationSize 50),
+ * written as JDBC batches of {@code jdbcBatchSize} rows. Each operation is one transaction of
+ * {@value #ROWS_PER_TRANSACTION} inserts, the group-commit batch size.
+ * The default H2 in-memory database only shows Hibernate's side of it; the network round trips that dominate
+ * on MySQL need {@code -PjmhParams="jdbcUrl=jdbc:mysql://host/scratch_db?user=...&password=...&rewriteBatchedStatements=true"}.
+ * Tables are created and dropped by the benchmark, so point it at a scratch schema.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(TraceIdInsertBenchmark.ROWS_PER_TRANSACTION)
+public class TraceIdInsertBenchmark {
+
+    static final int ROWS_PER_TRANSACTION = 200;
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Param({"identity", "pooled"})
+    private String ids;
+
+    @Param({"50"})
+    private int jdbcBatchSize;
+
+    @Param({"jdbc:h2:mem:trace_ids;MODE=MySQL;DB_CLOSE_DELAY=-1"})
+    private String jdbcUrl;
+
+    private SessionFactory sessionFactory;
+    private long nextOrderId;
+
+    @Setup
+    public void setUp() {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, jdbcUrl)
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.KEYWORD_AUTO_QUOTING_ENABLED, true)
+                // Same batching settings JpaConfig applies to the application's persistence unit
+                .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, jdbcBatchSize)
+                .applySetting(AvailableSettings.ORDER_INSERTS, true)
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(IdentityTrace.class)
+                .addAnnotatedClass(PooledTrace.class)
+                .buildMetadata()
+                .buildSessionFactory();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public void insertTraces() {
+        boolean pooled = "pooled".equals(ids);
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+                long orderId = ++nextOrderId;
+                LocalDateTime timestamp = BASE.plusSeconds(orderId);
+                session.persist(pooled ? new PooledTrace(orderId, timestamp) : new IdentityTrace(orderId, timestamp));
+            }
+        });
+    }
+
+    @Entity
+    @Table(name = "bench_identity_traces")
+    public static class IdentityTrace {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        @Column(name = "order_id", nullable = false)
+        private Long orderId;
+
+        @Column(name = "client_email", nullable = false)
+        private String clientEmail;
+
+        @Column(name = "new_status", nullable = false)
+        private String newStatus;
+
+        @Column(name = "timestamp", nullable = false)
+        private LocalDateTime timestamp;
+
+        protected IdentityTrace() {
+        }
+
+        IdentityTrace(long orderId, LocalDateTime timestamp) {
+            this.orderId = orderId;
+            this.clientEmail = "client" + (orderId % 1000) + "@plazoleta.com";
+            this.newStatus = "PENDING";
+            this.timestamp = timestamp;
+        }
+    }
+
+    @Entity
+    @Table(name = "bench_pooled_traces")
+    public static class PooledTrace {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.TABLE, generator = "bench_pooled_traces_id")
+        @TableGenerator(name = "bench_pooled_traces_id", table = "bench_id_generators",
+                pkColumnName = "generator_name", valueColumnName = "next_val",
+                pkColumnValue = "bench_pooled_traces", allocationSize = 50)
+        private Long id;
+
+        @Column(name = "order_id", nullable = false)
+        private Long orderId;
+
+        @Column(name = "client_email", nullable = false)
+        private String clientEmail;
+
+        @Column(name = "new_status", nullable = false)
+        private String newStatus;
+
+        @Column(name = "timestamp", nullable = false)
+        private LocalDateTime timestamp;
+
+        protected PooledTrace() {
+        }
+
+        PooledTrace(long orderId, LocalDateTime timestamp) {
+            this.orderId = orderId;
+            this.clientEmail = "client" + (orderId % 1000) + "@plazoleta.com";
+            this.newStatus = "PENDING";
+            this.timestamp = timestamp;
+        }
+    }
+}
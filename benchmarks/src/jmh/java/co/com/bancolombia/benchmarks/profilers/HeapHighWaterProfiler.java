@@ -0,0 +1,98 @@
+package co.com.bancolombia.benchmarks.profilers;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Heap high-water marks per iteration, read from GC notifications: {@code heap.used.max} is the fullest the
+ * heap got before a collection and {@code heap.live.max} the most that survived one, i.e. what the benchmark
+ * kept reachable. Without a collection in the iteration both fall back to the heap in use at its end.
+ */
+public class HeapHighWaterProfiler implements InternalProfiler {
+
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+    private final Set<String> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .map(MemoryPoolMXBean::getName)
+            .collect(Collectors.toSet());
+    private final AtomicLong maxUsed = new AtomicLong();
+    private final AtomicLong maxLive = new AtomicLong();
+    private final NotificationListener listener = this::onCollection;
+
+    @Override
+    public String getDescription() {
+        return "Peak heap in use and peak heap surviving a collection, per iteration";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        maxUsed.set(0);
+        maxLive.set(0);
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(listener, null, null);
+            }
+        }
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams,
+                                                       IterationResult result) {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                try {
+                    emitter.removeNotificationListener(listener);
+                } catch (ListenerNotFoundException e) {
+                    // Not registered on this collector
+                }
+            }
+        }
+        long inUse = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        long used = Math.max(maxUsed.get(), inUse);
+        long live = maxLive.get() > 0 ? maxLive.get() : inUse;
+        return List.of(
+                new ScalarResult("heap.used.max", used / BYTES_PER_MB, "MB", AggregationPolicy.MAX),
+                new ScalarResult("heap.live.max", live / BYTES_PER_MB, "MB", AggregationPolicy.MAX));
+    }
+
+    private void onCollection(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        maxUsed.accumulateAndGet(heapUsed(info.getGcInfo().getMemoryUsageBeforeGc()), Math::max);
+        maxLive.accumulateAndGet(heapUsed(info.getGcInfo().getMemoryUsageAfterGc()), Math::max);
+    }
+
+    private long heapUsed(Map<String, MemoryUsage> usageByPool) {
+        return usageByPool.entrySet().stream()
+                .filter(entry -> heapPools.contains(entry.getKey()))
+                .mapToLong(entry -> entry.getValue().getUsed())
+                .sum();
+    }
+}
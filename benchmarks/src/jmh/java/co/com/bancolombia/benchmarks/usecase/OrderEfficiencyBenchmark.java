@@ -0,0 +1,69 @@
+package co.com.bancolombia.benchmarks.usecase;
+
+import co.com.bancolombia.benchmarks.fixtures.TraceFixture;
+import co.com.bancolombia.model.efficiency.DurationDistribution;
+import co.com.bancolombia.model.efficiency.EmployeeEfficiency;
+import co.com.bancolombia.model.efficiency.EmployeeRankingQuery;
+import co.com.bancolombia.model.efficiency.OrderEfficiency;
+import co.com.bancolombia.model.efficiency.TimeWindow;
+import co.com.bancolombia.model.pagination.KeysetPage;
+import co.com.bancolombia.usecase.efficiency.OrderEfficiencyUseCase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderEfficiencyBenchmark {
+
+    private static final EmployeeRankingQuery TOP_TEN = EmployeeRankingQuery.builder().limit(10).build();
+
+    @Param({"10000", "1000000", "10000000"})
+    private int traces;
+
+    @Param({"50", "5000"})
+    private int employees;
+
+    @Param({"1000"})
+    private int clients;
+
+    private OrderEfficiencyUseCase useCase;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        TraceFixture fixture = new TraceFixture(traces, employees, clients);
+        useCase = new OrderEfficiencyUseCase(fixture.orderSummaryRepository(), fixture.employeeSummaryRepository());
+        random = new SplittableRandom(7L);
+    }
+
+    @Benchmark
+    public List<OrderEfficiency> getAllOrdersEfficiency() {
+        return useCase.getAllOrdersEfficiency();
+    }
+
+    @Benchmark
+    public KeysetPage<EmployeeEfficiency> getEmployeesEfficiencyRanking() {
+        return useCase.getEmployeesEfficiencyRanking(TOP_TEN, TimeWindow.ALL_TIME);
+    }
+
+    @Benchmark
+    public EmployeeEfficiency getEmployeeEfficiency() {
+        return useCase.getEmployeeEfficiency(1L + random.nextInt(employees), TimeWindow.ALL_TIME);
+    }
+
+    @Benchmark
+    public DurationDistribution getDurationDistribution() {
+        return useCase.getDurationDistribution(TimeWindow.ALL_TIME);
+    }
+}
@@ -0,0 +1,90 @@
+package co.com.bancolombia.benchmarks.usecase;
+
+import co.com.bancolombia.benchmarks.fixtures.DirectTransactionGateway;
+import co.com.bancolombia.benchmarks.fixtures.NoOpOrderTraceBroadcaster;
+import co.com.bancolombia.benchmarks.fixtures.TraceFixture;
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.usecase.ordertraceability.IdempotencyFilter;
+import co.com.bancolombia.usecase.ordertraceability.OrderStatusCache;
+import co.com.bancolombia.usecase.ordertraceability.OrderTraceabilityUseCase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderTraceabilityBenchmark {
+
+    private static final OrderStatus[] STATUSES = {
+            OrderStatus.PENDING, OrderStatus.IN_PREPARATION, OrderStatus.READY, OrderStatus.DELIVERED
+    };
+
+    @Param({"10000", "1000000", "10000000"})
+    private int traces;
+
+    @Param({"50", "5000"})
+    private int employees;
+
+    private TraceFixture fixture;
+    private OrderTraceabilityUseCase useCase;
+    private SplittableRandom random;
+    private int loadedTraces;
+    private long submissions;
+
+    @Setup
+    public void setUp() {
+        fixture = new TraceFixture(traces, employees, 1000);
+        useCase = new OrderTraceabilityUseCase(fixture.traceRepository(), fixture.orderSummaryRepository(),
+                fixture.employeeSummaryRepository(), new DirectTransactionGateway(),
+                new NoOpOrderTraceBroadcaster(), new IdempotencyFilter(1_000_000, 0.01, 10_000),
+                new OrderStatusCache(64, 10_000));
+        random = new SplittableRandom(7L);
+        loadedTraces = fixture.traceRepository().size();
+    }
+
+    @TearDown(Level.Iteration)
+    public void dropWrittenTraces() {
+        fixture.traceRepository().truncate(loadedTraces);
+    }
+
+    // Unique client keys: every call takes the write path, the idempotency check costs only the filter probe
+    @Benchmark
+    public OrderTrace createTrace() {
+        long step = submissions++;
+        return useCase.createTrace(lifecycleTrace(step, "bench-" + step));
+    }
+
+    // A client retrying right away: answered from the recent-key cache, nothing is written
+    @Benchmark
+    public OrderTrace retryTrace() {
+        return useCase.createTrace(lifecycleTrace(0, "bench-retry"));
+    }
+
+    // Walks orders beyond the fixture from PENDING to DELIVERED, so every trace is a valid transition
+    private OrderTrace lifecycleTrace(long step, String idempotencyKey) {
+        int stage = (int) (step % STATUSES.length);
+        long employeeId = 1L + random.nextInt(employees);
+        return OrderTrace.builder()
+                .orderId(fixture.orders() + 1L + step / STATUSES.length)
+                .clientId(1L)
+                .clientEmail("client1@plazoleta.com")
+                .previousStatus(stage == 0 ? null : STATUSES[stage - 1])
+                .newStatus(STATUSES[stage])
+                .employeeId(employeeId)
+                .employeeEmail("employee" + employeeId + "@plazoleta.com")
+                .idempotencyKey(idempotencyKey)
+                .build();
+    }
+}
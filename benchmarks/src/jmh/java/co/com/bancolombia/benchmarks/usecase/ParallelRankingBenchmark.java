@@ -0,0 +1,72 @@
+package co.com.bancolombia.benchmarks.usecase;
+
+import co.com.bancolombia.benchmarks.fixtures.TraceFixture;
+import co.com.bancolombia.model.efficiency.EmployeeEfficiencySummary;
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.OrderStatusChange;
+import co.com.bancolombia.usecase.efficiency.ParallelEmployeeRanking;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scalability of the raw-trace ranking: the same lookups are summarized with 1..N workers,
+ * so the score per parallelism shows how far the fork-join split scales on the host.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParallelRankingBenchmark {
+
+    @Param({"1000000", "10000000"})
+    private int traces;
+
+    @Param({"50", "5000"})
+    private int employees;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private ParallelEmployeeRanking ranking;
+    private Map<Long, LocalDateTime> pendingByOrder;
+    private Map<Long, List<OrderStatusChange>> deliveriesByEmployee;
+
+    @Setup
+    public void setUp() {
+        TraceFixture fixture = new TraceFixture(traces, employees, 1000);
+        pendingByOrder = new HashMap<>();
+        deliveriesByEmployee = new HashMap<>();
+        fixture.traceRepository().forEachStatusChange(change -> {
+            if (change.getNewStatus() == OrderStatus.PENDING) {
+                pendingByOrder.putIfAbsent(change.getOrderId(), change.getTimestamp());
+            }
+            if (change.getNewStatus() == OrderStatus.DELIVERED) {
+                deliveriesByEmployee.computeIfAbsent(change.getEmployeeId(), employeeId -> new ArrayList<>()).add(change);
+            }
+        });
+        ranking = new ParallelEmployeeRanking(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ranking.close();
+    }
+
+    @Benchmark
+    public List<EmployeeEfficiencySummary> summarize() {
+        return ranking.summarize(pendingByOrder, deliveriesByEmployee);
+    }
+}
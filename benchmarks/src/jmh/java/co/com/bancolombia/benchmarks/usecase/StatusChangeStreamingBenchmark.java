@@ -0,0 +1,70 @@
+package co.com.bancolombia.benchmarks.usecase;
+
+import co.com.bancolombia.benchmarks.fixtures.DirectTransactionGateway;
+import co.com.bancolombia.benchmarks.fixtures.EmptyTraceArchive;
+import co.com.bancolombia.benchmarks.fixtures.GeneratedStatusChangeRepository;
+import co.com.bancolombia.benchmarks.fixtures.InMemoryEmployeeEfficiencySummaryRepository;
+import co.com.bancolombia.benchmarks.fixtures.InMemoryOrderEfficiencySummaryRepository;
+import co.com.bancolombia.model.efficiency.EmployeeEfficiency;
+import co.com.bancolombia.model.efficiency.EmployeeRankingQuery;
+import co.com.bancolombia.model.pagination.KeysetPage;
+import co.com.bancolombia.usecase.efficiency.OrderEfficiencyMaintenanceUseCase;
+import co.com.bancolombia.usecase.efficiency.ParallelEmployeeRanking;
+import co.com.bancolombia.usecase.efficiency.TraceSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Raw-trace ranking fed row by row through {@code forEachStatusChange} versus from fully materialised rows.
+ * Rows are generated on read rather than held by the fixture, so {@code heap.live.max} (see
+ * {@code HeapHighWaterProfiler}) is what the read path keeps reachable: it should track the per-order
+ * state when streamed and grow with {@code rows} when materialised; {@code gc.alloc.rate.norm} is the same
+ * for both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StatusChangeStreamingBenchmark {
+
+    private static final EmployeeRankingQuery TOP_TEN = EmployeeRankingQuery.builder().limit(10).build();
+
+    @Param({"100000", "1000000", "10000000"})
+    private int rows;
+
+    @Param({"5000"})
+    private int employees;
+
+    @Param({"streamed", "materialized"})
+    private String read;
+
+    private ParallelEmployeeRanking ranking;
+    private OrderEfficiencyMaintenanceUseCase useCase;
+
+    @Setup
+    public void setUp() {
+        ranking = new ParallelEmployeeRanking(Runtime.getRuntime().availableProcessors());
+        useCase = new OrderEfficiencyMaintenanceUseCase(
+                new GeneratedStatusChangeRepository(rows, employees, "materialized".equals(read)),
+                new InMemoryOrderEfficiencySummaryRepository(), new InMemoryEmployeeEfficiencySummaryRepository(),
+                new DirectTransactionGateway(), ranking, new TraceSnapshot(), new EmptyTraceArchive());
+    }
+
+    @TearDown
+    public void tearDown() {
+        ranking.close();
+    }
+
+    @Benchmark
+    public KeysetPage<EmployeeEfficiency> rankEmployeesFromTraces() {
+        return useCase.rankEmployeesFromTraces(TOP_TEN);
+    }
+}
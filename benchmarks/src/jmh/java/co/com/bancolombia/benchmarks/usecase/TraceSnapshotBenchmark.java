@@ -0,0 +1,73 @@
+package co.com.bancolombia.benchmarks.usecase;
+
+import co.com.bancolombia.benchmarks.fixtures.DirectTransactionGateway;
+import co.com.bancolombia.benchmarks.fixtures.EmptyTraceArchive;
+import co.com.bancolombia.benchmarks.fixtures.TraceFixture;
+import co.com.bancolombia.model.efficiency.EmployeeEfficiency;
+import co.com.bancolombia.model.efficiency.EmployeeRankingQuery;
+import co.com.bancolombia.model.pagination.KeysetPage;
+import co.com.bancolombia.usecase.efficiency.OrderEfficiencyMaintenanceUseCase;
+import co.com.bancolombia.usecase.efficiency.ParallelEmployeeRanking;
+import co.com.bancolombia.usecase.efficiency.TraceSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Raw-trace ranking read from the columnar snapshot versus streamed as {@code OrderStatusChange} rows.
+ * Run with {@code -prof gc}: the allocation rate per operation is the figure the snapshot exists to cut.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TraceSnapshotBenchmark {
+
+    private static final EmployeeRankingQuery TOP_TEN = EmployeeRankingQuery.builder().limit(10).build();
+
+    @Param({"1000000", "10000000"})
+    private int traces;
+
+    @Param({"5000"})
+    private int employees;
+
+    @Param({"rows", "snapshot"})
+    private String source;
+
+    private ParallelEmployeeRanking ranking;
+    private OrderEfficiencyMaintenanceUseCase useCase;
+
+    @Setup
+    public void setUp() {
+        TraceFixture fixture = new TraceFixture(traces, employees, 1000);
+        ranking = new ParallelEmployeeRanking(Runtime.getRuntime().availableProcessors());
+        useCase = new OrderEfficiencyMaintenanceUseCase(fixture.traceRepository(), fixture.orderSummaryRepository(),
+                fixture.employeeSummaryRepository(), new DirectTransactionGateway(), ranking, new TraceSnapshot(),
+                new EmptyTraceArchive());
+        if ("snapshot".equals(source)) {
+            useCase.refreshTraceSnapshot();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        ranking.close();
+    }
+
+    @Benchmark
+    public KeysetPage<EmployeeEfficiency> rankEmployeesFromTraces() {
+        return useCase.rankEmployeesFromTraces(TOP_TEN);
+    }
+
+    @Benchmark
+    public boolean refreshTraceSnapshot() {
+        return useCase.refreshTraceSnapshot();
+    }
+}
@@ -0,0 +1,38 @@
+// k6 run -e BASE_URL=http://localhost:8082 -e RATE=2000 deployment/loadtest/traces.js
+// Run once with spring.threads.virtual.enabled=false and once with true, then compare
+// http_req_duration p(99) and the highest RATE that keeps dropped_iterations at 0.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8082';
+const ORDERS = Number(__ENV.ORDERS || 10000);
+
+export const options = {
+    scenarios: {
+        history: {
+            executor: 'constant-arrival-rate',
+            rate: Number(__ENV.RATE || 1000),
+            timeUnit: '1s',
+            duration: __ENV.DURATION || '2m',
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+    const orderId = 1 + Math.floor(Math.random() * ORDERS);
+    const response = Math.random() < 0.8
+        ? http.get(`${BASE_URL}/api/orders/traces/${orderId}`)
+        : http.post(`${BASE_URL}/api/orders/traces`, JSON.stringify({
+            orderId: orderId,
+            clientId: 1,
+            clientEmail: 'client1@plazoleta.com',
+            previousStatus: 'PENDING',
+            newStatus: 'IN_PREPARATION',
+            employeeId: 1,
+            employeeEmail: 'employee1@plazoleta.com',
+        }), { headers: { 'Content-Type': 'application/json' } });
+    check(response, { 'status is 2xx': r => r.status >= 200 && r.status < 300 });
+}
@@ -1,8 +1,14 @@
 CREATE DATABASE IF NOT EXISTS traceability_db;
 USE traceability_db;
 
+-- Monthly RANGE partitions on timestamp so time-bounded scans only touch the months they cover.
+-- MySQL requires the partitioning column in every unique key, hence the (id, timestamp) primary key;
+-- ids stay unique on their own because every writer (JPA and R2DBC) takes them from id_generators, so
+-- the column has no AUTO_INCREMENT to hand out a second, colliding sequence. An existing table is left
+-- as is and must be migrated explicitly (ALTER TABLE ... PARTITION BY ..., and
+-- ALTER TABLE order_traces MODIFY id BIGINT NOT NULL if it was created with AUTO_INCREMENT).
 CREATE TABLE IF NOT EXISTS order_traces (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT NOT NULL,
     order_id BIGINT NOT NULL,
     client_id BIGINT NOT NULL,
     client_email VARCHAR(255) NOT NULL,
@@ -12,7 +18,111 @@ CREATE TABLE IF NOT EXISTS order_traces (
     employee_email VARCHAR(255),
     timestamp DATETIME NOT NULL,
 
-    INDEX idx_order_id (order_id),
+    PRIMARY KEY (id, timestamp),
+    INDEX idx_order_id (order_id, timestamp),
     INDEX idx_client_id (client_id),
     INDEX idx_timestamp (timestamp)
-);
\ No newline at end of file
+)
+PARTITION BY RANGE COLUMNS (timestamp) (
+    PARTITION p_history VALUES LESS THAN ('2026-01-01'),
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
+
+CREATE TABLE IF NOT EXISTS order_efficiency (
+    order_id BIGINT PRIMARY KEY,
+    pending_at DATETIME,
+    delivered_at DATETIME,
+    duration_minutes BIGINT,
+    employee_id BIGINT,
+
+    INDEX idx_efficiency_employee_id (employee_id),
+    INDEX idx_efficiency_delivered_at (delivered_at)
+);
+
+CREATE TABLE IF NOT EXISTS employee_efficiency (
+    employee_id BIGINT PRIMARY KEY,
+    employee_email VARCHAR(255),
+    total_duration_minutes BIGINT NOT NULL,
+    delivered_orders BIGINT NOT NULL
+);
+
+-- Transactional outbox / change feed: one row per trace, inserted in the trace's transaction.
+-- recorded_at uses the database clock; the feed only serves rows older than the settle delay.
+CREATE TABLE IF NOT EXISTS order_trace_changes (
+    sequence BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    trace_id BIGINT NOT NULL,
+    order_id BIGINT NOT NULL,
+    client_id BIGINT NOT NULL,
+    client_email VARCHAR(255) NOT NULL,
+    previous_status VARCHAR(50),
+    new_status VARCHAR(50) NOT NULL,
+    employee_id BIGINT,
+    employee_email VARCHAR(255),
+    timestamp DATETIME NOT NULL,
+    recorded_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    published_at DATETIME(6),
+
+    INDEX idx_changes_unpublished (published_at, sequence)
+);
+
+-- Idempotency keys of ingested traces (client Idempotency-Key or order/transition), written in the trace's
+-- transaction. Not a unique key on order_traces: it would have to include the partitioning timestamp, and a
+-- retry always gets a new one. trace_timestamp lets the lookup join prune order_traces to one partition.
+CREATE TABLE IF NOT EXISTS trace_idempotency_keys (
+    idempotency_key VARCHAR(255) NOT NULL PRIMARY KEY,
+    trace_id BIGINT NOT NULL,
+    trace_timestamp DATETIME NOT NULL
+);
+
+-- Pooled id allocation for order_traces (see OrderTraceEntity). Existing databases must seed this row
+-- above MAX(order_traces.id) before deploying, otherwise Hibernate starts handing out ids from 1.
+CREATE TABLE IF NOT EXISTS id_generators (
+    generator_name VARCHAR(64) PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+INSERT INTO id_generators (generator_name, next_val)
+SELECT 'order_traces', COALESCE(MAX(id), 0) + 100 FROM order_traces
+ON DUPLICATE KEY UPDATE generator_name = generator_name;
+
+-- Splits p_future into one partition per month, from the last existing boundary up to months_ahead
+-- months past the current one. p_future stays empty in normal operation, so each split is metadata only.
+DROP PROCEDURE IF EXISTS add_order_traces_partitions;
+
+DELIMITER //
+CREATE PROCEDURE add_order_traces_partitions(IN months_ahead INT)
+proc: BEGIN
+    DECLARE boundary DATE;
+    DECLARE horizon DATE;
+
+    SELECT MAX(STR_TO_DATE(TRIM(BOTH '\'' FROM partition_description), '%Y-%m-%d')) INTO boundary
+    FROM information_schema.partitions
+    WHERE table_schema = DATABASE()
+      AND table_name = 'order_traces'
+      AND partition_description <> 'MAXVALUE';
+
+    IF boundary IS NULL THEN
+        LEAVE proc;
+    END IF;
+
+    SET horizon = DATE_ADD(DATE_FORMAT(CURDATE(), '%Y-%m-01'), INTERVAL months_ahead + 1 MONTH);
+
+    WHILE boundary < horizon DO
+        SET @ddl = CONCAT('ALTER TABLE order_traces REORGANIZE PARTITION p_future INTO (',
+                          'PARTITION p', DATE_FORMAT(boundary, '%Y%m'),
+                          ' VALUES LESS THAN (\'', DATE_ADD(boundary, INTERVAL 1 MONTH), '\'), ',
+                          'PARTITION p_future VALUES LESS THAN (MAXVALUE))');
+        PREPARE stmt FROM @ddl;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+        SET boundary = DATE_ADD(boundary, INTERVAL 1 MONTH);
+    END WHILE;
+END //
+DELIMITER ;
+
+CALL add_order_traces_partitions(3);
+
+CREATE EVENT IF NOT EXISTS order_traces_monthly_partitions
+    ON SCHEDULE EVERY 1 MONTH
+    STARTS DATE_ADD(DATE_FORMAT(CURDATE(), '%Y-%m-01'), INTERVAL 1 MONTH)
+    DO CALL add_order_traces_partitions(3);
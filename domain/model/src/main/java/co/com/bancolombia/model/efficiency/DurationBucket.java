@@ -0,0 +1,18 @@
+package co.com.bancolombia.model.efficiency;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class DurationBucket {
+    private Long fromMinutes;
+    private Long toMinutes;
+    private Long count;
+}
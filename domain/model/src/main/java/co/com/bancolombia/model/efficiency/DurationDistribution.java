@@ -0,0 +1,26 @@
+package co.com.bancolombia.model.efficiency;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class DurationDistribution {
+    private Long employeeId;
+    private Long processedOrders;
+    private Long minDurationInMinutes;
+    private Long maxDurationInMinutes;
+    private Double averageDurationInMinutes;
+    private Long p50DurationInMinutes;
+    private Long p90DurationInMinutes;
+    private Long p99DurationInMinutes;
+    private List<DurationBucket> histogram;
+}
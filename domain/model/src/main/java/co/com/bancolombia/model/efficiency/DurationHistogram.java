@@ -0,0 +1,123 @@
+package co.com.bancolombia.model.efficiency;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-memory log-linear histogram of durations in minutes, in the style of HdrHistogram.
+ * Values below 64 are counted exactly; above that every power of two is split into 32 sub-buckets,
+ * so a reported percentile is within ~3% of the true value. Histograms built over disjoint sets of
+ * orders (per employee, per day, ...) can be merged without losing precision.
+ */
+public class DurationHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    private static final int MAX_EXPONENT = 20;
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    // Anything longer (about four years) lands in the last bucket; min and max stay exact
+    public static final long HIGHEST_TRACKABLE_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    public void record(long durationInMinutes) {
+        if (durationInMinutes < 0) {
+            throw new IllegalArgumentException("Duration must not be negative: " + durationInMinutes);
+        }
+        counts[indexOf(durationInMinutes)]++;
+        totalCount++;
+        sum += durationInMinutes;
+        min = Math.min(min, durationInMinutes);
+        max = Math.max(max, durationInMinutes);
+    }
+
+    public DurationHistogram merge(DurationHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public boolean isEmpty() {
+        return totalCount == 0;
+    }
+
+    public long getMin() {
+        return isEmpty() ? 0 : min;
+    }
+
+    public long getMax() {
+        return isEmpty() ? 0 : max;
+    }
+
+    public double getMean() {
+        return isEmpty() ? 0.0 : (double) sum / totalCount;
+    }
+
+    /**
+     * Upper edge of the bucket holding the given percentile rank, clamped to the recorded min and max.
+     */
+    public long valueAtPercentile(double percentile) {
+        if (isEmpty()) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // Highest value the bucket stands for, never beyond what was actually recorded
+                return Math.max(min, Math.min(max, lowerBoundOf(i + 1) - 1));
+            }
+        }
+        return max;
+    }
+
+    public List<DurationBucket> buckets() {
+        List<DurationBucket> buckets = new ArrayList<>();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (counts[i] > 0) {
+                buckets.add(DurationBucket.builder()
+                        .fromMinutes(lowerBoundOf(i))
+                        .toMinutes(lowerBoundOf(i + 1))
+                        .count(counts[i])
+                        .build());
+            }
+        }
+        return buckets;
+    }
+
+    private static int indexOf(long value) {
+        long clamped = Math.min(value, HIGHEST_TRACKABLE_VALUE);
+        if (clamped < LINEAR_LIMIT) {
+            return (int) clamped;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(clamped);
+        int subBucket = (int) (clamped >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long lowerBoundOf(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int offset = index - LINEAR_LIMIT;
+        int exponent = offset / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        long subBucket = offset % SUB_BUCKETS + SUB_BUCKETS;
+        return subBucket << (exponent - SUB_BUCKET_BITS);
+    }
+}
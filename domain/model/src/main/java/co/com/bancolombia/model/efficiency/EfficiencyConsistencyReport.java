@@ -0,0 +1,26 @@
+package co.com.bancolombia.model.efficiency;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class EfficiencyConsistencyReport {
+    private Long checkedOrders;
+    private List<Long> inconsistentOrderIds;
+    private Long checkedEmployees;
+    private List<Long> inconsistentEmployeeIds;
+
+    public boolean isConsistent() {
+        return (inconsistentOrderIds == null || inconsistentOrderIds.isEmpty())
+                && (inconsistentEmployeeIds == null || inconsistentEmployeeIds.isEmpty());
+    }
+}
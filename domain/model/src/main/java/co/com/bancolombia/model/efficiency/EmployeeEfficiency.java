@@ -16,4 +16,5 @@ public class EmployeeEfficiency {
     private String employeeEmail;
     private Double averageDurationInMinutes;
     private Long processedOrders;
+    private Long totalDurationInMinutes;
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package co.com.bancolombia.model.efficiency;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class EmployeeRankingQuery {
+    @Builder.Default
+    private RankingOrder order = RankingOrder.FASTEST;
+    private int limit;
+    @Builder.Default
+    private long minProcessedOrders = 1;
+    private RankingCursor after;
+}
@@ -0,0 +1,22 @@
+package co.com.bancolombia.model.efficiency;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class OrderEfficiencySummary {
+    private Long orderId;
+    private LocalDateTime pendingAt;
+    private LocalDateTime deliveredAt;
+    private Long durationInMinutes;
+    private Long employeeId;
+}
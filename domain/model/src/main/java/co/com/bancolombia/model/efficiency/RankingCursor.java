@@ -0,0 +1,19 @@
+package co.com.bancolombia.model.efficiency;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Position of the last employee served: totals rather than the average so ties compare exactly
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class RankingCursor {
+    private Long employeeId;
+    private Long totalDurationInMinutes;
+    private Long processedOrders;
+}
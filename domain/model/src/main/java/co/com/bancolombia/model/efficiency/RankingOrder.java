@@ -0,0 +1,6 @@
+package co.com.bancolombia.model.efficiency;
+
+public enum RankingOrder {
+    FASTEST,
+    SLOWEST
+}
@@ -0,0 +1,34 @@
+package co.com.bancolombia.model.efficiency;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Half-open {@code [from, to)} interval on delivery time. A null bound leaves that end open.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class TimeWindow {
+
+    public static final TimeWindow ALL_TIME = new TimeWindow(null, null);
+
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+
+    public static TimeWindow between(LocalDateTime from, LocalDateTime to) {
+        return from == null && to == null ? ALL_TIME : new TimeWindow(from, to);
+    }
+
+    public boolean isBounded() {
+        return from != null || to != null;
+    }
+
+    public boolean contains(LocalDateTime instant) {
+        return instant != null
+                && (from == null || !instant.isBefore(from))
+                && (to == null || instant.isBefore(to));
+    }
+}
@@ -0,0 +1,13 @@
+package co.com.bancolombia.model.efficiency.gateways;
+
+import co.com.bancolombia.model.efficiency.EmployeeEfficiencySummary;
+
+import java.util.List;
+
+public interface EmployeeEfficiencySummaryRepository {
+    void addDelivery(Long employeeId, String employeeEmail, long durationInMinutes);
+    void removeDelivery(Long employeeId, long durationInMinutes);
+    EmployeeEfficiencySummary findByEmployeeId(Long employeeId);
+    List<EmployeeEfficiencySummary> findAll();
+    long rebuildFromOrderSummaries();
+}
@@ -0,0 +1,23 @@
+package co.com.bancolombia.model.efficiency.gateways;
+
+import co.com.bancolombia.model.efficiency.EmployeeEfficiencySummary;
+import co.com.bancolombia.model.efficiency.OrderEfficiencySummary;
+import co.com.bancolombia.model.efficiency.TimeWindow;
+
+import java.util.List;
+import java.util.function.LongConsumer;
+
+public interface OrderEfficiencySummaryRepository {
+    OrderEfficiencySummary save(OrderEfficiencySummary summary);
+    OrderEfficiencySummary findByOrderId(Long orderId);
+    // Locks the row until the transaction ends, creating it empty first so an order's first writers queue too
+    OrderEfficiencySummary findByOrderIdForUpdate(Long orderId);
+    List<OrderEfficiencySummary> findAll();
+    List<OrderEfficiencySummary> findAllCompleted();
+    List<OrderEfficiencySummary> findCompletedAfter(Long afterOrderId, int limit);
+    List<OrderEfficiencySummary> findCompletedWithin(TimeWindow window, Long afterOrderId, int limit);
+    List<EmployeeEfficiencySummary> summarizeEmployees(TimeWindow window);
+    EmployeeEfficiencySummary summarizeEmployee(Long employeeId, TimeWindow window);
+    void forEachCompletedDuration(TimeWindow window, Long employeeId, LongConsumer consumer);
+    long rebuildFromTraces();
+}
@@ -0,0 +1,12 @@
+package co.com.bancolombia.model.efficiency.gateways;
+
+import co.com.bancolombia.model.efficiency.EmployeeEfficiencySummary;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveEmployeeEfficiencySummaryRepository {
+    Mono<Void> addDelivery(Long employeeId, String employeeEmail, long durationInMinutes);
+    Mono<Void> removeDelivery(Long employeeId, long durationInMinutes);
+    Mono<EmployeeEfficiencySummary> findByEmployeeId(Long employeeId);
+    Flux<EmployeeEfficiencySummary> findAll();
+}
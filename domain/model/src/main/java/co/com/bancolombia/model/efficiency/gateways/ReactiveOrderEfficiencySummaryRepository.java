@@ -0,0 +1,19 @@
+package co.com.bancolombia.model.efficiency.gateways;
+
+import co.com.bancolombia.model.efficiency.EmployeeEfficiencySummary;
+import co.com.bancolombia.model.efficiency.OrderEfficiencySummary;
+import co.com.bancolombia.model.efficiency.TimeWindow;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveOrderEfficiencySummaryRepository {
+    Mono<OrderEfficiencySummary> save(OrderEfficiencySummary summary);
+    Mono<OrderEfficiencySummary> findByOrderId(Long orderId);
+    // Locks the row until the transaction ends, creating it empty first so an order's first writers queue too
+    Mono<OrderEfficiencySummary> findByOrderIdForUpdate(Long orderId);
+    Flux<OrderEfficiencySummary> findCompletedAfter(Long afterOrderId, int limit);
+    Flux<OrderEfficiencySummary> findCompletedWithin(TimeWindow window, Long afterOrderId, int limit);
+    Flux<EmployeeEfficiencySummary> summarizeEmployees(TimeWindow window);
+    Mono<EmployeeEfficiencySummary> summarizeEmployee(Long employeeId, TimeWindow window);
+    Flux<Long> findCompletedDurations(TimeWindow window, Long employeeId);
+}
@@ -5,5 +5,22 @@ public enum OrderStatus {
     IN_PREPARATION,
     READY,
     DELIVERED,
-    CANCELLED
+    CANCELLED;
+
+    public boolean isTerminal() {
+        return this == DELIVERED || this == CANCELLED;
+    }
+
+    // A null previous status is an order's first trace; orders are cancelled only while still pending
+    public static boolean isValidTransition(OrderStatus previous, OrderStatus next) {
+        if (previous == null) {
+            return next == PENDING;
+        }
+        return switch (previous) {
+            case PENDING -> next == IN_PREPARATION || next == CANCELLED;
+            case IN_PREPARATION -> next == READY;
+            case READY -> next == DELIVERED;
+            case DELIVERED, CANCELLED -> false;
+        };
+    }
 }
@@ -0,0 +1,15 @@
+package co.com.bancolombia.model.ordertrace;
+
+import lombok.Getter;
+
+// Raised by the repositories when the idempotency key is already stored; the transaction is rolled back
+@Getter
+public class DuplicateTraceException extends RuntimeException {
+
+    private final String idempotencyKey;
+
+    public DuplicateTraceException(String idempotencyKey, Throwable cause) {
+        super("Trace already recorded for idempotency key " + idempotencyKey, cause);
+        this.idempotencyKey = idempotencyKey;
+    }
+}
@@ -0,0 +1,34 @@
+package co.com.bancolombia.model.ordertrace;
+
+import co.com.bancolombia.model.enums.OrderStatus;
+import lombok.Getter;
+
+@Getter
+public class InvalidStatusTransitionException extends RuntimeException {
+
+    private final Long orderId;
+    private final OrderStatus previousStatus;
+    private final OrderStatus newStatus;
+
+    public InvalidStatusTransitionException(Long orderId, OrderStatus previousStatus, OrderStatus newStatus,
+                                            OrderStatus currentStatus) {
+        this(orderId, previousStatus, newStatus, currentStatus != null && currentStatus != previousStatus
+                ? "Order " + orderId + " is " + currentStatus + ", not " + previousStatus
+                : "Order " + orderId + " cannot move from " + previousStatus + " to " + newStatus);
+    }
+
+    private InvalidStatusTransitionException(Long orderId, OrderStatus previousStatus, OrderStatus newStatus,
+                                             String message) {
+        super(message);
+        this.orderId = orderId;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+    }
+
+    // The order has no traces yet, so only a trace with no previous status can start it
+    public static InvalidStatusTransitionException notStarted(Long orderId, OrderStatus previousStatus,
+                                                              OrderStatus newStatus) {
+        return new InvalidStatusTransitionException(orderId, previousStatus, newStatus,
+                "Order " + orderId + " has no traces, not " + previousStatus);
+    }
+}
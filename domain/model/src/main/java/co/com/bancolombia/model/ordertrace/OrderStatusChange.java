@@ -0,0 +1,22 @@
+package co.com.bancolombia.model.ordertrace;
+
+import co.com.bancolombia.model.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a trace carrying only the columns the efficiency calculations use.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class OrderStatusChange {
+    private final Long id;
+    private final Long orderId;
+    private final Long employeeId;
+    private final OrderStatus newStatus;
+    private final LocalDateTime timestamp;
+}
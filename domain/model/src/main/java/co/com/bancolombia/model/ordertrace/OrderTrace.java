@@ -24,4 +24,6 @@ public class OrderTrace {
     private Long employeeId;
     private String employeeEmail;
     private LocalDateTime timestamp;
+    // Write-side only: client-supplied or natural key used to drop retried submissions
+    private String idempotencyKey;
 }
\ No newline at end of file
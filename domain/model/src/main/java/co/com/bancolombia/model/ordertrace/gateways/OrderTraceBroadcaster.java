@@ -0,0 +1,11 @@
+package co.com.bancolombia.model.ordertrace.gateways;
+
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+
+/**
+ * Pushes committed traces to live subscribers of their order. Best effort and non-blocking:
+ * implementations must never fail or slow down the write that produced the trace.
+ */
+public interface OrderTraceBroadcaster {
+    void broadcast(OrderTrace orderTrace);
+}
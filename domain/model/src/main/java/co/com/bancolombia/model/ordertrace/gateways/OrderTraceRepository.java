@@ -1,12 +1,25 @@
 package co.com.bancolombia.model.ordertrace.gateways;
 
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.OrderStatusChange;
 import co.com.bancolombia.model.ordertrace.OrderTrace;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface OrderTraceRepository {
     OrderTrace save(OrderTrace orderTrace);
+    List<OrderTrace> saveAll(List<OrderTrace> orderTraces);
+    OrderTrace findByIdempotencyKey(String idempotencyKey);
+    OrderStatus findLastStatus(Long orderId);
     List<OrderTrace> findByOrderId(Long orderId);
+    List<OrderTrace> findByOrderIdAfter(Long orderId, LocalDateTime afterTimestamp, Long afterId, int limit);
     List<OrderTrace> findAll();
     List<OrderTrace> findByEmployeeId(Long employeeId);
+    List<OrderStatusChange> findStatusChangesByEmployeeId(Long employeeId);
+    void forEachStatusChange(Consumer<OrderStatusChange> consumer);
+    List<Long> findClosedOrderIdsBefore(LocalDateTime cutoff, Long afterOrderId, int limit);
+    List<OrderTrace> findByOrderIds(List<Long> orderIds);
+    int deleteByOrderIds(List<Long> orderIds, LocalDateTime cutoff);
 }
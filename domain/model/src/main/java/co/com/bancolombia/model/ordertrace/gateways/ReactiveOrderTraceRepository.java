@@ -0,0 +1,16 @@
+package co.com.bancolombia.model.ordertrace.gateways;
+
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public interface ReactiveOrderTraceRepository {
+    Mono<OrderTrace> save(OrderTrace orderTrace);
+    Mono<OrderTrace> findByIdempotencyKey(String idempotencyKey);
+    Mono<OrderStatus> findLastStatus(Long orderId);
+    Flux<OrderTrace> findByOrderId(Long orderId);
+    Flux<OrderTrace> findByOrderIdAfter(Long orderId, LocalDateTime afterTimestamp, Long afterId, int limit);
+}
@@ -0,0 +1,17 @@
+package co.com.bancolombia.model.ordertrace.gateways;
+
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Cold storage for the full history of closed orders once it leaves the database. Append-only: an order
+ * archived twice (a run interrupted before its delete) is served from its latest copy.
+ */
+public interface TraceArchiveRepository {
+    // Whole histories ordered by order id, then timestamp and id; durable once this returns
+    void append(List<OrderTrace> orderTraces);
+    List<OrderTrace> findByOrderId(Long orderId);
+    List<OrderTrace> findByOrderIdAfter(Long orderId, LocalDateTime afterTimestamp, Long afterId, int limit);
+}
@@ -0,0 +1,24 @@
+package co.com.bancolombia.model.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class KeysetPage<T> {
+    private List<T> items;
+    private boolean hasMore;
+
+    public static <T> KeysetPage<T> fromLookahead(List<T> rows, int limit) {
+        boolean hasMore = rows.size() > limit;
+        return new KeysetPage<>(hasMore ? List.copyOf(rows.subList(0, limit)) : rows, hasMore);
+    }
+}
@@ -0,0 +1,18 @@
+package co.com.bancolombia.model.tracechange;
+
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Outbox entry written in the same transaction as its trace. {@code sequence} only grows, so
+ * consumers resume from the last sequence they processed.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class TraceChange {
+    private final Long sequence;
+    private final OrderTrace orderTrace;
+}
@@ -0,0 +1,8 @@
+package co.com.bancolombia.model.tracechange.gateways;
+
+import co.com.bancolombia.model.tracechange.TraceChange;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveTraceChangeRepository {
+    Flux<TraceChange> findAfter(long afterSequence, int limit);
+}
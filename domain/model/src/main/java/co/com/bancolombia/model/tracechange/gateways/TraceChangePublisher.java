@@ -0,0 +1,13 @@
+package co.com.bancolombia.model.tracechange.gateways;
+
+import co.com.bancolombia.model.tracechange.TraceChange;
+
+import java.util.List;
+
+/**
+ * Delivers relayed changes downstream. Delivery is at least once: a batch may be published again
+ * if marking it fails, so consumers deduplicate by sequence. Throwing leaves the batch pending.
+ */
+public interface TraceChangePublisher {
+    void publish(List<TraceChange> changes);
+}
@@ -0,0 +1,12 @@
+package co.com.bancolombia.model.tracechange.gateways;
+
+import co.com.bancolombia.model.tracechange.TraceChange;
+
+import java.util.List;
+
+public interface TraceChangeRepository {
+    List<TraceChange> findAfter(long afterSequence, int limit);
+    // Claims unpublished changes for the current transaction, skipping those another relay holds
+    List<TraceChange> lockUnpublished(int limit);
+    void markPublished(List<Long> sequences);
+}
@@ -0,0 +1,7 @@
+package co.com.bancolombia.model.transaction.gateways;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveTransactionGateway {
+    <T> Mono<T> execute(Mono<T> action);
+}
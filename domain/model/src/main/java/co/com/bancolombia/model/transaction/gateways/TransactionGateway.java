@@ -0,0 +1,7 @@
+package co.com.bancolombia.model.transaction.gateways;
+
+import java.util.function.Supplier;
+
+public interface TransactionGateway {
+    <T> T execute(Supplier<T> action);
+}
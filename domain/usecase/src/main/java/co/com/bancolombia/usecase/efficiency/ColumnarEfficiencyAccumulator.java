@@ -0,0 +1,134 @@
+package co.com.bancolombia.usecase.efficiency;
+
+import co.com.bancolombia.model.efficiency.EmployeeEfficiencySummary;
+import co.com.bancolombia.model.enums.OrderStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Same rules as {@link TraceEfficiencyAccumulator} (first PENDING, latest DELIVERED per order), applied to
+ * {@link TraceSnapshot} rows. Per-order state lives in primitive arrays indexed through {@link LongIndex},
+ * so visiting a row allocates nothing; only the results are boxed.
+ */
+class ColumnarEfficiencyAccumulator implements TraceSnapshot.RowVisitor {
+
+    private static final byte PENDING = TraceSnapshot.statusCode(OrderStatus.PENDING);
+    private static final byte DELIVERED = TraceSnapshot.statusCode(OrderStatus.DELIVERED);
+    private static final long NONE = Long.MIN_VALUE;
+    private static final int SECONDS_PER_MINUTE = 60;
+
+    private final LongIndex orders;
+    private long[] orderIds;
+    private long[] pendingAt;
+    private long[] deliveredAt;
+    private long[] deliveredBy;
+
+    ColumnarEfficiencyAccumulator(int expectedOrders) {
+        int capacity = Math.max(16, expectedOrders);
+        this.orders = new LongIndex(capacity);
+        this.orderIds = new long[capacity];
+        this.pendingAt = filled(capacity);
+        this.deliveredAt = filled(capacity);
+        this.deliveredBy = new long[capacity];
+    }
+
+    @Override
+    public void visit(long orderId, long employeeId, byte status, long epochSecond) {
+        if (status != PENDING && status != DELIVERED) {
+            return;
+        }
+        int order = orderSlot(orderId);
+        if (status == PENDING) {
+            if (pendingAt[order] == NONE || epochSecond < pendingAt[order]) {
+                pendingAt[order] = epochSecond;
+            }
+        } else if (deliveredAt[order] == NONE || epochSecond >= deliveredAt[order]) {
+            deliveredAt[order] = epochSecond;
+            deliveredBy[order] = employeeId;
+        }
+    }
+
+    boolean containsOrder(long orderId) {
+        return orders.indexOf(orderId) != LongIndex.ABSENT;
+    }
+
+    Map<Long, Long> orderDurations() {
+        Map<Long, Long> durations = new HashMap<>();
+        for (int order = 0; order < orders.size(); order++) {
+            if (pendingAt[order] != NONE && deliveredAt[order] != NONE) {
+                durations.put(orderIds[order], minutes(order));
+            }
+        }
+        return durations;
+    }
+
+    /**
+     * @return one summary per employee with at least one valid delivery, ordered by employee id
+     */
+    List<EmployeeEfficiencySummary> employeeSummaries() {
+        LongIndex employees = new LongIndex(64);
+        long[] employeeIds = new long[64];
+        long[] totals = new long[64];
+        long[] delivered = new long[64];
+        for (int order = 0; order < orders.size(); order++) {
+            if (pendingAt[order] == NONE || deliveredAt[order] == NONE || deliveredBy[order] == TraceSnapshot.NO_EMPLOYEE) {
+                continue;
+            }
+            long duration = minutes(order);
+            if (duration < 0) {
+                continue;
+            }
+            int employee = employees.indexOrAdd(deliveredBy[order]);
+            if (employee == employeeIds.length) {
+                employeeIds = Arrays.copyOf(employeeIds, employee * 2);
+                totals = Arrays.copyOf(totals, employee * 2);
+                delivered = Arrays.copyOf(delivered, employee * 2);
+            }
+            employeeIds[employee] = deliveredBy[order];
+            totals[employee] += duration;
+            delivered[employee]++;
+        }
+
+        List<EmployeeEfficiencySummary> summaries = new ArrayList<>(employees.size());
+        for (int employee = 0; employee < employees.size(); employee++) {
+            summaries.add(EmployeeEfficiencySummary.builder()
+                    .employeeId(employeeIds[employee])
+                    .totalDurationInMinutes(totals[employee])
+                    .deliveredOrders(delivered[employee])
+                    .build());
+        }
+        summaries.sort(Comparator.comparing(EmployeeEfficiencySummary::getEmployeeId));
+        return summaries;
+    }
+
+    // Truncates toward zero like ChronoUnit.MINUTES.between on second-precision timestamps
+    private long minutes(int order) {
+        return (deliveredAt[order] - pendingAt[order]) / SECONDS_PER_MINUTE;
+    }
+
+    private int orderSlot(long orderId) {
+        int order = orders.indexOrAdd(orderId);
+        if (order == orderIds.length) {
+            int capacity = order * 2;
+            orderIds = Arrays.copyOf(orderIds, capacity);
+            pendingAt = Arrays.copyOf(pendingAt, capacity);
+            Arrays.fill(pendingAt, order, capacity, NONE);
+            deliveredAt = Arrays.copyOf(deliveredAt, capacity);
+            Arrays.fill(deliveredAt, order, capacity, NONE);
+            deliveredBy = Arrays.copyOf(deliveredBy, capacity);
+        }
+        orderIds[order] = orderId;
+        return order;
+    }
+
+    private static long[] filled(int capacity) {
+        long[] values = new long[capacity];
+        Arrays.fill(values, NONE);
+        return values;
+    }
+}
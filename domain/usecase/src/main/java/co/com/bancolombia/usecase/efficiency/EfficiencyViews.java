@@ -0,0 +1,68 @@
+package co.com.bancolombia.usecase.efficiency;
+
+import co.com.bancolombia.model.efficiency.DurationDistribution;
+import co.com.bancolombia.model.efficiency.DurationHistogram;
+import co.com.bancolombia.model.efficiency.EmployeeEfficiency;
+import co.com.bancolombia.model.efficiency.EmployeeEfficiencySummary;
+import co.com.bancolombia.model.efficiency.OrderEfficiency;
+import co.com.bancolombia.model.efficiency.OrderEfficiencySummary;
+
+// Summary -> response model conversions shared by the blocking and reactive efficiency use cases
+final class EfficiencyViews {
+
+    private EfficiencyViews() {
+    }
+
+    static boolean hasDeliveries(EmployeeEfficiencySummary summary) {
+        return summary != null && summary.getDeliveredOrders() != null && summary.getDeliveredOrders() > 0;
+    }
+
+    static OrderEfficiency toOrderEfficiency(OrderEfficiencySummary summary) {
+        Long durationInMinutes = summary.getDurationInMinutes();
+
+        return OrderEfficiency.builder()
+                .orderId(summary.getOrderId())
+                .durationInMinutes(durationInMinutes != null && durationInMinutes >= 0 ? durationInMinutes : null)
+                .build();
+    }
+
+    static OrderEfficiency emptyOrderEfficiency(Long orderId) {
+        return OrderEfficiency.builder()
+                .orderId(orderId)
+                .build();
+    }
+
+    static EmployeeEfficiency toEmployeeEfficiency(EmployeeEfficiencySummary summary) {
+        return EmployeeEfficiency.builder()
+                .employeeId(summary.getEmployeeId())
+                .employeeEmail(summary.getEmployeeEmail() != null ? summary.getEmployeeEmail() : "")
+                .averageDurationInMinutes((double) summary.getTotalDurationInMinutes() / summary.getDeliveredOrders())
+                .processedOrders(summary.getDeliveredOrders())
+                .totalDurationInMinutes(summary.getTotalDurationInMinutes())
+                .build();
+    }
+
+    static EmployeeEfficiency emptyEmployeeEfficiency(Long employeeId, EmployeeEfficiencySummary summary) {
+        return EmployeeEfficiency.builder()
+                .employeeId(employeeId)
+                .employeeEmail(summary != null ? summary.getEmployeeEmail() : null)
+                .averageDurationInMinutes(0.0)
+                .processedOrders(0L)
+                .totalDurationInMinutes(0L)
+                .build();
+    }
+
+    static DurationDistribution toDistribution(Long employeeId, DurationHistogram histogram) {
+        return DurationDistribution.builder()
+                .employeeId(employeeId)
+                .processedOrders(histogram.getTotalCount())
+                .minDurationInMinutes(histogram.getMin())
+                .maxDurationInMinutes(histogram.getMax())
+                .averageDurationInMinutes(histogram.getMean())
+                .p50DurationInMinutes(histogram.valueAtPercentile(50))
+                .p90DurationInMinutes(histogram.valueAtPercentile(90))
+                .p99DurationInMinutes(histogram.valueAtPercentile(99))
+                .histogram(histogram.buckets())
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package co.com.bancolombia.usecase.efficiency;
+
+import co.com.bancolombia.model.efficiency.EmployeeEfficiency;
+import co.com.bancolombia.model.efficiency.EmployeeEfficiencySummary;
+import co.com.bancolombia.model.efficiency.EmployeeRankingQuery;
+import co.com.bancolombia.model.efficiency.RankingCursor;
+import co.com.bancolombia.model.efficiency.RankingOrder;
+import co.com.bancolombia.model.pagination.KeysetPage;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the best {@code limit + 1} employees past the cursor in a bounded heap, so a ranking page costs
+ * O(n log k) and never materialises the whole ordering. Averages are compared by cross-multiplying the
+ * totals and ties break on employee id, which keeps the order total and the cursor stable.
+ */
+final class EmployeeRankingSelector {
+
+    private final Comparator<EmployeeEfficiencySummary> ranking;
+    private final PriorityQueue<EmployeeEfficiencySummary> heap;
+    private final EmployeeRankingQuery query;
+    private final EmployeeEfficiencySummary after;
+    private final int capacity;
+
+    EmployeeRankingSelector(EmployeeRankingQuery query) {
+        this.ranking = ranking(query.getOrder());
+        this.query = query;
+        this.capacity = query.getLimit() + 1;
+        // Worst candidate on top so it is the one evicted
+        this.heap = new PriorityQueue<>(capacity, ranking.reversed());
+        this.after = toSummary(query.getAfter());
+    }
+
+    void offer(EmployeeEfficiencySummary summary) {
+        if (!EfficiencyViews.hasDeliveries(summary)
+                || summary.getDeliveredOrders() < query.getMinProcessedOrders()
+                || (after != null && ranking.compare(summary, after) <= 0)) {
+            return;
+        }
+        if (heap.size() < capacity) {
+            heap.add(summary);
+        } else if (ranking.compare(summary, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(summary);
+        }
+    }
+
+    KeysetPage<EmployeeEfficiency> page() {
+        List<EmployeeEfficiencySummary> selected = new ArrayList<>(heap);
+        selected.sort(ranking);
+        List<EmployeeEfficiency> rows = selected.stream()
+                .map(EfficiencyViews::toEmployeeEfficiency)
+                .toList();
+        return KeysetPage.fromLookahead(rows, query.getLimit());
+    }
+
+    private static Comparator<EmployeeEfficiencySummary> ranking(RankingOrder order) {
+        Comparator<EmployeeEfficiencySummary> byAverage = EmployeeRankingSelector::compareAverages;
+        if (order == RankingOrder.SLOWEST) {
+            byAverage = byAverage.reversed();
+        }
+        return byAverage.thenComparing(EmployeeEfficiencySummary::getEmployeeId);
+    }
+
+    private static int compareAverages(EmployeeEfficiencySummary left, EmployeeEfficiencySummary right) {
+        return Long.compare(
+                Math.multiplyExact(left.getTotalDurationInMinutes(), right.getDeliveredOrders()),
+                Math.multiplyExact(right.getTotalDurationInMinutes(), left.getDeliveredOrders()));
+    }
+
+    private static EmployeeEfficiencySummary toSummary(RankingCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        return EmployeeEfficiencySummary.builder()
+                .employeeId(cursor.getEmployeeId())
+                .totalDurationInMinutes(cursor.getTotalDurationInMinutes())
+                .deliveredOrders(cursor.getProcessedOrders())
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package co.com.bancolombia.usecase.efficiency;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from a long key to a dense index (0, 1, 2, ... in insertion order), so callers
+ * can keep per-key values in parallel primitive arrays. Nothing is allocated per lookup; the table
+ * doubles once it is half full.
+ */
+final class LongIndex {
+
+    static final int ABSENT = -1;
+
+    private long[] keys;
+    private int[] slots;
+    private int mask;
+    private int size;
+
+    LongIndex(int expectedKeys) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedKeys * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int indexOf(long key) {
+        for (int position = mix(key) & mask; ; position = (position + 1) & mask) {
+            int slot = slots[position];
+            if (slot == ABSENT || keys[position] == key) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * @return the index of {@code key}, adding it with the next free index when absent
+     */
+    int indexOrAdd(long key) {
+        int position = mix(key) & mask;
+        for (int slot = slots[position]; slot != ABSENT; slot = slots[position]) {
+            if (keys[position] == key) {
+                return slot;
+            }
+            position = (position + 1) & mask;
+        }
+        keys[position] = key;
+        slots[position] = size;
+        if (++size * 2 > slots.length) {
+            grow();
+        }
+        return size - 1;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldSlots = slots;
+        allocate(oldSlots.length * 2);
+        for (int i = 0; i < oldSlots.length; i++) {
+            if (oldSlots[i] != ABSENT) {
+                int position = mix(oldKeys[i]) & mask;
+                while (slots[position] != ABSENT) {
+                    position = (position + 1) & mask;
+                }
+                keys[position] = oldKeys[i];
+                slots[position] = oldSlots[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        slots = new int[capacity];
+        Arrays.fill(slots, ABSENT);
+        mask = capacity - 1;
+    }
+
+    // Sequential ids would otherwise fill neighbouring buckets and degrade probing into long runs
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,13 @@
+package co.com.bancolombia.usecase.efficiency;
+
+import co.com.bancolombia.model.efficiency.EfficiencyConsistencyReport;
+import co.com.bancolombia.model.efficiency.EmployeeEfficiency;
+import co.com.bancolombia.model.efficiency.EmployeeRankingQuery;
+import co.com.bancolombia.model.pagination.KeysetPage;
+
+public interface OrderEfficiencyMaintenanceService {
+    long rebuildSummaries();
+    EfficiencyConsistencyReport checkConsistency();
+    KeysetPage<EmployeeEfficiency> rankEmployeesFromTraces(EmployeeRankingQuery query);
+    boolean refreshTraceSnapshot();
+}
@@ -0,0 +1,165 @@
+package co.com.bancolombia.usecase.efficiency;
+
+import co.com.bancolombia.model.efficiency.EfficiencyConsistencyReport;
+import co.com.bancolombia.model.efficiency.EmployeeEfficiency;
+import co.com.bancolombia.model.efficiency.EmployeeEfficiencySummary;
+import co.com.bancolombia.model.efficiency.EmployeeRankingQuery;
+import co.com.bancolombia.model.efficiency.OrderEfficiencySummary;
+import co.com.bancolombia.model.efficiency.gateways.EmployeeEfficiencySummaryRepository;
+import co.com.bancolombia.model.efficiency.gateways.OrderEfficiencySummaryRepository;
+import co.com.bancolombia.model.ordertrace.OrderStatusChange;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.model.ordertrace.gateways.OrderTraceRepository;
+import co.com.bancolombia.model.ordertrace.gateways.TraceArchiveRepository;
+import co.com.bancolombia.model.pagination.KeysetPage;
+import co.com.bancolombia.model.transaction.gateways.TransactionGateway;
+import lombok.RequiredArgsConstructor;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class OrderEfficiencyMaintenanceUseCase implements OrderEfficiencyMaintenanceService {
+
+    private final OrderTraceRepository orderTraceRepository;
+    private final OrderEfficiencySummaryRepository orderEfficiencySummaryRepository;
+    private final EmployeeEfficiencySummaryRepository employeeEfficiencySummaryRepository;
+    private final TransactionGateway transactionGateway;
+    private final ParallelEmployeeRanking parallelEmployeeRanking;
+    private final TraceSnapshot traceSnapshot;
+    private final TraceArchiveRepository traceArchiveRepository;
+
+    @Override
+    public long rebuildSummaries() {
+        return transactionGateway.execute(() -> {
+            long rebuiltOrders = orderEfficiencySummaryRepository.rebuildFromTraces();
+            employeeEfficiencySummaryRepository.rebuildFromOrderSummaries();
+            return rebuiltOrders;
+        });
+    }
+
+    @Override
+    public EfficiencyConsistencyReport checkConsistency() {
+        TraceTotals totals = scanTraces();
+
+        List<OrderEfficiencySummary> storedSummaries = orderEfficiencySummaryRepository.findAll().stream()
+                .filter(summary -> summary.getDurationInMinutes() != null)
+                .toList();
+        Map<Long, Long> storedDurations = storedSummaries.stream()
+                .collect(Collectors.toMap(OrderEfficiencySummary::getOrderId, OrderEfficiencySummary::getDurationInMinutes));
+
+        Map<Long, Long> expectedDurations = new HashMap<>(totals.orderDurations().get());
+        Map<Long, EmployeeEfficiencySummary> expectedEmployees = totals.employeeSummaries().get().stream()
+                .collect(Collectors.toMap(EmployeeEfficiencySummary::getEmployeeId, Function.identity()));
+        addArchivedTotals(storedSummaries, totals.liveOrders(), expectedDurations, expectedEmployees);
+        Map<Long, EmployeeEfficiencySummary> storedEmployees = employeeEfficiencySummaryRepository.findAll().stream()
+                .filter(summary -> summary.getDeliveredOrders() != null && summary.getDeliveredOrders() > 0)
+                .collect(Collectors.toMap(EmployeeEfficiencySummary::getEmployeeId, Function.identity()));
+
+        Set<Long> orderIds = new TreeSet<>(expectedDurations.keySet());
+        orderIds.addAll(storedDurations.keySet());
+
+        List<Long> inconsistentOrderIds = orderIds.stream()
+                .filter(orderId -> !Objects.equals(expectedDurations.get(orderId), storedDurations.get(orderId)))
+                .toList();
+
+        Set<Long> employeeIds = new TreeSet<>(expectedEmployees.keySet());
+        employeeIds.addAll(storedEmployees.keySet());
+
+        List<Long> inconsistentEmployeeIds = employeeIds.stream()
+                .filter(employeeId -> !sameTotals(expectedEmployees.get(employeeId), storedEmployees.get(employeeId)))
+                .toList();
+
+        return EfficiencyConsistencyReport.builder()
+                .checkedOrders((long) orderIds.size())
+                .inconsistentOrderIds(inconsistentOrderIds)
+                .checkedEmployees((long) employeeIds.size())
+                .inconsistentEmployeeIds(inconsistentEmployeeIds)
+                .build();
+    }
+
+    @Override
+    public KeysetPage<EmployeeEfficiency> rankEmployeesFromTraces(EmployeeRankingQuery query) {
+        EmployeeRankingSelector selector = new EmployeeRankingSelector(query);
+        scanTraces().employeeSummaries().get().forEach(selector::offer);
+        KeysetPage<EmployeeEfficiency> page = selector.page();
+
+        // Projections carry no emails; only the rows being returned are looked up
+        page.getItems().forEach(efficiency -> {
+            EmployeeEfficiencySummary known = employeeEfficiencySummaryRepository.findByEmployeeId(efficiency.getEmployeeId());
+            if (known != null && known.getEmployeeEmail() != null) {
+                efficiency.setEmployeeEmail(known.getEmployeeEmail());
+            }
+        });
+        return page;
+    }
+
+    @Override
+    public boolean refreshTraceSnapshot() {
+        return traceSnapshot.refresh(orderTraceRepository::forEachStatusChange);
+    }
+
+    /**
+     * Summaries outlive the traces the archive job deletes, so stored orders the scan did not see are checked
+     * against their archived history instead; orders found in neither place stay unexpected.
+     */
+    private void addArchivedTotals(List<OrderEfficiencySummary> storedSummaries, LongPredicate liveOrders,
+                                   Map<Long, Long> expectedDurations,
+                                   Map<Long, EmployeeEfficiencySummary> expectedEmployees) {
+        TraceEfficiencyAccumulator archived = new TraceEfficiencyAccumulator();
+        storedSummaries.stream()
+                .map(OrderEfficiencySummary::getOrderId)
+                .filter(orderId -> !liveOrders.test(orderId))
+                .flatMap(orderId -> traceArchiveRepository.findByOrderId(orderId).stream())
+                .map(OrderEfficiencyMaintenanceUseCase::toStatusChange)
+                .forEach(archived);
+
+        expectedDurations.putAll(archived.orderDurations());
+        parallelEmployeeRanking.summarize(archived.pendingByOrder(), archived.deliveriesByEmployee())
+                .forEach(summary -> expectedEmployees.merge(summary.getEmployeeId(), summary, (liveTotals, archivedTotals) ->
+                        EmployeeEfficiencySummary.builder()
+                                .employeeId(liveTotals.getEmployeeId())
+                                .totalDurationInMinutes(liveTotals.getTotalDurationInMinutes() + archivedTotals.getTotalDurationInMinutes())
+                                .deliveredOrders(liveTotals.getDeliveredOrders() + archivedTotals.getDeliveredOrders())
+                                .build()));
+    }
+
+    private static OrderStatusChange toStatusChange(OrderTrace trace) {
+        return new OrderStatusChange(trace.getId(), trace.getOrderId(), trace.getEmployeeId(), trace.getNewStatus(),
+                trace.getTimestamp());
+    }
+
+    // The in-memory snapshot once loaded, the database until then
+    private TraceTotals scanTraces() {
+        if (traceSnapshot.isLoaded()) {
+            ColumnarEfficiencyAccumulator accumulator = new ColumnarEfficiencyAccumulator(traceSnapshot.getRowCount() / 4);
+            traceSnapshot.forEach(accumulator);
+            return new TraceTotals(accumulator::orderDurations, accumulator::employeeSummaries,
+                    accumulator::containsOrder);
+        }
+        TraceEfficiencyAccumulator accumulator = new TraceEfficiencyAccumulator();
+        orderTraceRepository.forEachStatusChange(accumulator);
+        return new TraceTotals(accumulator::orderDurations, () -> parallelEmployeeRanking.summarize(
+                accumulator.pendingByOrder(), accumulator.deliveriesByEmployee()), accumulator::containsOrder);
+    }
+
+    // Computed on demand so the ranking does not pay for per-order durations it never reads
+    private record TraceTotals(Supplier<Map<Long, Long>> orderDurations,
+                               Supplier<List<EmployeeEfficiencySummary>> employeeSummaries,
+                               LongPredicate liveOrders) {
+    }
+
+    private boolean sameTotals(EmployeeEfficiencySummary expected, EmployeeEfficiencySummary stored) {
+        return expected != null && stored != null
+                && Objects.equals(expected.getTotalDurationInMinutes(), stored.getTotalDurationInMinutes())
+                && Objects.equals(expected.getDeliveredOrders(), stored.getDeliveredOrders());
+    }
+}
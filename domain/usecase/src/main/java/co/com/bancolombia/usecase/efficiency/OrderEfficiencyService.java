@@ -1,13 +1,20 @@
 package co.com.bancolombia.usecase.efficiency;
 
+import co.com.bancolombia.model.efficiency.DurationDistribution;
 import co.com.bancolombia.model.efficiency.EmployeeEfficiency;
+import co.com.bancolombia.model.efficiency.EmployeeRankingQuery;
 import co.com.bancolombia.model.efficiency.OrderEfficiency;
+import co.com.bancolombia.model.efficiency.TimeWindow;
+import co.com.bancolombia.model.pagination.KeysetPage;
 
 import java.util.List;
 
 public interface OrderEfficiencyService {
     List<OrderEfficiency> getAllOrdersEfficiency();
-    OrderEfficiency getOrderEfficiency(Long orderId);
-    List<EmployeeEfficiency> getEmployeesEfficiencyRanking();
-    EmployeeEfficiency getEmployeeEfficiency(Long employeeId);
-}
\ No newline at end of file
+    KeysetPage<OrderEfficiency> getOrdersEfficiencyPage(Long afterOrderId, int limit, TimeWindow window);
+    OrderEfficiency getOrderEfficiency(Long orderId, TimeWindow window);
+    KeysetPage<EmployeeEfficiency> getEmployeesEfficiencyRanking(EmployeeRankingQuery query, TimeWindow window);
+    EmployeeEfficiency getEmployeeEfficiency(Long employeeId, TimeWindow window);
+    DurationDistribution getDurationDistribution(TimeWindow window);
+    DurationDistribution getEmployeeDurationDistribution(Long employeeId, TimeWindow window);
+}
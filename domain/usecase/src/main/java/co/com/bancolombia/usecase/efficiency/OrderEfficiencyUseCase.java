@@ -1,157 +1,101 @@
 package co.com.bancolombia.usecase.efficiency;
 
+import co.com.bancolombia.model.efficiency.DurationDistribution;
+import co.com.bancolombia.model.efficiency.DurationHistogram;
 import co.com.bancolombia.model.efficiency.EmployeeEfficiency;
+import co.com.bancolombia.model.efficiency.EmployeeEfficiencySummary;
+import co.com.bancolombia.model.efficiency.EmployeeRankingQuery;
 import co.com.bancolombia.model.efficiency.OrderEfficiency;
-import co.com.bancolombia.model.enums.OrderStatus;
-import co.com.bancolombia.model.ordertrace.OrderTrace;
-import co.com.bancolombia.model.ordertrace.gateways.OrderTraceRepository;
+import co.com.bancolombia.model.efficiency.OrderEfficiencySummary;
+import co.com.bancolombia.model.efficiency.TimeWindow;
+import co.com.bancolombia.model.efficiency.gateways.EmployeeEfficiencySummaryRepository;
+import co.com.bancolombia.model.efficiency.gateways.OrderEfficiencySummaryRepository;
+import co.com.bancolombia.model.pagination.KeysetPage;
 import lombok.RequiredArgsConstructor;
 
-import java.time.LocalDateTime;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 public class OrderEfficiencyUseCase implements OrderEfficiencyService {
 
-    private final OrderTraceRepository orderTraceRepository;
+    private final OrderEfficiencySummaryRepository orderEfficiencySummaryRepository;
+    private final EmployeeEfficiencySummaryRepository employeeEfficiencySummaryRepository;
 
     @Override
     public List<OrderEfficiency> getAllOrdersEfficiency() {
-        List<OrderTrace> allTraces = orderTraceRepository.findAll();
-
-        return allTraces.stream()
-                .filter(trace -> trace.getNewStatus() == OrderStatus.DELIVERED)
-                .map(this::calculateOrderEfficiency)
-                .filter(efficiency -> efficiency.getDurationInMinutes() != null && efficiency.getDurationInMinutes() >= 0)
+        return orderEfficiencySummaryRepository.findAllCompleted().stream()
+                .map(EfficiencyViews::toOrderEfficiency)
+                .filter(efficiency -> efficiency.getDurationInMinutes() != null)
                 .sorted(Comparator.comparingLong(OrderEfficiency::getOrderId))
                 .collect(Collectors.toList());
     }
 
     @Override
-    public OrderEfficiency getOrderEfficiency(Long orderId) {
-        List<OrderTrace> orderTraces = orderTraceRepository.findByOrderId(orderId);
-
-        LocalDateTime pendingTime = null;
-        LocalDateTime deliveredTime = null;
-
-        for (OrderTrace trace : orderTraces) {
-            if (trace.getNewStatus() == OrderStatus.PENDING) {
-                pendingTime = trace.getTimestamp();
-            }
-            if (trace.getNewStatus() == OrderStatus.DELIVERED) {
-                deliveredTime = trace.getTimestamp();
-            }
-        }
-
-        long durationInMinutes = -1;
-        if (pendingTime != null && deliveredTime != null) {
-            durationInMinutes = java.time.temporal.ChronoUnit.MINUTES.between(pendingTime, deliveredTime);
-        }
-
-        return OrderEfficiency.builder()
-                .orderId(orderId)
-                .durationInMinutes(durationInMinutes >= 0 ? durationInMinutes : null)
-                .build();
+    public KeysetPage<OrderEfficiency> getOrdersEfficiencyPage(Long afterOrderId, int limit, TimeWindow window) {
+        List<OrderEfficiencySummary> summaries = window.isBounded()
+                ? orderEfficiencySummaryRepository.findCompletedWithin(window, afterOrderId, limit + 1)
+                : orderEfficiencySummaryRepository.findCompletedAfter(afterOrderId, limit + 1);
+        List<OrderEfficiency> rows = summaries.stream()
+                .map(EfficiencyViews::toOrderEfficiency)
+                .toList();
+        return KeysetPage.fromLookahead(rows, limit);
     }
 
     @Override
-    public List<EmployeeEfficiency> getEmployeesEfficiencyRanking() {
-        List<OrderTrace> allTraces = orderTraceRepository.findAll();
+    public OrderEfficiency getOrderEfficiency(Long orderId, TimeWindow window) {
+        OrderEfficiencySummary summary = orderEfficiencySummaryRepository.findByOrderId(orderId);
 
-        Map<Long, List<OrderTrace>> tracesByEmployeeId = allTraces.stream()
-                .filter(trace -> trace.getEmployeeId() != null)
-                .collect(Collectors.groupingBy(OrderTrace::getEmployeeId));
+        if (summary == null || (window.isBounded() && !window.contains(summary.getDeliveredAt()))) {
+            return EfficiencyViews.emptyOrderEfficiency(orderId);
+        }
 
-        return tracesByEmployeeId.entrySet().stream()
-                .map(entry -> calculateEmployeeEfficiency(entry.getKey(), entry.getValue()))
-                .filter(efficiency -> efficiency.getProcessedOrders() > 0)
-                .sorted(Comparator.comparingDouble(EmployeeEfficiency::getAverageDurationInMinutes))
-                .collect(Collectors.toList());
+        return EfficiencyViews.toOrderEfficiency(summary);
     }
 
     @Override
-    public EmployeeEfficiency getEmployeeEfficiency(Long employeeId) {
-        List<OrderTrace> employeeTraces = orderTraceRepository.findByEmployeeId(employeeId);
-
-        if (employeeTraces.isEmpty()) {
-            return EmployeeEfficiency.builder()
-                    .employeeId(employeeId)
-                    .averageDurationInMinutes(0.0)
-                    .processedOrders(0L)
-                    .build();
-        }
-
-        return calculateEmployeeEfficiency(employeeId, employeeTraces);
+    public KeysetPage<EmployeeEfficiency> getEmployeesEfficiencyRanking(EmployeeRankingQuery query, TimeWindow window) {
+        // All-time totals are maintained on write; a bounded window is aggregated from the order summaries
+        List<EmployeeEfficiencySummary> summaries = window.isBounded()
+                ? orderEfficiencySummaryRepository.summarizeEmployees(window)
+                : employeeEfficiencySummaryRepository.findAll();
+
+        EmployeeRankingSelector selector = new EmployeeRankingSelector(query);
+        summaries.forEach(selector::offer);
+        return selector.page();
     }
 
-    private OrderEfficiency calculateOrderEfficiency(OrderTrace deliveredTrace) {
-        List<OrderTrace> orderTraces = orderTraceRepository.findByOrderId(deliveredTrace.getOrderId());
-
-        LocalDateTime pendingTime = null;
-        LocalDateTime deliveredTime = deliveredTrace.getTimestamp();
-
-        for (OrderTrace trace : orderTraces) {
-            if (trace.getNewStatus() == OrderStatus.PENDING) {
-                pendingTime = trace.getTimestamp();
-                break;
-            }
+    @Override
+    public EmployeeEfficiency getEmployeeEfficiency(Long employeeId, TimeWindow window) {
+        EmployeeEfficiencySummary summary = window.isBounded()
+                ? orderEfficiencySummaryRepository.summarizeEmployee(employeeId, window)
+                : employeeEfficiencySummaryRepository.findByEmployeeId(employeeId);
+
+        if (!EfficiencyViews.hasDeliveries(summary)) {
+            // Nothing delivered in the window: fall back to the all-time row for the employee email
+            EmployeeEfficiencySummary known = window.isBounded()
+                    ? employeeEfficiencySummaryRepository.findByEmployeeId(employeeId)
+                    : summary;
+            return EfficiencyViews.emptyEmployeeEfficiency(employeeId, known);
         }
 
-        long durationInMinutes = -1;
-        if (pendingTime != null) {
-            durationInMinutes = java.time.temporal.ChronoUnit.MINUTES.between(pendingTime, deliveredTime);
-        }
+        return EfficiencyViews.toEmployeeEfficiency(summary);
+    }
 
-        return OrderEfficiency.builder()
-                .orderId(deliveredTrace.getOrderId())
-                .durationInMinutes(durationInMinutes >= 0 ? durationInMinutes : null)
-                .build();
+    @Override
+    public DurationDistribution getDurationDistribution(TimeWindow window) {
+        return distribution(null, window);
     }
 
-    private EmployeeEfficiency calculateEmployeeEfficiency(Long employeeId, List<OrderTrace> employeeTraces) {
-        String employeeEmail = employeeTraces.stream()
-                .map(OrderTrace::getEmployeeEmail)
-                .filter(email -> email != null)
-                .findFirst()
-                .orElse("");
-
-        List<Long> durations = employeeTraces.stream()
-                .filter(trace -> trace.getNewStatus() == OrderStatus.DELIVERED)
-                .map(trace -> {
-                    List<OrderTrace> allOrderTraces = orderTraceRepository.findByOrderId(trace.getOrderId());
-                    LocalDateTime pendingTime = null;
-                    LocalDateTime deliveredTime = trace.getTimestamp();
-
-                    for (OrderTrace t : allOrderTraces) {
-                        if (t.getNewStatus() == OrderStatus.PENDING) {
-                            pendingTime = t.getTimestamp();
-                            break;
-                        }
-                    }
-
-                    if (pendingTime != null) {
-                        return java.time.temporal.ChronoUnit.MINUTES.between(pendingTime, deliveredTime);
-                    }
-                    return -1L;
-                })
-                .filter(duration -> duration >= 0)
-                .collect(Collectors.toList());
+    @Override
+    public DurationDistribution getEmployeeDurationDistribution(Long employeeId, TimeWindow window) {
+        return distribution(employeeId, window);
+    }
 
-        Double averageDuration = durations.isEmpty()
-                ? 0.0
-                : durations.stream()
-                    .mapToLong(Long::longValue)
-                    .average()
-                    .orElse(0.0);
-
-        return EmployeeEfficiency.builder()
-                .employeeId(employeeId)
-                .employeeEmail(employeeEmail)
-                .averageDurationInMinutes(averageDuration)
-                .processedOrders((long) durations.size())
-                .build();
+    private DurationDistribution distribution(Long employeeId, TimeWindow window) {
+        DurationHistogram histogram = new DurationHistogram();
+        orderEfficiencySummaryRepository.forEachCompletedDuration(window, employeeId, histogram::record);
+        return EfficiencyViews.toDistribution(employeeId, histogram);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,134 @@
+package co.com.bancolombia.usecase.efficiency;
+
+import co.com.bancolombia.model.efficiency.EmployeeEfficiencySummary;
+import co.com.bancolombia.model.ordertrace.OrderStatusChange;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes per-employee delivery totals from raw traces on a dedicated, size-limited fork-join pool.
+ * Employees are split by index range over an id-sorted array and every task reads the same
+ * orderId to pending-timestamp lookup, so no task touches a repository and the concatenated
+ * result always comes back in employee id order regardless of the parallelism.
+ */
+public class ParallelEmployeeRanking implements AutoCloseable {
+
+    // Leaves per worker; more than one so a slow range does not leave the others idle
+    private static final int TASKS_PER_WORKER = 4;
+
+    private final ForkJoinPool pool;
+
+    public ParallelEmployeeRanking(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism, ParallelEmployeeRanking::newWorker, null, false);
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * @param pendingByOrder       first PENDING timestamp of every order
+     * @param deliveriesByEmployee the latest DELIVERED change of every order, grouped by the employee who made it
+     * @return one summary per employee with at least one valid delivery, ordered by employee id
+     */
+    public List<EmployeeEfficiencySummary> summarize(Map<Long, LocalDateTime> pendingByOrder,
+                                                     Map<Long, List<OrderStatusChange>> deliveriesByEmployee) {
+        Long[] employeeIds = deliveriesByEmployee.keySet().stream()
+                .sorted()
+                .toArray(Long[]::new);
+        int leafSize = Math.max(1, employeeIds.length / (pool.getParallelism() * TASKS_PER_WORKER));
+        return pool.invoke(new EmployeeRangeTask(employeeIds, 0, employeeIds.length, leafSize,
+                pendingByOrder, deliveriesByEmployee));
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        worker.setName("efficiency-ranking-" + worker.getPoolIndex());
+        return worker;
+    }
+
+    private static final class EmployeeRangeTask extends RecursiveTask<List<EmployeeEfficiencySummary>> {
+
+        private final Long[] employeeIds;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+        private final Map<Long, LocalDateTime> pendingByOrder;
+        private final Map<Long, List<OrderStatusChange>> deliveriesByEmployee;
+
+        private EmployeeRangeTask(Long[] employeeIds, int from, int to, int leafSize,
+                                  Map<Long, LocalDateTime> pendingByOrder,
+                                  Map<Long, List<OrderStatusChange>> deliveriesByEmployee) {
+            this.employeeIds = employeeIds;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+            this.pendingByOrder = pendingByOrder;
+            this.deliveriesByEmployee = deliveriesByEmployee;
+        }
+
+        @Override
+        protected List<EmployeeEfficiencySummary> compute() {
+            if (to - from <= leafSize) {
+                return summarizeRange();
+            }
+            int middle = (from + to) >>> 1;
+            EmployeeRangeTask left = new EmployeeRangeTask(employeeIds, from, middle, leafSize,
+                    pendingByOrder, deliveriesByEmployee);
+            EmployeeRangeTask right = new EmployeeRangeTask(employeeIds, middle, to, leafSize,
+                    pendingByOrder, deliveriesByEmployee);
+            left.fork();
+            List<EmployeeEfficiencySummary> rightResult = right.compute();
+            List<EmployeeEfficiencySummary> result = new ArrayList<>(left.join());
+            result.addAll(rightResult);
+            return result;
+        }
+
+        private List<EmployeeEfficiencySummary> summarizeRange() {
+            List<EmployeeEfficiencySummary> summaries = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                EmployeeEfficiencySummary summary = summarizeEmployee(employeeIds[i]);
+                if (summary != null) {
+                    summaries.add(summary);
+                }
+            }
+            return summaries;
+        }
+
+        private EmployeeEfficiencySummary summarizeEmployee(Long employeeId) {
+            long totalDuration = 0;
+            long deliveredOrders = 0;
+            for (OrderStatusChange delivery : deliveriesByEmployee.get(employeeId)) {
+                LocalDateTime pendingAt = pendingByOrder.get(delivery.getOrderId());
+                if (pendingAt == null) {
+                    continue;
+                }
+                long duration = ChronoUnit.MINUTES.between(pendingAt, delivery.getTimestamp());
+                if (duration >= 0) {
+                    totalDuration += duration;
+                    deliveredOrders++;
+                }
+            }
+            if (deliveredOrders == 0) {
+                return null;
+            }
+            return EmployeeEfficiencySummary.builder()
+                    .employeeId(employeeId)
+                    .totalDurationInMinutes(totalDuration)
+                    .deliveredOrders(deliveredOrders)
+                    .build();
+        }
+    }
+}
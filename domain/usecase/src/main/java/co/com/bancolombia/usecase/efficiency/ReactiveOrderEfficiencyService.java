@@ -0,0 +1,19 @@
+package co.com.bancolombia.usecase.efficiency;
+
+import co.com.bancolombia.model.efficiency.DurationDistribution;
+import co.com.bancolombia.model.efficiency.EmployeeEfficiency;
+import co.com.bancolombia.model.efficiency.EmployeeRankingQuery;
+import co.com.bancolombia.model.efficiency.OrderEfficiency;
+import co.com.bancolombia.model.efficiency.TimeWindow;
+import co.com.bancolombia.model.pagination.KeysetPage;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveOrderEfficiencyService {
+    Mono<KeysetPage<OrderEfficiency>> getOrdersEfficiencyPage(Long afterOrderId, int limit, TimeWindow window);
+    Mono<OrderEfficiency> getOrderEfficiency(Long orderId, TimeWindow window);
+    Mono<KeysetPage<EmployeeEfficiency>> getEmployeesEfficiencyRanking(EmployeeRankingQuery query, TimeWindow window);
+    Mono<EmployeeEfficiency> getEmployeeEfficiency(Long employeeId, TimeWindow window);
+    Mono<DurationDistribution> getDurationDistribution(TimeWindow window);
+    Mono<DurationDistribution> getEmployeeDurationDistribution(Long employeeId, TimeWindow window);
+}
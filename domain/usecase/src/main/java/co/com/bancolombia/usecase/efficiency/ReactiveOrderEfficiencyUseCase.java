@@ -0,0 +1,86 @@
+package co.com.bancolombia.usecase.efficiency;
+
+import co.com.bancolombia.model.efficiency.DurationDistribution;
+import co.com.bancolombia.model.efficiency.DurationHistogram;
+import co.com.bancolombia.model.efficiency.EmployeeEfficiency;
+import co.com.bancolombia.model.efficiency.EmployeeEfficiencySummary;
+import co.com.bancolombia.model.efficiency.EmployeeRankingQuery;
+import co.com.bancolombia.model.efficiency.OrderEfficiency;
+import co.com.bancolombia.model.efficiency.OrderEfficiencySummary;
+import co.com.bancolombia.model.efficiency.TimeWindow;
+import co.com.bancolombia.model.efficiency.gateways.ReactiveEmployeeEfficiencySummaryRepository;
+import co.com.bancolombia.model.efficiency.gateways.ReactiveOrderEfficiencySummaryRepository;
+import co.com.bancolombia.model.pagination.KeysetPage;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class ReactiveOrderEfficiencyUseCase implements ReactiveOrderEfficiencyService {
+
+    private final ReactiveOrderEfficiencySummaryRepository orderEfficiencySummaryRepository;
+    private final ReactiveEmployeeEfficiencySummaryRepository employeeEfficiencySummaryRepository;
+
+    @Override
+    public Mono<KeysetPage<OrderEfficiency>> getOrdersEfficiencyPage(Long afterOrderId, int limit, TimeWindow window) {
+        Flux<OrderEfficiencySummary> summaries = window.isBounded()
+                ? orderEfficiencySummaryRepository.findCompletedWithin(window, afterOrderId, limit + 1)
+                : orderEfficiencySummaryRepository.findCompletedAfter(afterOrderId, limit + 1);
+        return summaries
+                .map(EfficiencyViews::toOrderEfficiency)
+                .collectList()
+                .map(rows -> KeysetPage.fromLookahead(rows, limit));
+    }
+
+    @Override
+    public Mono<OrderEfficiency> getOrderEfficiency(Long orderId, TimeWindow window) {
+        return orderEfficiencySummaryRepository.findByOrderId(orderId)
+                .filter(summary -> !window.isBounded() || window.contains(summary.getDeliveredAt()))
+                .map(EfficiencyViews::toOrderEfficiency)
+                .defaultIfEmpty(EfficiencyViews.emptyOrderEfficiency(orderId));
+    }
+
+    @Override
+    public Mono<KeysetPage<EmployeeEfficiency>> getEmployeesEfficiencyRanking(EmployeeRankingQuery query,
+                                                                              TimeWindow window) {
+        Flux<EmployeeEfficiencySummary> summaries = window.isBounded()
+                ? orderEfficiencySummaryRepository.summarizeEmployees(window)
+                : employeeEfficiencySummaryRepository.findAll();
+        return summaries
+                .collect(() -> new EmployeeRankingSelector(query), EmployeeRankingSelector::offer)
+                .map(EmployeeRankingSelector::page);
+    }
+
+    @Override
+    public Mono<EmployeeEfficiency> getEmployeeEfficiency(Long employeeId, TimeWindow window) {
+        if (!window.isBounded()) {
+            return employeeEfficiencySummaryRepository.findByEmployeeId(employeeId)
+                    .map(summary -> EfficiencyViews.hasDeliveries(summary)
+                            ? EfficiencyViews.toEmployeeEfficiency(summary)
+                            : EfficiencyViews.emptyEmployeeEfficiency(employeeId, summary))
+                    .defaultIfEmpty(EfficiencyViews.emptyEmployeeEfficiency(employeeId, null));
+        }
+        return orderEfficiencySummaryRepository.summarizeEmployee(employeeId, window)
+                .filter(EfficiencyViews::hasDeliveries)
+                .map(EfficiencyViews::toEmployeeEfficiency)
+                .switchIfEmpty(Mono.defer(() -> employeeEfficiencySummaryRepository.findByEmployeeId(employeeId)
+                        .map(known -> EfficiencyViews.emptyEmployeeEfficiency(employeeId, known))
+                        .defaultIfEmpty(EfficiencyViews.emptyEmployeeEfficiency(employeeId, null))));
+    }
+
+    @Override
+    public Mono<DurationDistribution> getDurationDistribution(TimeWindow window) {
+        return distribution(null, window);
+    }
+
+    @Override
+    public Mono<DurationDistribution> getEmployeeDurationDistribution(Long employeeId, TimeWindow window) {
+        return distribution(employeeId, window);
+    }
+
+    private Mono<DurationDistribution> distribution(Long employeeId, TimeWindow window) {
+        return orderEfficiencySummaryRepository.findCompletedDurations(window, employeeId)
+                .collect(DurationHistogram::new, DurationHistogram::record)
+                .map(histogram -> EfficiencyViews.toDistribution(employeeId, histogram));
+    }
+}
@@ -0,0 +1,62 @@
+package co.com.bancolombia.usecase.efficiency;
+
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.OrderStatusChange;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Folds timestamp-ordered status changes into per-order durations and per-employee deliveries using the
+ * write-time summary rules (first PENDING, latest DELIVERED), without retaining the changes.
+ */
+class TraceEfficiencyAccumulator implements Consumer<OrderStatusChange> {
+
+    private final Map<Long, LocalDateTime> pendingByOrder = new HashMap<>();
+    private final Map<Long, OrderStatusChange> deliveryByOrder = new HashMap<>();
+
+    @Override
+    public void accept(OrderStatusChange change) {
+        if (change.getNewStatus() == OrderStatus.PENDING) {
+            pendingByOrder.putIfAbsent(change.getOrderId(), change.getTimestamp());
+        }
+        if (change.getNewStatus() == OrderStatus.DELIVERED) {
+            deliveryByOrder.put(change.getOrderId(), change);
+        }
+    }
+
+    boolean containsOrder(long orderId) {
+        return pendingByOrder.containsKey(orderId) || deliveryByOrder.containsKey(orderId);
+    }
+
+    Map<Long, Long> orderDurations() {
+        Map<Long, Long> durations = new HashMap<>();
+        deliveryByOrder.forEach((orderId, delivery) -> {
+            LocalDateTime pendingAt = pendingByOrder.get(orderId);
+            if (pendingAt != null) {
+                durations.put(orderId, ChronoUnit.MINUTES.between(pendingAt, delivery.getTimestamp()));
+            }
+        });
+        return durations;
+    }
+
+    Map<Long, LocalDateTime> pendingByOrder() {
+        return Collections.unmodifiableMap(pendingByOrder);
+    }
+
+    Map<Long, List<OrderStatusChange>> deliveriesByEmployee() {
+        Map<Long, List<OrderStatusChange>> deliveries = new HashMap<>();
+        deliveryByOrder.values().forEach(delivery -> {
+            if (delivery.getEmployeeId() != null) {
+                deliveries.computeIfAbsent(delivery.getEmployeeId(), employeeId -> new ArrayList<>()).add(delivery);
+            }
+        });
+        return deliveries;
+    }
+}
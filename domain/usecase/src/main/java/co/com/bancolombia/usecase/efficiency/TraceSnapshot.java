@@ -0,0 +1,189 @@
+package co.com.bancolombia.usecase.efficiency;
+
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.OrderStatusChange;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory copy of every trace's efficiency columns, held as parallel primitive arrays so a full
+ * pass allocates nothing per row. Rebuilt from the database by {@link #refresh} and kept current
+ * between refreshes by {@link #append}, which is fed the traces this node commits. Appends arriving
+ * while a refresh is loading are replayed on the new copy unless the load already returned them.
+ * Readers never block: they work on the arrays and row count published at the time they start.
+ */
+public class TraceSnapshot {
+
+    public static final long NO_EMPLOYEE = Long.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 1 << 16;
+    // traceId, orderId, employeeId and epochSecond longs plus the status byte
+    private static final int BYTES_PER_ROW = 4 * Long.BYTES + 1;
+
+    @FunctionalInterface
+    public interface RowVisitor {
+        void visit(long orderId, long employeeId, byte status, long epochSecond);
+    }
+
+    private final Object appendLock = new Object();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Columns columns = new Columns(0);
+    private volatile boolean loaded;
+    // Guarded by appendLock; non-null while a refresh is loading
+    private List<OrderTrace> appendedDuringRefresh;
+
+    public static byte statusCode(OrderStatus status) {
+        return (byte) status.ordinal();
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int getRowCount() {
+        return columns.size;
+    }
+
+    public long getFootprintBytes() {
+        return (long) columns.capacity() * BYTES_PER_ROW;
+    }
+
+    public void forEach(RowVisitor visitor) {
+        Columns current = columns;
+        int rows = current.size;
+        for (int i = 0; i < rows; i++) {
+            visitor.visit(current.orderIds[i], current.employeeIds[i], current.statuses[i], current.epochSeconds[i]);
+        }
+    }
+
+    public void append(OrderTrace trace) {
+        synchronized (appendLock) {
+            // Before the first refresh the load will return it anyway
+            if (appendedDuringRefresh == null && !loaded) {
+                return;
+            }
+            if (appendedDuringRefresh != null) {
+                appendedDuringRefresh.add(trace);
+            }
+            columns = columns.append(trace.getId(), trace.getOrderId(), trace.getEmployeeId(), trace.getNewStatus(),
+                    trace.getTimestamp());
+        }
+    }
+
+    /**
+     * Replaces the snapshot with the rows {@code scan} emits. A refresh already in progress makes this a no-op.
+     *
+     * @return whether this call refreshed the snapshot
+     */
+    public boolean refresh(Consumer<Consumer<OrderStatusChange>> scan) {
+        if (!refreshLock.tryLock()) {
+            return false;
+        }
+        try {
+            synchronized (appendLock) {
+                appendedDuringRefresh = new ArrayList<>();
+            }
+            Columns[] loading = {new Columns(Math.max(INITIAL_CAPACITY, columns.size))};
+            try {
+                scan.accept(change -> loading[0] = loading[0].append(change.getId(), change.getOrderId(),
+                        change.getEmployeeId(), change.getNewStatus(), change.getTimestamp()));
+            } catch (RuntimeException e) {
+                synchronized (appendLock) {
+                    appendedDuringRefresh = null;
+                }
+                throw e;
+            }
+            synchronized (appendLock) {
+                columns = replayMissing(loading[0], appendedDuringRefresh);
+                appendedDuringRefresh = null;
+                loaded = true;
+            }
+            return true;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private static Columns replayMissing(Columns loaded, List<OrderTrace> appended) {
+        if (appended.isEmpty()) {
+            return loaded;
+        }
+        LongIndex appendedIds = new LongIndex(appended.size());
+        boolean[] alreadyLoaded = new boolean[appended.size()];
+        appended.forEach(trace -> appendedIds.indexOrAdd(trace.getId()));
+        for (int i = 0; i < loaded.size; i++) {
+            int index = appendedIds.indexOf(loaded.traceIds[i]);
+            if (index != LongIndex.ABSENT) {
+                alreadyLoaded[index] = true;
+            }
+        }
+        Columns result = loaded;
+        for (OrderTrace trace : appended) {
+            if (!alreadyLoaded[appendedIds.indexOf(trace.getId())]) {
+                result = result.append(trace.getId(), trace.getOrderId(), trace.getEmployeeId(), trace.getNewStatus(),
+                        trace.getTimestamp());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Arrays are never shrunk or rewritten below {@code size}, so a reader holding an older instance
+     * still sees a consistent prefix after the writer grew into a new one.
+     */
+    private static final class Columns {
+
+        private final long[] traceIds;
+        private final long[] orderIds;
+        private final long[] employeeIds;
+        private final long[] epochSeconds;
+        private final byte[] statuses;
+        private volatile int size;
+
+        private Columns(int capacity) {
+            this(new long[capacity], new long[capacity], new long[capacity], new long[capacity], new byte[capacity], 0);
+        }
+
+        private Columns(long[] traceIds, long[] orderIds, long[] employeeIds, long[] epochSeconds, byte[] statuses,
+                        int size) {
+            this.traceIds = traceIds;
+            this.orderIds = orderIds;
+            this.employeeIds = employeeIds;
+            this.epochSeconds = epochSeconds;
+            this.statuses = statuses;
+            this.size = size;
+        }
+
+        private int capacity() {
+            return traceIds.length;
+        }
+
+        // Single writer: callers hold appendLock or own the instance being loaded
+        private Columns append(Long traceId, Long orderId, Long employeeId, OrderStatus status, LocalDateTime timestamp) {
+            Columns target = size < capacity() ? this : grown();
+            int row = target.size;
+            target.traceIds[row] = traceId;
+            target.orderIds[row] = orderId;
+            target.employeeIds[row] = employeeId != null ? employeeId : NO_EMPLOYEE;
+            target.epochSeconds[row] = timestamp.toEpochSecond(ZoneOffset.UTC);
+            target.statuses[row] = statusCode(status);
+            target.size = row + 1;
+            return target;
+        }
+
+        private Columns grown() {
+            int capacity = Math.max(INITIAL_CAPACITY, capacity() * 2);
+            return new Columns(Arrays.copyOf(traceIds, capacity), Arrays.copyOf(orderIds, capacity),
+                    Arrays.copyOf(employeeIds, capacity), Arrays.copyOf(epochSeconds, capacity),
+                    Arrays.copyOf(statuses, capacity), size);
+        }
+    }
+}
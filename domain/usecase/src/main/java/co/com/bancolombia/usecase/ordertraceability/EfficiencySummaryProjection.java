@@ -0,0 +1,60 @@
+package co.com.bancolombia.usecase.ordertraceability;
+
+import co.com.bancolombia.model.efficiency.OrderEfficiencySummary;
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+// Write-time projection of a trace onto order_efficiency/employee_efficiency, shared by the blocking
+// and reactive use cases so both stacks maintain the summaries identically.
+final class EfficiencySummaryProjection {
+
+    private EfficiencySummaryProjection() {
+    }
+
+    static boolean affectsSummary(OrderTrace trace) {
+        return trace.getNewStatus() == OrderStatus.PENDING || trace.getNewStatus() == OrderStatus.DELIVERED;
+    }
+
+    static OrderEfficiencySummary project(OrderEfficiencySummary current, OrderTrace trace) {
+        OrderEfficiencySummary summary = current != null
+                ? current.toBuilder().build()
+                : OrderEfficiencySummary.builder().orderId(trace.getOrderId()).build();
+
+        if (trace.getNewStatus() == OrderStatus.PENDING && summary.getPendingAt() == null) {
+            summary.setPendingAt(trace.getTimestamp());
+        }
+        if (trace.getNewStatus() == OrderStatus.DELIVERED) {
+            summary.setDeliveredAt(trace.getTimestamp());
+            summary.setEmployeeId(trace.getEmployeeId());
+        }
+
+        if (summary.getPendingAt() != null && summary.getDeliveredAt() != null) {
+            summary.setDurationInMinutes(ChronoUnit.MINUTES.between(summary.getPendingAt(), summary.getDeliveredAt()));
+        }
+        return summary;
+    }
+
+    static boolean mustRemoveDelivery(OrderEfficiencySummary previous, OrderEfficiencySummary current) {
+        return countsForEmployee(previous) && !sameContribution(previous, current);
+    }
+
+    static boolean mustAddDelivery(OrderEfficiencySummary previous, OrderEfficiencySummary current) {
+        return countsForEmployee(current) && !sameContribution(previous, current);
+    }
+
+    private static boolean sameContribution(OrderEfficiencySummary previous, OrderEfficiencySummary current) {
+        return countsForEmployee(previous) && countsForEmployee(current)
+                && Objects.equals(previous.getEmployeeId(), current.getEmployeeId())
+                && Objects.equals(previous.getDurationInMinutes(), current.getDurationInMinutes());
+    }
+
+    private static boolean countsForEmployee(OrderEfficiencySummary summary) {
+        return summary != null
+                && summary.getEmployeeId() != null
+                && summary.getDurationInMinutes() != null
+                && summary.getDurationInMinutes() >= 0;
+    }
+}
@@ -0,0 +1,140 @@
+package co.com.bancolombia.usecase.ordertraceability;
+
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory front for the unique constraint on trace idempotency keys. A Bloom filter answers "never recorded
+ * here" without touching the database, which is the common case; a bounded cache of recent keys answers quick
+ * client retries with the stored trace. A "maybe" that is not in the cache goes to the database. Keys this node
+ * has not seen (other nodes, before a restart) are looked up by the transition check before it rejects a
+ * transition the order has already made, and caught by the constraint otherwise.
+ * The filter has two generations: once the current one holds {@code keysPerGeneration} keys it replaces the
+ * previous one, so memory stays fixed and the false-positive rate stays near twice the configured one.
+ */
+public class IdempotencyFilter {
+
+    private static final String CLIENT_KEY_PREFIX = "key:";
+    private static final String NATURAL_KEY_PREFIX = "order:";
+
+    private final int keysPerGeneration;
+    private final long bitsPerGeneration;
+    private final int hashFunctions;
+    private final Map<String, OrderTrace> recent;
+
+    private volatile Generation current;
+    private volatile Generation previous;
+
+    public IdempotencyFilter(int keysPerGeneration, double falsePositiveRate, int recentKeys) {
+        double bits = -keysPerGeneration * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        this.keysPerGeneration = keysPerGeneration;
+        this.bitsPerGeneration = Math.max(Long.SIZE, (long) Math.ceil(bits));
+        this.hashFunctions = Math.max(1, (int) Math.round(bits / keysPerGeneration * Math.log(2)));
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, OrderTrace> eldest) {
+                return size() > recentKeys;
+            }
+        };
+        this.current = new Generation(bitsPerGeneration);
+        this.previous = new Generation(bitsPerGeneration);
+    }
+
+    /**
+     * The client's key when one was supplied, otherwise the transition itself: an order moves from one status to
+     * another only once, so a second identical transition is a retry.
+     */
+    public static String keyOf(OrderTrace orderTrace) {
+        String clientKey = orderTrace.getIdempotencyKey();
+        if (clientKey != null && !clientKey.isBlank()) {
+            return CLIENT_KEY_PREFIX + clientKey;
+        }
+        return NATURAL_KEY_PREFIX + orderTrace.getOrderId() + ":" + orderTrace.getPreviousStatus() + ":"
+                + orderTrace.getNewStatus();
+    }
+
+    public OrderTrace recent(String key) {
+        synchronized (recent) {
+            return recent.get(key);
+        }
+    }
+
+    public boolean mightContain(String key) {
+        long hash = hash(key);
+        return current.contains(hash) || previous.contains(hash);
+    }
+
+    // Only committed traces are recorded, so a "no" from the filter is never wrong about this node's writes
+    public void record(String key, OrderTrace trace) {
+        Generation generation = current;
+        if (generation.add(hash(key)) >= keysPerGeneration) {
+            rotate(generation);
+        }
+        synchronized (recent) {
+            recent.put(key, trace);
+        }
+    }
+
+    private synchronized void rotate(Generation full) {
+        if (current == full) {
+            previous = full;
+            current = new Generation(bitsPerGeneration);
+        }
+    }
+
+    private static long hash(String key) {
+        long hash = 1125899906842597L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = 31 * hash + key.charAt(i);
+        }
+        return mix(hash);
+    }
+
+    // MurmurHash3 finalizer, so keys that differ in one character spread over the whole bit array
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private final class Generation {
+
+        private final AtomicLongArray words;
+        private final AtomicInteger keys = new AtomicInteger();
+
+        private Generation(long bits) {
+            this.words = new AtomicLongArray((int) ((bits + Long.SIZE - 1) / Long.SIZE));
+        }
+
+        private int add(long hash) {
+            long step = mix(hash) | 1;
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = Math.floorMod(hash + i * step, bitsPerGeneration);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long value;
+                do {
+                    value = words.get(word);
+                } while ((value & mask) == 0 && !words.compareAndSet(word, value, value | mask));
+            }
+            return keys.incrementAndGet();
+        }
+
+        private boolean contains(long hash) {
+            long step = mix(hash) | 1;
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = Math.floorMod(hash + i * step, bitsPerGeneration);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package co.com.bancolombia.usecase.ordertraceability;
+
+import co.com.bancolombia.model.enums.OrderStatus;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Last known status of the orders being written through this node, so validating a transition does not read the
+ * database on every trace. An order is loaded on its first write and dropped once it reaches a terminal status;
+ * each stripe also drops its least recently written orders past {@code maxOrdersPerStripe}. Stripes keep writers
+ * of different orders off each other's lock, and advancing is a check-and-set, so two concurrent writes of the
+ * same transition cannot both pass.
+ * A null status means the order has no traces yet as far as this node knows.
+ */
+public class OrderStatusCache {
+
+    private final Stripe[] stripes;
+    private final int mask;
+
+    public OrderStatusCache(int stripes, int maxOrdersPerStripe) {
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new Stripe[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe(maxOrdersPerStripe);
+        }
+    }
+
+    public boolean isTracked(Long orderId) {
+        Stripe stripe = stripeOf(orderId);
+        synchronized (stripe) {
+            return stripe.statuses.containsKey(orderId);
+        }
+    }
+
+    // Never overwrites: a concurrent writer may already have moved the order past the loaded status
+    public void track(Long orderId, OrderStatus lastStatus) {
+        Stripe stripe = stripeOf(orderId);
+        synchronized (stripe) {
+            stripe.statuses.putIfAbsent(orderId, lastStatus);
+        }
+    }
+
+    /**
+     * Moves the order to {@code next} if its last known status is {@code previous}. An order with no traces
+     * only accepts a null {@code previous}, and an order that is not tracked accepts nothing.
+     */
+    public boolean advance(Long orderId, OrderStatus previous, OrderStatus next) {
+        Stripe stripe = stripeOf(orderId);
+        synchronized (stripe) {
+            if (!stripe.statuses.containsKey(orderId) || stripe.statuses.get(orderId) != previous) {
+                return false;
+            }
+            if (next.isTerminal()) {
+                stripe.statuses.remove(orderId);
+            } else {
+                stripe.statuses.put(orderId, next);
+            }
+            return true;
+        }
+    }
+
+    // After a failed write: the next one reloads the order instead of trusting a status that was rolled back
+    public void forget(Long orderId) {
+        Stripe stripe = stripeOf(orderId);
+        synchronized (stripe) {
+            stripe.statuses.remove(orderId);
+        }
+    }
+
+    private Stripe stripeOf(Long orderId) {
+        long hash = orderId * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (hash >>> 32) & mask];
+    }
+
+    private static final class Stripe {
+
+        private final Map<Long, OrderStatus> statuses;
+
+        private Stripe(int maxOrders) {
+            this.statuses = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, OrderStatus> eldest) {
+                    return size() > maxOrders;
+                }
+            };
+        }
+    }
+}
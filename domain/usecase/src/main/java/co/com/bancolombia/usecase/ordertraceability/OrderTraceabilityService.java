@@ -1,10 +1,14 @@
 package co.com.bancolombia.usecase.ordertraceability;
 
 import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.model.pagination.KeysetPage;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface OrderTraceabilityService {
     OrderTrace createTrace(OrderTrace orderTrace);
+    List<OrderTrace> createTraces(List<OrderTrace> orderTraces);
     List<OrderTrace> getOrderHistory(Long orderId);
+    KeysetPage<OrderTrace> getOrderHistoryPage(Long orderId, LocalDateTime afterTimestamp, Long afterId, int limit);
 }
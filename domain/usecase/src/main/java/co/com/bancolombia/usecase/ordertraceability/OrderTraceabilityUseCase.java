@@ -1,28 +1,243 @@
 package co.com.bancolombia.usecase.ordertraceability;
 
+import co.com.bancolombia.model.efficiency.OrderEfficiencySummary;
+import co.com.bancolombia.model.efficiency.gateways.EmployeeEfficiencySummaryRepository;
+import co.com.bancolombia.model.efficiency.gateways.OrderEfficiencySummaryRepository;
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.DuplicateTraceException;
+import co.com.bancolombia.model.ordertrace.InvalidStatusTransitionException;
 import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.model.ordertrace.gateways.OrderTraceBroadcaster;
 import co.com.bancolombia.model.ordertrace.gateways.OrderTraceRepository;
+import co.com.bancolombia.model.pagination.KeysetPage;
+import co.com.bancolombia.model.transaction.gateways.TransactionGateway;
 import lombok.RequiredArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RequiredArgsConstructor
 public class OrderTraceabilityUseCase implements OrderTraceabilityService {
 
     private final OrderTraceRepository orderTraceRepository;
+    private final OrderEfficiencySummaryRepository orderEfficiencySummaryRepository;
+    private final EmployeeEfficiencySummaryRepository employeeEfficiencySummaryRepository;
+    private final TransactionGateway transactionGateway;
+    private final OrderTraceBroadcaster orderTraceBroadcaster;
+    private final IdempotencyFilter idempotencyFilter;
+    private final OrderStatusCache orderStatusCache;
 
     @Override
     public OrderTrace createTrace(OrderTrace orderTrace) {
-        OrderTrace traceToSave = orderTrace.toBuilder()
-                .timestamp(LocalDateTime.now())
-                .build();
+        OrderTrace traceToSave = prepare(orderTrace);
+        String key = traceToSave.getIdempotencyKey();
+
+        OrderTrace existingTrace = findRecorded(key);
+        if (existingTrace != null) {
+            return existingTrace;
+        }
+
+        OrderTrace storedTrace = claimTransition(traceToSave);
+        if (storedTrace != null) {
+            return storedTrace;
+        }
+        OrderTrace createdTrace;
+        try {
+            createdTrace = transactionGateway.execute(() -> {
+                OrderTrace savedTrace = orderTraceRepository.save(traceToSave);
+                updateEfficiencySummary(savedTrace);
+                return savedTrace;
+            });
+        } catch (RuntimeException e) {
+            orderStatusCache.forget(traceToSave.getOrderId());
+            if (e instanceof DuplicateTraceException duplicate) {
+                return resolveDuplicate(duplicate);
+            }
+            throw e;
+        }
+        idempotencyFilter.record(key, createdTrace);
+        // Only after commit, so subscribers never see a trace that was rolled back
+        orderTraceBroadcaster.broadcast(createdTrace);
+        return createdTrace;
+    }
+
+    // Results line up with the input; a retried trace resolves to the one stored the first time
+    @Override
+    public List<OrderTrace> createTraces(List<OrderTrace> orderTraces) {
+        int size = orderTraces.size();
+        String[] keys = new String[size];
+        OrderTrace[] results = new OrderTrace[size];
+        Map<String, Integer> firstPositionByKey = new HashMap<>();
+        List<OrderTrace> tracesToSave = new ArrayList<>(size);
+        List<Integer> savedPositions = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            OrderTrace traceToSave = prepare(orderTraces.get(i));
+            keys[i] = traceToSave.getIdempotencyKey();
+            results[i] = findRecorded(keys[i]);
+            if (results[i] == null && firstPositionByKey.putIfAbsent(keys[i], i) == null) {
+                tracesToSave.add(traceToSave);
+                savedPositions.add(i);
+            }
+        }
 
-        return orderTraceRepository.save(traceToSave);
+        claimTransitions(tracesToSave, savedPositions, results);
+        if (!tracesToSave.isEmpty()) {
+            List<OrderTrace> createdTraces;
+            try {
+                createdTraces = transactionGateway.execute(() -> {
+                    List<OrderTrace> savedTraces = orderTraceRepository.saveAll(tracesToSave);
+                    // Summary rows are locked in order id order so concurrent batches cannot deadlock on them;
+                    // the sort is stable, so each order's traces still apply in arrival order
+                    savedTraces.stream()
+                            .sorted(Comparator.comparing(OrderTrace::getOrderId))
+                            .forEach(this::updateEfficiencySummary);
+                    return savedTraces;
+                });
+            } catch (RuntimeException e) {
+                forgetOrders(tracesToSave);
+                if (e instanceof DuplicateTraceException) {
+                    // A key was stored by another node or before a restart: the group rolled back, settle each alone
+                    return orderTraces.stream().map(this::createTrace).toList();
+                }
+                throw e;
+            }
+            for (int i = 0; i < createdTraces.size(); i++) {
+                int position = savedPositions.get(i);
+                results[position] = createdTraces.get(i);
+                idempotencyFilter.record(keys[position], createdTraces.get(i));
+            }
+            createdTraces.forEach(orderTraceBroadcaster::broadcast);
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (results[i] == null) {
+                results[i] = results[firstPositionByKey.get(keys[i])];
+            }
+        }
+        return Arrays.asList(results);
     }
 
     @Override
     public List<OrderTrace> getOrderHistory(Long orderId) {
         return orderTraceRepository.findByOrderId(orderId);
     }
-}
\ No newline at end of file
+
+    @Override
+    public KeysetPage<OrderTrace> getOrderHistoryPage(Long orderId, LocalDateTime afterTimestamp, Long afterId, int limit) {
+        List<OrderTrace> rows = orderTraceRepository.findByOrderIdAfter(orderId, afterTimestamp, afterId, limit + 1);
+        return KeysetPage.fromLookahead(rows, limit);
+    }
+
+    private static OrderTrace prepare(OrderTrace orderTrace) {
+        return orderTrace.toBuilder()
+                .idempotencyKey(IdempotencyFilter.keyOf(orderTrace))
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    // No database read unless the filter has seen the key and the recent cache no longer holds it
+    private OrderTrace findRecorded(String key) {
+        OrderTrace recentTrace = idempotencyFilter.recent(key);
+        if (recentTrace != null || !idempotencyFilter.mightContain(key)) {
+            return recentTrace;
+        }
+        return orderTraceRepository.findByIdempotencyKey(key);
+    }
+
+    // Retries resolved to their stored trace leave the batch; a rejection releases the claims made before it
+    private void claimTransitions(List<OrderTrace> traces, List<Integer> positions, OrderTrace[] results) {
+        int i = 0;
+        while (i < traces.size()) {
+            OrderTrace storedTrace;
+            try {
+                storedTrace = claimTransition(traces.get(i));
+            } catch (InvalidStatusTransitionException e) {
+                forgetOrders(traces.subList(0, i));
+                throw e;
+            }
+            if (storedTrace != null) {
+                results[positions.remove(i)] = storedTrace;
+                traces.remove(i);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Advanced before the write so a concurrent one sees the new status; callers forget it if the write fails.
+     * Returns the stored trace instead when the order has moved on because this very transition was already
+     * written: a retry whose key this node has not seen (another node, a restart) must not become a conflict.
+     */
+    private OrderTrace claimTransition(OrderTrace trace) {
+        Long orderId = trace.getOrderId();
+        OrderStatus previous = trace.getPreviousStatus();
+        OrderStatus next = trace.getNewStatus();
+        if (!OrderStatus.isValidTransition(previous, next)) {
+            throw new InvalidStatusTransitionException(orderId, previous, next, null);
+        }
+        if (!orderStatusCache.isTracked(orderId)) {
+            orderStatusCache.track(orderId, orderTraceRepository.findLastStatus(orderId));
+        }
+        if (orderStatusCache.advance(orderId, previous, next)) {
+            return null;
+        }
+        // Another node may have moved the order on since it was cached here: ask the database before rejecting
+        orderStatusCache.forget(orderId);
+        OrderStatus lastStatus = orderTraceRepository.findLastStatus(orderId);
+        orderStatusCache.track(orderId, lastStatus);
+        if (orderStatusCache.advance(orderId, previous, next)) {
+            return null;
+        }
+        OrderTrace storedTrace = orderTraceRepository.findByIdempotencyKey(trace.getIdempotencyKey());
+        if (storedTrace == null) {
+            throw lastStatus == null
+                    ? InvalidStatusTransitionException.notStarted(orderId, previous, next)
+                    : new InvalidStatusTransitionException(orderId, previous, next, lastStatus);
+        }
+        idempotencyFilter.record(trace.getIdempotencyKey(), storedTrace);
+        return storedTrace;
+    }
+
+    private void forgetOrders(List<OrderTrace> traces) {
+        traces.forEach(trace -> orderStatusCache.forget(trace.getOrderId()));
+    }
+
+    private OrderTrace resolveDuplicate(DuplicateTraceException duplicate) {
+        OrderTrace existingTrace = orderTraceRepository.findByIdempotencyKey(duplicate.getIdempotencyKey());
+        if (existingTrace == null) {
+            throw duplicate;
+        }
+        idempotencyFilter.record(duplicate.getIdempotencyKey(), existingTrace);
+        return existingTrace;
+    }
+
+    private void updateEfficiencySummary(OrderTrace trace) {
+        if (!EfficiencySummaryProjection.affectsSummary(trace)) {
+            return;
+        }
+
+        OrderEfficiencySummary current = orderEfficiencySummaryRepository.findByOrderIdForUpdate(trace.getOrderId());
+        OrderEfficiencySummary summary = EfficiencySummaryProjection.project(current, trace);
+
+        orderEfficiencySummaryRepository.save(summary);
+        updateEmployeeEfficiency(current, summary, trace.getEmployeeEmail());
+    }
+
+    private void updateEmployeeEfficiency(OrderEfficiencySummary previous, OrderEfficiencySummary current,
+                                          String employeeEmail) {
+        if (EfficiencySummaryProjection.mustRemoveDelivery(previous, current)) {
+            employeeEfficiencySummaryRepository.removeDelivery(previous.getEmployeeId(), previous.getDurationInMinutes());
+        }
+        if (EfficiencySummaryProjection.mustAddDelivery(previous, current)) {
+            employeeEfficiencySummaryRepository.addDelivery(current.getEmployeeId(), employeeEmail,
+                    current.getDurationInMinutes());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package co.com.bancolombia.usecase.ordertraceability;
+
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.model.pagination.KeysetPage;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ReactiveOrderTraceabilityService {
+    Mono<OrderTrace> createTrace(OrderTrace orderTrace);
+    Flux<OrderTrace> createTraces(List<OrderTrace> orderTraces);
+    Flux<OrderTrace> getOrderHistory(Long orderId);
+    Mono<KeysetPage<OrderTrace>> getOrderHistoryPage(Long orderId, LocalDateTime afterTimestamp, Long afterId, int limit);
+}
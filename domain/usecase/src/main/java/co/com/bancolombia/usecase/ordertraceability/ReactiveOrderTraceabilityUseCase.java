@@ -0,0 +1,195 @@
+package co.com.bancolombia.usecase.ordertraceability;
+
+import co.com.bancolombia.model.efficiency.OrderEfficiencySummary;
+import co.com.bancolombia.model.efficiency.gateways.ReactiveEmployeeEfficiencySummaryRepository;
+import co.com.bancolombia.model.efficiency.gateways.ReactiveOrderEfficiencySummaryRepository;
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.DuplicateTraceException;
+import co.com.bancolombia.model.ordertrace.InvalidStatusTransitionException;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.model.ordertrace.gateways.OrderTraceBroadcaster;
+import co.com.bancolombia.model.ordertrace.gateways.ReactiveOrderTraceRepository;
+import co.com.bancolombia.model.pagination.KeysetPage;
+import co.com.bancolombia.model.transaction.gateways.ReactiveTransactionGateway;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class ReactiveOrderTraceabilityUseCase implements ReactiveOrderTraceabilityService {
+
+    private final ReactiveOrderTraceRepository orderTraceRepository;
+    private final ReactiveOrderEfficiencySummaryRepository orderEfficiencySummaryRepository;
+    private final ReactiveEmployeeEfficiencySummaryRepository employeeEfficiencySummaryRepository;
+    private final ReactiveTransactionGateway transactionGateway;
+    private final OrderTraceBroadcaster orderTraceBroadcaster;
+    private final IdempotencyFilter idempotencyFilter;
+    private final OrderStatusCache orderStatusCache;
+
+    @Override
+    public Mono<OrderTrace> createTrace(OrderTrace orderTrace) {
+        return Mono.defer(() -> {
+            OrderTrace traceToSave = prepare(orderTrace);
+            String key = traceToSave.getIdempotencyKey();
+            return findRecorded(key).switchIfEmpty(Mono.defer(() -> insertTrace(key, traceToSave)));
+        });
+    }
+
+    @Override
+    public Flux<OrderTrace> createTraces(List<OrderTrace> orderTraces) {
+        List<OrderTrace> tracesToSave = orderTraces.stream()
+                .map(ReactiveOrderTraceabilityUseCase::prepare)
+                .toList();
+
+        // Sequential on purpose: traces of the same order must update its summary in arrival order
+        return transactionGateway.execute(Flux.fromIterable(tracesToSave)
+                        .concatMap(traceToSave -> claimTransition(traceToSave)
+                                .map(storedTrace -> new BatchResult(storedTrace, false))
+                                .switchIfEmpty(Mono.defer(() -> saveTrace(traceToSave)
+                                        .map(createdTrace -> new BatchResult(createdTrace, true)))))
+                        .collectList())
+                .doOnError(error -> tracesToSave.forEach(trace -> orderStatusCache.forget(trace.getOrderId())))
+                .map(results -> {
+                    for (int i = 0; i < results.size(); i++) {
+                        BatchResult result = results.get(i);
+                        idempotencyFilter.record(tracesToSave.get(i).getIdempotencyKey(), result.trace());
+                        if (result.created()) {
+                            orderTraceBroadcaster.broadcast(result.trace());
+                        }
+                    }
+                    return results.stream().map(BatchResult::trace).toList();
+                })
+                // A retried trace rolls the whole batch back; settle each one on its own instead
+                .onErrorResume(DuplicateTraceException.class, duplicate -> Flux.fromIterable(orderTraces)
+                        .concatMap(this::createTrace)
+                        .collectList())
+                .flatMapMany(Flux::fromIterable);
+    }
+
+    @Override
+    public Flux<OrderTrace> getOrderHistory(Long orderId) {
+        return orderTraceRepository.findByOrderId(orderId);
+    }
+
+    @Override
+    public Mono<KeysetPage<OrderTrace>> getOrderHistoryPage(Long orderId, LocalDateTime afterTimestamp, Long afterId,
+                                                            int limit) {
+        return orderTraceRepository.findByOrderIdAfter(orderId, afterTimestamp, afterId, limit + 1)
+                .collectList()
+                .map(rows -> KeysetPage.fromLookahead(rows, limit));
+    }
+
+    private static OrderTrace prepare(OrderTrace orderTrace) {
+        return orderTrace.toBuilder()
+                .idempotencyKey(IdempotencyFilter.keyOf(orderTrace))
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    private Mono<OrderTrace> findRecorded(String key) {
+        OrderTrace recentTrace = idempotencyFilter.recent(key);
+        if (recentTrace != null) {
+            return Mono.just(recentTrace);
+        }
+        return idempotencyFilter.mightContain(key) ? orderTraceRepository.findByIdempotencyKey(key) : Mono.empty();
+    }
+
+    // Broadcast once the transaction has committed, never from inside it
+    private Mono<OrderTrace> insertTrace(String key, OrderTrace traceToSave) {
+        return claimTransition(traceToSave)
+                .switchIfEmpty(Mono.defer(() -> transactionGateway.execute(Mono.defer(() -> saveTrace(traceToSave)))
+                        .doOnError(error -> orderStatusCache.forget(traceToSave.getOrderId()))
+                        .doOnNext(createdTrace -> {
+                            idempotencyFilter.record(key, createdTrace);
+                            orderTraceBroadcaster.broadcast(createdTrace);
+                        })))
+                .onErrorResume(DuplicateTraceException.class, this::resolveDuplicate);
+    }
+
+    /**
+     * Advanced before the write so a concurrent one sees the new status; forgotten again if the write fails.
+     * Emits the stored trace instead when the order has moved on because this very transition was already
+     * written: a retry whose key this node has not seen (another node, a restart) must not become a conflict.
+     */
+    private Mono<OrderTrace> claimTransition(OrderTrace trace) {
+        Long orderId = trace.getOrderId();
+        OrderStatus previous = trace.getPreviousStatus();
+        OrderStatus next = trace.getNewStatus();
+        if (!OrderStatus.isValidTransition(previous, next)) {
+            return Mono.error(new InvalidStatusTransitionException(orderId, previous, next, null));
+        }
+        Mono<?> loaded = orderStatusCache.isTracked(orderId) ? Mono.empty() : trackLastStatus(orderId);
+        return loaded.then(Mono.defer(() -> {
+            if (orderStatusCache.advance(orderId, previous, next)) {
+                return Mono.<OrderTrace>empty();
+            }
+            // Another node may have moved the order on since it was cached here: ask the database before rejecting
+            orderStatusCache.forget(orderId);
+            return trackLastStatus(orderId)
+                    .flatMap(lastStatus -> orderStatusCache.advance(orderId, previous, next)
+                            ? Mono.<OrderTrace>empty()
+                            : findStoredRetry(trace).switchIfEmpty(Mono.error(() -> lastStatus
+                                    .map(status -> new InvalidStatusTransitionException(orderId, previous, next, status))
+                                    .orElseGet(() -> InvalidStatusTransitionException.notStarted(orderId, previous, next)))));
+        }));
+    }
+
+    private Mono<OrderTrace> findStoredRetry(OrderTrace trace) {
+        return orderTraceRepository.findByIdempotencyKey(trace.getIdempotencyKey())
+                .doOnNext(storedTrace -> idempotencyFilter.record(trace.getIdempotencyKey(), storedTrace));
+    }
+
+    private Mono<Optional<OrderStatus>> trackLastStatus(Long orderId) {
+        return orderTraceRepository.findLastStatus(orderId)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .doOnNext(lastStatus -> orderStatusCache.track(orderId, lastStatus.orElse(null)));
+    }
+
+    private Mono<OrderTrace> resolveDuplicate(DuplicateTraceException duplicate) {
+        return orderTraceRepository.findByIdempotencyKey(duplicate.getIdempotencyKey())
+                .doOnNext(existingTrace -> idempotencyFilter.record(duplicate.getIdempotencyKey(), existingTrace))
+                .switchIfEmpty(Mono.error(duplicate));
+    }
+
+    private Mono<OrderTrace> saveTrace(OrderTrace traceToSave) {
+        return orderTraceRepository.save(traceToSave)
+                .flatMap(savedTrace -> updateEfficiencySummary(savedTrace).thenReturn(savedTrace));
+    }
+
+    private Mono<Void> updateEfficiencySummary(OrderTrace trace) {
+        if (!EfficiencySummaryProjection.affectsSummary(trace)) {
+            return Mono.empty();
+        }
+
+        return orderEfficiencySummaryRepository.findByOrderIdForUpdate(trace.getOrderId())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(current -> {
+                    OrderEfficiencySummary previous = current.orElse(null);
+                    OrderEfficiencySummary summary = EfficiencySummaryProjection.project(previous, trace);
+                    return orderEfficiencySummaryRepository.save(summary)
+                            .then(updateEmployeeEfficiency(previous, summary, trace.getEmployeeEmail()));
+                });
+    }
+
+    private Mono<Void> updateEmployeeEfficiency(OrderEfficiencySummary previous, OrderEfficiencySummary current,
+                                                String employeeEmail) {
+        Mono<Void> remove = EfficiencySummaryProjection.mustRemoveDelivery(previous, current)
+                ? employeeEfficiencySummaryRepository.removeDelivery(previous.getEmployeeId(),
+                        previous.getDurationInMinutes())
+                : Mono.empty();
+        Mono<Void> add = EfficiencySummaryProjection.mustAddDelivery(previous, current)
+                ? employeeEfficiencySummaryRepository.addDelivery(current.getEmployeeId(), employeeEmail,
+                        current.getDurationInMinutes())
+                : Mono.empty();
+        return remove.then(add);
+    }
+
+    private record BatchResult(OrderTrace trace, boolean created) {
+    }
+}
@@ -0,0 +1,8 @@
+package co.com.bancolombia.usecase.tracearchive;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TraceArchiveService {
+    List<Long> archiveClosedOrders(LocalDateTime cutoff, Long afterOrderId, int chunkSize);
+}
@@ -0,0 +1,35 @@
+package co.com.bancolombia.usecase.tracearchive;
+
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.model.ordertrace.gateways.OrderTraceRepository;
+import co.com.bancolombia.model.ordertrace.gateways.TraceArchiveRepository;
+import co.com.bancolombia.model.transaction.gateways.TransactionGateway;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TraceArchiveUseCase implements TraceArchiveService {
+
+    private final OrderTraceRepository orderTraceRepository;
+    private final TraceArchiveRepository traceArchiveRepository;
+    private final TransactionGateway transactionGateway;
+
+    /**
+     * Moves the next {@code chunkSize} orders after {@code afterOrderId} whose whole history is older than
+     * {@code cutoff} and ends in a terminal status to the archive, and returns their ids. The chunk is deleted
+     * only once the archive has it on disk; a run cut short between the two archives it again next time.
+     */
+    @Override
+    public List<Long> archiveClosedOrders(LocalDateTime cutoff, Long afterOrderId, int chunkSize) {
+        List<Long> orderIds = orderTraceRepository.findClosedOrderIdsBefore(cutoff, afterOrderId, chunkSize);
+        if (orderIds.isEmpty()) {
+            return orderIds;
+        }
+        List<OrderTrace> histories = orderTraceRepository.findByOrderIds(orderIds);
+        traceArchiveRepository.append(histories);
+        transactionGateway.execute(() -> orderTraceRepository.deleteByOrderIds(orderIds, cutoff));
+        return orderIds;
+    }
+}
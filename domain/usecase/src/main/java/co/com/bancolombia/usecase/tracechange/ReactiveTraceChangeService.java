@@ -0,0 +1,9 @@
+package co.com.bancolombia.usecase.tracechange;
+
+import co.com.bancolombia.model.pagination.KeysetPage;
+import co.com.bancolombia.model.tracechange.TraceChange;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveTraceChangeService {
+    Mono<KeysetPage<TraceChange>> getChangesPage(long afterSequence, int limit);
+}
@@ -0,0 +1,20 @@
+package co.com.bancolombia.usecase.tracechange;
+
+import co.com.bancolombia.model.pagination.KeysetPage;
+import co.com.bancolombia.model.tracechange.TraceChange;
+import co.com.bancolombia.model.tracechange.gateways.ReactiveTraceChangeRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class ReactiveTraceChangeUseCase implements ReactiveTraceChangeService {
+
+    private final ReactiveTraceChangeRepository traceChangeRepository;
+
+    @Override
+    public Mono<KeysetPage<TraceChange>> getChangesPage(long afterSequence, int limit) {
+        return traceChangeRepository.findAfter(afterSequence, limit + 1)
+                .collectList()
+                .map(rows -> KeysetPage.fromLookahead(rows, limit));
+    }
+}
@@ -0,0 +1,9 @@
+package co.com.bancolombia.usecase.tracechange;
+
+import co.com.bancolombia.model.pagination.KeysetPage;
+import co.com.bancolombia.model.tracechange.TraceChange;
+
+public interface TraceChangeService {
+    KeysetPage<TraceChange> getChangesPage(long afterSequence, int limit);
+    int relayPendingChanges(int batchSize);
+}
@@ -0,0 +1,40 @@
+package co.com.bancolombia.usecase.tracechange;
+
+import co.com.bancolombia.model.pagination.KeysetPage;
+import co.com.bancolombia.model.tracechange.TraceChange;
+import co.com.bancolombia.model.tracechange.gateways.TraceChangePublisher;
+import co.com.bancolombia.model.tracechange.gateways.TraceChangeRepository;
+import co.com.bancolombia.model.transaction.gateways.TransactionGateway;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TraceChangeUseCase implements TraceChangeService {
+
+    private final TraceChangeRepository traceChangeRepository;
+    private final TraceChangePublisher traceChangePublisher;
+    private final TransactionGateway transactionGateway;
+
+    @Override
+    public KeysetPage<TraceChange> getChangesPage(long afterSequence, int limit) {
+        List<TraceChange> rows = traceChangeRepository.findAfter(afterSequence, limit + 1);
+        return KeysetPage.fromLookahead(rows, limit);
+    }
+
+    @Override
+    public int relayPendingChanges(int batchSize) {
+        // The claim lasts until commit, so a batch is marked published only if the publisher accepted it
+        return transactionGateway.execute(() -> {
+            List<TraceChange> batch = traceChangeRepository.lockUnpublished(batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            traceChangePublisher.publish(batch);
+            traceChangeRepository.markPublished(batch.stream()
+                    .map(TraceChange::getSequence)
+                    .toList());
+            return batch.size();
+        });
+    }
+}
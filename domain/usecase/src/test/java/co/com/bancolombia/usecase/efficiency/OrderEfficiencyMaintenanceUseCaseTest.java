@@ -0,0 +1,329 @@
+package co.com.bancolombia.usecase.efficiency;
+
+import co.com.bancolombia.model.efficiency.EfficiencyConsistencyReport;
+import co.com.bancolombia.model.efficiency.EmployeeEfficiency;
+import co.com.bancolombia.model.efficiency.EmployeeEfficiencySummary;
+import co.com.bancolombia.model.efficiency.EmployeeRankingQuery;
+import co.com.bancolombia.model.efficiency.OrderEfficiencySummary;
+import co.com.bancolombia.model.efficiency.gateways.EmployeeEfficiencySummaryRepository;
+import co.com.bancolombia.model.efficiency.gateways.OrderEfficiencySummaryRepository;
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.OrderStatusChange;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.model.ordertrace.gateways.OrderTraceRepository;
+import co.com.bancolombia.model.ordertrace.gateways.TraceArchiveRepository;
+import co.com.bancolombia.model.pagination.KeysetPage;
+import co.com.bancolombia.model.transaction.gateways.TransactionGateway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderEfficiencyMaintenanceUseCaseTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 12, 17, 10, 0, 0);
+
+    @Mock
+    private OrderTraceRepository orderTraceRepository;
+
+    @Mock
+    private OrderEfficiencySummaryRepository orderEfficiencySummaryRepository;
+
+    @Mock
+    private EmployeeEfficiencySummaryRepository employeeEfficiencySummaryRepository;
+
+    @Mock
+    private TransactionGateway transactionGateway;
+
+    @Mock
+    private TraceArchiveRepository traceArchiveRepository;
+
+    private ParallelEmployeeRanking parallelEmployeeRanking;
+    private TraceSnapshot traceSnapshot;
+    private OrderEfficiencyMaintenanceUseCase orderEfficiencyMaintenanceUseCase;
+    private long nextTraceId;
+
+    @BeforeEach
+    void setUp() {
+        parallelEmployeeRanking = new ParallelEmployeeRanking(2);
+        traceSnapshot = new TraceSnapshot();
+        orderEfficiencyMaintenanceUseCase = new OrderEfficiencyMaintenanceUseCase(orderTraceRepository,
+                orderEfficiencySummaryRepository, employeeEfficiencySummaryRepository, transactionGateway,
+                parallelEmployeeRanking, traceSnapshot, traceArchiveRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        parallelEmployeeRanking.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuildSummaries_ShouldRebuildOrderAndEmployeeSummariesInOneTransaction() {
+        // Arrange
+        when(transactionGateway.execute(any())).thenAnswer(invocation -> ((Supplier<Object>) invocation.getArgument(0)).get());
+        when(orderEfficiencySummaryRepository.rebuildFromTraces()).thenReturn(42L);
+
+        // Act
+        long result = orderEfficiencyMaintenanceUseCase.rebuildSummaries();
+
+        // Assert
+        assertEquals(42L, result);
+        verify(transactionGateway, times(1)).execute(any());
+        verify(orderEfficiencySummaryRepository, times(1)).rebuildFromTraces();
+        verify(employeeEfficiencySummaryRepository, times(1)).rebuildFromOrderSummaries();
+    }
+
+    @Test
+    void checkConsistency_WhenSummariesMatchTraces_ShouldReportConsistent() {
+        // Arrange
+        givenTraces(
+                trace(1L, OrderStatus.PENDING, 200L, 0),
+                trace(2L, OrderStatus.PENDING, 201L, 0),
+                trace(1L, OrderStatus.DELIVERED, 200L, 30),
+                trace(2L, OrderStatus.DELIVERED, 201L, 20),
+                trace(2L, OrderStatus.DELIVERED, 201L, 25),
+                trace(3L, OrderStatus.PENDING, 200L, 40));
+        when(orderEfficiencySummaryRepository.findAll()).thenReturn(Arrays.asList(
+                OrderEfficiencySummary.builder().orderId(1L).durationInMinutes(30L).employeeId(200L).build(),
+                OrderEfficiencySummary.builder().orderId(2L).durationInMinutes(25L).employeeId(201L).build(),
+                OrderEfficiencySummary.builder().orderId(3L).build()));
+        when(employeeEfficiencySummaryRepository.findAll()).thenReturn(Arrays.asList(
+                EmployeeEfficiencySummary.builder().employeeId(200L).totalDurationInMinutes(30L).deliveredOrders(1L).build(),
+                EmployeeEfficiencySummary.builder().employeeId(201L).totalDurationInMinutes(25L).deliveredOrders(1L).build()));
+
+        // Act
+        EfficiencyConsistencyReport result = orderEfficiencyMaintenanceUseCase.checkConsistency();
+
+        // Assert
+        assertTrue(result.isConsistent());
+        assertEquals(2L, result.getCheckedOrders());
+        assertEquals(2L, result.getCheckedEmployees());
+    }
+
+    @Test
+    void checkConsistency_WhenSummariesDifferFromTraces_ShouldReportInconsistentOrdersAndEmployees() {
+        // Arrange
+        givenTraces(
+                trace(1L, OrderStatus.PENDING, 200L, 0),
+                trace(2L, OrderStatus.PENDING, 201L, 0),
+                trace(1L, OrderStatus.DELIVERED, 200L, 30),
+                trace(2L, OrderStatus.DELIVERED, 201L, 20));
+        when(orderEfficiencySummaryRepository.findAll()).thenReturn(Arrays.asList(
+                OrderEfficiencySummary.builder().orderId(1L).durationInMinutes(35L).build(),
+                OrderEfficiencySummary.builder().orderId(4L).durationInMinutes(10L).build()));
+        when(employeeEfficiencySummaryRepository.findAll()).thenReturn(Collections.singletonList(
+                EmployeeEfficiencySummary.builder().employeeId(200L).totalDurationInMinutes(35L).deliveredOrders(1L).build()));
+
+        // Act
+        EfficiencyConsistencyReport result = orderEfficiencyMaintenanceUseCase.checkConsistency();
+
+        // Assert
+        assertFalse(result.isConsistent());
+        assertEquals(3L, result.getCheckedOrders());
+        assertEquals(List.of(1L, 2L, 4L), result.getInconsistentOrderIds());
+        assertEquals(List.of(200L, 201L), result.getInconsistentEmployeeIds());
+    }
+
+    @Test
+    void checkConsistency_WhenOrdersWereArchived_ShouldCheckThemAgainstTheirArchivedHistory() {
+        // Arrange
+        givenTraces(
+                trace(1L, OrderStatus.PENDING, 200L, 0),
+                trace(1L, OrderStatus.DELIVERED, 200L, 30));
+        when(traceArchiveRepository.findByOrderId(5L)).thenReturn(List.of(
+                archivedTrace(5L, OrderStatus.PENDING, 200L, 0),
+                archivedTrace(5L, OrderStatus.DELIVERED, 200L, 15)));
+        when(traceArchiveRepository.findByOrderId(6L)).thenReturn(List.of(
+                archivedTrace(6L, OrderStatus.PENDING, 201L, 0),
+                archivedTrace(6L, OrderStatus.DELIVERED, 201L, 10)));
+        when(orderEfficiencySummaryRepository.findAll()).thenReturn(Arrays.asList(
+                OrderEfficiencySummary.builder().orderId(1L).durationInMinutes(30L).employeeId(200L).build(),
+                OrderEfficiencySummary.builder().orderId(5L).durationInMinutes(15L).employeeId(200L).build(),
+                OrderEfficiencySummary.builder().orderId(6L).durationInMinutes(10L).employeeId(201L).build()));
+        when(employeeEfficiencySummaryRepository.findAll()).thenReturn(Arrays.asList(
+                EmployeeEfficiencySummary.builder().employeeId(200L).totalDurationInMinutes(45L).deliveredOrders(2L).build(),
+                EmployeeEfficiencySummary.builder().employeeId(201L).totalDurationInMinutes(10L).deliveredOrders(1L).build()));
+
+        // Act
+        EfficiencyConsistencyReport result = orderEfficiencyMaintenanceUseCase.checkConsistency();
+
+        // Assert
+        assertTrue(result.isConsistent());
+        assertEquals(3L, result.getCheckedOrders());
+        assertEquals(2L, result.getCheckedEmployees());
+        verify(traceArchiveRepository, never()).findByOrderId(1L);
+    }
+
+    @Test
+    void checkConsistency_WhenNoData_ShouldReportConsistent() {
+        // Arrange
+        givenTraces();
+        when(orderEfficiencySummaryRepository.findAll()).thenReturn(Collections.emptyList());
+        when(employeeEfficiencySummaryRepository.findAll()).thenReturn(Collections.emptyList());
+
+        // Act
+        EfficiencyConsistencyReport result = orderEfficiencyMaintenanceUseCase.checkConsistency();
+
+        // Assert
+        assertTrue(result.isConsistent());
+        assertEquals(0L, result.getCheckedOrders());
+        verify(orderTraceRepository, never()).findAll();
+    }
+
+    @Test
+    void rankEmployeesFromTraces_ShouldRankFastestFirstAndFillKnownEmails() {
+        // Arrange
+        givenTraces(
+                trace(1L, OrderStatus.PENDING, 200L, 0),
+                trace(2L, OrderStatus.PENDING, 201L, 0),
+                trace(3L, OrderStatus.PENDING, 202L, 0),
+                trace(1L, OrderStatus.DELIVERED, 200L, 30),
+                trace(2L, OrderStatus.DELIVERED, 201L, 10),
+                trace(3L, OrderStatus.DELIVERED, 202L, 20));
+        when(employeeEfficiencySummaryRepository.findByEmployeeId(201L)).thenReturn(
+                EmployeeEfficiencySummary.builder().employeeId(201L).employeeEmail("fast@plazoleta.com").build());
+        when(employeeEfficiencySummaryRepository.findByEmployeeId(202L)).thenReturn(null);
+        EmployeeRankingQuery query = EmployeeRankingQuery.builder().limit(2).build();
+
+        // Act
+        KeysetPage<EmployeeEfficiency> result = orderEfficiencyMaintenanceUseCase.rankEmployeesFromTraces(query);
+
+        // Assert
+        assertEquals(List.of(201L, 202L), result.getItems().stream().map(EmployeeEfficiency::getEmployeeId).toList());
+        assertEquals("fast@plazoleta.com", result.getItems().get(0).getEmployeeEmail());
+        assertTrue(result.isHasMore());
+    }
+
+    @Test
+    void checkConsistency_WhenSnapshotLoaded_ShouldUseItInsteadOfScanningTraces() {
+        // Arrange
+        givenTraces(
+                trace(1L, OrderStatus.PENDING, 200L, 0),
+                trace(2L, OrderStatus.PENDING, 201L, 0),
+                trace(1L, OrderStatus.DELIVERED, 200L, 30),
+                trace(2L, OrderStatus.DELIVERED, 201L, 20),
+                trace(2L, OrderStatus.DELIVERED, 201L, 25),
+                trace(3L, OrderStatus.PENDING, 200L, 40));
+        when(orderEfficiencySummaryRepository.findAll()).thenReturn(Arrays.asList(
+                OrderEfficiencySummary.builder().orderId(1L).durationInMinutes(30L).employeeId(200L).build(),
+                OrderEfficiencySummary.builder().orderId(2L).durationInMinutes(25L).employeeId(201L).build()));
+        when(employeeEfficiencySummaryRepository.findAll()).thenReturn(Arrays.asList(
+                EmployeeEfficiencySummary.builder().employeeId(200L).totalDurationInMinutes(30L).deliveredOrders(1L).build(),
+                EmployeeEfficiencySummary.builder().employeeId(201L).totalDurationInMinutes(25L).deliveredOrders(1L).build()));
+        assertTrue(orderEfficiencyMaintenanceUseCase.refreshTraceSnapshot());
+
+        // Act
+        EfficiencyConsistencyReport result = orderEfficiencyMaintenanceUseCase.checkConsistency();
+
+        // Assert
+        assertTrue(result.isConsistent());
+        assertEquals(2L, result.getCheckedOrders());
+        assertEquals(2L, result.getCheckedEmployees());
+        verify(orderTraceRepository, times(1)).forEachStatusChange(any());
+    }
+
+    @Test
+    void columnarAccumulator_ShouldMatchRowAccumulator() {
+        // Arrange
+        TraceEfficiencyAccumulator rows = new TraceEfficiencyAccumulator();
+        ColumnarEfficiencyAccumulator columns = new ColumnarEfficiencyAccumulator(4);
+        for (long orderId = 1; orderId <= 500; orderId++) {
+            long employeeId = 100L + orderId % 37;
+            int deliveredAt = (int) (orderId % 90) - 5;
+            for (OrderStatusChange change : List.of(trace(orderId, OrderStatus.PENDING, employeeId, 0),
+                    trace(orderId, OrderStatus.READY, employeeId, 1),
+                    trace(orderId, OrderStatus.DELIVERED, employeeId, deliveredAt))) {
+                rows.accept(change);
+                columns.visit(change.getOrderId(), change.getEmployeeId(), TraceSnapshot.statusCode(change.getNewStatus()),
+                        change.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+            }
+        }
+
+        // Act
+        List<EmployeeEfficiencySummary> expected = parallelEmployeeRanking.summarize(rows.pendingByOrder(),
+                rows.deliveriesByEmployee());
+        List<EmployeeEfficiencySummary> actual = columns.employeeSummaries();
+
+        // Assert
+        assertEquals(rows.orderDurations(), columns.orderDurations());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getEmployeeId(), actual.get(i).getEmployeeId());
+            assertEquals(expected.get(i).getTotalDurationInMinutes(), actual.get(i).getTotalDurationInMinutes());
+            assertEquals(expected.get(i).getDeliveredOrders(), actual.get(i).getDeliveredOrders());
+        }
+    }
+
+    @Test
+    void summarize_ShouldReturnSameSummariesForAnyParallelism() {
+        // Arrange
+        TraceEfficiencyAccumulator accumulator = new TraceEfficiencyAccumulator();
+        for (long orderId = 1; orderId <= 500; orderId++) {
+            long employeeId = 100L + orderId % 37;
+            accumulator.accept(trace(orderId, OrderStatus.PENDING, employeeId, 0));
+            accumulator.accept(trace(orderId, OrderStatus.DELIVERED, employeeId, (int) (orderId % 90)));
+        }
+
+        // Act
+        List<EmployeeEfficiencySummary> sequential;
+        List<EmployeeEfficiencySummary> parallel;
+        try (ParallelEmployeeRanking single = new ParallelEmployeeRanking(1);
+             ParallelEmployeeRanking wide = new ParallelEmployeeRanking(4)) {
+            sequential = single.summarize(accumulator.pendingByOrder(), accumulator.deliveriesByEmployee());
+            parallel = wide.summarize(accumulator.pendingByOrder(), accumulator.deliveriesByEmployee());
+        }
+
+        // Assert
+        assertEquals(37, parallel.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertEquals(sequential.get(i).getEmployeeId(), parallel.get(i).getEmployeeId());
+            assertEquals(sequential.get(i).getTotalDurationInMinutes(), parallel.get(i).getTotalDurationInMinutes());
+            assertEquals(sequential.get(i).getDeliveredOrders(), parallel.get(i).getDeliveredOrders());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenTraces(OrderStatusChange... changes) {
+        doAnswer(invocation -> {
+            Consumer<OrderStatusChange> consumer = invocation.getArgument(0);
+            Arrays.stream(changes).forEach(consumer);
+            return null;
+        }).when(orderTraceRepository).forEachStatusChange(any(Consumer.class));
+    }
+
+    private OrderStatusChange trace(Long orderId, OrderStatus status, Long employeeId, int minutesAfterStart) {
+        return OrderStatusChange.builder()
+                .id(++nextTraceId)
+                .orderId(orderId)
+                .newStatus(status)
+                .employeeId(employeeId)
+                .timestamp(BASE_TIME.plusMinutes(minutesAfterStart))
+                .build();
+    }
+
+    private OrderTrace archivedTrace(Long orderId, OrderStatus status, Long employeeId, int minutesAfterStart) {
+        return OrderTrace.builder()
+                .id(++nextTraceId)
+                .orderId(orderId)
+                .newStatus(status)
+                .employeeId(employeeId)
+                .timestamp(BASE_TIME.plusMinutes(minutesAfterStart))
+                .build();
+    }
+}
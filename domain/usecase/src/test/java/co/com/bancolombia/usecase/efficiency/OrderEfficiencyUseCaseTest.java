@@ -1,10 +1,17 @@
 package co.com.bancolombia.usecase.efficiency;
 
+import co.com.bancolombia.model.efficiency.DurationDistribution;
 import co.com.bancolombia.model.efficiency.EmployeeEfficiency;
+import co.com.bancolombia.model.efficiency.EmployeeEfficiencySummary;
+import co.com.bancolombia.model.efficiency.EmployeeRankingQuery;
 import co.com.bancolombia.model.efficiency.OrderEfficiency;
-import co.com.bancolombia.model.enums.OrderStatus;
-import co.com.bancolombia.model.ordertrace.OrderTrace;
-import co.com.bancolombia.model.ordertrace.gateways.OrderTraceRepository;
+import co.com.bancolombia.model.efficiency.OrderEfficiencySummary;
+import co.com.bancolombia.model.efficiency.RankingCursor;
+import co.com.bancolombia.model.efficiency.RankingOrder;
+import co.com.bancolombia.model.efficiency.TimeWindow;
+import co.com.bancolombia.model.efficiency.gateways.EmployeeEfficiencySummaryRepository;
+import co.com.bancolombia.model.efficiency.gateways.OrderEfficiencySummaryRepository;
+import co.com.bancolombia.model.pagination.KeysetPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,137 +23,139 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class OrderEfficiencyUseCaseTest {
 
     @Mock
-    private OrderTraceRepository orderTraceRepository;
+    private OrderEfficiencySummaryRepository orderEfficiencySummaryRepository;
+
+    @Mock
+    private EmployeeEfficiencySummaryRepository employeeEfficiencySummaryRepository;
 
     @InjectMocks
     private OrderEfficiencyUseCase orderEfficiencyUseCase;
 
-    private OrderTrace pendingTrace;
-    private OrderTrace deliveredTrace;
-    private OrderTrace inPreparationTrace;
+    private static final EmployeeRankingQuery FIRST_PAGE = EmployeeRankingQuery.builder().limit(50).build();
+
     private LocalDateTime baseTime;
 
     @BeforeEach
     void setUp() {
         baseTime = LocalDateTime.of(2024, 12, 17, 10, 0, 0);
-
-        pendingTrace = OrderTrace.builder()
-                .id(1L)
-                .orderId(1L)
-                .clientId(100L)
-                .clientEmail("client@test.com")
-                .previousStatus(null)
-                .newStatus(OrderStatus.PENDING)
-                .employeeId(200L)
-                .employeeEmail("employee1@test.com")
-                .timestamp(baseTime)
-                .build();
-
-        inPreparationTrace = OrderTrace.builder()
-                .id(2L)
-                .orderId(1L)
-                .clientId(100L)
-                .clientEmail("client@test.com")
-                .previousStatus(OrderStatus.PENDING)
-                .newStatus(OrderStatus.IN_PREPARATION)
-                .employeeId(200L)
-                .employeeEmail("employee1@test.com")
-                .timestamp(baseTime.plusMinutes(10))
-                .build();
-
-        deliveredTrace = OrderTrace.builder()
-                .id(3L)
-                .orderId(1L)
-                .clientId(100L)
-                .clientEmail("client@test.com")
-                .previousStatus(OrderStatus.READY)
-                .newStatus(OrderStatus.DELIVERED)
-                .employeeId(200L)
-                .employeeEmail("employee1@test.com")
-                .timestamp(baseTime.plusMinutes(30))
-                .build();
     }
 
     // ==================== getOrderEfficiency Tests ====================
 
     @Test
-    void getOrderEfficiency_WhenOrderHasPendingAndDeliveredStates_ShouldCalculateDuration() {
+    void getOrderEfficiency_WhenOrderHasPendingAndDeliveredStates_ShouldReturnStoredDuration() {
         // Arrange
         Long orderId = 1L;
-        List<OrderTrace> traces = Arrays.asList(pendingTrace, inPreparationTrace, deliveredTrace);
+        OrderEfficiencySummary summary = OrderEfficiencySummary.builder()
+                .orderId(orderId)
+                .pendingAt(baseTime)
+                .deliveredAt(baseTime.plusMinutes(30))
+                .durationInMinutes(30L)
+                .employeeId(200L)
+                .build();
 
-        when(orderTraceRepository.findByOrderId(orderId)).thenReturn(traces);
+        when(orderEfficiencySummaryRepository.findByOrderId(orderId)).thenReturn(summary);
 
         // Act
-        OrderEfficiency result = orderEfficiencyUseCase.getOrderEfficiency(orderId);
+        OrderEfficiency result = orderEfficiencyUseCase.getOrderEfficiency(orderId, TimeWindow.ALL_TIME);
 
         // Assert
         assertNotNull(result);
         assertEquals(orderId, result.getOrderId());
         assertEquals(30L, result.getDurationInMinutes());
-        verify(orderTraceRepository, times(1)).findByOrderId(orderId);
+        verify(orderEfficiencySummaryRepository, times(1)).findByOrderId(orderId);
+        verifyNoInteractions(employeeEfficiencySummaryRepository);
     }
 
     @Test
-    void getOrderEfficiency_WhenOrderHasNoPendingState_ShouldReturnNullDuration() {
+    void getOrderEfficiency_WhenOrderHasNoDeliveredState_ShouldReturnNullDuration() {
         // Arrange
-        Long orderId = 2L;
-        List<OrderTrace> traces = Collections.singletonList(deliveredTrace.toBuilder().orderId(orderId).build());
+        Long orderId = 3L;
+        OrderEfficiencySummary summary = OrderEfficiencySummary.builder()
+                .orderId(orderId)
+                .pendingAt(baseTime)
+                .build();
 
-        when(orderTraceRepository.findByOrderId(orderId)).thenReturn(traces);
+        when(orderEfficiencySummaryRepository.findByOrderId(orderId)).thenReturn(summary);
 
         // Act
-        OrderEfficiency result = orderEfficiencyUseCase.getOrderEfficiency(orderId);
+        OrderEfficiency result = orderEfficiencyUseCase.getOrderEfficiency(orderId, TimeWindow.ALL_TIME);
 
         // Assert
         assertNotNull(result);
         assertEquals(orderId, result.getOrderId());
         assertNull(result.getDurationInMinutes());
-        verify(orderTraceRepository, times(1)).findByOrderId(orderId);
     }
 
     @Test
-    void getOrderEfficiency_WhenOrderHasNoDeliveredState_ShouldReturnNullDuration() {
+    void getOrderEfficiency_WhenStoredDurationIsNegative_ShouldReturnNullDuration() {
         // Arrange
-        Long orderId = 3L;
-        List<OrderTrace> traces = Arrays.asList(pendingTrace.toBuilder().orderId(orderId).build(),
-                inPreparationTrace.toBuilder().orderId(orderId).build());
+        Long orderId = 2L;
+        OrderEfficiencySummary summary = OrderEfficiencySummary.builder()
+                .orderId(orderId)
+                .pendingAt(baseTime.plusMinutes(30))
+                .deliveredAt(baseTime)
+                .durationInMinutes(-30L)
+                .build();
 
-        when(orderTraceRepository.findByOrderId(orderId)).thenReturn(traces);
+        when(orderEfficiencySummaryRepository.findByOrderId(orderId)).thenReturn(summary);
 
         // Act
-        OrderEfficiency result = orderEfficiencyUseCase.getOrderEfficiency(orderId);
+        OrderEfficiency result = orderEfficiencyUseCase.getOrderEfficiency(orderId, TimeWindow.ALL_TIME);
 
         // Assert
         assertNotNull(result);
         assertEquals(orderId, result.getOrderId());
         assertNull(result.getDurationInMinutes());
-        verify(orderTraceRepository, times(1)).findByOrderId(orderId);
     }
 
     @Test
     void getOrderEfficiency_WhenOrderDoesNotExist_ShouldReturnNullDuration() {
         // Arrange
         Long orderId = 999L;
-        when(orderTraceRepository.findByOrderId(orderId)).thenReturn(Collections.emptyList());
+        when(orderEfficiencySummaryRepository.findByOrderId(orderId)).thenReturn(null);
 
         // Act
-        OrderEfficiency result = orderEfficiencyUseCase.getOrderEfficiency(orderId);
+        OrderEfficiency result = orderEfficiencyUseCase.getOrderEfficiency(orderId, TimeWindow.ALL_TIME);
 
         // Assert
         assertNotNull(result);
         assertEquals(orderId, result.getOrderId());
         assertNull(result.getDurationInMinutes());
-        verify(orderTraceRepository, times(1)).findByOrderId(orderId);
+        verify(orderEfficiencySummaryRepository, times(1)).findByOrderId(orderId);
+    }
+
+    @Test
+    void getOrderEfficiency_WhenDeliveredOutsideWindow_ShouldReturnNullDuration() {
+        // Arrange
+        Long orderId = 1L;
+        OrderEfficiencySummary summary = OrderEfficiencySummary.builder()
+                .orderId(orderId)
+                .pendingAt(baseTime)
+                .deliveredAt(baseTime.plusMinutes(30))
+                .durationInMinutes(30L)
+                .employeeId(200L)
+                .build();
+        TimeWindow window = TimeWindow.between(baseTime.plusHours(1), baseTime.plusHours(2));
+
+        when(orderEfficiencySummaryRepository.findByOrderId(orderId)).thenReturn(summary);
+
+        // Act
+        OrderEfficiency result = orderEfficiencyUseCase.getOrderEfficiency(orderId, window);
+
+        // Assert
+        assertEquals(orderId, result.getOrderId());
+        assertNull(result.getDurationInMinutes());
     }
 
     // ==================== getAllOrdersEfficiency Tests ====================
@@ -154,17 +163,11 @@ class OrderEfficiencyUseCaseTest {
     @Test
     void getAllOrdersEfficiency_WhenMultipleOrdersAreDelivered_ShouldReturnEfficiencyListSortedByOrderId() {
         // Arrange
-        OrderTrace order1Pending = pendingTrace.toBuilder().orderId(1L).build();
-        OrderTrace order1Delivered = deliveredTrace.toBuilder().orderId(1L).timestamp(baseTime.plusMinutes(30)).build();
-
-        OrderTrace order2Pending = pendingTrace.toBuilder().id(4L).orderId(2L).employeeId(201L).employeeEmail("emp2@test.com").build();
-        OrderTrace order2Delivered = deliveredTrace.toBuilder().id(5L).orderId(2L).employeeId(201L).employeeEmail("emp2@test.com").timestamp(baseTime.plusMinutes(45)).build();
+        List<OrderEfficiencySummary> summaries = Arrays.asList(
+                OrderEfficiencySummary.builder().orderId(2L).durationInMinutes(45L).build(),
+                OrderEfficiencySummary.builder().orderId(1L).durationInMinutes(30L).build());
 
-        List<OrderTrace> allTraces = Arrays.asList(order1Pending, order1Delivered, order2Pending, order2Delivered);
-
-        when(orderTraceRepository.findAll()).thenReturn(allTraces);
-        when(orderTraceRepository.findByOrderId(1L)).thenReturn(Arrays.asList(order1Pending, order1Delivered));
-        when(orderTraceRepository.findByOrderId(2L)).thenReturn(Arrays.asList(order2Pending, order2Delivered));
+        when(orderEfficiencySummaryRepository.findAllCompleted()).thenReturn(summaries);
 
         // Act
         List<OrderEfficiency> result = orderEfficiencyUseCase.getAllOrdersEfficiency();
@@ -176,15 +179,14 @@ class OrderEfficiencyUseCaseTest {
         assertEquals(2L, result.get(1).getOrderId());
         assertEquals(30L, result.get(0).getDurationInMinutes());
         assertEquals(45L, result.get(1).getDurationInMinutes());
-        verify(orderTraceRepository, times(1)).findAll();
+        verify(orderEfficiencySummaryRepository, times(1)).findAllCompleted();
+        verifyNoInteractions(employeeEfficiencySummaryRepository);
     }
 
     @Test
     void getAllOrdersEfficiency_WhenNoOrdersAreDelivered_ShouldReturnEmptyList() {
         // Arrange
-        List<OrderTrace> allTraces = Arrays.asList(pendingTrace, inPreparationTrace);
-
-        when(orderTraceRepository.findAll()).thenReturn(allTraces);
+        when(orderEfficiencySummaryRepository.findAllCompleted()).thenReturn(Collections.emptyList());
 
         // Act
         List<OrderEfficiency> result = orderEfficiencyUseCase.getAllOrdersEfficiency();
@@ -192,45 +194,76 @@ class OrderEfficiencyUseCaseTest {
         // Assert
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(orderTraceRepository, times(1)).findAll();
+        verify(orderEfficiencySummaryRepository, times(1)).findAllCompleted();
     }
 
     @Test
-    void getAllOrdersEfficiency_WhenNoTracesExist_ShouldReturnEmptyList() {
+    void getAllOrdersEfficiency_ShouldFilterOutOrdersWithoutValidDuration() {
         // Arrange
-        when(orderTraceRepository.findAll()).thenReturn(Collections.emptyList());
+        List<OrderEfficiencySummary> summaries = Arrays.asList(
+                OrderEfficiencySummary.builder().orderId(1L).durationInMinutes(30L).build(),
+                OrderEfficiencySummary.builder().orderId(2L).durationInMinutes(-5L).build(),
+                OrderEfficiencySummary.builder().orderId(3L).durationInMinutes(null).build());
+
+        when(orderEfficiencySummaryRepository.findAllCompleted()).thenReturn(summaries);
 
         // Act
         List<OrderEfficiency> result = orderEfficiencyUseCase.getAllOrdersEfficiency();
 
         // Assert
         assertNotNull(result);
-        assertTrue(result.isEmpty());
-        verify(orderTraceRepository, times(1)).findAll();
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).getOrderId());
+        verify(orderEfficiencySummaryRepository, times(1)).findAllCompleted();
     }
 
+    // ==================== getOrdersEfficiencyPage Tests ====================
+
     @Test
-    void getAllOrdersEfficiency_ShouldFilterOutOrdersWithoutValidDuration() {
+    void getOrdersEfficiencyPage_WhenMoreRowsThanLimit_ShouldTrimPageAndFlagMore() {
         // Arrange
-        OrderTrace order1Pending = pendingTrace.toBuilder().orderId(1L).build();
-        OrderTrace order1Delivered = deliveredTrace.toBuilder().orderId(1L).build();
+        when(orderEfficiencySummaryRepository.findCompletedAfter(10L, 3)).thenReturn(Arrays.asList(
+                OrderEfficiencySummary.builder().orderId(11L).durationInMinutes(30L).build(),
+                OrderEfficiencySummary.builder().orderId(12L).durationInMinutes(40L).build(),
+                OrderEfficiencySummary.builder().orderId(13L).durationInMinutes(50L).build()));
 
-        OrderTrace order2Delivered = deliveredTrace.toBuilder().id(4L).orderId(2L).employeeId(201L).employeeEmail("emp2@test.com").build();
+        // Act
+        KeysetPage<OrderEfficiency> result = orderEfficiencyUseCase.getOrdersEfficiencyPage(10L, 2, TimeWindow.ALL_TIME);
 
-        List<OrderTrace> allTraces = Arrays.asList(order1Pending, order1Delivered, order2Delivered);
+        // Assert
+        assertEquals(2, result.getItems().size());
+        assertEquals(11L, result.getItems().get(0).getOrderId());
+        assertEquals(12L, result.getItems().get(1).getOrderId());
+        assertTrue(result.isHasMore());
+    }
 
-        when(orderTraceRepository.findAll()).thenReturn(allTraces);
-        when(orderTraceRepository.findByOrderId(1L)).thenReturn(Arrays.asList(order1Pending, order1Delivered));
-        when(orderTraceRepository.findByOrderId(2L)).thenReturn(Collections.singletonList(order2Delivered));
+    @Test
+    void getOrdersEfficiencyPage_WhenFirstPageFitsLimit_ShouldNotFlagMore() {
+        // Arrange
+        when(orderEfficiencySummaryRepository.findCompletedAfter(null, 51)).thenReturn(Collections.singletonList(
+                OrderEfficiencySummary.builder().orderId(1L).durationInMinutes(30L).build()));
 
         // Act
-        List<OrderEfficiency> result = orderEfficiencyUseCase.getAllOrdersEfficiency();
+        KeysetPage<OrderEfficiency> result = orderEfficiencyUseCase.getOrdersEfficiencyPage(null, 50, TimeWindow.ALL_TIME);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(1L, result.get(0).getOrderId());
-        verify(orderTraceRepository, times(1)).findAll();
+        assertEquals(1, result.getItems().size());
+        assertFalse(result.isHasMore());
+    }
+
+    @Test
+    void getOrdersEfficiencyPage_WhenWindowIsBounded_ShouldQueryDeliveryRange() {
+        // Arrange
+        TimeWindow window = TimeWindow.between(baseTime, null);
+        when(orderEfficiencySummaryRepository.findCompletedWithin(window, null, 51)).thenReturn(Collections.singletonList(
+                OrderEfficiencySummary.builder().orderId(1L).durationInMinutes(30L).build()));
+
+        // Act
+        KeysetPage<OrderEfficiency> result = orderEfficiencyUseCase.getOrdersEfficiencyPage(null, 50, window);
+
+        // Assert
+        assertEquals(1, result.getItems().size());
+        verify(orderEfficiencySummaryRepository, never()).findCompletedAfter(any(), anyInt());
     }
 
     // ==================== getEmployeesEfficiencyRanking Tests ====================
@@ -238,20 +271,17 @@ class OrderEfficiencyUseCaseTest {
     @Test
     void getEmployeesEfficiencyRanking_WhenMultipleEmployeesHaveOrders_ShouldReturnRankingSortedByEfficiency() {
         // Arrange
-        OrderTrace emp1Order1Pending = pendingTrace.toBuilder().orderId(1L).employeeId(200L).employeeEmail("emp1@test.com").build();
-        OrderTrace emp1Order1Delivered = deliveredTrace.toBuilder().orderId(1L).employeeId(200L).employeeEmail("emp1@test.com").timestamp(baseTime.plusMinutes(30)).build();
-
-        OrderTrace emp2Order1Pending = pendingTrace.toBuilder().id(4L).orderId(2L).employeeId(201L).employeeEmail("emp2@test.com").build();
-        OrderTrace emp2Order1Delivered = deliveredTrace.toBuilder().id(5L).orderId(2L).employeeId(201L).employeeEmail("emp2@test.com").timestamp(baseTime.plusMinutes(20)).build();
+        List<EmployeeEfficiencySummary> summaries = Arrays.asList(
+                EmployeeEfficiencySummary.builder().employeeId(200L).employeeEmail("emp1@test.com")
+                        .totalDurationInMinutes(60L).deliveredOrders(2L).build(),
+                EmployeeEfficiencySummary.builder().employeeId(201L).employeeEmail("emp2@test.com")
+                        .totalDurationInMinutes(20L).deliveredOrders(1L).build());
 
-        List<OrderTrace> allTraces = Arrays.asList(emp1Order1Pending, emp1Order1Delivered, emp2Order1Pending, emp2Order1Delivered);
-
-        when(orderTraceRepository.findAll()).thenReturn(allTraces);
-        when(orderTraceRepository.findByOrderId(1L)).thenReturn(Arrays.asList(emp1Order1Pending, emp1Order1Delivered));
-        when(orderTraceRepository.findByOrderId(2L)).thenReturn(Arrays.asList(emp2Order1Pending, emp2Order1Delivered));
+        when(employeeEfficiencySummaryRepository.findAll()).thenReturn(summaries);
 
         // Act
-        List<EmployeeEfficiency> result = orderEfficiencyUseCase.getEmployeesEfficiencyRanking();
+        List<EmployeeEfficiency> result = orderEfficiencyUseCase.getEmployeesEfficiencyRanking(
+                FIRST_PAGE, TimeWindow.ALL_TIME).getItems();
 
         // Assert
         assertNotNull(result);
@@ -260,61 +290,116 @@ class OrderEfficiencyUseCaseTest {
         assertEquals(20.0, result.get(0).getAverageDurationInMinutes());
         assertEquals(200L, result.get(1).getEmployeeId());
         assertEquals(30.0, result.get(1).getAverageDurationInMinutes());
-        verify(orderTraceRepository, times(1)).findAll();
+        assertEquals(2L, result.get(1).getProcessedOrders());
+        verify(employeeEfficiencySummaryRepository, times(1)).findAll();
     }
 
     @Test
-    void getEmployeesEfficiencyRanking_ShouldFilterOutTracesWithNullEmployeeId() {
+    void getEmployeesEfficiencyRanking_WhenNoValidTracesExist_ShouldReturnEmptyList() {
         // Arrange
-        OrderTrace traceWithNullEmployeeId = pendingTrace.toBuilder().employeeId(null).employeeEmail(null).build();
-        OrderTrace validTrace1 = pendingTrace.toBuilder().orderId(1L).employeeId(200L).employeeEmail("emp1@test.com").build();
-        OrderTrace validTrace2 = deliveredTrace.toBuilder().orderId(1L).employeeId(200L).employeeEmail("emp1@test.com").build();
+        when(employeeEfficiencySummaryRepository.findAll()).thenReturn(Collections.emptyList());
 
-        List<OrderTrace> allTraces = Arrays.asList(traceWithNullEmployeeId, validTrace1, validTrace2);
+        // Act
+        List<EmployeeEfficiency> result = orderEfficiencyUseCase.getEmployeesEfficiencyRanking(
+                FIRST_PAGE, TimeWindow.ALL_TIME).getItems();
 
-        when(orderTraceRepository.findAll()).thenReturn(allTraces);
-        when(orderTraceRepository.findByOrderId(1L)).thenReturn(Arrays.asList(validTrace1, validTrace2));
+        // Assert
+        assertNotNull(result);
+        assertTrue(result.isEmpty());
+        verify(employeeEfficiencySummaryRepository, times(1)).findAll();
+    }
+
+    @Test
+    void getEmployeesEfficiencyRanking_ShouldExcludeEmployeesWithNoProcessedOrders() {
+        // Arrange
+        List<EmployeeEfficiencySummary> summaries = Collections.singletonList(
+                EmployeeEfficiencySummary.builder().employeeId(200L).employeeEmail("emp1@test.com")
+                        .totalDurationInMinutes(0L).deliveredOrders(0L).build());
+
+        when(employeeEfficiencySummaryRepository.findAll()).thenReturn(summaries);
 
         // Act
-        List<EmployeeEfficiency> result = orderEfficiencyUseCase.getEmployeesEfficiencyRanking();
+        List<EmployeeEfficiency> result = orderEfficiencyUseCase.getEmployeesEfficiencyRanking(
+                FIRST_PAGE, TimeWindow.ALL_TIME).getItems();
 
         // Assert
         assertNotNull(result);
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void getEmployeesEfficiencyRanking_WhenWindowIsBounded_ShouldAggregateOrderSummaries() {
+        // Arrange
+        TimeWindow window = TimeWindow.between(baseTime, baseTime.plusDays(1));
+        when(orderEfficiencySummaryRepository.summarizeEmployees(window)).thenReturn(Collections.singletonList(
+                EmployeeEfficiencySummary.builder().employeeId(200L).employeeEmail("emp1@test.com")
+                        .totalDurationInMinutes(45L).deliveredOrders(3L).build()));
+
+        // Act
+        List<EmployeeEfficiency> result = orderEfficiencyUseCase.getEmployeesEfficiencyRanking(
+                FIRST_PAGE, window).getItems();
+
+        // Assert
         assertEquals(1, result.size());
-        assertEquals(200L, result.get(0).getEmployeeId());
-        verify(orderTraceRepository, times(1)).findAll();
+        assertEquals(15.0, result.get(0).getAverageDurationInMinutes());
+        verify(employeeEfficiencySummaryRepository, never()).findAll();
     }
 
     @Test
-    void getEmployeesEfficiencyRanking_WhenNoValidTracesExist_ShouldReturnEmptyList() {
+    void getEmployeesEfficiencyRanking_WhenSlowestRequested_ShouldKeepOnlyTopKAndFlagMore() {
         // Arrange
-        when(orderTraceRepository.findAll()).thenReturn(Collections.emptyList());
+        when(employeeEfficiencySummaryRepository.findAll()).thenReturn(Arrays.asList(
+                employeeSummary(1L, 10L, 1L),
+                employeeSummary(2L, 90L, 1L),
+                employeeSummary(3L, 50L, 1L),
+                employeeSummary(4L, 70L, 1L)));
+        EmployeeRankingQuery query = EmployeeRankingQuery.builder().order(RankingOrder.SLOWEST).limit(2).build();
 
         // Act
-        List<EmployeeEfficiency> result = orderEfficiencyUseCase.getEmployeesEfficiencyRanking();
+        KeysetPage<EmployeeEfficiency> result = orderEfficiencyUseCase.getEmployeesEfficiencyRanking(query, TimeWindow.ALL_TIME);
 
         // Assert
-        assertNotNull(result);
-        assertTrue(result.isEmpty());
-        verify(orderTraceRepository, times(1)).findAll();
+        assertEquals(Arrays.asList(2L, 4L), result.getItems().stream().map(EmployeeEfficiency::getEmployeeId).toList());
+        assertTrue(result.isHasMore());
     }
 
     @Test
-    void getEmployeesEfficiencyRanking_ShouldExcludeEmployeesWithNoProcessedOrders() {
+    void getEmployeesEfficiencyRanking_WhenCursorGiven_ShouldContinueAfterItWithTiesBrokenById() {
         // Arrange
-        OrderTrace traceWithoutDelivery = inPreparationTrace.toBuilder().employeeId(200L).employeeEmail("emp1@test.com").build();
+        when(employeeEfficiencySummaryRepository.findAll()).thenReturn(Arrays.asList(
+                employeeSummary(5L, 40L, 2L),
+                employeeSummary(3L, 20L, 1L),
+                employeeSummary(4L, 60L, 3L),
+                employeeSummary(6L, 90L, 3L)));
+        EmployeeRankingQuery query = EmployeeRankingQuery.builder()
+                .limit(2)
+                .after(RankingCursor.builder().employeeId(3L).totalDurationInMinutes(20L).processedOrders(1L).build())
+                .build();
 
-        List<OrderTrace> allTraces = Collections.singletonList(traceWithoutDelivery);
+        // Act
+        KeysetPage<EmployeeEfficiency> result = orderEfficiencyUseCase.getEmployeesEfficiencyRanking(query, TimeWindow.ALL_TIME);
 
-        when(orderTraceRepository.findAll()).thenReturn(allTraces);
+        // Assert
+        assertEquals(Arrays.asList(4L, 5L), result.getItems().stream().map(EmployeeEfficiency::getEmployeeId).toList());
+        assertEquals(60L, result.getItems().get(0).getTotalDurationInMinutes());
+        assertTrue(result.isHasMore());
+    }
+
+    @Test
+    void getEmployeesEfficiencyRanking_ShouldSkipEmployeesBelowMinProcessedOrders() {
+        // Arrange
+        when(employeeEfficiencySummaryRepository.findAll()).thenReturn(Arrays.asList(
+                employeeSummary(1L, 5L, 1L),
+                employeeSummary(2L, 100L, 4L)));
+        EmployeeRankingQuery query = EmployeeRankingQuery.builder().limit(10).minProcessedOrders(3).build();
 
         // Act
-        List<EmployeeEfficiency> result = orderEfficiencyUseCase.getEmployeesEfficiencyRanking();
+        KeysetPage<EmployeeEfficiency> result = orderEfficiencyUseCase.getEmployeesEfficiencyRanking(query, TimeWindow.ALL_TIME);
 
         // Assert
-        assertNotNull(result);
-        assertTrue(result.isEmpty());
-        verify(orderTraceRepository, times(1)).findAll();
+        assertEquals(1, result.getItems().size());
+        assertEquals(2L, result.getItems().get(0).getEmployeeId());
+        assertFalse(result.isHasMore());
     }
 
     // ==================== getEmployeeEfficiency Tests ====================
@@ -323,65 +408,64 @@ class OrderEfficiencyUseCaseTest {
     void getEmployeeEfficiency_WhenEmployeeHasDeliveredOrders_ShouldCalculateAverageEfficiency() {
         // Arrange
         Long employeeId = 200L;
-        OrderTrace emp1Order1Pending = pendingTrace.toBuilder().orderId(1L).employeeId(employeeId).build();
-        OrderTrace emp1Order1Delivered = deliveredTrace.toBuilder().orderId(1L).employeeId(employeeId).timestamp(baseTime.plusMinutes(30)).build();
-
-        OrderTrace emp1Order2Pending = pendingTrace.toBuilder().id(4L).orderId(2L).employeeId(employeeId).timestamp(baseTime.plusHours(1)).build();
-        OrderTrace emp1Order2Delivered = deliveredTrace.toBuilder().id(5L).orderId(2L).employeeId(employeeId).timestamp(baseTime.plusHours(1).plusMinutes(20)).build();
-
-        List<OrderTrace> employeeTraces = Arrays.asList(emp1Order1Pending, emp1Order1Delivered, emp1Order2Pending, emp1Order2Delivered);
+        EmployeeEfficiencySummary summary = EmployeeEfficiencySummary.builder()
+                .employeeId(employeeId)
+                .employeeEmail("employee1@test.com")
+                .totalDurationInMinutes(50L)
+                .deliveredOrders(2L)
+                .build();
 
-        when(orderTraceRepository.findByEmployeeId(employeeId)).thenReturn(employeeTraces);
-        when(orderTraceRepository.findByOrderId(1L)).thenReturn(Arrays.asList(emp1Order1Pending, emp1Order1Delivered));
-        when(orderTraceRepository.findByOrderId(2L)).thenReturn(Arrays.asList(emp1Order2Pending, emp1Order2Delivered));
+        when(employeeEfficiencySummaryRepository.findByEmployeeId(employeeId)).thenReturn(summary);
 
         // Act
-        EmployeeEfficiency result = orderEfficiencyUseCase.getEmployeeEfficiency(employeeId);
+        EmployeeEfficiency result = orderEfficiencyUseCase.getEmployeeEfficiency(employeeId, TimeWindow.ALL_TIME);
 
         // Assert
         assertNotNull(result);
         assertEquals(employeeId, result.getEmployeeId());
         assertEquals(25.0, result.getAverageDurationInMinutes());
         assertEquals(2L, result.getProcessedOrders());
-        verify(orderTraceRepository, times(1)).findByEmployeeId(employeeId);
+        verify(employeeEfficiencySummaryRepository, times(1)).findByEmployeeId(employeeId);
     }
 
     @Test
     void getEmployeeEfficiency_WhenEmployeeHasNoOrders_ShouldReturnZeroEfficiency() {
         // Arrange
         Long employeeId = 999L;
-        when(orderTraceRepository.findByEmployeeId(employeeId)).thenReturn(Collections.emptyList());
+        when(employeeEfficiencySummaryRepository.findByEmployeeId(employeeId)).thenReturn(null);
 
         // Act
-        EmployeeEfficiency result = orderEfficiencyUseCase.getEmployeeEfficiency(employeeId);
+        EmployeeEfficiency result = orderEfficiencyUseCase.getEmployeeEfficiency(employeeId, TimeWindow.ALL_TIME);
 
         // Assert
         assertNotNull(result);
         assertEquals(employeeId, result.getEmployeeId());
         assertEquals(0.0, result.getAverageDurationInMinutes());
         assertEquals(0L, result.getProcessedOrders());
-        verify(orderTraceRepository, times(1)).findByEmployeeId(employeeId);
+        verify(employeeEfficiencySummaryRepository, times(1)).findByEmployeeId(employeeId);
     }
 
     @Test
     void getEmployeeEfficiency_WhenEmployeeHasNoDeliveredOrders_ShouldReturnZeroEfficiency() {
         // Arrange
         Long employeeId = 200L;
-        List<OrderTrace> employeeTraces = Collections.singletonList(
-                inPreparationTrace.toBuilder().employeeId(employeeId).build()
-        );
+        EmployeeEfficiencySummary summary = EmployeeEfficiencySummary.builder()
+                .employeeId(employeeId)
+                .employeeEmail("employee1@test.com")
+                .totalDurationInMinutes(0L)
+                .deliveredOrders(0L)
+                .build();
 
-        when(orderTraceRepository.findByEmployeeId(employeeId)).thenReturn(employeeTraces);
+        when(employeeEfficiencySummaryRepository.findByEmployeeId(employeeId)).thenReturn(summary);
 
         // Act
-        EmployeeEfficiency result = orderEfficiencyUseCase.getEmployeeEfficiency(employeeId);
+        EmployeeEfficiency result = orderEfficiencyUseCase.getEmployeeEfficiency(employeeId, TimeWindow.ALL_TIME);
 
         // Assert
         assertNotNull(result);
         assertEquals(employeeId, result.getEmployeeId());
         assertEquals(0.0, result.getAverageDurationInMinutes());
         assertEquals(0L, result.getProcessedOrders());
-        verify(orderTraceRepository, times(1)).findByEmployeeId(employeeId);
     }
 
     @Test
@@ -389,21 +473,96 @@ class OrderEfficiencyUseCaseTest {
         // Arrange
         Long employeeId = 200L;
         String employeeEmail = "john@restaurant.com";
-        OrderTrace trace1 = pendingTrace.toBuilder().orderId(1L).employeeId(employeeId).employeeEmail(employeeEmail).build();
-        OrderTrace trace2 = deliveredTrace.toBuilder().orderId(1L).employeeId(employeeId).employeeEmail(employeeEmail).build();
-
-        List<OrderTrace> employeeTraces = Arrays.asList(trace1, trace2);
+        EmployeeEfficiencySummary summary = EmployeeEfficiencySummary.builder()
+                .employeeId(employeeId)
+                .employeeEmail(employeeEmail)
+                .totalDurationInMinutes(30L)
+                .deliveredOrders(1L)
+                .build();
 
-        when(orderTraceRepository.findByEmployeeId(employeeId)).thenReturn(employeeTraces);
-        when(orderTraceRepository.findByOrderId(1L)).thenReturn(Arrays.asList(trace1, trace2));
+        when(employeeEfficiencySummaryRepository.findByEmployeeId(employeeId)).thenReturn(summary);
 
         // Act
-        EmployeeEfficiency result = orderEfficiencyUseCase.getEmployeeEfficiency(employeeId);
+        EmployeeEfficiency result = orderEfficiencyUseCase.getEmployeeEfficiency(employeeId, TimeWindow.ALL_TIME);
 
         // Assert
         assertNotNull(result);
         assertEquals(employeeId, result.getEmployeeId());
         assertEquals(employeeEmail, result.getEmployeeEmail());
-        verify(orderTraceRepository, times(1)).findByEmployeeId(employeeId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getEmployeeEfficiency_WhenNothingDeliveredInWindow_ShouldKeepKnownEmail() {
+        // Arrange
+        Long employeeId = 200L;
+        TimeWindow window = TimeWindow.between(baseTime, baseTime.plusHours(8));
+        when(orderEfficiencySummaryRepository.summarizeEmployee(employeeId, window)).thenReturn(null);
+        when(employeeEfficiencySummaryRepository.findByEmployeeId(employeeId)).thenReturn(
+                EmployeeEfficiencySummary.builder().employeeId(employeeId).employeeEmail("john@restaurant.com")
+                        .totalDurationInMinutes(90L).deliveredOrders(3L).build());
+
+        // Act
+        EmployeeEfficiency result = orderEfficiencyUseCase.getEmployeeEfficiency(employeeId, window);
+
+        // Assert
+        assertEquals("john@restaurant.com", result.getEmployeeEmail());
+        assertEquals(0L, result.getProcessedOrders());
+        assertEquals(0.0, result.getAverageDurationInMinutes());
+    }
+
+    // ==================== getDurationDistribution Tests ====================
+
+    @Test
+    void getEmployeeDurationDistribution_ShouldReportPercentilesWithoutAStuckOrderSkewingTheMedian() {
+        // Arrange
+        Long employeeId = 200L;
+        TimeWindow window = TimeWindow.between(baseTime, baseTime.plusDays(1));
+        givenDurations(window, employeeId, LongStream.concat(LongStream.rangeClosed(1, 99), LongStream.of(5000)));
+
+        // Act
+        DurationDistribution result = orderEfficiencyUseCase.getEmployeeDurationDistribution(employeeId, window);
+
+        // Assert
+        assertEquals(employeeId, result.getEmployeeId());
+        assertEquals(100L, result.getProcessedOrders());
+        assertEquals(1L, result.getMinDurationInMinutes());
+        assertEquals(5000L, result.getMaxDurationInMinutes());
+        assertEquals(50L, result.getP50DurationInMinutes());
+        assertTrue(result.getP90DurationInMinutes() >= 90L && result.getP90DurationInMinutes() <= 91L);
+        assertTrue(result.getP99DurationInMinutes() >= 97L && result.getP99DurationInMinutes() <= 99L);
+        assertTrue(result.getAverageDurationInMinutes() > 90.0);
+        assertEquals(100L, result.getHistogram().stream().mapToLong(bucket -> bucket.getCount()).sum());
+    }
+
+    @Test
+    void getDurationDistribution_WhenNothingCompleted_ShouldReturnZeroes() {
+        // Arrange
+        givenDurations(TimeWindow.ALL_TIME, null, LongStream.empty());
+
+        // Act
+        DurationDistribution result = orderEfficiencyUseCase.getDurationDistribution(TimeWindow.ALL_TIME);
+
+        // Assert
+        assertNull(result.getEmployeeId());
+        assertEquals(0L, result.getProcessedOrders());
+        assertEquals(0L, result.getP99DurationInMinutes());
+        assertTrue(result.getHistogram().isEmpty());
+    }
+
+    private void givenDurations(TimeWindow window, Long employeeId, LongStream durations) {
+        doAnswer(invocation -> {
+            LongConsumer consumer = invocation.getArgument(2);
+            durations.forEach(consumer);
+            return null;
+        }).when(orderEfficiencySummaryRepository).forEachCompletedDuration(eq(window), eq(employeeId), any(LongConsumer.class));
+    }
+
+    private EmployeeEfficiencySummary employeeSummary(Long employeeId, Long totalDuration, Long deliveredOrders) {
+        return EmployeeEfficiencySummary.builder()
+                .employeeId(employeeId)
+                .employeeEmail("employee" + employeeId + "@test.com")
+                .totalDurationInMinutes(totalDuration)
+                .deliveredOrders(deliveredOrders)
+                .build();
+    }
+}
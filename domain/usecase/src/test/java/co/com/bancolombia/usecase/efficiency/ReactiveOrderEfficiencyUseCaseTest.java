@@ -0,0 +1,128 @@
+package co.com.bancolombia.usecase.efficiency;
+
+import co.com.bancolombia.model.efficiency.EmployeeEfficiencySummary;
+import co.com.bancolombia.model.efficiency.EmployeeRankingQuery;
+import co.com.bancolombia.model.efficiency.OrderEfficiencySummary;
+import co.com.bancolombia.model.efficiency.TimeWindow;
+import co.com.bancolombia.model.efficiency.gateways.ReactiveEmployeeEfficiencySummaryRepository;
+import co.com.bancolombia.model.efficiency.gateways.ReactiveOrderEfficiencySummaryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveOrderEfficiencyUseCaseTest {
+
+    @Mock
+    private ReactiveOrderEfficiencySummaryRepository orderEfficiencySummaryRepository;
+
+    @Mock
+    private ReactiveEmployeeEfficiencySummaryRepository employeeEfficiencySummaryRepository;
+
+    @InjectMocks
+    private ReactiveOrderEfficiencyUseCase useCase;
+
+    @Test
+    void getOrderEfficiency_WhenMissing_ShouldReturnEmptyEfficiency() {
+        // Arrange
+        when(orderEfficiencySummaryRepository.findByOrderId(1L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(useCase.getOrderEfficiency(1L, TimeWindow.ALL_TIME).subscribeOn(Schedulers.parallel()))
+                .expectNextMatches(efficiency -> efficiency.getOrderId() == 1L
+                        && efficiency.getDurationInMinutes() == null)
+                .verifyComplete();
+    }
+
+    @Test
+    void getOrdersEfficiencyPage_ShouldReportMoreRows() {
+        // Arrange
+        when(orderEfficiencySummaryRepository.findCompletedAfter(null, 2)).thenReturn(Flux.just(
+                OrderEfficiencySummary.builder().orderId(1L).durationInMinutes(10L).build(),
+                OrderEfficiencySummary.builder().orderId(2L).durationInMinutes(20L).build()));
+
+        // Act & Assert
+        StepVerifier.create(useCase.getOrdersEfficiencyPage(null, 1, TimeWindow.ALL_TIME).subscribeOn(Schedulers.parallel()))
+                .expectNextMatches(page -> page.isHasMore() && page.getItems().size() == 1
+                        && page.getItems().get(0).getDurationInMinutes() == 10L)
+                .verifyComplete();
+    }
+
+    @Test
+    void getEmployeesEfficiencyRanking_ShouldSkipEmptyAndSortByAverage() {
+        // Arrange
+        when(employeeEfficiencySummaryRepository.findAll()).thenReturn(Flux.just(
+                summary(1L, 300L, 10L),
+                summary(2L, 0L, 0L),
+                summary(3L, 100L, 10L)));
+
+        // Act & Assert
+        EmployeeRankingQuery query = EmployeeRankingQuery.builder().limit(10).build();
+        StepVerifier.create(useCase.getEmployeesEfficiencyRanking(query, TimeWindow.ALL_TIME)
+                        .subscribeOn(Schedulers.parallel()))
+                .expectNextMatches(page -> page.getItems().size() == 2
+                        && page.getItems().get(0).getEmployeeId() == 3L
+                        && page.getItems().get(0).getAverageDurationInMinutes() == 10.0
+                        && page.getItems().get(1).getEmployeeId() == 1L
+                        && !page.isHasMore())
+                .verifyComplete();
+    }
+
+    @Test
+    void getEmployeeEfficiency_WhenMissing_ShouldReturnZeroes() {
+        // Arrange
+        when(employeeEfficiencySummaryRepository.findByEmployeeId(9L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(useCase.getEmployeeEfficiency(9L, TimeWindow.ALL_TIME).subscribeOn(Schedulers.parallel()))
+                .expectNextMatches(efficiency -> efficiency.getProcessedOrders() == 0L
+                        && efficiency.getAverageDurationInMinutes() == 0.0)
+                .verifyComplete();
+    }
+
+    @Test
+    void getEmployeeEfficiency_WhenWindowIsBounded_ShouldUseWindowAggregate() {
+        // Arrange
+        TimeWindow window = TimeWindow.between(LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 1, 2, 0, 0));
+        when(orderEfficiencySummaryRepository.summarizeEmployee(9L, window)).thenReturn(Mono.just(summary(9L, 40L, 2L)));
+
+        // Act & Assert
+        StepVerifier.create(useCase.getEmployeeEfficiency(9L, window).subscribeOn(Schedulers.parallel()))
+                .expectNextMatches(efficiency -> efficiency.getProcessedOrders() == 2L
+                        && efficiency.getAverageDurationInMinutes() == 20.0)
+                .verifyComplete();
+    }
+
+    @Test
+    void getDurationDistribution_ShouldFoldDurationsIntoSketch() {
+        // Arrange
+        when(orderEfficiencySummaryRepository.findCompletedDurations(TimeWindow.ALL_TIME, null))
+                .thenReturn(Flux.just(10L, 20L, 30L, 40L));
+
+        // Act & Assert
+        StepVerifier.create(useCase.getDurationDistribution(TimeWindow.ALL_TIME).subscribeOn(Schedulers.parallel()))
+                .expectNextMatches(distribution -> distribution.getProcessedOrders() == 4L
+                        && distribution.getP50DurationInMinutes() == 20L
+                        && distribution.getMaxDurationInMinutes() == 40L)
+                .verifyComplete();
+    }
+
+    private EmployeeEfficiencySummary summary(Long employeeId, Long totalDuration, Long deliveredOrders) {
+        return EmployeeEfficiencySummary.builder()
+                .employeeId(employeeId)
+                .employeeEmail("employee" + employeeId + "@test.com")
+                .totalDurationInMinutes(totalDuration)
+                .deliveredOrders(deliveredOrders)
+                .build();
+    }
+}
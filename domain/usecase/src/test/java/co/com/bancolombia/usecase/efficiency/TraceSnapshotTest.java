@@ -0,0 +1,100 @@
+package co.com.bancolombia.usecase.efficiency;
+
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.OrderStatusChange;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceSnapshotTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 12, 17, 10, 0, 0);
+
+    private final TraceSnapshot traceSnapshot = new TraceSnapshot();
+
+    @Test
+    void append_BeforeFirstRefresh_ShouldBeLeftToTheLoad() {
+        // Act
+        traceSnapshot.append(trace(1L, 10L));
+
+        // Assert
+        assertFalse(traceSnapshot.isLoaded());
+        assertEquals(0, traceSnapshot.getRowCount());
+    }
+
+    @Test
+    void refresh_ShouldReplayAppendsTheLoadDidNotReturn() {
+        // Arrange
+        traceSnapshot.refresh(consumer -> { });
+        List<OrderStatusChange> database = new ArrayList<>(List.of(change(trace(1L, 10L))));
+
+        // Act
+        traceSnapshot.refresh(consumer -> {
+            // Committed while loading: trace 2 before the load's read view, trace 3 after it
+            OrderTrace seenByLoad = trace(2L, 10L);
+            database.add(change(seenByLoad));
+            traceSnapshot.append(seenByLoad);
+            traceSnapshot.append(trace(3L, 11L));
+            database.forEach(consumer);
+        });
+
+        // Assert
+        assertTrue(traceSnapshot.isLoaded());
+        assertEquals(3, traceSnapshot.getRowCount());
+        List<Long> orderIds = new ArrayList<>();
+        traceSnapshot.forEach((orderId, employeeId, status, epochSecond) -> orderIds.add(orderId));
+        assertEquals(List.of(10L, 10L, 11L), orderIds);
+    }
+
+    @Test
+    void refresh_WhenLoadFails_ShouldKeepPreviousSnapshot() {
+        // Arrange
+        traceSnapshot.refresh(consumer -> consumer.accept(change(trace(1L, 10L))));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> traceSnapshot.refresh(consumer -> {
+            throw new IllegalStateException("connection lost");
+        }));
+        assertEquals(1, traceSnapshot.getRowCount());
+        traceSnapshot.append(trace(2L, 10L));
+        assertEquals(2, traceSnapshot.getRowCount());
+    }
+
+    @Test
+    void append_ShouldGrowPastInitialCapacity() {
+        // Arrange
+        traceSnapshot.refresh(consumer -> { });
+        int rows = (1 << 16) + 10;
+
+        // Act
+        for (long id = 1; id <= rows; id++) {
+            traceSnapshot.append(trace(id, id));
+        }
+
+        // Assert
+        assertEquals(rows, traceSnapshot.getRowCount());
+        long[] sum = {0};
+        traceSnapshot.forEach((orderId, employeeId, status, epochSecond) -> sum[0] += orderId);
+        assertEquals((long) rows * (rows + 1) / 2, sum[0]);
+    }
+
+    private static OrderTrace trace(Long id, Long orderId) {
+        return OrderTrace.builder()
+                .id(id)
+                .orderId(orderId)
+                .employeeId(200L)
+                .newStatus(OrderStatus.PENDING)
+                .timestamp(BASE_TIME.plusMinutes(id))
+                .build();
+    }
+
+    private static OrderStatusChange change(OrderTrace trace) {
+        return new OrderStatusChange(trace.getId(), trace.getOrderId(), trace.getEmployeeId(), trace.getNewStatus(),
+                trace.getTimestamp());
+    }
+}
@@ -0,0 +1,84 @@
+package co.com.bancolombia.usecase.ordertraceability;
+
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTest {
+
+    @Test
+    void keyOf_ShouldPreferClientKeyOverTransition() {
+        // Arrange
+        OrderTrace trace = OrderTrace.builder()
+                .orderId(5L)
+                .previousStatus(OrderStatus.READY)
+                .newStatus(OrderStatus.DELIVERED)
+                .build();
+
+        // Act & Assert
+        assertEquals("order:5:READY:DELIVERED", IdempotencyFilter.keyOf(trace));
+        assertEquals("key:abc", IdempotencyFilter.keyOf(trace.toBuilder().idempotencyKey("abc").build()));
+        assertEquals("order:5:READY:DELIVERED", IdempotencyFilter.keyOf(trace.toBuilder().idempotencyKey(" ").build()));
+    }
+
+    @Test
+    void record_ShouldBeSeenByFilterAndRecentCache() {
+        // Arrange
+        IdempotencyFilter filter = new IdempotencyFilter(1000, 0.01, 10);
+        OrderTrace trace = OrderTrace.builder().id(1L).build();
+
+        // Act
+        filter.record("key:a", trace);
+
+        // Assert
+        assertTrue(filter.mightContain("key:a"));
+        assertSame(trace, filter.recent("key:a"));
+        assertFalse(filter.mightContain("key:b"));
+        assertNull(filter.recent("key:b"));
+    }
+
+    @Test
+    void recent_ShouldForgetOldestKeysBeyondCapacity() {
+        // Arrange
+        IdempotencyFilter filter = new IdempotencyFilter(1000, 0.01, 2);
+
+        // Act
+        IntStream.range(0, 3).forEach(i -> filter.record("key:" + i, OrderTrace.builder().id((long) i).build()));
+
+        // Assert
+        assertNull(filter.recent("key:0"));
+        assertNotNull(filter.recent("key:2"));
+        assertTrue(filter.mightContain("key:0"), "Evicted keys still go to the database, never straight to a write");
+    }
+
+    @Test
+    void record_ShouldKeepPreviousGenerationAfterRotating() {
+        // Arrange
+        IdempotencyFilter filter = new IdempotencyFilter(100, 0.01, 10);
+
+        // Act
+        IntStream.range(0, 150).forEach(i -> filter.record("key:" + i, OrderTrace.builder().build()));
+
+        // Assert
+        IntStream.range(0, 150).forEach(i -> assertTrue(filter.mightContain("key:" + i)));
+    }
+
+    @Test
+    void mightContain_ShouldStayNearConfiguredFalsePositiveRate() {
+        // Arrange
+        IdempotencyFilter filter = new IdempotencyFilter(10_000, 0.01, 10);
+        IntStream.range(0, 10_000).forEach(i -> filter.record("key:" + i, OrderTrace.builder().build()));
+
+        // Act
+        long falsePositives = IntStream.range(10_000, 20_000)
+                .filter(i -> filter.mightContain("key:" + i))
+                .count();
+
+        // Assert
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,85 @@
+package co.com.bancolombia.usecase.ordertraceability;
+
+import co.com.bancolombia.model.enums.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderStatusCacheTest {
+
+    private final OrderStatusCache cache = new OrderStatusCache(4, 2);
+
+    @Test
+    void advance_ShouldAcceptOnlyTheLastKnownStatus() {
+        // Arrange
+        cache.track(1L, OrderStatus.PENDING);
+
+        // Act & Assert
+        assertTrue(cache.advance(1L, OrderStatus.PENDING, OrderStatus.IN_PREPARATION));
+        assertFalse(cache.advance(1L, OrderStatus.PENDING, OrderStatus.IN_PREPARATION),
+                "The same transition must not pass twice");
+        assertTrue(cache.advance(1L, OrderStatus.IN_PREPARATION, OrderStatus.READY));
+    }
+
+    @Test
+    void advance_WhenOrderHasNoTraces_ShouldAcceptOnlyATraceWithoutPreviousStatus() {
+        // Arrange
+        cache.track(1L, null);
+
+        // Act & Assert
+        assertFalse(cache.advance(1L, OrderStatus.READY, OrderStatus.DELIVERED));
+        assertTrue(cache.advance(1L, null, OrderStatus.PENDING));
+    }
+
+    @Test
+    void advance_WhenOrderIsNotTracked_ShouldReject() {
+        // Act & Assert
+        assertFalse(cache.advance(2L, null, OrderStatus.PENDING));
+        assertFalse(cache.isTracked(2L));
+    }
+
+    @Test
+    void advance_WhenStatusIsTerminal_ShouldStopTrackingOrder() {
+        // Arrange
+        cache.track(1L, OrderStatus.READY);
+
+        // Act
+        cache.advance(1L, OrderStatus.READY, OrderStatus.DELIVERED);
+
+        // Assert
+        assertFalse(cache.isTracked(1L));
+    }
+
+    @Test
+    void track_ShouldNotOverwriteNewerStatus() {
+        // Arrange
+        cache.track(1L, OrderStatus.PENDING);
+        cache.advance(1L, OrderStatus.PENDING, OrderStatus.IN_PREPARATION);
+
+        // Act
+        cache.track(1L, OrderStatus.PENDING);
+
+        // Assert
+        assertTrue(cache.advance(1L, OrderStatus.IN_PREPARATION, OrderStatus.READY));
+    }
+
+    @Test
+    void track_ShouldDropLeastRecentlyWrittenOrdersOfAFullStripe() {
+        // Arrange
+        OrderStatusCache singleStripe = new OrderStatusCache(1, 2);
+
+        // Act
+        singleStripe.track(1L, OrderStatus.PENDING);
+        singleStripe.track(2L, OrderStatus.PENDING);
+        singleStripe.track(3L, OrderStatus.PENDING);
+        singleStripe.track(4L, OrderStatus.PENDING);
+        singleStripe.track(5L, OrderStatus.PENDING);
+
+        // Assert
+        assertFalse(singleStripe.isTracked(1L));
+        assertFalse(singleStripe.isTracked(2L));
+        assertFalse(singleStripe.isTracked(3L));
+        assertTrue(singleStripe.isTracked(4L));
+        assertTrue(singleStripe.isTracked(5L));
+    }
+}
@@ -1,22 +1,36 @@
 package co.com.bancolombia.usecase.ordertraceability;
 
+import co.com.bancolombia.model.efficiency.OrderEfficiencySummary;
+import co.com.bancolombia.model.efficiency.gateways.EmployeeEfficiencySummaryRepository;
+import co.com.bancolombia.model.efficiency.gateways.OrderEfficiencySummaryRepository;
 import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.DuplicateTraceException;
+import co.com.bancolombia.model.ordertrace.InvalidStatusTransitionException;
 import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.model.ordertrace.gateways.OrderTraceBroadcaster;
 import co.com.bancolombia.model.ordertrace.gateways.OrderTraceRepository;
+import co.com.bancolombia.model.pagination.KeysetPage;
+import co.com.bancolombia.model.transaction.gateways.TransactionGateway;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +39,24 @@ class OrderTraceabilityUseCaseTest {
     @Mock
     private OrderTraceRepository orderTraceRepository;
 
+    @Mock
+    private OrderEfficiencySummaryRepository orderEfficiencySummaryRepository;
+
+    @Mock
+    private EmployeeEfficiencySummaryRepository employeeEfficiencySummaryRepository;
+
+    @Mock
+    private TransactionGateway transactionGateway;
+
+    @Mock
+    private OrderTraceBroadcaster orderTraceBroadcaster;
+
+    @Spy
+    private IdempotencyFilter idempotencyFilter = new IdempotencyFilter(1000, 0.01, 100);
+
+    @Spy
+    private OrderStatusCache orderStatusCache = new OrderStatusCache(4, 100);
+
     @InjectMocks
     private OrderTraceabilityUseCase orderTraceabilityUseCase;
 
@@ -124,9 +156,40 @@ class OrderTraceabilityUseCaseTest {
         verify(orderTraceRepository, times(1)).findByOrderId(orderId);
     }
 
+    @Test
+    void getOrderHistoryPage_WhenMoreRowsThanLimit_ShouldTrimPageAndFlagMore() {
+        // Arrange
+        LocalDateTime afterTimestamp = LocalDateTime.now().minusHours(3);
+        when(orderTraceRepository.findByOrderIdAfter(orderId, afterTimestamp, 7L, 2))
+                .thenReturn(Arrays.asList(orderTrace1, orderTrace2));
+
+        // Act
+        KeysetPage<OrderTrace> result = orderTraceabilityUseCase.getOrderHistoryPage(orderId, afterTimestamp, 7L, 1);
+
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertEquals(orderTrace1, result.getItems().get(0));
+        assertTrue(result.isHasMore());
+    }
+
+    @Test
+    void getOrderHistoryPage_WhenLastPage_ShouldNotFlagMore() {
+        // Arrange
+        when(orderTraceRepository.findByOrderIdAfter(orderId, null, null, 3))
+                .thenReturn(Arrays.asList(orderTrace1, orderTrace2));
+
+        // Act
+        KeysetPage<OrderTrace> result = orderTraceabilityUseCase.getOrderHistoryPage(orderId, null, null, 2);
+
+        // Assert
+        assertEquals(2, result.getItems().size());
+        assertFalse(result.isHasMore());
+    }
+
     @Test
     void createTrace_ShouldSaveTraceWithTimestamp() {
         // Arrange
+        orderStatusCache.track(orderId, OrderStatus.PENDING);
         OrderTrace inputTrace = OrderTrace.builder()
                 .orderId(orderId)
                 .clientId(100L)
@@ -142,6 +205,7 @@ class OrderTraceabilityUseCaseTest {
                 .timestamp(LocalDateTime.now())
                 .build();
 
+        givenTransaction();
         when(orderTraceRepository.save(any(OrderTrace.class))).thenReturn(savedTrace);
 
         // Act
@@ -154,9 +218,38 @@ class OrderTraceabilityUseCaseTest {
         verify(orderTraceRepository, times(1)).save(any(OrderTrace.class));
     }
 
+    @Test
+    void createTrace_ShouldBroadcastSavedTraceAfterTransaction() {
+        // Arrange
+        orderStatusCache.track(orderId, OrderStatus.PENDING);
+        OrderTrace savedTrace = orderTrace1.toBuilder().build();
+        givenTransaction();
+        when(orderTraceRepository.save(any(OrderTrace.class))).thenReturn(savedTrace);
+
+        // Act
+        orderTraceabilityUseCase.createTrace(orderTrace1);
+
+        // Assert
+        InOrder inOrder = inOrder(transactionGateway, orderTraceBroadcaster);
+        inOrder.verify(transactionGateway).execute(any());
+        inOrder.verify(orderTraceBroadcaster).broadcast(savedTrace);
+    }
+
+    @Test
+    void createTrace_WhenTransactionFails_ShouldNotBroadcast() {
+        // Arrange
+        orderStatusCache.track(orderId, OrderStatus.PENDING);
+        when(transactionGateway.execute(any())).thenThrow(new IllegalStateException("rollback"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> orderTraceabilityUseCase.createTrace(orderTrace1));
+        verify(orderTraceBroadcaster, never()).broadcast(any());
+    }
+
     @Test
     void createTrace_ShouldNotModifyOriginalTraceObject() {
         // Arrange
+        orderStatusCache.track(orderId, OrderStatus.PENDING);
         OrderTrace inputTrace = OrderTrace.builder()
                 .orderId(orderId)
                 .clientId(100L)
@@ -172,6 +265,7 @@ class OrderTraceabilityUseCaseTest {
                 .timestamp(LocalDateTime.now())
                 .build();
 
+        givenTransaction();
         when(orderTraceRepository.save(any(OrderTrace.class))).thenReturn(savedTrace);
 
         // Act
@@ -181,4 +275,420 @@ class OrderTraceabilityUseCaseTest {
         assertNull(inputTrace.getTimestamp(), "Original trace should not have timestamp modified");
         verify(orderTraceRepository, times(1)).save(any(OrderTrace.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void createTrace_WhenStatusIsNotPendingOrDelivered_ShouldNotTouchEfficiencySummary() {
+        // Arrange
+        orderStatusCache.track(orderId, OrderStatus.PENDING);
+        givenTransaction();
+        when(orderTraceRepository.save(any(OrderTrace.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        orderTraceabilityUseCase.createTrace(orderTrace1.toBuilder().id(null).timestamp(null).build());
+
+        // Assert
+        verify(transactionGateway, times(1)).execute(any());
+        verifyNoInteractions(orderEfficiencySummaryRepository);
+    }
+
+    @Test
+    void createTrace_WhenStatusIsPending_ShouldCreateEfficiencySummary() {
+        // Arrange
+        OrderTrace pendingTrace = OrderTrace.builder()
+                .orderId(orderId)
+                .clientId(100L)
+                .clientEmail("client@test.com")
+                .newStatus(OrderStatus.PENDING)
+                .build();
+
+        givenTransaction();
+        when(orderTraceRepository.save(any(OrderTrace.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderEfficiencySummaryRepository.findByOrderIdForUpdate(orderId)).thenReturn(null);
+
+        // Act
+        OrderTrace result = orderTraceabilityUseCase.createTrace(pendingTrace);
+
+        // Assert
+        ArgumentCaptor<OrderEfficiencySummary> captor = ArgumentCaptor.forClass(OrderEfficiencySummary.class);
+        verify(orderEfficiencySummaryRepository, times(1)).save(captor.capture());
+        assertEquals(orderId, captor.getValue().getOrderId());
+        assertEquals(result.getTimestamp(), captor.getValue().getPendingAt());
+        assertNull(captor.getValue().getDeliveredAt());
+        assertNull(captor.getValue().getDurationInMinutes());
+    }
+
+    @Test
+    void createTrace_WhenStatusIsDelivered_ShouldCompleteEfficiencySummary() {
+        // Arrange
+        orderStatusCache.track(orderId, OrderStatus.READY);
+        OrderTrace deliveredTrace = OrderTrace.builder()
+                .orderId(orderId)
+                .clientId(100L)
+                .clientEmail("client@test.com")
+                .previousStatus(OrderStatus.READY)
+                .newStatus(OrderStatus.DELIVERED)
+                .employeeId(200L)
+                .employeeEmail("employee@test.com")
+                .build();
+        OrderEfficiencySummary existingSummary = OrderEfficiencySummary.builder()
+                .orderId(orderId)
+                .pendingAt(LocalDateTime.now().minusMinutes(40))
+                .build();
+
+        givenTransaction();
+        when(orderTraceRepository.save(any(OrderTrace.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderEfficiencySummaryRepository.findByOrderIdForUpdate(orderId)).thenReturn(existingSummary);
+
+        // Act
+        OrderTrace result = orderTraceabilityUseCase.createTrace(deliveredTrace);
+
+        // Assert
+        ArgumentCaptor<OrderEfficiencySummary> captor = ArgumentCaptor.forClass(OrderEfficiencySummary.class);
+        verify(orderEfficiencySummaryRepository, times(1)).save(captor.capture());
+        assertEquals(result.getTimestamp(), captor.getValue().getDeliveredAt());
+        assertEquals(200L, captor.getValue().getEmployeeId());
+        assertEquals(40L, captor.getValue().getDurationInMinutes());
+        assertNull(existingSummary.getDeliveredAt(), "Stored summary should not be mutated in place");
+        verify(employeeEfficiencySummaryRepository, times(1)).addDelivery(200L, "employee@test.com", 40L);
+        verify(employeeEfficiencySummaryRepository, never()).removeDelivery(any(), anyLong());
+    }
+
+    @Test
+    void createTrace_WhenOrderIsDeliveredAgain_ShouldMoveEmployeeContribution() {
+        // Arrange
+        orderStatusCache.track(orderId, OrderStatus.READY);
+        OrderTrace deliveredTrace = OrderTrace.builder()
+                .orderId(orderId)
+                .clientId(100L)
+                .clientEmail("client@test.com")
+                .previousStatus(OrderStatus.READY)
+                .newStatus(OrderStatus.DELIVERED)
+                .employeeId(201L)
+                .employeeEmail("other@test.com")
+                .build();
+        LocalDateTime pendingAt = LocalDateTime.now().minusMinutes(40);
+        OrderEfficiencySummary existingSummary = OrderEfficiencySummary.builder()
+                .orderId(orderId)
+                .pendingAt(pendingAt)
+                .deliveredAt(pendingAt.plusMinutes(10))
+                .durationInMinutes(10L)
+                .employeeId(200L)
+                .build();
+
+        givenTransaction();
+        when(orderTraceRepository.save(any(OrderTrace.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderEfficiencySummaryRepository.findByOrderIdForUpdate(orderId)).thenReturn(existingSummary);
+
+        // Act
+        orderTraceabilityUseCase.createTrace(deliveredTrace);
+
+        // Assert
+        verify(employeeEfficiencySummaryRepository, times(1)).removeDelivery(200L, 10L);
+        verify(employeeEfficiencySummaryRepository, times(1)).addDelivery(201L, "other@test.com", 40L);
+    }
+
+    @Test
+    void createTrace_WhenOrderHasNoPendingState_ShouldNotUpdateEmployeeEfficiency() {
+        // Arrange
+        orderStatusCache.track(orderId, OrderStatus.READY);
+        OrderTrace deliveredTrace = OrderTrace.builder()
+                .orderId(orderId)
+                .clientId(100L)
+                .clientEmail("client@test.com")
+                .previousStatus(OrderStatus.READY)
+                .newStatus(OrderStatus.DELIVERED)
+                .employeeId(200L)
+                .employeeEmail("employee@test.com")
+                .build();
+
+        givenTransaction();
+        when(orderTraceRepository.save(any(OrderTrace.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderEfficiencySummaryRepository.findByOrderIdForUpdate(orderId)).thenReturn(null);
+
+        // Act
+        orderTraceabilityUseCase.createTrace(deliveredTrace);
+
+        // Assert
+        verify(orderEfficiencySummaryRepository, times(1)).save(any(OrderEfficiencySummary.class));
+        verifyNoInteractions(employeeEfficiencySummaryRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createTraces_ShouldSaveAllTracesInOneTransactionAndUpdateSummaries() {
+        // Arrange
+        orderStatusCache.track(orderId, OrderStatus.PENDING);
+        OrderTrace pendingTrace = OrderTrace.builder()
+                .orderId(2L)
+                .clientId(100L)
+                .clientEmail("client@test.com")
+                .newStatus(OrderStatus.PENDING)
+                .build();
+        List<OrderTrace> inputTraces = Arrays.asList(
+                orderTrace1.toBuilder().id(null).timestamp(null).build(),
+                pendingTrace);
+
+        givenTransaction();
+        when(orderTraceRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<OrderTrace> traces = invocation.getArgument(0);
+            return traces.stream()
+                    .map(trace -> trace.toBuilder().id(10L + traces.indexOf(trace)).build())
+                    .toList();
+        });
+
+        // Act
+        List<OrderTrace> result = orderTraceabilityUseCase.createTraces(inputTraces);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(10L, result.get(0).getId());
+        assertEquals(11L, result.get(1).getId());
+        result.forEach(trace -> assertNotNull(trace.getTimestamp()));
+        verify(transactionGateway, times(1)).execute(any());
+        verify(orderTraceRepository, times(1)).saveAll(anyList());
+        verify(orderTraceRepository, never()).save(any(OrderTrace.class));
+        verify(orderEfficiencySummaryRepository, times(1)).save(any(OrderEfficiencySummary.class));
+    }
+
+    @Test
+    void createTraces_ShouldLockSummariesInOrderIdOrder() {
+        // Arrange
+        OrderTrace laterOrder = OrderTrace.builder().orderId(7L).clientId(100L).newStatus(OrderStatus.PENDING).build();
+        OrderTrace earlierOrder = laterOrder.toBuilder().orderId(3L).build();
+        givenTransaction();
+        when(orderTraceRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        orderTraceabilityUseCase.createTraces(Arrays.asList(laterOrder, earlierOrder));
+
+        // Assert
+        InOrder inOrder = inOrder(orderEfficiencySummaryRepository);
+        inOrder.verify(orderEfficiencySummaryRepository).findByOrderIdForUpdate(3L);
+        inOrder.verify(orderEfficiencySummaryRepository).findByOrderIdForUpdate(7L);
+    }
+
+    @Test
+    void createTrace_WhenKeyIsUnseen_ShouldWriteWithoutLookingItUp() {
+        // Arrange
+        orderStatusCache.track(orderId, OrderStatus.PENDING);
+        givenTransaction();
+        when(orderTraceRepository.save(any(OrderTrace.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        OrderTrace result = orderTraceabilityUseCase.createTrace(orderTrace1.toBuilder().idempotencyKey("abc").build());
+
+        // Assert
+        assertEquals("key:abc", result.getIdempotencyKey());
+        verify(orderTraceRepository, never()).findByIdempotencyKey(any());
+    }
+
+    @Test
+    void createTrace_WhenRetriedRightAway_ShouldReturnStoredTraceWithoutWriting() {
+        // Arrange
+        orderStatusCache.track(orderId, OrderStatus.PENDING);
+        OrderTrace savedTrace = orderTrace1.toBuilder().build();
+        givenTransaction();
+        when(orderTraceRepository.save(any(OrderTrace.class))).thenReturn(savedTrace);
+        OrderTrace first = orderTraceabilityUseCase.createTrace(orderTrace1);
+
+        // Act
+        OrderTrace retried = orderTraceabilityUseCase.createTrace(orderTrace1.toBuilder().id(null).build());
+
+        // Assert
+        assertSame(first, retried);
+        verify(orderTraceRepository, times(1)).save(any(OrderTrace.class));
+        verify(orderTraceRepository, never()).findByIdempotencyKey(any());
+        verify(orderTraceBroadcaster, times(1)).broadcast(savedTrace);
+    }
+
+    @Test
+    void createTrace_WhenConstraintRejectsKey_ShouldReturnStoredTraceWithoutBroadcasting() {
+        // Arrange
+        orderStatusCache.track(orderId, OrderStatus.PENDING);
+        String key = IdempotencyFilter.keyOf(orderTrace1);
+        when(transactionGateway.execute(any())).thenThrow(new DuplicateTraceException(key, null));
+        when(orderTraceRepository.findByIdempotencyKey(key)).thenReturn(orderTrace2);
+
+        // Act
+        OrderTrace result = orderTraceabilityUseCase.createTrace(orderTrace1);
+
+        // Assert
+        assertSame(orderTrace2, result);
+        verify(orderTraceBroadcaster, never()).broadcast(any());
+        assertSame(orderTrace2, idempotencyFilter.recent(key));
+    }
+
+    @Test
+    void createTraces_WhenBatchRepeatsKey_ShouldSaveOnceAndAnswerEveryPosition() {
+        // Arrange
+        orderStatusCache.track(orderId, OrderStatus.PENDING);
+        OrderTrace input = orderTrace1.toBuilder().id(null).timestamp(null).build();
+        givenTransaction();
+        when(orderTraceRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.<List<OrderTrace>>getArgument(0)
+                .stream()
+                .map(trace -> trace.toBuilder().id(10L).build())
+                .toList());
+
+        // Act
+        List<OrderTrace> result = orderTraceabilityUseCase.createTraces(Arrays.asList(input, input));
+
+        // Assert
+        ArgumentCaptor<List<OrderTrace>> captor = ArgumentCaptor.captor();
+        verify(orderTraceRepository).saveAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals(2, result.size());
+        assertSame(result.get(0), result.get(1));
+        verify(orderTraceBroadcaster, times(1)).broadcast(any());
+    }
+
+    @Test
+    void createTraces_WhenConstraintRejectsBatch_ShouldSettleEachTraceAlone() {
+        // Arrange
+        OrderTrace stored = orderTrace1.toBuilder().build();
+        OrderTrace fresh = orderTrace2.toBuilder().id(null).timestamp(null).build();
+        when(orderTraceRepository.findLastStatus(orderId))
+                .thenReturn(OrderStatus.PENDING, OrderStatus.PENDING, OrderStatus.IN_PREPARATION);
+        when(transactionGateway.execute(any()))
+                .thenThrow(new DuplicateTraceException(IdempotencyFilter.keyOf(orderTrace1), null))
+                .thenThrow(new DuplicateTraceException(IdempotencyFilter.keyOf(orderTrace1), null))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
+        when(orderTraceRepository.findByIdempotencyKey(IdempotencyFilter.keyOf(orderTrace1))).thenReturn(stored);
+        when(orderTraceRepository.save(any(OrderTrace.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        List<OrderTrace> result = orderTraceabilityUseCase.createTraces(Arrays.asList(orderTrace1, fresh));
+
+        // Assert
+        assertSame(stored, result.get(0));
+        assertEquals(OrderStatus.READY, result.get(1).getNewStatus());
+        verify(orderTraceBroadcaster, times(1)).broadcast(result.get(1));
+    }
+
+    @Test
+    void createTrace_WhenTransitionIsNotAllowed_ShouldRejectWithoutWriting() {
+        // Arrange
+        OrderTrace reopened = orderTrace1.toBuilder()
+                .previousStatus(OrderStatus.DELIVERED)
+                .newStatus(OrderStatus.PENDING)
+                .build();
+
+        // Act & Assert
+        assertThrows(InvalidStatusTransitionException.class, () -> orderTraceabilityUseCase.createTrace(reopened));
+        verifyNoInteractions(transactionGateway);
+        verify(orderTraceRepository, never()).findLastStatus(any());
+    }
+
+    @Test
+    void createTrace_WhenOrderHasNoTracesAndTraceDoesNotStartIt_ShouldReject() {
+        // Arrange
+        OrderTrace delivered = orderTrace1.toBuilder()
+                .previousStatus(OrderStatus.READY)
+                .newStatus(OrderStatus.DELIVERED)
+                .build();
+
+        // Act
+        InvalidStatusTransitionException rejection = assertThrows(InvalidStatusTransitionException.class,
+                () -> orderTraceabilityUseCase.createTrace(delivered));
+
+        // Assert
+        assertEquals("Order 1 has no traces, not READY", rejection.getMessage());
+        verify(orderTraceRepository, times(2)).findLastStatus(orderId);
+        verifyNoInteractions(transactionGateway);
+    }
+
+    @Test
+    void createTrace_WhenOrderHasMovedOn_ShouldCheckDatabaseOnceMoreBeforeRejecting() {
+        // Arrange
+        when(orderTraceRepository.findLastStatus(orderId)).thenReturn(OrderStatus.READY);
+
+        // Act
+        InvalidStatusTransitionException rejection = assertThrows(InvalidStatusTransitionException.class,
+                () -> orderTraceabilityUseCase.createTrace(orderTrace1));
+
+        // Assert
+        assertEquals("Order 1 is READY, not PENDING", rejection.getMessage());
+        verify(orderTraceRepository, times(2)).findLastStatus(orderId);
+        verifyNoInteractions(transactionGateway);
+    }
+
+    @Test
+    void createTrace_WhenRetryLandsOnNodeThatHasNotSeenItsKey_ShouldReturnStoredTrace() {
+        // Arrange
+        String key = IdempotencyFilter.keyOf(orderTrace1);
+        when(orderTraceRepository.findLastStatus(orderId)).thenReturn(OrderStatus.IN_PREPARATION);
+        when(orderTraceRepository.findByIdempotencyKey(key)).thenReturn(orderTrace1);
+
+        // Act
+        OrderTrace result = orderTraceabilityUseCase.createTrace(orderTrace1.toBuilder().id(null).build());
+
+        // Assert
+        assertSame(orderTrace1, result);
+        assertSame(orderTrace1, idempotencyFilter.recent(key), "The stored trace answers the next retry");
+        verifyNoInteractions(transactionGateway, orderTraceBroadcaster);
+    }
+
+    @Test
+    void createTraces_WhenBatchRepeatsStoredTransition_ShouldReturnStoredTraceAndWriteTheRest() {
+        // Arrange
+        givenTransaction();
+        String key = IdempotencyFilter.keyOf(orderTrace1);
+        when(orderTraceRepository.findLastStatus(orderId)).thenReturn(OrderStatus.IN_PREPARATION);
+        when(orderTraceRepository.findByIdempotencyKey(key)).thenReturn(orderTrace1);
+        when(orderTraceRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        List<OrderTrace> result = orderTraceabilityUseCase.createTraces(Arrays.asList(orderTrace1, orderTrace2));
+
+        // Assert
+        assertSame(orderTrace1, result.get(0));
+        assertEquals(OrderStatus.READY, result.get(1).getNewStatus());
+        verify(orderTraceRepository).saveAll(argThat(traces -> traces.size() == 1));
+        verify(orderTraceBroadcaster, times(1)).broadcast(any());
+    }
+
+    @Test
+    void createTrace_WhenStatusIsCached_ShouldNotReadItAgain() {
+        // Arrange
+        givenTransaction();
+        when(orderTraceRepository.save(any(OrderTrace.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderTraceRepository.findLastStatus(orderId)).thenReturn(OrderStatus.PENDING);
+
+        // Act
+        orderTraceabilityUseCase.createTrace(orderTrace1);
+        orderTraceabilityUseCase.createTrace(orderTrace2);
+
+        // Assert
+        verify(orderTraceRepository, times(1)).findLastStatus(orderId);
+        verify(orderTraceRepository, times(2)).save(any(OrderTrace.class));
+    }
+
+    @Test
+    void createTrace_WhenWriteFails_ShouldForgetClaimedStatus() {
+        // Arrange
+        when(transactionGateway.execute(any())).thenThrow(new IllegalStateException("rollback"));
+        when(orderTraceRepository.findLastStatus(orderId)).thenReturn(OrderStatus.PENDING);
+        assertThrows(IllegalStateException.class, () -> orderTraceabilityUseCase.createTrace(orderTrace1));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> orderTraceabilityUseCase.createTrace(orderTrace1));
+        verify(orderTraceRepository, times(2)).findLastStatus(orderId);
+    }
+
+    @Test
+    void createTraces_WhenOneTransitionIsRejected_ShouldWriteNothing() {
+        // Arrange
+        orderStatusCache.track(orderId, OrderStatus.PENDING);
+        OrderTrace cancelledAfterPreparation = orderTrace2.toBuilder().newStatus(OrderStatus.CANCELLED).build();
+
+        // Act & Assert
+        assertThrows(InvalidStatusTransitionException.class,
+                () -> orderTraceabilityUseCase.createTraces(Arrays.asList(orderTrace1, cancelledAfterPreparation)));
+        verifyNoInteractions(transactionGateway);
+        assertFalse(orderStatusCache.isTracked(orderId), "Claimed statuses of the batch must be released");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenTransaction() {
+        when(transactionGateway.execute(any())).thenAnswer(invocation -> ((Supplier<Object>) invocation.getArgument(0)).get());
+    }
+}
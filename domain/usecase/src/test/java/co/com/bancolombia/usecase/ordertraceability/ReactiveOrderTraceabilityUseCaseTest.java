@@ -0,0 +1,228 @@
+package co.com.bancolombia.usecase.ordertraceability;
+
+import co.com.bancolombia.model.efficiency.OrderEfficiencySummary;
+import co.com.bancolombia.model.efficiency.gateways.ReactiveEmployeeEfficiencySummaryRepository;
+import co.com.bancolombia.model.efficiency.gateways.ReactiveOrderEfficiencySummaryRepository;
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.DuplicateTraceException;
+import co.com.bancolombia.model.ordertrace.InvalidStatusTransitionException;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.model.ordertrace.gateways.OrderTraceBroadcaster;
+import co.com.bancolombia.model.ordertrace.gateways.ReactiveOrderTraceRepository;
+import co.com.bancolombia.model.transaction.gateways.ReactiveTransactionGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// BlockHound is installed for every test by blockhound-junit-platform; the pipelines below are
+// subscribed on the parallel scheduler so any blocking call in the use case fails the test.
+@ExtendWith(MockitoExtension.class)
+class ReactiveOrderTraceabilityUseCaseTest {
+
+    @Mock
+    private ReactiveOrderTraceRepository orderTraceRepository;
+
+    @Mock
+    private ReactiveOrderEfficiencySummaryRepository orderEfficiencySummaryRepository;
+
+    @Mock
+    private ReactiveEmployeeEfficiencySummaryRepository employeeEfficiencySummaryRepository;
+
+    @Mock
+    private ReactiveTransactionGateway transactionGateway;
+
+    @Mock
+    private OrderTraceBroadcaster orderTraceBroadcaster;
+
+    @Spy
+    private IdempotencyFilter idempotencyFilter = new IdempotencyFilter(1000, 0.01, 100);
+
+    @Spy
+    private OrderStatusCache orderStatusCache = new OrderStatusCache(4, 100);
+
+    @InjectMocks
+    private ReactiveOrderTraceabilityUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionGateway.execute(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(orderTraceRepository.save(any()))
+                .thenAnswer(invocation -> Mono.just(invocation.<OrderTrace>getArgument(0).toBuilder().id(1L).build()));
+        lenient().when(orderTraceRepository.findLastStatus(any())).thenReturn(Mono.empty());
+        lenient().when(orderTraceRepository.findByIdempotencyKey(any())).thenReturn(Mono.empty());
+        lenient().when(orderEfficiencySummaryRepository.save(any()))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    }
+
+    @Test
+    void createTrace_WhenDelivered_ShouldUpdateSummariesWithoutBlocking() {
+        // Arrange
+        OrderEfficiencySummary pending = OrderEfficiencySummary.builder()
+                .orderId(10L)
+                .pendingAt(LocalDateTime.now().minusMinutes(30))
+                .build();
+        OrderTrace delivered = OrderTrace.builder()
+                .orderId(10L)
+                .previousStatus(OrderStatus.READY)
+                .newStatus(OrderStatus.DELIVERED)
+                .employeeId(5L)
+                .employeeEmail("employee@test.com")
+                .build();
+        orderStatusCache.track(10L, OrderStatus.READY);
+        when(orderEfficiencySummaryRepository.findByOrderIdForUpdate(10L)).thenReturn(Mono.just(pending));
+        when(employeeEfficiencySummaryRepository.addDelivery(eq(5L), eq("employee@test.com"), anyLong()))
+                .thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(useCase.createTrace(delivered).subscribeOn(Schedulers.parallel()))
+                .expectNextMatches(trace -> trace.getId() == 1L && trace.getTimestamp() != null)
+                .verifyComplete();
+        verify(employeeEfficiencySummaryRepository).addDelivery(eq(5L), eq("employee@test.com"), anyLong());
+        verify(employeeEfficiencySummaryRepository, never()).removeDelivery(any(), anyLong());
+        verify(orderTraceBroadcaster).broadcast(any());
+    }
+
+    @Test
+    void createTrace_WhenFirstPending_ShouldCreateSummary() {
+        // Arrange
+        OrderTrace pending = OrderTrace.builder().orderId(11L).newStatus(OrderStatus.PENDING).build();
+        when(orderEfficiencySummaryRepository.findByOrderIdForUpdate(11L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(useCase.createTrace(pending).subscribeOn(Schedulers.parallel()))
+                .expectNextCount(1)
+                .verifyComplete();
+        verify(orderEfficiencySummaryRepository).save(any());
+    }
+
+    @Test
+    void createTrace_WhenStatusNotTracked_ShouldNotTouchSummaries() {
+        // Arrange
+        OrderTrace ready = OrderTrace.builder().orderId(12L).previousStatus(OrderStatus.IN_PREPARATION)
+                .newStatus(OrderStatus.READY).build();
+        orderStatusCache.track(12L, OrderStatus.IN_PREPARATION);
+
+        // Act & Assert
+        StepVerifier.create(useCase.createTrace(ready).subscribeOn(Schedulers.parallel()))
+                .expectNextCount(1)
+                .verifyComplete();
+        verify(orderEfficiencySummaryRepository, never()).findByOrderIdForUpdate(any());
+    }
+
+    @Test
+    void createTraces_ShouldSaveInOrderInsideOneTransaction() {
+        // Arrange
+        List<OrderTrace> traces = List.of(
+                OrderTrace.builder().orderId(1L).previousStatus(OrderStatus.IN_PREPARATION)
+                        .newStatus(OrderStatus.READY).build(),
+                OrderTrace.builder().orderId(2L).previousStatus(OrderStatus.PENDING)
+                        .newStatus(OrderStatus.IN_PREPARATION).build());
+        orderStatusCache.track(1L, OrderStatus.IN_PREPARATION);
+        orderStatusCache.track(2L, OrderStatus.PENDING);
+
+        // Act & Assert
+        StepVerifier.create(useCase.createTraces(traces).subscribeOn(Schedulers.parallel()))
+                .expectNextMatches(trace -> trace.getOrderId() == 1L)
+                .expectNextMatches(trace -> trace.getOrderId() == 2L)
+                .verifyComplete();
+        verify(transactionGateway).execute(any());
+    }
+
+    @Test
+    void createTraces_WhenConstraintRejectsRepeatedTrace_ShouldSettleEachAndReturnStoredOne() {
+        // Arrange
+        OrderTrace ready = OrderTrace.builder().orderId(1L).previousStatus(OrderStatus.IN_PREPARATION)
+                .newStatus(OrderStatus.READY).build();
+        String key = IdempotencyFilter.keyOf(ready);
+        OrderTrace stored = ready.toBuilder().id(7L).build();
+        when(orderTraceRepository.findLastStatus(1L)).thenReturn(Mono.just(OrderStatus.IN_PREPARATION));
+        when(orderTraceRepository.save(any()))
+                .thenReturn(Mono.just(stored))
+                .thenReturn(Mono.error(new DuplicateTraceException(key, null)))
+                .thenReturn(Mono.just(stored));
+
+        // Act & Assert
+        StepVerifier.create(useCase.createTraces(List.of(ready, ready)).subscribeOn(Schedulers.parallel()))
+                .expectNext(stored, stored)
+                .verifyComplete();
+        verify(orderTraceRepository, never()).findByIdempotencyKey(any());
+        verify(orderTraceBroadcaster).broadcast(stored);
+    }
+
+    @Test
+    void createTrace_WhenOrderHasNoTracesAndTraceDoesNotStartIt_ShouldReject() {
+        // Arrange
+        OrderTrace ready = OrderTrace.builder().orderId(15L).previousStatus(OrderStatus.IN_PREPARATION)
+                .newStatus(OrderStatus.READY).build();
+
+        // Act & Assert
+        StepVerifier.create(useCase.createTrace(ready).subscribeOn(Schedulers.parallel()))
+                .expectErrorMessage("Order 15 has no traces, not IN_PREPARATION")
+                .verify();
+        verify(orderTraceRepository, never()).save(any());
+    }
+
+    @Test
+    void createTrace_WhenOrderHasMovedOn_ShouldRejectWithoutWriting() {
+        // Arrange
+        OrderTrace stale = OrderTrace.builder().orderId(13L).previousStatus(OrderStatus.PENDING)
+                .newStatus(OrderStatus.IN_PREPARATION).build();
+        when(orderTraceRepository.findLastStatus(13L)).thenReturn(Mono.just(OrderStatus.DELIVERED));
+
+        // Act & Assert
+        StepVerifier.create(useCase.createTrace(stale).subscribeOn(Schedulers.parallel()))
+                .expectError(InvalidStatusTransitionException.class)
+                .verify();
+        verify(orderTraceRepository, never()).save(any());
+    }
+
+    @Test
+    void createTrace_WhenRetryLandsOnNodeThatHasNotSeenItsKey_ShouldReturnStoredTrace() {
+        // Arrange
+        OrderTrace retry = OrderTrace.builder().orderId(14L).previousStatus(OrderStatus.PENDING)
+                .newStatus(OrderStatus.IN_PREPARATION).build();
+        String key = IdempotencyFilter.keyOf(retry);
+        OrderTrace stored = retry.toBuilder().id(21L).idempotencyKey(key).build();
+        when(orderTraceRepository.findLastStatus(14L)).thenReturn(Mono.just(OrderStatus.IN_PREPARATION));
+        when(orderTraceRepository.findByIdempotencyKey(key)).thenReturn(Mono.just(stored));
+
+        // Act & Assert
+        StepVerifier.create(useCase.createTrace(retry).subscribeOn(Schedulers.parallel()))
+                .expectNext(stored)
+                .verifyComplete();
+        verify(orderTraceRepository, never()).save(any());
+        verify(orderTraceBroadcaster, never()).broadcast(any());
+    }
+
+    @Test
+    void getOrderHistoryPage_ShouldUseLookaheadRow() {
+        // Arrange
+        OrderTrace first = OrderTrace.builder().id(1L).orderId(1L).build();
+        OrderTrace second = OrderTrace.builder().id(2L).orderId(1L).build();
+        when(orderTraceRepository.findByOrderIdAfter(1L, null, null, 2)).thenReturn(Flux.just(first, second));
+
+        // Act & Assert
+        StepVerifier.create(useCase.getOrderHistoryPage(1L, null, null, 1).subscribeOn(Schedulers.parallel()))
+                .expectNextMatches(page -> page.isHasMore() && page.getItems().equals(List.of(first)))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,96 @@
+package co.com.bancolombia.usecase.tracearchive;
+
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.model.ordertrace.gateways.OrderTraceRepository;
+import co.com.bancolombia.model.ordertrace.gateways.TraceArchiveRepository;
+import co.com.bancolombia.model.transaction.gateways.TransactionGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TraceArchiveUseCaseTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Mock
+    private OrderTraceRepository orderTraceRepository;
+
+    @Mock
+    private TraceArchiveRepository traceArchiveRepository;
+
+    @Mock
+    private TransactionGateway transactionGateway;
+
+    @InjectMocks
+    private TraceArchiveUseCase traceArchiveUseCase;
+
+    @Test
+    void archiveClosedOrders_ShouldArchiveChunkBeforeDeletingIt() {
+        // Arrange
+        when(transactionGateway.execute(any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        when(orderTraceRepository.findClosedOrderIdsBefore(CUTOFF, 7L, 2)).thenReturn(List.of(8L, 12L));
+        List<OrderTrace> histories = List.of(delivered(8L), delivered(12L));
+        when(orderTraceRepository.findByOrderIds(List.of(8L, 12L))).thenReturn(histories);
+
+        // Act
+        List<Long> archived = traceArchiveUseCase.archiveClosedOrders(CUTOFF, 7L, 2);
+
+        // Assert
+        assertEquals(List.of(8L, 12L), archived);
+        InOrder inOrder = inOrder(traceArchiveRepository, orderTraceRepository);
+        inOrder.verify(traceArchiveRepository).append(histories);
+        inOrder.verify(orderTraceRepository).deleteByOrderIds(List.of(8L, 12L), CUTOFF);
+    }
+
+    @Test
+    void archiveClosedOrders_WhenNothingIsClosed_ShouldNotTouchTheArchive() {
+        // Arrange
+        when(orderTraceRepository.findClosedOrderIdsBefore(CUTOFF, 0L, 100)).thenReturn(List.of());
+
+        // Act
+        List<Long> archived = traceArchiveUseCase.archiveClosedOrders(CUTOFF, 0L, 100);
+
+        // Assert
+        assertTrue(archived.isEmpty());
+        verifyNoInteractions(traceArchiveRepository, transactionGateway);
+    }
+
+    @Test
+    void archiveClosedOrders_WhenArchiveWriteFails_ShouldKeepTracesInDatabase() {
+        // Arrange
+        when(orderTraceRepository.findClosedOrderIdsBefore(CUTOFF, 0L, 100)).thenReturn(List.of(1L));
+        when(orderTraceRepository.findByOrderIds(List.of(1L))).thenReturn(List.of(delivered(1L)));
+        doThrow(new UncheckedIOException(new IOException("disk full"))).when(traceArchiveRepository).append(anyList());
+
+        // Act & Assert
+        assertThrows(UncheckedIOException.class, () -> traceArchiveUseCase.archiveClosedOrders(CUTOFF, 0L, 100));
+        verify(orderTraceRepository, never()).deleteByOrderIds(anyList(), any());
+        verifyNoInteractions(transactionGateway);
+    }
+
+    private static OrderTrace delivered(Long orderId) {
+        return OrderTrace.builder()
+                .id(orderId * 10)
+                .orderId(orderId)
+                .previousStatus(OrderStatus.READY)
+                .newStatus(OrderStatus.DELIVERED)
+                .timestamp(CUTOFF.minusDays(30))
+                .build();
+    }
+}
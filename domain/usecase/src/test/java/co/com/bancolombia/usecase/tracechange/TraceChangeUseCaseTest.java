@@ -0,0 +1,128 @@
+package co.com.bancolombia.usecase.tracechange;
+
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.model.pagination.KeysetPage;
+import co.com.bancolombia.model.tracechange.TraceChange;
+import co.com.bancolombia.model.tracechange.gateways.TraceChangePublisher;
+import co.com.bancolombia.model.tracechange.gateways.TraceChangeRepository;
+import co.com.bancolombia.model.transaction.gateways.TransactionGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TraceChangeUseCaseTest {
+
+    @Mock
+    private TraceChangeRepository traceChangeRepository;
+
+    @Mock
+    private TransactionGateway transactionGateway;
+
+    private RecordingPublisher publisher;
+    private TraceChangeUseCase traceChangeUseCase;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new RecordingPublisher();
+        traceChangeUseCase = new TraceChangeUseCase(traceChangeRepository, publisher, transactionGateway);
+    }
+
+    @Test
+    void getChangesPageShouldFetchOneExtraRowToDetectMore() {
+        // Arrange
+        when(traceChangeRepository.findAfter(10L, 3)).thenReturn(List.of(change(11L), change(12L), change(13L)));
+
+        // Act
+        KeysetPage<TraceChange> page = traceChangeUseCase.getChangesPage(10L, 2);
+
+        // Assert
+        assertTrue(page.isHasMore());
+        assertEquals(List.of(11L, 12L), page.getItems().stream().map(TraceChange::getSequence).toList());
+    }
+
+    @Test
+    void relayPendingChangesShouldPublishThenMarkInsideTransaction() {
+        // Arrange
+        when(transactionGateway.execute(any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        when(traceChangeRepository.lockUnpublished(2)).thenReturn(List.of(change(1L), change(2L)));
+
+        // Act
+        int relayed = traceChangeUseCase.relayPendingChanges(2);
+
+        // Assert
+        assertEquals(2, relayed);
+        assertEquals(List.of(1L, 2L), publisher.publishedSequences());
+        verify(traceChangeRepository).markPublished(List.of(1L, 2L));
+    }
+
+    @Test
+    void relayPendingChangesShouldSkipPublisherWhenNothingPending() {
+        // Arrange
+        when(transactionGateway.execute(any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        when(traceChangeRepository.lockUnpublished(50)).thenReturn(List.of());
+
+        // Act
+        int relayed = traceChangeUseCase.relayPendingChanges(50);
+
+        // Assert
+        assertEquals(0, relayed);
+        assertTrue(publisher.batches.isEmpty());
+        verify(traceChangeRepository, never()).markPublished(anyList());
+    }
+
+    @Test
+    void relayPendingChangesShouldLeaveBatchPendingWhenPublisherFails() {
+        // Arrange
+        when(transactionGateway.execute(any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        when(traceChangeRepository.lockUnpublished(2)).thenReturn(List.of(change(1L)));
+        publisher.failNext = true;
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> traceChangeUseCase.relayPendingChanges(2));
+        verify(traceChangeRepository, never()).markPublished(anyList());
+    }
+
+    private static TraceChange change(Long sequence) {
+        return new TraceChange(sequence, OrderTrace.builder()
+                .id(sequence)
+                .orderId(100L)
+                .newStatus(OrderStatus.PENDING)
+                .build());
+    }
+
+    // In-memory stand-in for a broker adapter
+    private static class RecordingPublisher implements TraceChangePublisher {
+
+        private final List<List<TraceChange>> batches = new ArrayList<>();
+        private boolean failNext;
+
+        @Override
+        public void publish(List<TraceChange> changes) {
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("broker unavailable");
+            }
+            batches.add(List.copyOf(changes));
+        }
+
+        private List<Long> publishedSequences() {
+            return batches.stream()
+                    .flatMap(List::stream)
+                    .map(TraceChange::getSequence)
+                    .toList();
+        }
+    }
+}
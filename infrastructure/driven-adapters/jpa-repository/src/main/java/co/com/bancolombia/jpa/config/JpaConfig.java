@@ -1,7 +1,11 @@
 package co.com.bancolombia.jpa.config;
 
+import co.com.bancolombia.jpa.routing.ReplicaRoutingDataSource;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,11 +15,15 @@ import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 
 import javax.sql.DataSource;
+import java.time.Duration;
 import java.util.Properties;
 
 @Configuration
 public class JpaConfig {
 
+    private static final String POOL_NAME = "traceability";
+    private static final String REPLICA_POOL_NAME = "traceability-replica";
+
     @Bean
     public DBSecret dbSecret(Environment env) {
         return DBSecret.builder()
@@ -26,19 +34,58 @@ public class JpaConfig {
     }
 
     @Bean
-    public DataSource datasource(DBSecret secret, @Value("${spring.datasource.driverClassName}") String driverClass) {
+    public DataSource datasource(DBSecret secret, @Value("${spring.datasource.driverClassName}") String driverClass,
+                                 @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize,
+                                 @Value("${spring.datasource.hikari.connection-timeout:30000}") long connectionTimeout,
+                                 @Value("${adapters.jpa.replica.maximum-pool-size:10}") int replicaPoolSize,
+                                 Environment env, ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = pool(POOL_NAME, secret, driverClass, maximumPoolSize, connectionTimeout, meterRegistry);
+        DBSecret replicaSecret = replicaSecret(env, secret);
+        if (replicaSecret == null) {
+            return primary;
+        }
+        // Sized on its own: the replica takes the long ranking scans, the primary keeps its pool for writes
+        HikariDataSource replica = pool(REPLICA_POOL_NAME, replicaSecret, driverClass, replicaPoolSize,
+                connectionTimeout, meterRegistry);
+        return new ReplicaRoutingDataSource(primary, replica);
+    }
+
+    // No adapters.jpa.replica.url means no replica; credentials default to the primary's
+    static DBSecret replicaSecret(Environment env, DBSecret primary) {
+        String url = env.getProperty("adapters.jpa.replica.url");
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        return DBSecret.builder()
+                .url(url)
+                .username(env.getProperty("adapters.jpa.replica.username", primary.getUsername()))
+                .password(env.getProperty("adapters.jpa.replica.password", primary.getPassword()))
+                .build();
+    }
+
+    private static HikariDataSource pool(String poolName, DBSecret secret, String driverClass, int maximumPoolSize,
+                                         long connectionTimeout, ObjectProvider<MeterRegistry> meterRegistry) {
         HikariConfig config = new HikariConfig();
         config.setJdbcUrl(secret.getUrl());
         config.setUsername(secret.getUsername());
         config.setPassword(secret.getPassword());
         config.setDriverClassName(driverClass);
+        // This bean replaces Boot's DataSource, so the hikari.* keys have to be applied by hand
+        config.setPoolName(poolName);
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setConnectionTimeout(connectionTimeout);
+        // Set before the pool starts: Hikari refuses a tracker once the first connection is open
+        meterRegistry.ifAvailable(registry -> config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
         return new HikariDataSource(config);
     }
 
     @Bean
     public LocalContainerEntityManagerFactoryBean entityManagerFactory(
             DataSource dataSource,
-            @Value("${spring.jpa.databasePlatform}") String dialect) {
+            @Value("${spring.jpa.databasePlatform}") String dialect,
+            @Value("${adapters.jpa.batch-size:50}") int batchSize,
+            @Value("${adapters.jpa.statistics-enabled:true}") boolean statisticsEnabled,
+            @Value("${adapters.jpa.slow-query-threshold:200ms}") Duration slowQueryThreshold) {
         LocalContainerEntityManagerFactoryBean em = new LocalContainerEntityManagerFactoryBean();
         em.setDataSource(dataSource);
         em.setPackagesToScan("co.com.bancolombia.jpa");
@@ -49,6 +96,11 @@ public class JpaConfig {
         Properties properties = new Properties();
         properties.setProperty("hibernate.dialect", dialect);
         properties.setProperty("hibernate.hbm2ddl.auto", "update"); // TODO: remove this for non auto create schema
+        properties.setProperty("hibernate.jdbc.batch_size", String.valueOf(batchSize));
+        properties.setProperty("hibernate.order_inserts", "true");
+        // Published as hibernate.* meters by Boot once hibernate-micrometer is on the classpath
+        properties.setProperty("hibernate.generate_statistics", String.valueOf(statisticsEnabled));
+        properties.setProperty("hibernate.log_slow_query", String.valueOf(slowQueryThreshold.toMillis()));
         em.setJpaProperties(properties);
 
         return em;
@@ -0,0 +1,31 @@
+package co.com.bancolombia.jpa.entity.employeeefficiency;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "employee_efficiency")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class EmployeeEfficiencySummaryEntity {
+
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Column(name = "employee_email")
+    private String employeeEmail;
+
+    @Column(name = "total_duration_minutes", nullable = false)
+    private Long totalDurationInMinutes;
+
+    @Column(name = "delivered_orders", nullable = false)
+    private Long deliveredOrders;
+}
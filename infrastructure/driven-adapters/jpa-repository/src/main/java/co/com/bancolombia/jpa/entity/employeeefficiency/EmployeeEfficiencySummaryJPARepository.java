@@ -0,0 +1,46 @@
+package co.com.bancolombia.jpa.entity.employeeefficiency;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.query.QueryByExampleExecutor;
+
+public interface EmployeeEfficiencySummaryJPARepository extends JpaRepository<EmployeeEfficiencySummaryEntity, Long>,
+        QueryByExampleExecutor<EmployeeEfficiencySummaryEntity> {
+
+    @Modifying
+    @Query(value = "INSERT INTO employee_efficiency (employee_id, employee_email, total_duration_minutes, delivered_orders) " +
+            "VALUES (:employeeId, :employeeEmail, :durationInMinutes, 1) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "employee_email = COALESCE(employee_email, VALUES(employee_email)), " +
+            "total_duration_minutes = total_duration_minutes + VALUES(total_duration_minutes), " +
+            "delivered_orders = delivered_orders + 1", nativeQuery = true)
+    int addDelivery(@Param("employeeId") Long employeeId,
+                    @Param("employeeEmail") String employeeEmail,
+                    @Param("durationInMinutes") long durationInMinutes);
+
+    @Modifying
+    @Query(value = "UPDATE employee_efficiency " +
+            "SET total_duration_minutes = total_duration_minutes - :durationInMinutes, " +
+            "delivered_orders = delivered_orders - 1 " +
+            "WHERE employee_id = :employeeId", nativeQuery = true)
+    int removeDelivery(@Param("employeeId") Long employeeId,
+                       @Param("durationInMinutes") long durationInMinutes);
+
+    @Modifying
+    @Query(value = "DELETE FROM employee_efficiency", nativeQuery = true)
+    int deleteAllSummaries();
+
+    @Modifying
+    @Query(value = "INSERT INTO employee_efficiency (employee_id, employee_email, total_duration_minutes, delivered_orders) " +
+            "SELECT s.employee_id, " +
+            "(SELECT t.employee_email FROM order_traces t " +
+            " WHERE t.employee_id = s.employee_id AND t.employee_email IS NOT NULL " +
+            " ORDER BY t.id LIMIT 1), " +
+            "SUM(s.duration_minutes), COUNT(*) " +
+            "FROM order_efficiency s " +
+            "WHERE s.employee_id IS NOT NULL AND s.duration_minutes >= 0 " +
+            "GROUP BY s.employee_id", nativeQuery = true)
+    int insertSummariesFromOrderSummaries();
+}
@@ -0,0 +1,43 @@
+package co.com.bancolombia.jpa.entity.employeeefficiency;
+
+import co.com.bancolombia.jpa.helper.AdapterOperations;
+import co.com.bancolombia.model.efficiency.EmployeeEfficiencySummary;
+import co.com.bancolombia.model.efficiency.gateways.EmployeeEfficiencySummaryRepository;
+import org.reactivecommons.utils.ObjectMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public class EmployeeEfficiencySummaryJPARepositoryAdapter extends AdapterOperations<EmployeeEfficiencySummary,
+        EmployeeEfficiencySummaryEntity, Long, EmployeeEfficiencySummaryJPARepository>
+        implements EmployeeEfficiencySummaryRepository {
+
+    public EmployeeEfficiencySummaryJPARepositoryAdapter(EmployeeEfficiencySummaryJPARepository repository,
+                                                         ObjectMapper mapper) {
+        super(repository, mapper, d -> mapper.map(d, EmployeeEfficiencySummary.class));
+    }
+
+    @Override
+    @Transactional
+    public void addDelivery(Long employeeId, String employeeEmail, long durationInMinutes) {
+        repository.addDelivery(employeeId, employeeEmail, durationInMinutes);
+    }
+
+    @Override
+    @Transactional
+    public void removeDelivery(Long employeeId, long durationInMinutes) {
+        repository.removeDelivery(employeeId, durationInMinutes);
+    }
+
+    @Override
+    public EmployeeEfficiencySummary findByEmployeeId(Long employeeId) {
+        return findById(employeeId);
+    }
+
+    @Override
+    @Transactional
+    public long rebuildFromOrderSummaries() {
+        repository.deleteAllSummaries();
+        return repository.insertSummariesFromOrderSummaries();
+    }
+}
@@ -0,0 +1,33 @@
+package co.com.bancolombia.jpa.entity.idempotency;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Kept out of order_traces: a unique key there would have to include the partitioning timestamp,
+// and a retry always arrives with a new one
+@Entity
+@Table(name = "trace_idempotency_keys")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class TraceIdempotencyKeyEntity {
+
+    @Id
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+
+    @Column(name = "trace_id", nullable = false)
+    private Long traceId;
+
+    // Lets the lookup join prune order_traces down to one partition
+    @Column(name = "trace_timestamp", nullable = false)
+    private LocalDateTime traceTimestamp;
+}
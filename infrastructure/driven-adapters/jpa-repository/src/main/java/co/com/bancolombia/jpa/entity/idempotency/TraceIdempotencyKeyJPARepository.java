@@ -0,0 +1,31 @@
+package co.com.bancolombia.jpa.entity.idempotency;
+
+import co.com.bancolombia.jpa.entity.ordertrace.OrderTraceEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface TraceIdempotencyKeyJPARepository extends JpaRepository<TraceIdempotencyKeyEntity, String> {
+
+    // Plain INSERT rather than save(): save() would merge over an existing key instead of failing on it
+    @Modifying
+    @Query(value = "INSERT INTO trace_idempotency_keys (idempotency_key, trace_id, trace_timestamp) " +
+            "VALUES (:idempotencyKey, :traceId, :traceTimestamp)", nativeQuery = true)
+    void insert(@Param("idempotencyKey") String idempotencyKey,
+                @Param("traceId") Long traceId,
+                @Param("traceTimestamp") LocalDateTime traceTimestamp);
+
+    @Query("SELECT t FROM OrderTraceEntity t, TraceIdempotencyKeyEntity k " +
+            "WHERE k.idempotencyKey = :idempotencyKey AND t.id = k.traceId AND t.timestamp = k.traceTimestamp")
+    Optional<OrderTraceEntity> findTrace(@Param("idempotencyKey") String idempotencyKey);
+
+    @Modifying
+    @Query("DELETE FROM TraceIdempotencyKeyEntity k WHERE k.traceTimestamp < :cutoff AND k.traceId IN " +
+            "(SELECT t.id FROM OrderTraceEntity t WHERE t.orderId IN :orderIds AND t.timestamp < :cutoff)")
+    int deleteByOrderIdsBefore(@Param("orderIds") List<Long> orderIds, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,36 @@
+package co.com.bancolombia.jpa.entity.orderefficiency;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "order_efficiency")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class OrderEfficiencySummaryEntity {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "pending_at")
+    private LocalDateTime pendingAt;
+
+    @Column(name = "delivered_at")
+    private LocalDateTime deliveredAt;
+
+    @Column(name = "duration_minutes")
+    private Long durationInMinutes;
+
+    @Column(name = "employee_id")
+    private Long employeeId;
+}
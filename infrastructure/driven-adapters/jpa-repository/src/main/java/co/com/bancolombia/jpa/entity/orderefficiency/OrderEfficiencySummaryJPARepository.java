@@ -0,0 +1,81 @@
+package co.com.bancolombia.jpa.entity.orderefficiency;
+
+import co.com.bancolombia.model.efficiency.EmployeeEfficiencySummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.query.QueryByExampleExecutor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderEfficiencySummaryJPARepository extends JpaRepository<OrderEfficiencySummaryEntity, Long>,
+        QueryByExampleExecutor<OrderEfficiencySummaryEntity> {
+
+    // Same upsert shape as employee_efficiency: concurrent first writers wait on the row instead of on a gap
+    @Modifying
+    @Query(value = "INSERT INTO order_efficiency (order_id) VALUES (:orderId) " +
+            "ON DUPLICATE KEY UPDATE order_id = order_id", nativeQuery = true)
+    int insertIfAbsent(@Param("orderId") Long orderId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM OrderEfficiencySummaryEntity s WHERE s.orderId = :orderId")
+    Optional<OrderEfficiencySummaryEntity> findByOrderIdForUpdate(@Param("orderId") Long orderId);
+
+    @Query("SELECT s FROM OrderEfficiencySummaryEntity s WHERE s.durationInMinutes >= 0 ORDER BY s.orderId")
+    List<OrderEfficiencySummaryEntity> findAllCompleted();
+
+    @Query("SELECT s FROM OrderEfficiencySummaryEntity s " +
+            "WHERE s.durationInMinutes >= 0 AND s.orderId > :afterOrderId ORDER BY s.orderId")
+    List<OrderEfficiencySummaryEntity> findCompletedAfter(@Param("afterOrderId") Long afterOrderId, Limit limit);
+
+    @Query("SELECT s FROM OrderEfficiencySummaryEntity s " +
+            "WHERE s.durationInMinutes >= 0 AND s.deliveredAt >= :from AND s.deliveredAt < :to " +
+            "AND s.orderId > :afterOrderId ORDER BY s.orderId")
+    List<OrderEfficiencySummaryEntity> findCompletedWithin(@Param("from") LocalDateTime from,
+                                                           @Param("to") LocalDateTime to,
+                                                           @Param("afterOrderId") Long afterOrderId,
+                                                           Limit limit);
+
+    // Same contribution rule as the write-time employee totals: delivered by someone, non-negative duration
+    String EMPLOYEE_WINDOW_SELECT = "SELECT new co.com.bancolombia.model.efficiency.EmployeeEfficiencySummary(" +
+            "s.employeeId, e.employeeEmail, SUM(s.durationInMinutes), COUNT(s)) " +
+            "FROM OrderEfficiencySummaryEntity s " +
+            "LEFT JOIN EmployeeEfficiencySummaryEntity e ON e.employeeId = s.employeeId " +
+            "WHERE s.durationInMinutes >= 0 AND s.employeeId IS NOT NULL " +
+            "AND s.deliveredAt >= :from AND s.deliveredAt < :to ";
+
+    @Query(EMPLOYEE_WINDOW_SELECT + "GROUP BY s.employeeId, e.employeeEmail")
+    List<EmployeeEfficiencySummary> summarizeEmployees(@Param("from") LocalDateTime from,
+                                                       @Param("to") LocalDateTime to);
+
+    @Query(EMPLOYEE_WINDOW_SELECT + "AND s.employeeId = :employeeId GROUP BY s.employeeId, e.employeeEmail")
+    EmployeeEfficiencySummary summarizeEmployee(@Param("employeeId") Long employeeId,
+                                                @Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to);
+
+    // Archived orders keep their summaries: their traces are no longer there to rebuild them from
+    @Modifying
+    @Query(value = "DELETE FROM order_efficiency WHERE order_id IN (SELECT t.order_id FROM order_traces t)",
+            nativeQuery = true)
+    int deleteLiveOrderSummaries();
+
+    @Modifying
+    @Query(value = "INSERT INTO order_efficiency (order_id, pending_at, delivered_at, duration_minutes, employee_id) " +
+            "SELECT s.order_id, s.pending_at, s.delivered_at, " +
+            "TIMESTAMPDIFF(MINUTE, s.pending_at, s.delivered_at), " +
+            "(SELECT d.employee_id FROM order_traces d " +
+            " WHERE d.order_id = s.order_id AND d.new_status = 'DELIVERED' " +
+            " ORDER BY d.timestamp DESC, d.id DESC LIMIT 1) " +
+            "FROM (SELECT t.order_id, " +
+            "      MIN(CASE WHEN t.new_status = 'PENDING' THEN t.timestamp END) AS pending_at, " +
+            "      MAX(CASE WHEN t.new_status = 'DELIVERED' THEN t.timestamp END) AS delivered_at " +
+            "      FROM order_traces t WHERE t.new_status IN ('PENDING', 'DELIVERED') " +
+            "      GROUP BY t.order_id) s", nativeQuery = true)
+    int insertSummariesFromTraces();
+}
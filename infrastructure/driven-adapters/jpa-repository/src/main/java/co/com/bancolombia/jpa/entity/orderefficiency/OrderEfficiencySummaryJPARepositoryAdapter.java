@@ -0,0 +1,121 @@
+package co.com.bancolombia.jpa.entity.orderefficiency;
+
+import co.com.bancolombia.jpa.helper.AdapterOperations;
+import co.com.bancolombia.jpa.routing.RecentOrderWrites;
+import co.com.bancolombia.model.efficiency.EmployeeEfficiencySummary;
+import co.com.bancolombia.model.efficiency.OrderEfficiencySummary;
+import co.com.bancolombia.model.efficiency.TimeWindow;
+import co.com.bancolombia.model.efficiency.gateways.OrderEfficiencySummaryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.reactivecommons.utils.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+@Repository
+public class OrderEfficiencySummaryJPARepositoryAdapter extends AdapterOperations<OrderEfficiencySummary,
+        OrderEfficiencySummaryEntity, Long, OrderEfficiencySummaryJPARepository>
+        implements OrderEfficiencySummaryRepository {
+
+    // DATETIME range limits, so open window ends still bind as plain range predicates on delivered_at
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private static final String COMPLETED_DURATIONS_QUERY = "SELECT s.durationInMinutes " +
+            "FROM OrderEfficiencySummaryEntity s WHERE s.durationInMinutes >= 0 " +
+            "AND s.deliveredAt >= :from AND s.deliveredAt < :to";
+
+    private final EntityManager entityManager;
+    private final int streamFetchSize;
+    private final RecentOrderWrites recentOrderWrites;
+
+    public OrderEfficiencySummaryJPARepositoryAdapter(OrderEfficiencySummaryJPARepository repository, ObjectMapper mapper,
+                                                      EntityManager entityManager,
+                                                      @Value("${adapters.jpa.stream-fetch-size:1000}") int streamFetchSize,
+                                                      RecentOrderWrites recentOrderWrites) {
+        super(repository, mapper, d -> mapper.map(d, OrderEfficiencySummary.class));
+        this.entityManager = entityManager;
+        this.streamFetchSize = streamFetchSize;
+        this.recentOrderWrites = recentOrderWrites;
+    }
+
+    @Override
+    public OrderEfficiencySummary findByOrderId(Long orderId) {
+        // The summary is written in the same transaction as the trace that recorded the order
+        return recentOrderWrites.read(orderId, () -> findById(orderId));
+    }
+
+    @Override
+    public OrderEfficiencySummary findByOrderIdForUpdate(Long orderId) {
+        repository.insertIfAbsent(orderId);
+        return toEntity(repository.findByOrderIdForUpdate(orderId).orElse(null));
+    }
+
+    @Override
+    public List<OrderEfficiencySummary> findAllCompleted() {
+        return toList(repository.findAllCompleted());
+    }
+
+    @Override
+    public List<OrderEfficiencySummary> findCompletedAfter(Long afterOrderId, int limit) {
+        Long lowerBound = afterOrderId != null ? afterOrderId : Long.MIN_VALUE;
+        return toList(repository.findCompletedAfter(lowerBound, Limit.of(limit)));
+    }
+
+    @Override
+    public List<OrderEfficiencySummary> findCompletedWithin(TimeWindow window, Long afterOrderId, int limit) {
+        Long lowerBound = afterOrderId != null ? afterOrderId : Long.MIN_VALUE;
+        return toList(repository.findCompletedWithin(from(window), to(window), lowerBound, Limit.of(limit)));
+    }
+
+    @Override
+    public List<EmployeeEfficiencySummary> summarizeEmployees(TimeWindow window) {
+        return repository.summarizeEmployees(from(window), to(window));
+    }
+
+    @Override
+    public EmployeeEfficiencySummary summarizeEmployee(Long employeeId, TimeWindow window) {
+        return repository.summarizeEmployee(employeeId, from(window), to(window));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachCompletedDuration(TimeWindow window, Long employeeId, LongConsumer consumer) {
+        String query = employeeId != null
+                ? COMPLETED_DURATIONS_QUERY + " AND s.employeeId = :employeeId"
+                : COMPLETED_DURATIONS_QUERY;
+        TypedQuery<Long> typedQuery = entityManager.createQuery(query, Long.class)
+                .setParameter("from", from(window))
+                .setParameter("to", to(window))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize);
+        if (employeeId != null) {
+            typedQuery.setParameter("employeeId", employeeId);
+        }
+        try (Stream<Long> durations = typedQuery.getResultStream()) {
+            durations.forEach(consumer::accept);
+        }
+    }
+
+    @Override
+    @Transactional
+    public long rebuildFromTraces() {
+        repository.deleteLiveOrderSummaries();
+        return repository.insertSummariesFromTraces();
+    }
+
+    private static LocalDateTime from(TimeWindow window) {
+        return window.getFrom() != null ? window.getFrom() : EARLIEST;
+    }
+
+    private static LocalDateTime to(TimeWindow window) {
+        return window.getTo() != null ? window.getTo() : LATEST;
+    }
+}
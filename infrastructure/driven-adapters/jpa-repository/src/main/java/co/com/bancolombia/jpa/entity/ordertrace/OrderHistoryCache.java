@@ -0,0 +1,77 @@
+package co.com.bancolombia.jpa.entity.ordertrace;
+
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+@Component
+public class OrderHistoryCache {
+
+    private static final String CACHE_NAME = "orderHistory";
+
+    private final Cache<Long, List<OrderTrace>> cache;
+
+    public OrderHistoryCache(MeterRegistry meterRegistry,
+                             @Value("${adapters.jpa.history-cache.maximum-size:10000}") long maximumSize,
+                             @Value("${adapters.jpa.history-cache.active-ttl:30s}") Duration activeTtl,
+                             @Value("${adapters.jpa.history-cache.terminal-ttl:1h}") Duration terminalTtl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new HistoryExpiry(activeTtl, terminalTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public List<OrderTrace> get(Long orderId, Function<Long, List<OrderTrace>> loader) {
+        return cache.get(orderId, loader);
+    }
+
+    // Evicts once the writing transaction commits, so a concurrent read cannot re-cache the pre-commit history
+    public void invalidateAfterCommit(Collection<Long> orderIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidateAll(orderIds);
+                }
+            });
+        } else {
+            cache.invalidateAll(orderIds);
+        }
+    }
+
+    private record HistoryExpiry(Duration activeTtl, Duration terminalTtl)
+            implements Expiry<Long, List<OrderTrace>> {
+
+        @Override
+        public long expireAfterCreate(Long orderId, List<OrderTrace> history, long currentTime) {
+            boolean terminal = !history.isEmpty() && history.get(history.size() - 1).getNewStatus().isTerminal();
+            return (terminal ? terminalTtl : activeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Long orderId, List<OrderTrace> history, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(orderId, history, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long orderId, List<OrderTrace> history, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
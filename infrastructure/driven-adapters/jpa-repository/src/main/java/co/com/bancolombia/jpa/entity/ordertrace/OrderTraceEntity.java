@@ -20,7 +20,10 @@ import java.time.LocalDateTime;
 public class OrderTraceEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_traces_id")
+    @TableGenerator(name = "order_traces_id", table = "id_generators",
+            pkColumnName = "generator_name", valueColumnName = "next_val",
+            pkColumnValue = "order_traces", allocationSize = 50)
     private Long id;
 
     @Column(name = "order_id", nullable = false)
@@ -0,0 +1,16 @@
+package co.com.bancolombia.jpa.entity.ordertrace;
+
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import org.mapstruct.Builder;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+// Constructor + setters instead of the Lombok builders: one allocation per row
+@Mapper(componentModel = "spring", builder = @Builder(disableBuilder = true))
+public interface OrderTraceEntityMapper {
+
+    @Mapping(target = "idempotencyKey", ignore = true)
+    OrderTrace toModel(OrderTraceEntity entity);
+
+    OrderTraceEntity toEntity(OrderTrace orderTrace);
+}
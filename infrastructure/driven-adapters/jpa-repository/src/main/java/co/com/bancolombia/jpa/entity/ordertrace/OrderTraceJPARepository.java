@@ -1,11 +1,59 @@
 package co.com.bancolombia.jpa.entity.ordertrace;
 
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.OrderStatusChange;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.query.QueryByExampleExecutor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface OrderTraceJPARepository extends JpaRepository<OrderTraceEntity, Long>, QueryByExampleExecutor<OrderTraceEntity> {
+
+    // Constructor expression: rows become DTOs directly, nothing enters the persistence context
+    String STATUS_CHANGE_SELECT = "SELECT new co.com.bancolombia.model.ordertrace.OrderStatusChange(" +
+            "t.id, t.orderId, t.employeeId, t.newStatus, t.timestamp) FROM OrderTraceEntity t ";
+
+    String STATUS_CHANGE_STREAM_QUERY = STATUS_CHANGE_SELECT + "ORDER BY t.timestamp, t.id";
+
     List<OrderTraceEntity> findByOrderIdOrderByTimestampAsc(Long orderId);
     List<OrderTraceEntity> findByEmployeeId(Long employeeId);
+    List<OrderTraceEntity> findByOrderIdOrderByTimestampAscIdAsc(Long orderId, Limit limit);
+
+    @Query("SELECT t FROM OrderTraceEntity t WHERE t.orderId = :orderId " +
+            "AND (t.timestamp > :afterTimestamp OR (t.timestamp = :afterTimestamp AND t.id > :afterId)) " +
+            "ORDER BY t.timestamp ASC, t.id ASC")
+    List<OrderTraceEntity> findByOrderIdAfter(@Param("orderId") Long orderId,
+                                              @Param("afterTimestamp") LocalDateTime afterTimestamp,
+                                              @Param("afterId") Long afterId,
+                                              Limit limit);
+
+    @Query("SELECT t.newStatus FROM OrderTraceEntity t WHERE t.orderId = :orderId " +
+            "ORDER BY t.timestamp DESC, t.id DESC")
+    List<OrderStatus> findStatusesLatestFirst(@Param("orderId") Long orderId, Limit limit);
+
+    // Orders whose every trace is older than the cutoff and which reached a terminal status by then
+    @Query("SELECT DISTINCT t.orderId FROM OrderTraceEntity t " +
+            "WHERE t.orderId > :afterOrderId AND t.timestamp < :cutoff AND t.newStatus IN :closedStatuses " +
+            "AND NOT EXISTS (SELECT later.id FROM OrderTraceEntity later " +
+            "WHERE later.orderId = t.orderId AND later.timestamp >= :cutoff) " +
+            "ORDER BY t.orderId")
+    List<Long> findClosedOrderIds(@Param("cutoff") LocalDateTime cutoff,
+                                  @Param("afterOrderId") Long afterOrderId,
+                                  @Param("closedStatuses") List<OrderStatus> closedStatuses,
+                                  Limit limit);
+
+    @Query("SELECT t FROM OrderTraceEntity t WHERE t.orderId IN :orderIds ORDER BY t.orderId, t.timestamp, t.id")
+    List<OrderTraceEntity> findByOrderIds(@Param("orderIds") List<Long> orderIds);
+
+    @Modifying
+    @Query("DELETE FROM OrderTraceEntity t WHERE t.orderId IN :orderIds AND t.timestamp < :cutoff")
+    int deleteByOrderIdsBefore(@Param("orderIds") List<Long> orderIds, @Param("cutoff") LocalDateTime cutoff);
+
+    @Query(STATUS_CHANGE_SELECT + "WHERE t.employeeId = :employeeId ORDER BY t.timestamp, t.id")
+    List<OrderStatusChange> findStatusChangesByEmployeeId(@Param("employeeId") Long employeeId);
 }
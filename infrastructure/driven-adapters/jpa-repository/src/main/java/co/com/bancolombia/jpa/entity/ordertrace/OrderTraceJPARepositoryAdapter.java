@@ -1,40 +1,172 @@
 package co.com.bancolombia.jpa.entity.ordertrace;
 
+import co.com.bancolombia.jpa.entity.idempotency.TraceIdempotencyKeyJPARepository;
+import co.com.bancolombia.jpa.entity.tracechange.TraceChangeEntity;
+import co.com.bancolombia.jpa.entity.tracechange.TraceChangeJPARepository;
 import co.com.bancolombia.jpa.helper.AdapterOperations;
+import co.com.bancolombia.jpa.routing.RecentOrderWrites;
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.DuplicateTraceException;
+import co.com.bancolombia.model.ordertrace.OrderStatusChange;
 import co.com.bancolombia.model.ordertrace.OrderTrace;
 import co.com.bancolombia.model.ordertrace.gateways.OrderTraceRepository;
-import org.reactivecommons.utils.ObjectMapper;
+import co.com.bancolombia.model.ordertrace.gateways.TraceArchiveRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Repository
 public class OrderTraceJPARepositoryAdapter extends AdapterOperations<OrderTrace, OrderTraceEntity, Long, OrderTraceJPARepository>
         implements OrderTraceRepository {
 
-    public OrderTraceJPARepositoryAdapter(OrderTraceJPARepository repository, ObjectMapper mapper) {
-        super(repository, mapper, d -> mapper.map(d, OrderTrace.class));
+    private static final List<OrderStatus> CLOSED_STATUSES = Arrays.stream(OrderStatus.values())
+            .filter(OrderStatus::isTerminal)
+            .toList();
+
+    private final OrderTraceEntityMapper entityMapper;
+    private final EntityManager entityManager;
+    private final int streamFetchSize;
+    private final OrderHistoryCache orderHistoryCache;
+    private final TraceChangeJPARepository traceChangeRepository;
+    private final RecentOrderWrites recentOrderWrites;
+    private final TraceIdempotencyKeyJPARepository idempotencyKeyRepository;
+    private final TraceArchiveRepository traceArchiveRepository;
+
+    public OrderTraceJPARepositoryAdapter(OrderTraceJPARepository repository, OrderTraceEntityMapper entityMapper,
+                                          EntityManager entityManager,
+                                          @Value("${adapters.jpa.stream-fetch-size:1000}") int streamFetchSize,
+                                          OrderHistoryCache orderHistoryCache,
+                                          TraceChangeJPARepository traceChangeRepository,
+                                          RecentOrderWrites recentOrderWrites,
+                                          TraceIdempotencyKeyJPARepository idempotencyKeyRepository,
+                                          TraceArchiveRepository traceArchiveRepository) {
+        super(repository, entityMapper::toEntity, entityMapper::toModel);
+        this.entityMapper = entityMapper;
+        this.entityManager = entityManager;
+        this.streamFetchSize = streamFetchSize;
+        this.orderHistoryCache = orderHistoryCache;
+        this.traceChangeRepository = traceChangeRepository;
+        this.recentOrderWrites = recentOrderWrites;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.traceArchiveRepository = traceArchiveRepository;
     }
 
+    // Trace, idempotency key and outbox row commit together: the change feed never misses or invents a trace
     @Override
+    @Transactional
     public OrderTrace save(OrderTrace orderTrace) {
-        OrderTraceEntity entity = mapper.map(orderTrace, OrderTraceEntity.class);
+        OrderTraceEntity entity = entityMapper.toEntity(orderTrace);
+        recentOrderWrites.record(List.of(entity.getOrderId()));
         OrderTraceEntity savedEntity = repository.save(entity);
-        return mapper.map(savedEntity, OrderTrace.class);
+        recordIdempotencyKey(orderTrace.getIdempotencyKey(), savedEntity);
+        traceChangeRepository.save(TraceChangeEntity.of(savedEntity));
+        orderHistoryCache.invalidateAfterCommit(List.of(savedEntity.getOrderId()));
+        return entityMapper.toModel(savedEntity);
+    }
+
+    @Override
+    @Transactional
+    public List<OrderTrace> saveAll(List<OrderTrace> orderTraces) {
+        recentOrderWrites.record(orderTraces.stream()
+                .map(OrderTrace::getOrderId)
+                .distinct()
+                .toList());
+        List<OrderTraceEntity> savedEntities = repository.saveAll(orderTraces.stream()
+                .map(entityMapper::toEntity)
+                .toList());
+        for (int i = 0; i < savedEntities.size(); i++) {
+            recordIdempotencyKey(orderTraces.get(i).getIdempotencyKey(), savedEntities.get(i));
+        }
+        traceChangeRepository.saveAll(savedEntities.stream()
+                .map(TraceChangeEntity::of)
+                .toList());
+        List<OrderTrace> savedTraces = savedEntities.stream()
+                .map(entityMapper::toModel)
+                .toList();
+        orderHistoryCache.invalidateAfterCommit(savedTraces.stream()
+                .map(OrderTrace::getOrderId)
+                .distinct()
+                .toList());
+        return savedTraces;
+    }
+
+    // The unique key is the arbiter; the violation rolls back the caller's whole transaction
+    private void recordIdempotencyKey(String idempotencyKey, OrderTraceEntity savedEntity) {
+        if (idempotencyKey == null) {
+            return;
+        }
+        try {
+            idempotencyKeyRepository.insert(idempotencyKey, savedEntity.getId(), savedEntity.getTimestamp());
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateTraceException(idempotencyKey, e);
+        }
+    }
+
+    // Never served from the history cache or a replica: it decides whether a trace is written
+    @Override
+    public OrderTrace findByIdempotencyKey(String idempotencyKey) {
+        return idempotencyKeyRepository.findTrace(idempotencyKey)
+                .map(entityMapper::toModel)
+                .orElse(null);
+    }
+
+    // Straight to the primary as well: a stale status would reject a valid transition
+    @Override
+    public OrderStatus findLastStatus(Long orderId) {
+        List<OrderStatus> statuses = repository.findStatusesLatestFirst(orderId, Limit.of(1));
+        if (!statuses.isEmpty()) {
+            return statuses.get(0);
+        }
+        // An archived order is closed: its terminal status still rejects any further transition
+        List<OrderTrace> archived = traceArchiveRepository.findByOrderId(orderId);
+        return archived.isEmpty() ? null : archived.get(archived.size() - 1).getNewStatus();
     }
 
     @Override
     public List<OrderTrace> findByOrderId(Long orderId) {
+        return recentOrderWrites.read(orderId, () -> orderHistoryCache.get(orderId, this::loadHistory));
+    }
+
+    // Orders with no rows left may have been archived; the archive answers with an empty list otherwise
+    private List<OrderTrace> loadHistory(Long orderId) {
         List<OrderTraceEntity> entities = repository.findByOrderIdOrderByTimestampAsc(orderId);
+        if (entities.isEmpty()) {
+            return traceArchiveRepository.findByOrderId(orderId);
+        }
         return entities.stream()
-                .map(entity -> mapper.map(entity, OrderTrace.class))
+                .map(entityMapper::toModel)
+                .toList();
+    }
+
+    @Override
+    public List<OrderTrace> findByOrderIdAfter(Long orderId, LocalDateTime afterTimestamp, Long afterId, int limit) {
+        List<OrderTraceEntity> entities = recentOrderWrites.read(orderId,
+                () -> afterTimestamp == null || afterId == null
+                        ? repository.findByOrderIdOrderByTimestampAscIdAsc(orderId, Limit.of(limit))
+                        : repository.findByOrderIdAfter(orderId, afterTimestamp, afterId, Limit.of(limit)));
+        // Past the end of a live history the archive has nothing after the cursor either
+        if (entities.isEmpty()) {
+            return traceArchiveRepository.findByOrderIdAfter(orderId, afterTimestamp, afterId, limit);
+        }
+        return entities.stream()
+                .map(entityMapper::toModel)
                 .toList();
     }
 
     @Override
     public List<OrderTrace> findAll() {
         return repository.findAll().stream()
-                .map(entity -> mapper.map(entity, OrderTrace.class))
+                .map(entityMapper::toModel)
                 .toList();
     }
 
@@ -42,7 +174,43 @@ public class OrderTraceJPARepositoryAdapter extends AdapterOperations<OrderTrace
     public List<OrderTrace> findByEmployeeId(Long employeeId) {
         List<OrderTraceEntity> entities = repository.findByEmployeeId(employeeId);
         return entities.stream()
-                .map(entity -> mapper.map(entity, OrderTrace.class))
+                .map(entityMapper::toModel)
+                .toList();
+    }
+
+    @Override
+    public List<OrderStatusChange> findStatusChangesByEmployeeId(Long employeeId) {
+        return repository.findStatusChangesByEmployeeId(employeeId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachStatusChange(Consumer<OrderStatusChange> consumer) {
+        try (Stream<OrderStatusChange> changes = entityManager
+                .createQuery(OrderTraceJPARepository.STATUS_CHANGE_STREAM_QUERY, OrderStatusChange.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize)
+                .getResultStream()) {
+            changes.forEach(consumer);
+        }
+    }
+
+    @Override
+    public List<Long> findClosedOrderIdsBefore(LocalDateTime cutoff, Long afterOrderId, int limit) {
+        return repository.findClosedOrderIds(cutoff, afterOrderId, CLOSED_STATUSES, Limit.of(limit));
+    }
+
+    @Override
+    public List<OrderTrace> findByOrderIds(List<Long> orderIds) {
+        return repository.findByOrderIds(orderIds).stream()
+                .map(entityMapper::toModel)
                 .toList();
     }
+
+    // Keys go first: they reference the traces being deleted
+    @Override
+    @Transactional
+    public int deleteByOrderIds(List<Long> orderIds, LocalDateTime cutoff) {
+        idempotencyKeyRepository.deleteByOrderIdsBefore(orderIds, cutoff);
+        return repository.deleteByOrderIdsBefore(orderIds, cutoff);
+    }
 }
@@ -0,0 +1,80 @@
+package co.com.bancolombia.jpa.entity.tracechange;
+
+import co.com.bancolombia.jpa.entity.ordertrace.OrderTraceEntity;
+import co.com.bancolombia.model.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Copies the trace columns instead of referencing order_traces, so the feed survives trace archiving
+@Entity
+@Table(name = "order_trace_changes")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class TraceChangeEntity {
+
+    // AUTO_INCREMENT rather than the pooled trace ids: the feed needs a sequence that grows in insert order
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "sequence")
+    private Long sequence;
+
+    @Column(name = "trace_id", nullable = false)
+    private Long traceId;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "client_id", nullable = false)
+    private Long clientId;
+
+    @Column(name = "client_email", nullable = false)
+    private String clientEmail;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "previous_status")
+    private OrderStatus previousStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "new_status", nullable = false)
+    private OrderStatus newStatus;
+
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Column(name = "employee_email")
+    private String employeeEmail;
+
+    @Column(name = "timestamp", nullable = false)
+    private LocalDateTime timestamp;
+
+    // Database clock, so the settle window does not depend on the clocks of the writing nodes
+    @Column(name = "recorded_at", insertable = false, updatable = false,
+            columnDefinition = "DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6)")
+    private LocalDateTime recordedAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    public static TraceChangeEntity of(OrderTraceEntity trace) {
+        return TraceChangeEntity.builder()
+                .traceId(trace.getId())
+                .orderId(trace.getOrderId())
+                .clientId(trace.getClientId())
+                .clientEmail(trace.getClientEmail())
+                .previousStatus(trace.getPreviousStatus())
+                .newStatus(trace.getNewStatus())
+                .employeeId(trace.getEmployeeId())
+                .employeeEmail(trace.getEmployeeEmail())
+                .timestamp(trace.getTimestamp())
+                .build();
+    }
+}
@@ -0,0 +1,38 @@
+package co.com.bancolombia.jpa.entity.tracechange;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.query.QueryByExampleExecutor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TraceChangeJPARepository extends JpaRepository<TraceChangeEntity, Long>,
+        QueryByExampleExecutor<TraceChangeEntity> {
+
+    // A lower sequence can still be uncommitted while a higher one is visible; only rows older than the
+    // settle window are served, so a reader that moves past a sequence never sees an earlier one appear
+    @Query(value = "SELECT * FROM order_trace_changes WHERE sequence > :afterSequence " +
+            "AND recorded_at < NOW(6) - INTERVAL :settleMicros MICROSECOND " +
+            "ORDER BY sequence LIMIT :limit", nativeQuery = true)
+    List<TraceChangeEntity> findSettledAfter(@Param("afterSequence") long afterSequence,
+                                             @Param("settleMicros") long settleMicros,
+                                             @Param("limit") int limit);
+
+    // -2 is Hibernate's SKIP LOCKED: concurrent relays claim disjoint batches
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT c FROM TraceChangeEntity c WHERE c.publishedAt IS NULL ORDER BY c.sequence")
+    List<TraceChangeEntity> lockUnpublished(Limit limit);
+
+    @Modifying
+    @Query("UPDATE TraceChangeEntity c SET c.publishedAt = :publishedAt WHERE c.sequence IN :sequences")
+    int markPublished(@Param("sequences") List<Long> sequences, @Param("publishedAt") LocalDateTime publishedAt);
+}
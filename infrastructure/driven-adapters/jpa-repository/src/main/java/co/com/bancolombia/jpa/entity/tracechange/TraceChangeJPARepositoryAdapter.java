@@ -0,0 +1,64 @@
+package co.com.bancolombia.jpa.entity.tracechange;
+
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.model.tracechange.TraceChange;
+import co.com.bancolombia.model.tracechange.gateways.TraceChangeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public class TraceChangeJPARepositoryAdapter implements TraceChangeRepository {
+
+    private final TraceChangeJPARepository repository;
+    private final long settleMicros;
+
+    public TraceChangeJPARepositoryAdapter(TraceChangeJPARepository repository,
+                                           @Value("${traceability.changes.settle-delay:2s}") Duration settleDelay) {
+        this.repository = repository;
+        this.settleMicros = settleDelay.toNanos() / 1000;
+    }
+
+    @Override
+    public List<TraceChange> findAfter(long afterSequence, int limit) {
+        return repository.findSettledAfter(afterSequence, settleMicros, limit).stream()
+                .map(TraceChangeJPARepositoryAdapter::toModel)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public List<TraceChange> lockUnpublished(int limit) {
+        return repository.lockUnpublished(Limit.of(limit)).stream()
+                .map(TraceChangeJPARepositoryAdapter::toModel)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void markPublished(List<Long> sequences) {
+        repository.markPublished(sequences, LocalDateTime.now());
+    }
+
+    static TraceChange toModel(TraceChangeEntity entity) {
+        return TraceChange.builder()
+                .sequence(entity.getSequence())
+                .orderTrace(OrderTrace.builder()
+                        .id(entity.getTraceId())
+                        .orderId(entity.getOrderId())
+                        .clientId(entity.getClientId())
+                        .clientEmail(entity.getClientEmail())
+                        .previousStatus(entity.getPreviousStatus())
+                        .newStatus(entity.getNewStatus())
+                        .employeeId(entity.getEmployeeId())
+                        .employeeEmail(entity.getEmployeeEmail())
+                        .timestamp(entity.getTimestamp())
+                        .build())
+                .build();
+    }
+}
@@ -13,8 +13,8 @@ import static java.util.stream.StreamSupport.stream;
 
 public abstract class AdapterOperations<E, D, I, R extends CrudRepository<D, I> & QueryByExampleExecutor<D>> {
     protected R repository;
-    private final Class<D> dataClass;
     protected ObjectMapper mapper;
+    private final Function<E, D> toDataFn;
     private final Function<D, E> toEntityFn;
 
     @SuppressWarnings("unchecked")
@@ -22,12 +22,19 @@ public abstract class AdapterOperations<E, D, I, R extends CrudRepository<D, I>
         this.repository = repository;
         this.mapper = mapper;
         ParameterizedType genericSuperclass = (ParameterizedType) this.getClass().getGenericSuperclass();
-        this.dataClass = (Class<D>) genericSuperclass.getActualTypeArguments()[1];
+        Class<D> dataClass = (Class<D>) genericSuperclass.getActualTypeArguments()[1];
+        this.toDataFn = entity -> mapper.map(entity, dataClass);
+        this.toEntityFn = toEntityFn;
+    }
+
+    protected AdapterOperations(R repository, Function<E, D> toDataFn, Function<D, E> toEntityFn) {
+        this.repository = repository;
+        this.toDataFn = toDataFn;
         this.toEntityFn = toEntityFn;
     }
 
     protected D toData(E entity) {
-        return mapper.map(entity, dataClass);
+        return toDataFn.apply(entity);
     }
 
     protected E toEntity(D data) {
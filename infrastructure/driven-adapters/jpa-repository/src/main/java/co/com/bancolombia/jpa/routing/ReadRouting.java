@@ -0,0 +1,47 @@
+package co.com.bancolombia.jpa.routing;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound hint telling {@link ReplicaRoutingDataSource} where the next connection should come from.
+ * Scopes nest: {@link #enter} returns the previous route, which {@link #exit} restores.
+ */
+public final class ReadRouting {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final ThreadLocal<Route> CURRENT = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    public static Route current() {
+        return CURRENT.get();
+    }
+
+    public static Route enter(Route route) {
+        Route previous = CURRENT.get();
+        CURRENT.set(route);
+        return previous;
+    }
+
+    public static void exit(Route previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    public static <T> T onPrimary(Supplier<T> read) {
+        Route previous = enter(Route.PRIMARY);
+        try {
+            return read.get();
+        } finally {
+            exit(previous);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package co.com.bancolombia.jpa.routing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Remembers which orders were written in the last {@code staleness-window}, so reads for those orders
+ * go to the primary until the replica has caught up. Per node: a write on one instance does not pin
+ * reads served by another.
+ */
+@Component
+public class RecentOrderWrites {
+
+    private final Cache<Long, Boolean> recentlyWritten;
+
+    public RecentOrderWrites(@Value("${adapters.jpa.replica.staleness-window:5s}") Duration stalenessWindow,
+                             @Value("${adapters.jpa.replica.tracked-orders:100000}") long trackedOrders) {
+        this.recentlyWritten = Caffeine.newBuilder()
+                .expireAfterWrite(stalenessWindow)
+                .maximumSize(trackedOrders)
+                .build();
+    }
+
+    // Recorded before commit: a read racing the commit must not be served a replica that lacks it
+    public void record(Collection<Long> orderIds) {
+        orderIds.forEach(orderId -> recentlyWritten.put(orderId, Boolean.TRUE));
+    }
+
+    public <T> T read(Long orderId, Supplier<T> read) {
+        return recentlyWritten.getIfPresent(orderId) != null ? ReadRouting.onPrimary(read) : read.get();
+    }
+}
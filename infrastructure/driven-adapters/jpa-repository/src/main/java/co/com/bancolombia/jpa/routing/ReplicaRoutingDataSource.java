@@ -0,0 +1,59 @@
+package co.com.bancolombia.jpa.routing;
+
+import co.com.bancolombia.jpa.routing.ReadRouting.Route;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.util.Map;
+
+/**
+ * Sends reads to the replica pool and everything else to the primary. A connection goes to the replica
+ * when the caller is inside a {@link ReadRouting} replica scope or a read-only transaction, and never while
+ * a read-write transaction is active. The physical connection is fetched lazily, on the first statement,
+ * so the transaction's read-only flag is already known when the route is chosen.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, HikariDataSource replica) {
+        super(router(primary, replica));
+        this.primary = primary;
+        this.replica = replica;
+    }
+
+    static Route route() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (TransactionSynchronizationManager.isActualTransactionActive() && !readOnly) {
+            return Route.PRIMARY;
+        }
+        Route requested = ReadRouting.current();
+        if (requested != null) {
+            return requested;
+        }
+        return readOnly ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    @Override
+    public void close() {
+        replica.close();
+        primary.close();
+    }
+
+    private static AbstractRoutingDataSource router(HikariDataSource primary, HikariDataSource replica) {
+        AbstractRoutingDataSource router = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return route();
+            }
+        };
+        router.setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        return router;
+    }
+}
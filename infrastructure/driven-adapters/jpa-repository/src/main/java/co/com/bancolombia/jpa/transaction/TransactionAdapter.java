@@ -0,0 +1,23 @@
+package co.com.bancolombia.jpa.transaction;
+
+import co.com.bancolombia.model.transaction.gateways.TransactionGateway;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+@Component
+public class TransactionAdapter implements TransactionGateway {
+
+    private final TransactionTemplate transactionTemplate;
+
+    public TransactionAdapter(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public <T> T execute(Supplier<T> action) {
+        return transactionTemplate.execute(status -> action.get());
+    }
+}
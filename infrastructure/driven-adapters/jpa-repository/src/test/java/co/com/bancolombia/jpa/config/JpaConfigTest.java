@@ -1,17 +1,25 @@
 package co.com.bancolombia.jpa.config;
 
+import co.com.bancolombia.jpa.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.core.env.Environment;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 
 import javax.sql.DataSource;
+import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.when;
 
 class JpaConfigTest {
@@ -20,6 +28,9 @@ class JpaConfigTest {
     @Mock
     DataSource dataSource;
 
+    @Mock
+    ObjectProvider<MeterRegistry> meterRegistry;
+
     private DBSecret dbSecretUnderTest;
     private JpaConfig jpaConfigUnderTest;
 
@@ -54,17 +65,51 @@ class JpaConfigTest {
 
     @Test
     void datasourceTest() {
-        final DataSource result = jpaConfigUnderTest.datasource(dbSecretUnderTest, "org.h2.Driver");
+        final DataSource result = jpaConfigUnderTest.datasource(dbSecretUnderTest, "org.h2.Driver", 20, 2000, 5,
+                new MockEnvironment(), meterRegistry);
 
         assertNotNull(result);
+        HikariDataSource hikari = (HikariDataSource) result;
+        assertEquals("traceability", hikari.getPoolName());
+        assertEquals(20, hikari.getMaximumPoolSize());
+        assertEquals(2000, hikari.getConnectionTimeout());
+        hikari.close();
+    }
+
+    @Test
+    void datasourceShouldRouteThroughReplicaWhenConfigured() {
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("adapters.jpa.replica.url", "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1");
+
+        final DataSource result = jpaConfigUnderTest.datasource(dbSecretUnderTest, "org.h2.Driver", 20, 2000, 5,
+                env, meterRegistry);
+
+        assertInstanceOf(ReplicaRoutingDataSource.class, result);
+        ((ReplicaRoutingDataSource) result).close();
+    }
+
+    @Test
+    void replicaSecretShouldDefaultCredentialsToPrimary() {
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("adapters.jpa.replica.url", "jdbc:h2:mem:replica")
+                .withProperty("adapters.jpa.replica.username", "reader");
+
+        DBSecret replica = JpaConfig.replicaSecret(env, dbSecretUnderTest);
+
+        assertEquals("jdbc:h2:mem:replica", replica.getUrl());
+        assertEquals("reader", replica.getUsername());
+        assertEquals("sa", replica.getPassword());
+        assertNull(JpaConfig.replicaSecret(new MockEnvironment(), dbSecretUnderTest));
     }
 
     @Test
     void entityManagerFactoryTest() {
 
         final LocalContainerEntityManagerFactoryBean result =
-                jpaConfigUnderTest.entityManagerFactory(dataSource, "dialect");
+                jpaConfigUnderTest.entityManagerFactory(dataSource, "dialect", 50, true, Duration.ofMillis(200));
 
         assertNotNull(result);
+        assertEquals("true", result.getJpaPropertyMap().get("hibernate.generate_statistics"));
+        assertEquals("200", result.getJpaPropertyMap().get("hibernate.log_slow_query"));
     }
 }
@@ -0,0 +1,53 @@
+package co.com.bancolombia.jpa.entity.ordertrace;
+
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OrderHistoryCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OrderHistoryCache cache = new OrderHistoryCache(meterRegistry, 100,
+            Duration.ofMinutes(1), Duration.ofHours(1));
+
+    @Test
+    void getShouldLoadOnceAndServeFromCache() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        List<OrderTrace> history = List.of(trace(OrderStatus.PENDING));
+
+        // Act
+        cache.get(1L, id -> { loads.incrementAndGet(); return history; });
+        List<OrderTrace> result = cache.get(1L, id -> { loads.incrementAndGet(); return history; });
+
+        // Assert
+        assertEquals(history, result);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void invalidateAfterCommitShouldEvictImmediatelyOutsideTransaction() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(1L, id -> { loads.incrementAndGet(); return List.of(trace(OrderStatus.DELIVERED)); });
+
+        // Act
+        cache.invalidateAfterCommit(List.of(1L));
+        cache.get(1L, id -> { loads.incrementAndGet(); return List.of(); });
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    private OrderTrace trace(OrderStatus status) {
+        return OrderTrace.builder().orderId(1L).newStatus(status).build();
+    }
+}
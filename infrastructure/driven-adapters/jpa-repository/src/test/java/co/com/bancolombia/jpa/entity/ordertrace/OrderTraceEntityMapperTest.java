@@ -0,0 +1,50 @@
+package co.com.bancolombia.jpa.entity.ordertrace;
+
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class OrderTraceEntityMapperTest {
+
+    private final OrderTraceEntityMapper mapper = Mappers.getMapper(OrderTraceEntityMapper.class);
+
+    @Test
+    void shouldMapEntityToModelAndBack() {
+        // Arrange
+        LocalDateTime timestamp = LocalDateTime.of(2024, 1, 1, 12, 0);
+        OrderTraceEntity entity = OrderTraceEntity.builder()
+                .id(7L)
+                .orderId(1L)
+                .clientId(2L)
+                .clientEmail("client@test.com")
+                .previousStatus(OrderStatus.READY)
+                .newStatus(OrderStatus.DELIVERED)
+                .employeeId(3L)
+                .employeeEmail("employee@test.com")
+                .timestamp(timestamp)
+                .build();
+
+        // Act
+        OrderTrace model = mapper.toModel(entity);
+        OrderTraceEntity roundTrip = mapper.toEntity(model);
+
+        // Assert
+        assertEquals(7L, model.getId());
+        assertEquals(OrderStatus.DELIVERED, model.getNewStatus());
+        assertEquals("employee@test.com", model.getEmployeeEmail());
+        assertEquals(timestamp, roundTrip.getTimestamp());
+        assertEquals(OrderStatus.READY, roundTrip.getPreviousStatus());
+    }
+
+    @Test
+    void shouldReturnNullForNullInput() {
+        assertNull(mapper.toModel(null));
+        assertNull(mapper.toEntity(null));
+    }
+}
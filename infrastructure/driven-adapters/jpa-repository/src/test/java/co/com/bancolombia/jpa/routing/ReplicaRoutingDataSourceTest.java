@@ -0,0 +1,76 @@
+package co.com.bancolombia.jpa.routing;
+
+import co.com.bancolombia.jpa.routing.ReadRouting.Route;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ReplicaRoutingDataSourceTest {
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void routeShouldDefaultToPrimary() {
+        assertEquals(Route.PRIMARY, ReplicaRoutingDataSource.route());
+    }
+
+    @Test
+    void routeShouldUseReplicaForReadOnlyTransactions() {
+        // Arrange
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act & Assert
+        assertEquals(Route.REPLICA, ReplicaRoutingDataSource.route());
+    }
+
+    @Test
+    void routeShouldKeepReadWriteTransactionsOnPrimaryInsideReplicaScope() {
+        // Arrange
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        Route previous = ReadRouting.enter(Route.REPLICA);
+
+        // Act
+        Route route;
+        try {
+            route = ReplicaRoutingDataSource.route();
+        } finally {
+            ReadRouting.exit(previous);
+        }
+
+        // Assert
+        assertEquals(Route.PRIMARY, route);
+        assertNull(ReadRouting.current());
+    }
+
+    @Test
+    void recentWriteShouldPinReadsToPrimaryInsideReplicaScope() {
+        // Arrange
+        RecentOrderWrites recentOrderWrites = new RecentOrderWrites(Duration.ofMinutes(1), 100);
+        recentOrderWrites.record(List.of(1L));
+        Route previous = ReadRouting.enter(Route.REPLICA);
+
+        // Act
+        try {
+            Route written = recentOrderWrites.read(1L, ReplicaRoutingDataSource::route);
+            Route untouched = recentOrderWrites.read(2L, ReplicaRoutingDataSource::route);
+
+            // Assert
+            assertEquals(Route.PRIMARY, written);
+            assertEquals(Route.REPLICA, untouched);
+            assertEquals(Route.REPLICA, ReadRouting.current());
+        } finally {
+            ReadRouting.exit(previous);
+        }
+    }
+}
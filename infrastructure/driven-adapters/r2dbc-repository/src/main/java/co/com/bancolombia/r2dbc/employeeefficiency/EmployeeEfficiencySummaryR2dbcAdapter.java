@@ -0,0 +1,80 @@
+package co.com.bancolombia.r2dbc.employeeefficiency;
+
+import co.com.bancolombia.model.efficiency.EmployeeEfficiencySummary;
+import co.com.bancolombia.model.efficiency.gateways.ReactiveEmployeeEfficiencySummaryRepository;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class EmployeeEfficiencySummaryR2dbcAdapter implements ReactiveEmployeeEfficiencySummaryRepository {
+
+    private static final String COLUMNS = "employee_id, employee_email, total_duration_minutes, delivered_orders";
+
+    private static final String ADD_DELIVERY = "INSERT INTO employee_efficiency (" + COLUMNS + ") " +
+            "VALUES (:employeeId, :employeeEmail, :durationInMinutes, 1) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "employee_email = COALESCE(employee_email, VALUES(employee_email)), " +
+            "total_duration_minutes = total_duration_minutes + VALUES(total_duration_minutes), " +
+            "delivered_orders = delivered_orders + 1";
+
+    private static final String REMOVE_DELIVERY = "UPDATE employee_efficiency " +
+            "SET total_duration_minutes = total_duration_minutes - :durationInMinutes, " +
+            "delivered_orders = delivered_orders - 1 " +
+            "WHERE employee_id = :employeeId";
+
+    private static final String FIND_BY_EMPLOYEE = "SELECT " + COLUMNS + " FROM employee_efficiency " +
+            "WHERE employee_id = :employeeId";
+
+    private static final String FIND_ALL = "SELECT " + COLUMNS + " FROM employee_efficiency";
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Void> addDelivery(Long employeeId, String employeeEmail, long durationInMinutes) {
+        return databaseClient.sql(ADD_DELIVERY)
+                .bind("employeeId", employeeId)
+                .bind("employeeEmail", Parameter.fromOrEmpty(employeeEmail, String.class))
+                .bind("durationInMinutes", durationInMinutes)
+                .then();
+    }
+
+    @Override
+    public Mono<Void> removeDelivery(Long employeeId, long durationInMinutes) {
+        return databaseClient.sql(REMOVE_DELIVERY)
+                .bind("employeeId", employeeId)
+                .bind("durationInMinutes", durationInMinutes)
+                .then();
+    }
+
+    @Override
+    public Mono<EmployeeEfficiencySummary> findByEmployeeId(Long employeeId) {
+        return databaseClient.sql(FIND_BY_EMPLOYEE)
+                .bind("employeeId", employeeId)
+                .map(EmployeeEfficiencySummaryR2dbcAdapter::toSummary)
+                .one();
+    }
+
+    @Override
+    public Flux<EmployeeEfficiencySummary> findAll() {
+        return databaseClient.sql(FIND_ALL)
+                .map(EmployeeEfficiencySummaryR2dbcAdapter::toSummary)
+                .all();
+    }
+
+    private static EmployeeEfficiencySummary toSummary(Readable row) {
+        return EmployeeEfficiencySummary.builder()
+                .employeeId(row.get("employee_id", Long.class))
+                .employeeEmail(row.get("employee_email", String.class))
+                .totalDurationInMinutes(row.get("total_duration_minutes", Long.class))
+                .deliveredOrders(row.get("delivered_orders", Long.class))
+                .build();
+    }
+}
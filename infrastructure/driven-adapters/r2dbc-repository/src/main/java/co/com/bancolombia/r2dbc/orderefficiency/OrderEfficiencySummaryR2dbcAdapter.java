@@ -0,0 +1,171 @@
+package co.com.bancolombia.r2dbc.orderefficiency;
+
+import co.com.bancolombia.model.efficiency.EmployeeEfficiencySummary;
+import co.com.bancolombia.model.efficiency.OrderEfficiencySummary;
+import co.com.bancolombia.model.efficiency.TimeWindow;
+import co.com.bancolombia.model.efficiency.gateways.ReactiveOrderEfficiencySummaryRepository;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class OrderEfficiencySummaryR2dbcAdapter implements ReactiveOrderEfficiencySummaryRepository {
+
+    private static final String COLUMNS = "order_id, pending_at, delivered_at, duration_minutes, employee_id";
+
+    private static final String UPSERT = "INSERT INTO order_efficiency (" + COLUMNS + ") " +
+            "VALUES (:orderId, :pendingAt, :deliveredAt, :durationInMinutes, :employeeId) " +
+            "ON DUPLICATE KEY UPDATE pending_at = VALUES(pending_at), delivered_at = VALUES(delivered_at), " +
+            "duration_minutes = VALUES(duration_minutes), employee_id = VALUES(employee_id)";
+
+    private static final String FIND_BY_ORDER = "SELECT " + COLUMNS + " FROM order_efficiency WHERE order_id = :orderId";
+
+    // Same upsert shape as employee_efficiency: concurrent first writers wait on the row instead of on a gap
+    private static final String INSERT_IF_ABSENT = "INSERT INTO order_efficiency (order_id) VALUES (:orderId) " +
+            "ON DUPLICATE KEY UPDATE order_id = order_id";
+
+    private static final String FIND_BY_ORDER_FOR_UPDATE = FIND_BY_ORDER + " FOR UPDATE";
+
+    private static final String FIND_COMPLETED_AFTER = "SELECT " + COLUMNS + " FROM order_efficiency " +
+            "WHERE duration_minutes >= 0 AND order_id > :afterOrderId ORDER BY order_id LIMIT :limit";
+
+    private static final String FIND_COMPLETED_WITHIN = "SELECT " + COLUMNS + " FROM order_efficiency " +
+            "WHERE duration_minutes >= 0 AND delivered_at >= :from AND delivered_at < :to " +
+            "AND order_id > :afterOrderId ORDER BY order_id LIMIT :limit";
+
+    private static final String SUMMARIZE_EMPLOYEES = "SELECT s.employee_id, e.employee_email, " +
+            "CAST(SUM(s.duration_minutes) AS SIGNED) AS total_duration_minutes, COUNT(*) AS delivered_orders " +
+            "FROM order_efficiency s LEFT JOIN employee_efficiency e ON e.employee_id = s.employee_id " +
+            "WHERE s.duration_minutes >= 0 AND s.employee_id IS NOT NULL " +
+            "AND s.delivered_at >= :from AND s.delivered_at < :to ";
+
+    private static final String COMPLETED_DURATIONS = "SELECT duration_minutes FROM order_efficiency " +
+            "WHERE duration_minutes >= 0 AND delivered_at >= :from AND delivered_at < :to";
+
+    private static final String GROUP_BY_EMPLOYEE = "GROUP BY s.employee_id, e.employee_email";
+
+    // DATETIME range limits, so open window ends still bind as plain range predicates on delivered_at
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<OrderEfficiencySummary> save(OrderEfficiencySummary summary) {
+        return databaseClient.sql(UPSERT)
+                .bind("orderId", summary.getOrderId())
+                .bind("pendingAt", Parameter.fromOrEmpty(summary.getPendingAt(), LocalDateTime.class))
+                .bind("deliveredAt", Parameter.fromOrEmpty(summary.getDeliveredAt(), LocalDateTime.class))
+                .bind("durationInMinutes", Parameter.fromOrEmpty(summary.getDurationInMinutes(), Long.class))
+                .bind("employeeId", Parameter.fromOrEmpty(summary.getEmployeeId(), Long.class))
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(summary);
+    }
+
+    @Override
+    public Mono<OrderEfficiencySummary> findByOrderId(Long orderId) {
+        return databaseClient.sql(FIND_BY_ORDER)
+                .bind("orderId", orderId)
+                .map(OrderEfficiencySummaryR2dbcAdapter::toSummary)
+                .one();
+    }
+
+    @Override
+    public Mono<OrderEfficiencySummary> findByOrderIdForUpdate(Long orderId) {
+        return databaseClient.sql(INSERT_IF_ABSENT)
+                .bind("orderId", orderId)
+                .fetch()
+                .rowsUpdated()
+                .then(databaseClient.sql(FIND_BY_ORDER_FOR_UPDATE)
+                        .bind("orderId", orderId)
+                        .map(OrderEfficiencySummaryR2dbcAdapter::toSummary)
+                        .one());
+    }
+
+    @Override
+    public Flux<OrderEfficiencySummary> findCompletedAfter(Long afterOrderId, int limit) {
+        return databaseClient.sql(FIND_COMPLETED_AFTER)
+                .bind("afterOrderId", afterOrderId != null ? afterOrderId : Long.MIN_VALUE)
+                .bind("limit", limit)
+                .map(OrderEfficiencySummaryR2dbcAdapter::toSummary)
+                .all();
+    }
+
+    @Override
+    public Flux<OrderEfficiencySummary> findCompletedWithin(TimeWindow window, Long afterOrderId, int limit) {
+        return databaseClient.sql(FIND_COMPLETED_WITHIN)
+                .bind("from", from(window))
+                .bind("to", to(window))
+                .bind("afterOrderId", afterOrderId != null ? afterOrderId : Long.MIN_VALUE)
+                .bind("limit", limit)
+                .map(OrderEfficiencySummaryR2dbcAdapter::toSummary)
+                .all();
+    }
+
+    @Override
+    public Flux<EmployeeEfficiencySummary> summarizeEmployees(TimeWindow window) {
+        return databaseClient.sql(SUMMARIZE_EMPLOYEES + GROUP_BY_EMPLOYEE)
+                .bind("from", from(window))
+                .bind("to", to(window))
+                .map(OrderEfficiencySummaryR2dbcAdapter::toEmployeeSummary)
+                .all();
+    }
+
+    @Override
+    public Mono<EmployeeEfficiencySummary> summarizeEmployee(Long employeeId, TimeWindow window) {
+        return databaseClient.sql(SUMMARIZE_EMPLOYEES + "AND s.employee_id = :employeeId " + GROUP_BY_EMPLOYEE)
+                .bind("from", from(window))
+                .bind("to", to(window))
+                .bind("employeeId", employeeId)
+                .map(OrderEfficiencySummaryR2dbcAdapter::toEmployeeSummary)
+                .one();
+    }
+
+    @Override
+    public Flux<Long> findCompletedDurations(TimeWindow window, Long employeeId) {
+        DatabaseClient.GenericExecuteSpec spec = employeeId != null
+                ? databaseClient.sql(COMPLETED_DURATIONS + " AND employee_id = :employeeId").bind("employeeId", employeeId)
+                : databaseClient.sql(COMPLETED_DURATIONS);
+        return spec.bind("from", from(window))
+                .bind("to", to(window))
+                .map(row -> row.get("duration_minutes", Long.class))
+                .all();
+    }
+
+    private static LocalDateTime from(TimeWindow window) {
+        return window.getFrom() != null ? window.getFrom() : EARLIEST;
+    }
+
+    private static LocalDateTime to(TimeWindow window) {
+        return window.getTo() != null ? window.getTo() : LATEST;
+    }
+
+    private static EmployeeEfficiencySummary toEmployeeSummary(Readable row) {
+        return EmployeeEfficiencySummary.builder()
+                .employeeId(row.get("employee_id", Long.class))
+                .employeeEmail(row.get("employee_email", String.class))
+                .totalDurationInMinutes(row.get("total_duration_minutes", Long.class))
+                .deliveredOrders(row.get("delivered_orders", Long.class))
+                .build();
+    }
+
+    private static OrderEfficiencySummary toSummary(Readable row) {
+        return OrderEfficiencySummary.builder()
+                .orderId(row.get("order_id", Long.class))
+                .pendingAt(row.get("pending_at", LocalDateTime.class))
+                .deliveredAt(row.get("delivered_at", LocalDateTime.class))
+                .durationInMinutes(row.get("duration_minutes", Long.class))
+                .employeeId(row.get("employee_id", Long.class))
+                .build();
+    }
+}
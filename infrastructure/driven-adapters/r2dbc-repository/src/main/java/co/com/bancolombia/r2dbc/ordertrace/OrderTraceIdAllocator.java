@@ -0,0 +1,93 @@
+package co.com.bancolombia.r2dbc.ordertrace;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Hands out order_traces ids from the same id_generators row as the JPA @TableGenerator, with Hibernate's
+// pooled semantics (reading v reserves v - ALLOCATION_SIZE + 1 .. v), so both stacks can write the same table.
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class OrderTraceIdAllocator {
+
+    static final int ALLOCATION_SIZE = 50; // must match OrderTraceEntity's @TableGenerator
+
+    private static final String GENERATOR_NAME = "order_traces";
+    private static final String SELECT_FOR_UPDATE =
+            "SELECT next_val FROM id_generators WHERE generator_name = :name FOR UPDATE";
+    private static final String ADVANCE =
+            "UPDATE id_generators SET next_val = next_val + :allocationSize WHERE generator_name = :name";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator requiresNew;
+    private final AtomicReference<IdBlock> current = new AtomicReference<>(IdBlock.EXHAUSTED);
+
+    public OrderTraceIdAllocator(DatabaseClient databaseClient, ConnectionFactory connectionFactory) {
+        this.databaseClient = databaseClient;
+        // Reserve outside the caller's transaction so the generator row lock is held only for the reservation
+        this.requiresNew = TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory),
+                new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    public Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            long id = current.get().next();
+            if (id > 0) {
+                return Mono.just(id);
+            }
+            return reserveBlock().map(block -> {
+                long reserved = block.next();
+                current.set(block);
+                return reserved;
+            });
+        });
+    }
+
+    private Mono<IdBlock> reserveBlock() {
+        return databaseClient.sql(SELECT_FOR_UPDATE)
+                .bind("name", GENERATOR_NAME)
+                .map(row -> row.get("next_val", Long.class))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException(
+                        "id_generators has no row for " + GENERATOR_NAME)))
+                .flatMap(value -> databaseClient.sql(ADVANCE)
+                        .bind("allocationSize", ALLOCATION_SIZE)
+                        .bind("name", GENERATOR_NAME)
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(value))
+                .as(requiresNew::transactional)
+                .map(IdBlock::endingAt);
+    }
+
+    static final class IdBlock {
+
+        static final IdBlock EXHAUSTED = new IdBlock(1, 0);
+
+        private final AtomicLong next;
+        private final long last;
+
+        private IdBlock(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+
+        static IdBlock endingAt(long last) {
+            return new IdBlock(last - ALLOCATION_SIZE + 1, last);
+        }
+
+        long next() {
+            long id = next.getAndIncrement();
+            return id <= last ? id : -1;
+        }
+    }
+}
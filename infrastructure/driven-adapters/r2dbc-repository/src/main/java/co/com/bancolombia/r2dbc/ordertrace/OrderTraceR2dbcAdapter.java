@@ -0,0 +1,180 @@
+package co.com.bancolombia.r2dbc.ordertrace;
+
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.DuplicateTraceException;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.model.ordertrace.gateways.ReactiveOrderTraceRepository;
+import co.com.bancolombia.model.ordertrace.gateways.TraceArchiveRepository;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class OrderTraceR2dbcAdapter implements ReactiveOrderTraceRepository {
+
+    private static final String COLUMNS = "id, order_id, client_id, client_email, previous_status, new_status, " +
+            "employee_id, employee_email, timestamp";
+
+    private static final String INSERT = "INSERT INTO order_traces (" + COLUMNS + ") " +
+            "VALUES (:id, :orderId, :clientId, :clientEmail, :previousStatus, :newStatus, " +
+            ":employeeId, :employeeEmail, :timestamp)";
+
+    // Outbox row for the change feed, written in the caller's transaction together with the trace
+    private static final String INSERT_CHANGE = "INSERT INTO order_trace_changes (trace_id, order_id, client_id, " +
+            "client_email, previous_status, new_status, employee_id, employee_email, timestamp) " +
+            "VALUES (:id, :orderId, :clientId, :clientEmail, :previousStatus, :newStatus, " +
+            ":employeeId, :employeeEmail, :timestamp)";
+
+    // Separate table because a unique key on order_traces must include the partitioning timestamp
+    private static final String INSERT_KEY = "INSERT INTO trace_idempotency_keys " +
+            "(idempotency_key, trace_id, trace_timestamp) VALUES (:idempotencyKey, :id, :timestamp)";
+
+    private static final String FIND_BY_KEY = "SELECT t.id, t.order_id, t.client_id, t.client_email, " +
+            "t.previous_status, t.new_status, t.employee_id, t.employee_email, t.timestamp " +
+            "FROM trace_idempotency_keys k JOIN order_traces t " +
+            "ON t.id = k.trace_id AND t.timestamp = k.trace_timestamp WHERE k.idempotency_key = :idempotencyKey";
+
+    private static final String FIND_LAST_STATUS = "SELECT new_status FROM order_traces " +
+            "WHERE order_id = :orderId ORDER BY timestamp DESC, id DESC LIMIT 1";
+
+    private static final String FIND_BY_ORDER = "SELECT " + COLUMNS + " FROM order_traces " +
+            "WHERE order_id = :orderId ORDER BY timestamp, id";
+
+    private static final String FIND_FIRST_PAGE = "SELECT " + COLUMNS + " FROM order_traces " +
+            "WHERE order_id = :orderId ORDER BY timestamp, id LIMIT :limit";
+
+    private static final String FIND_PAGE_AFTER = "SELECT " + COLUMNS + " FROM order_traces " +
+            "WHERE order_id = :orderId " +
+            "AND (timestamp > :afterTimestamp OR (timestamp = :afterTimestamp AND id > :afterId)) " +
+            "ORDER BY timestamp, id LIMIT :limit";
+
+    private final DatabaseClient databaseClient;
+    private final OrderTraceIdAllocator idAllocator;
+    private final TraceArchiveRepository traceArchiveRepository;
+
+    @Override
+    public Mono<OrderTrace> save(OrderTrace orderTrace) {
+        return idAllocator.nextId()
+                .map(id -> orderTrace.toBuilder().id(id).build())
+                .flatMap(trace -> insert(INSERT, trace)
+                        .then(insertKey(trace))
+                        .then(insert(INSERT_CHANGE, trace))
+                        .thenReturn(trace));
+    }
+
+    // The unique key is the arbiter; the error rolls back the caller's whole transaction
+    private Mono<Long> insertKey(OrderTrace trace) {
+        if (trace.getIdempotencyKey() == null) {
+            return Mono.empty();
+        }
+        return databaseClient.sql(INSERT_KEY)
+                .bind("idempotencyKey", trace.getIdempotencyKey())
+                .bind("id", trace.getId())
+                .bind("timestamp", trace.getTimestamp())
+                .fetch()
+                .rowsUpdated()
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> new DuplicateTraceException(trace.getIdempotencyKey(), e));
+    }
+
+    @Override
+    public Mono<OrderTrace> findByIdempotencyKey(String idempotencyKey) {
+        return databaseClient.sql(FIND_BY_KEY)
+                .bind("idempotencyKey", idempotencyKey)
+                .map(OrderTraceR2dbcAdapter::toOrderTrace)
+                .one();
+    }
+
+    private Mono<Long> insert(String sql, OrderTrace trace) {
+        return databaseClient.sql(sql)
+                .bind("id", trace.getId())
+                .bind("orderId", trace.getOrderId())
+                .bind("clientId", trace.getClientId())
+                .bind("clientEmail", trace.getClientEmail())
+                .bind("previousStatus", Parameter.fromOrEmpty(statusName(trace.getPreviousStatus()), String.class))
+                .bind("newStatus", trace.getNewStatus().name())
+                .bind("employeeId", Parameter.fromOrEmpty(trace.getEmployeeId(), Long.class))
+                .bind("employeeEmail", Parameter.fromOrEmpty(trace.getEmployeeEmail(), String.class))
+                .bind("timestamp", trace.getTimestamp())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    @Override
+    public Mono<OrderStatus> findLastStatus(Long orderId) {
+        return databaseClient.sql(FIND_LAST_STATUS)
+                .bind("orderId", orderId)
+                .map(row -> OrderStatus.valueOf(row.get("new_status", String.class)))
+                .one()
+                .switchIfEmpty(archived(orderId)
+                        .filter(history -> !history.isEmpty())
+                        .map(history -> history.get(history.size() - 1).getNewStatus()));
+    }
+
+    @Override
+    public Flux<OrderTrace> findByOrderId(Long orderId) {
+        return databaseClient.sql(FIND_BY_ORDER)
+                .bind("orderId", orderId)
+                .map(OrderTraceR2dbcAdapter::toOrderTrace)
+                .all()
+                .switchIfEmpty(archived(orderId).flatMapIterable(history -> history));
+    }
+
+    @Override
+    public Flux<OrderTrace> findByOrderIdAfter(Long orderId, LocalDateTime afterTimestamp, Long afterId, int limit) {
+        Flux<OrderTrace> page = afterTimestamp == null || afterId == null
+                ? databaseClient.sql(FIND_FIRST_PAGE)
+                        .bind("orderId", orderId)
+                        .bind("limit", limit)
+                        .map(OrderTraceR2dbcAdapter::toOrderTrace)
+                        .all()
+                : databaseClient.sql(FIND_PAGE_AFTER)
+                        .bind("orderId", orderId)
+                        .bind("afterTimestamp", afterTimestamp)
+                        .bind("afterId", afterId)
+                        .bind("limit", limit)
+                        .map(OrderTraceR2dbcAdapter::toOrderTrace)
+                        .all();
+        return page.switchIfEmpty(Mono.fromCallable(
+                        () -> traceArchiveRepository.findByOrderIdAfter(orderId, afterTimestamp, afterId, limit))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(archivedPage -> archivedPage));
+    }
+
+    // Archive reads touch memory-mapped files and may fault pages in from disk, so they stay off event loops
+    private Mono<List<OrderTrace>> archived(Long orderId) {
+        return Mono.fromCallable(() -> traceArchiveRepository.findByOrderId(orderId))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static OrderTrace toOrderTrace(Readable row) {
+        String previousStatus = row.get("previous_status", String.class);
+        return OrderTrace.builder()
+                .id(row.get("id", Long.class))
+                .orderId(row.get("order_id", Long.class))
+                .clientId(row.get("client_id", Long.class))
+                .clientEmail(row.get("client_email", String.class))
+                .previousStatus(previousStatus != null ? OrderStatus.valueOf(previousStatus) : null)
+                .newStatus(OrderStatus.valueOf(row.get("new_status", String.class)))
+                .employeeId(row.get("employee_id", Long.class))
+                .employeeEmail(row.get("employee_email", String.class))
+                .timestamp(row.get("timestamp", LocalDateTime.class))
+                .build();
+    }
+
+    private static String statusName(OrderStatus status) {
+        return status != null ? status.name() : null;
+    }
+}
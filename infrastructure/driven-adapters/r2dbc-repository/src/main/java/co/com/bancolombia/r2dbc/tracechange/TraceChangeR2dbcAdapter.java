@@ -0,0 +1,63 @@
+package co.com.bancolombia.r2dbc.tracechange;
+
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.model.tracechange.TraceChange;
+import co.com.bancolombia.model.tracechange.gateways.ReactiveTraceChangeRepository;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class TraceChangeR2dbcAdapter implements ReactiveTraceChangeRepository {
+
+    // Same settle window as the JPA feed, see TraceChangeJPARepository
+    private static final String FIND_SETTLED_AFTER = "SELECT sequence, trace_id, order_id, client_id, client_email, " +
+            "previous_status, new_status, employee_id, employee_email, timestamp FROM order_trace_changes " +
+            "WHERE sequence > :afterSequence AND recorded_at < NOW(6) - INTERVAL :settleMicros MICROSECOND " +
+            "ORDER BY sequence LIMIT :limit";
+
+    private final DatabaseClient databaseClient;
+    private final long settleMicros;
+
+    public TraceChangeR2dbcAdapter(DatabaseClient databaseClient,
+                                   @Value("${traceability.changes.settle-delay:2s}") Duration settleDelay) {
+        this.databaseClient = databaseClient;
+        this.settleMicros = settleDelay.toNanos() / 1000;
+    }
+
+    @Override
+    public Flux<TraceChange> findAfter(long afterSequence, int limit) {
+        return databaseClient.sql(FIND_SETTLED_AFTER)
+                .bind("afterSequence", afterSequence)
+                .bind("settleMicros", settleMicros)
+                .bind("limit", limit)
+                .map(TraceChangeR2dbcAdapter::toTraceChange)
+                .all();
+    }
+
+    private static TraceChange toTraceChange(Readable row) {
+        String previousStatus = row.get("previous_status", String.class);
+        return TraceChange.builder()
+                .sequence(row.get("sequence", Long.class))
+                .orderTrace(OrderTrace.builder()
+                        .id(row.get("trace_id", Long.class))
+                        .orderId(row.get("order_id", Long.class))
+                        .clientId(row.get("client_id", Long.class))
+                        .clientEmail(row.get("client_email", String.class))
+                        .previousStatus(previousStatus != null ? OrderStatus.valueOf(previousStatus) : null)
+                        .newStatus(OrderStatus.valueOf(row.get("new_status", String.class)))
+                        .employeeId(row.get("employee_id", Long.class))
+                        .employeeEmail(row.get("employee_email", String.class))
+                        .timestamp(row.get("timestamp", LocalDateTime.class))
+                        .build())
+                .build();
+    }
+}
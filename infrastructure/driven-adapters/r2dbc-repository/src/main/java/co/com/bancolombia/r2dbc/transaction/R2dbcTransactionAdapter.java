@@ -0,0 +1,21 @@
+package co.com.bancolombia.r2dbc.transaction;
+
+import co.com.bancolombia.model.transaction.gateways.ReactiveTransactionGateway;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class R2dbcTransactionAdapter implements ReactiveTransactionGateway {
+
+    private final TransactionalOperator transactionalOperator;
+
+    @Override
+    public <T> Mono<T> execute(Mono<T> action) {
+        return transactionalOperator.transactional(action);
+    }
+}
@@ -0,0 +1,31 @@
+package co.com.bancolombia.r2dbc.ordertrace;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OrderTraceIdAllocatorTest {
+
+    @Test
+    void idBlockShouldUsePooledRangeEndingAtReadValue() {
+        // Arrange
+        OrderTraceIdAllocator.IdBlock block = OrderTraceIdAllocator.IdBlock.endingAt(150);
+
+        // Act
+        long first = block.next();
+        long last = first;
+        for (int i = 1; i < OrderTraceIdAllocator.ALLOCATION_SIZE; i++) {
+            last = block.next();
+        }
+
+        // Assert
+        assertEquals(101, first);
+        assertEquals(150, last);
+        assertEquals(-1, block.next());
+    }
+
+    @Test
+    void exhaustedBlockShouldNeverHandOutIds() {
+        assertEquals(-1, OrderTraceIdAllocator.IdBlock.EXHAUSTED.next());
+    }
+}
@@ -0,0 +1,163 @@
+package co.com.bancolombia.archive;
+
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read-only, memory-mapped view of one segment up to its last committed chunk. The index is a sorted run of
+ * fixed-size {@code (orderId, blockOffset, blockLength)} entries after an 8-byte magic, so a lookup is a
+ * binary search over mapped pages followed by inflating a single block; the OS page cache keeps hot segments
+ * in memory without any heap cost. Views are immutable and safe to share: only absolute reads are used.
+ * A segment that grows is extended rather than reopened: the new view maps only the entries and blocks
+ * committed since the previous one and shares the mappings the previous one already holds.
+ */
+final class ArchiveSegment {
+
+    static final long MAGIC = 0x5452434152434831L;
+    static final int HEADER_BYTES = Long.BYTES;
+    static final int ENTRY_BYTES = Long.BYTES + Long.BYTES + Integer.BYTES;
+
+    private final long id;
+    // In order id order: each one holds entries past the last one of the chunk before it
+    private final Chunk[] chunks;
+    private final long committedIndexBytes;
+    private final long committedDataBytes;
+
+    private ArchiveSegment(long id, Chunk[] chunks, long committedIndexBytes, long committedDataBytes) {
+        this.id = id;
+        this.chunks = chunks;
+        this.committedIndexBytes = committedIndexBytes;
+        this.committedDataBytes = committedDataBytes;
+    }
+
+    /** Maps the committed part of a segment, or returns null if it has none. */
+    static ArchiveSegment open(long id, Path indexFile, Path dataFile) throws IOException {
+        return extend(null, id, indexFile, dataFile);
+    }
+
+    static ArchiveSegment extend(ArchiveSegment committed, long id, Path indexFile, Path dataFile)
+            throws IOException {
+        try (FileChannel indexChannel = FileChannel.open(indexFile, StandardOpenOption.READ);
+             FileChannel dataChannel = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+            return extend(committed, id, indexChannel, dataChannel);
+        }
+    }
+
+    /**
+     * Maps what has been committed past {@code committed}, which may be null for a segment not mapped yet.
+     * Returns {@code committed} itself when nothing was added. Index entries past the end of the data file, or
+     * a torn trailing entry, come from a write interrupted before its fsync and are ignored.
+     */
+    static ArchiveSegment extend(ArchiveSegment committed, long id, FileChannel indexChannel,
+                                 FileChannel dataChannel) throws IOException {
+        long indexFrom = committed == null ? HEADER_BYTES : committed.committedIndexBytes;
+        long dataFrom = committed == null ? 0 : committed.committedDataBytes;
+        long indexSize = indexChannel.size();
+        long dataSize = dataChannel.size();
+        int entries = (int) (Math.max(0, indexSize - indexFrom) / ENTRY_BYTES);
+        if (entries == 0) {
+            return committed;
+        }
+        if (committed == null && readMagic(indexChannel) != MAGIC) {
+            throw new IOException("Segment " + id + " is not a trace archive index");
+        }
+        ByteBuffer index = indexChannel.map(FileChannel.MapMode.READ_ONLY, indexFrom, (long) entries * ENTRY_BYTES);
+        while (entries > 0 && blockEnd(index, entries - 1) > dataSize) {
+            entries--;
+        }
+        if (entries == 0) {
+            return committed;
+        }
+        long dataEnd = blockEnd(index, entries - 1);
+        ByteBuffer data = dataChannel.map(FileChannel.MapMode.READ_ONLY, dataFrom, dataEnd - dataFrom);
+        Chunk chunk = new Chunk(index, data, dataFrom, entries);
+
+        Chunk[] chunks = committed == null ? new Chunk[1] : Arrays.copyOf(committed.chunks, committed.chunks.length + 1);
+        chunks[chunks.length - 1] = chunk;
+        return new ArchiveSegment(id, chunks, indexFrom + (long) entries * ENTRY_BYTES, dataEnd);
+    }
+
+    long getId() {
+        return id;
+    }
+
+    long getCommittedIndexBytes() {
+        return committedIndexBytes;
+    }
+
+    // Null when the order is not in this segment
+    List<OrderTrace> find(long orderId) throws IOException {
+        int low = 0;
+        int high = chunks.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            Chunk chunk = chunks[middle];
+            if (chunk.maxOrderId() < orderId) {
+                low = middle + 1;
+            } else if (chunk.minOrderId() > orderId) {
+                high = middle - 1;
+            } else {
+                return chunk.find(orderId);
+            }
+        }
+        return null;
+    }
+
+    private static long readMagic(FileChannel indexChannel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (header.hasRemaining()) {
+            if (indexChannel.read(header, header.position()) < 0) {
+                throw new IOException("Trace archive index ends inside its header");
+            }
+        }
+        return header.getLong(0);
+    }
+
+    private static long blockEnd(ByteBuffer index, int position) {
+        int entry = position * ENTRY_BYTES;
+        return index.getLong(entry + Long.BYTES) + index.getInt(entry + 2 * Long.BYTES);
+    }
+
+    // Entries of one extension, without the header; data starts at the first block they point at
+    private record Chunk(ByteBuffer index, ByteBuffer data, long dataOffset, int entries) {
+
+        long minOrderId() {
+            return orderIdAt(0);
+        }
+
+        long maxOrderId() {
+            return orderIdAt(entries - 1);
+        }
+
+        List<OrderTrace> find(long orderId) throws IOException {
+            int low = 0;
+            int high = entries - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                long middleOrderId = orderIdAt(middle);
+                if (middleOrderId < orderId) {
+                    low = middle + 1;
+                } else if (middleOrderId > orderId) {
+                    high = middle - 1;
+                } else {
+                    int entry = middle * ENTRY_BYTES;
+                    ByteBuffer block = data.slice((int) (index.getLong(entry + Long.BYTES) - dataOffset),
+                            index.getInt(entry + 2 * Long.BYTES));
+                    return TraceBlockCodec.decode(block, orderId);
+                }
+            }
+            return null;
+        }
+
+        private long orderIdAt(int position) {
+            return index.getLong(position * ENTRY_BYTES);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package co.com.bancolombia.archive;
+
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.model.ordertrace.gateways.TraceArchiveRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Trace archive kept as append-only segment files on local disk: {@code traces-N.seg} holds deflated blocks
+ * of order histories and {@code traces-N.idx} the sorted order id index over them (see {@link ArchiveSegment}).
+ * Each append writes its blocks, fsyncs them, then writes and fsyncs their index entries, so an entry never
+ * points at data that is not on disk. Existing segments are never reopened for writing: a new one starts after
+ * a restart, once the current one reaches {@code max-segment-size}, or when a run starts over from lower order
+ * ids. Lookups go newest segment first, which is also what makes a second copy of an order win. An append
+ * publishes the active segment extended by what it wrote, so only those bytes are mapped.
+ * The directory may be a volume shared by several nodes: lookups rescan it at most every {@code rescan-interval}
+ * to pick up segments other nodes have written since.
+ */
+@Slf4j
+@Repository
+public class SegmentTraceArchive implements TraceArchiveRepository {
+
+    private static final Pattern INDEX_FILE = Pattern.compile("traces-(\\d+)\\.idx");
+    // Headroom under the 2 GB limit of a single mapping for the chunk that crosses the threshold
+    private static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+    private final Path directory;
+    private final int ordersPerBlock;
+    private final long maxSegmentBytes;
+    private final long rescanIntervalNanos;
+    private final AtomicLong nextRescan = new AtomicLong();
+
+    // Newest first, replaced as a whole on every append so lookups never lock
+    private volatile List<ArchiveSegment> segments;
+
+    // Writer state, guarded by this
+    private long nextSegmentId;
+    private long activeId;
+    private FileChannel activeIndex;
+    private FileChannel activeData;
+    private ArchiveSegment activeSegment;
+    private long activeIndexSize;
+    private long activeDataSize;
+    private long activeLastOrderId;
+
+    public SegmentTraceArchive(@Value("${adapters.archive.directory:./data/trace-archive}") String directory,
+                               @Value("${adapters.archive.orders-per-block:16}") int ordersPerBlock,
+                               @Value("${adapters.archive.max-segment-size:1GB}") DataSize maxSegmentSize,
+                               @Value("${adapters.archive.rescan-interval:1m}") Duration rescanInterval) {
+        this.directory = Path.of(directory);
+        this.ordersPerBlock = Math.max(1, ordersPerBlock);
+        this.maxSegmentBytes = Math.min(maxSegmentSize.toBytes(), MAX_SEGMENT_BYTES);
+        this.rescanIntervalNanos = rescanInterval.toNanos();
+        this.nextSegmentId = 1;
+        this.segments = List.of();
+        try {
+            Files.createDirectories(this.directory);
+            this.segments = loadSegments();
+            this.nextRescan.set(System.nanoTime() + rescanIntervalNanos);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the trace archive in " + this.directory, e);
+        }
+        log.info("Trace archive in {} opened with {} segments", this.directory, segments.size());
+    }
+
+    @Override
+    public synchronized void append(List<OrderTrace> orderTraces) {
+        if (orderTraces.isEmpty()) {
+            return;
+        }
+        List<List<OrderTrace>> histories = groupByOrder(orderTraces);
+        long firstOrderId = histories.get(0).get(0).getOrderId();
+        try {
+            if (activeData == null || activeDataSize >= maxSegmentBytes || firstOrderId <= activeLastOrderId) {
+                startSegment();
+            }
+            ByteBuffer entries = ByteBuffer.allocate(histories.size() * ArchiveSegment.ENTRY_BYTES);
+            for (int from = 0; from < histories.size(); from += ordersPerBlock) {
+                List<List<OrderTrace>> block = histories.subList(from, Math.min(from + ordersPerBlock, histories.size()));
+                byte[] encoded = TraceBlockCodec.encode(block);
+                writeFully(activeData, ByteBuffer.wrap(encoded), activeDataSize);
+                for (List<OrderTrace> history : block) {
+                    entries.putLong(history.get(0).getOrderId()).putLong(activeDataSize).putInt(encoded.length);
+                }
+                activeDataSize += encoded.length;
+            }
+            activeData.force(false);
+            writeFully(activeIndex, entries.flip(), activeIndexSize);
+            activeIndex.force(false);
+            activeIndexSize += entries.limit();
+            activeLastOrderId = histories.get(histories.size() - 1).get(0).getOrderId();
+            activeSegment = ArchiveSegment.extend(activeSegment, activeId, activeIndex, activeData);
+            publish(activeSegment);
+        } catch (IOException e) {
+            // Whatever this append left behind is past the last committed entry; the next one starts a new segment
+            closeActiveSegment();
+            throw new UncheckedIOException("Could not append to the trace archive", e);
+        }
+    }
+
+    @Override
+    public List<OrderTrace> findByOrderId(Long orderId) {
+        rescanIfDue();
+        try {
+            for (ArchiveSegment segment : segments) {
+                List<OrderTrace> history = segment.find(orderId);
+                if (history != null) {
+                    return history;
+                }
+            }
+            return List.of();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read order " + orderId + " from the trace archive", e);
+        }
+    }
+
+    // Archived histories are small and already ordered: the cursor is applied in memory
+    @Override
+    public List<OrderTrace> findByOrderIdAfter(Long orderId, LocalDateTime afterTimestamp, Long afterId, int limit) {
+        return findByOrderId(orderId).stream()
+                .filter(trace -> afterTimestamp == null || afterId == null
+                        || trace.getTimestamp().isAfter(afterTimestamp)
+                        || trace.getTimestamp().isEqual(afterTimestamp) && trace.getId() > afterId)
+                .limit(limit)
+                .toList();
+    }
+
+    int getSegmentCount() {
+        return segments.size();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        closeActiveSegment();
+    }
+
+    // One caller rescans, the others keep reading the current segments meanwhile
+    private void rescanIfDue() {
+        long due = nextRescan.get();
+        long now = System.nanoTime();
+        if (now - due < 0 || !nextRescan.compareAndSet(due, now + rescanIntervalNanos)) {
+            return;
+        }
+        synchronized (this) {
+            try {
+                segments = loadSegments();
+            } catch (IOException e) {
+                log.warn("Could not rescan the trace archive in {}, keeping the known segments", directory, e);
+            }
+        }
+    }
+
+    // Segments already mapped are kept, extended by whatever has been committed to them since
+    private List<ArchiveSegment> loadSegments() throws IOException {
+        Map<Long, ArchiveSegment> known = segments.stream()
+                .collect(Collectors.toMap(ArchiveSegment::getId, Function.identity()));
+        List<ArchiveSegment> loaded = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Matcher matcher = INDEX_FILE.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    long id = Long.parseLong(matcher.group(1));
+                    ArchiveSegment segment = known.get(id);
+                    if ((segment == null || segment.getCommittedIndexBytes() < Files.size(file))
+                            && Files.exists(dataFile(id))) {
+                        segment = ArchiveSegment.extend(segment, id, file, dataFile(id));
+                    }
+                    if (segment != null) {
+                        loaded.add(segment);
+                    }
+                    nextSegmentId = Math.max(nextSegmentId, id + 1);
+                }
+            }
+        }
+        loaded.sort(Comparator.comparingLong(ArchiveSegment::getId).reversed());
+        return List.copyOf(loaded);
+    }
+
+    private static List<List<OrderTrace>> groupByOrder(List<OrderTrace> orderTraces) {
+        List<List<OrderTrace>> histories = new ArrayList<>();
+        List<OrderTrace> history = null;
+        for (OrderTrace trace : orderTraces) {
+            if (history == null || !Objects.equals(history.get(0).getOrderId(), trace.getOrderId())) {
+                if (history != null && trace.getOrderId() < history.get(0).getOrderId()) {
+                    throw new IllegalArgumentException("Archived traces must be ordered by order id");
+                }
+                history = new ArrayList<>();
+                histories.add(history);
+            }
+            history.add(trace);
+        }
+        return histories;
+    }
+
+    private void startSegment() throws IOException {
+        closeActiveSegment();
+        activeId = nextSegmentId++;
+        // Readable too, so appends can map what they wrote through the same channels
+        activeIndex = FileChannel.open(indexFile(activeId), StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        activeData = FileChannel.open(dataFile(activeId), StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        writeFully(activeIndex, ByteBuffer.allocate(ArchiveSegment.HEADER_BYTES).putLong(ArchiveSegment.MAGIC).flip(), 0);
+        activeIndexSize = ArchiveSegment.HEADER_BYTES;
+        activeDataSize = 0;
+        activeLastOrderId = Long.MIN_VALUE;
+    }
+
+    private void closeActiveSegment() {
+        for (FileChannel channel : new FileChannel[]{activeIndex, activeData}) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    log.warn("Could not close trace archive segment {}", activeId, e);
+                }
+            }
+        }
+        activeIndex = null;
+        activeData = null;
+        activeSegment = null;
+    }
+
+    private void publish(ArchiveSegment segment) {
+        List<ArchiveSegment> published = new ArrayList<>(segments.size() + 1);
+        published.add(segment);
+        segments.stream()
+                .filter(existing -> existing.getId() != segment.getId())
+                .forEach(published::add);
+        segments = List.copyOf(published);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+
+    private Path indexFile(long id) {
+        return directory.resolve(String.format("traces-%010d.idx", id));
+    }
+
+    private Path dataFile(long id) {
+        return directory.resolve(String.format("traces-%010d.seg", id));
+    }
+}
@@ -0,0 +1,187 @@
+package co.com.bancolombia.archive;
+
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Encodes a block of whole order histories as one deflated record: {@code rawLength} followed by the
+ * compressed {@code orderCount, (orderId, traceCount, traces...)*}. Blocks hold several orders because
+ * neighbouring histories share emails and statuses, which is most of what deflate has to work with.
+ * Statuses are stored by name so reordering {@link OrderStatus} cannot corrupt archived segments.
+ */
+final class TraceBlockCodec {
+
+    private static final int LEVEL = Deflater.BEST_COMPRESSION;
+
+    private TraceBlockCodec() {
+    }
+
+    static byte[] encode(List<List<OrderTrace>> histories) throws IOException {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(raw)) {
+            out.writeInt(histories.size());
+            for (List<OrderTrace> history : histories) {
+                out.writeLong(history.get(0).getOrderId());
+                out.writeInt(history.size());
+                for (OrderTrace trace : history) {
+                    writeTrace(out, trace);
+                }
+            }
+        }
+        return deflate(raw.toByteArray());
+    }
+
+    // Null when the block does not hold the order; histories before it are skipped, not materialized
+    static List<OrderTrace> decode(ByteBuffer block, long orderId) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(inflate(block)))) {
+            int orders = in.readInt();
+            for (int i = 0; i < orders; i++) {
+                long blockOrderId = in.readLong();
+                int traces = in.readInt();
+                if (blockOrderId != orderId) {
+                    for (int j = 0; j < traces; j++) {
+                        skipTrace(in);
+                    }
+                    continue;
+                }
+                List<OrderTrace> history = new ArrayList<>(traces);
+                for (int j = 0; j < traces; j++) {
+                    history.add(readTrace(in, blockOrderId));
+                }
+                return history;
+            }
+            return null;
+        }
+    }
+
+    private static void writeTrace(DataOutputStream out, OrderTrace trace) throws IOException {
+        writeNullableLong(out, trace.getId());
+        writeNullableLong(out, trace.getClientId());
+        writeNullableString(out, trace.getClientEmail());
+        writeNullableString(out, trace.getPreviousStatus() != null ? trace.getPreviousStatus().name() : null);
+        writeNullableString(out, trace.getNewStatus() != null ? trace.getNewStatus().name() : null);
+        writeNullableLong(out, trace.getEmployeeId());
+        writeNullableString(out, trace.getEmployeeEmail());
+        out.writeLong(trace.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(trace.getTimestamp().getNano());
+    }
+
+    private static OrderTrace readTrace(DataInputStream in, long orderId) throws IOException {
+        Long id = readNullableLong(in);
+        Long clientId = readNullableLong(in);
+        String clientEmail = readNullableString(in);
+        String previousStatus = readNullableString(in);
+        String newStatus = readNullableString(in);
+        Long employeeId = readNullableLong(in);
+        String employeeEmail = readNullableString(in);
+        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+        return OrderTrace.builder()
+                .id(id)
+                .orderId(orderId)
+                .clientId(clientId)
+                .clientEmail(clientEmail)
+                .previousStatus(previousStatus != null ? OrderStatus.valueOf(previousStatus) : null)
+                .newStatus(newStatus != null ? OrderStatus.valueOf(newStatus) : null)
+                .employeeId(employeeId)
+                .employeeEmail(employeeEmail)
+                .timestamp(timestamp)
+                .build();
+    }
+
+    private static void skipTrace(DataInputStream in) throws IOException {
+        skipNullableLong(in);
+        skipNullableLong(in);
+        for (int field = 0; field < 3; field++) {
+            skipNullableString(in);
+        }
+        skipNullableLong(in);
+        skipNullableString(in);
+        in.skipNBytes(Long.BYTES + Integer.BYTES);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(LEVEL);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 2 + Integer.BYTES);
+            compressed.writeBytes(ByteBuffer.allocate(Integer.BYTES).putInt(raw.length).array());
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                compressed.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return compressed.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(ByteBuffer block) throws IOException {
+        byte[] raw = new byte[block.getInt(0)];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(block.slice(Integer.BYTES, block.remaining() - Integer.BYTES));
+            int inflated = 0;
+            while (inflated < raw.length && !inflater.finished()) {
+                int read = inflater.inflate(raw, inflated, raw.length - inflated);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated archive block");
+                }
+                inflated += read;
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt archive block", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeNullableLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readNullableLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void skipNullableLong(DataInputStream in) throws IOException {
+        if (in.readBoolean()) {
+            in.skipNBytes(Long.BYTES);
+        }
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void skipNullableString(DataInputStream in) throws IOException {
+        if (in.readBoolean()) {
+            in.skipNBytes(in.readUnsignedShort());
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package co.com.bancolombia.archive;
+
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentTraceArchiveTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 1, 12, 0, 0, 123_000_000);
+
+    @TempDir
+    Path directory;
+
+    private SegmentTraceArchive archive;
+
+    @BeforeEach
+    void setUp() {
+        archive = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        archive.close();
+    }
+
+    @Test
+    void findByOrderId_ShouldReturnArchivedHistoryAcrossBlocks() {
+        // Arrange
+        archive.append(histories(1, 10));
+
+        // Act
+        List<OrderTrace> history = archive.findByOrderId(7L);
+
+        // Assert
+        assertEquals(3, history.size());
+        OrderTrace delivered = history.get(2);
+        assertEquals(7L, delivered.getOrderId());
+        assertEquals(72L, delivered.getId());
+        assertEquals(OrderStatus.READY, delivered.getPreviousStatus());
+        assertEquals(OrderStatus.DELIVERED, delivered.getNewStatus());
+        assertEquals("client7@mail.com", delivered.getClientEmail());
+        assertEquals(START.plusMinutes(2), delivered.getTimestamp());
+        assertNull(history.get(0).getPreviousStatus());
+        assertNull(history.get(0).getEmployeeId());
+    }
+
+    @Test
+    void findByOrderId_WhenOrderIsNotArchived_ShouldReturnEmpty() {
+        // Arrange
+        archive.append(histories(1, 5));
+
+        // Act & Assert
+        assertTrue(archive.findByOrderId(0L).isEmpty());
+        assertTrue(archive.findByOrderId(6L).isEmpty());
+    }
+
+    @Test
+    void findByOrderIdAfter_ShouldPageFromCursor() {
+        // Arrange
+        archive.append(histories(1, 1));
+
+        // Act
+        List<OrderTrace> page = archive.findByOrderIdAfter(1L, START, 10L, 1);
+
+        // Assert
+        assertEquals(List.of(11L), page.stream().map(OrderTrace::getId).toList());
+    }
+
+    @Test
+    void append_ShouldKeepServingEarlierAppendsToTheActiveSegment() {
+        // Arrange
+        for (long from = 1; from <= 25; from += 5) {
+            archive.append(histories(from, from + 4));
+        }
+
+        // Act & Assert
+        assertEquals(1, archive.getSegmentCount());
+        for (long orderId = 1; orderId <= 25; orderId++) {
+            assertEquals(3, archive.findByOrderId(orderId).size(), "order " + orderId);
+        }
+        assertTrue(archive.findByOrderId(26L).isEmpty());
+    }
+
+    @Test
+    void findByOrderId_ShouldPickUpAppendsToASegmentAnotherNodeIsWriting() {
+        // Arrange
+        SegmentTraceArchive reader = new SegmentTraceArchive(directory.toString(), 4, DataSize.ofMegabytes(1),
+                Duration.ZERO);
+        archive.append(histories(1, 5));
+        assertEquals(3, reader.findByOrderId(5L).size());
+
+        // Act
+        archive.append(histories(6, 10));
+
+        // Assert
+        assertEquals(3, reader.findByOrderId(2L).size());
+        assertEquals(3, reader.findByOrderId(10L).size());
+        reader.close();
+    }
+
+    @Test
+    void append_WhenRunStartsOverFromLowerOrderIds_ShouldStartSegmentAndServeLatestCopy() {
+        // Arrange
+        archive.append(histories(1, 5));
+        List<OrderTrace> again = histories(3, 3);
+        again.forEach(trace -> trace.setEmployeeEmail("rearchived@mail.com"));
+
+        // Act
+        archive.append(again);
+
+        // Assert
+        assertEquals(2, archive.getSegmentCount());
+        assertEquals("rearchived@mail.com", archive.findByOrderId(3L).get(0).getEmployeeEmail());
+        assertEquals(3, archive.findByOrderId(5L).size());
+    }
+
+    @Test
+    void open_ShouldServeSegmentsWrittenBeforeRestart() {
+        // Arrange
+        archive.append(histories(1, 5));
+        archive.close();
+
+        // Act
+        archive = open();
+        archive.append(histories(6, 8));
+
+        // Assert
+        assertEquals(2, archive.getSegmentCount());
+        assertEquals(3, archive.findByOrderId(2L).size());
+        assertEquals(3, archive.findByOrderId(8L).size());
+    }
+
+    @Test
+    void open_ShouldIgnoreTornIndexTail() throws IOException {
+        // Arrange
+        archive.append(histories(1, 5));
+        archive.close();
+        Path index;
+        try (var files = Files.list(directory)) {
+            index = files.filter(file -> file.toString().endsWith(".idx")).findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(index, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        // Act
+        archive = open();
+
+        // Assert
+        assertEquals(3, archive.findByOrderId(4L).size());
+        assertTrue(archive.findByOrderId(5L).isEmpty());
+    }
+
+    @Test
+    void findByOrderId_ShouldPickUpSegmentsWrittenByAnotherNode() {
+        // Arrange
+        SegmentTraceArchive reader = new SegmentTraceArchive(directory.toString(), 4, DataSize.ofMegabytes(1),
+                Duration.ZERO);
+
+        // Act
+        archive.append(histories(1, 5));
+
+        // Assert
+        assertEquals(3, reader.findByOrderId(5L).size());
+        reader.close();
+    }
+
+    private SegmentTraceArchive open() {
+        return new SegmentTraceArchive(directory.toString(), 4, DataSize.ofMegabytes(1), Duration.ofHours(1));
+    }
+
+    // PENDING -> READY -> DELIVERED for each order, ids orderId * 10 + step
+    private static List<OrderTrace> histories(long fromOrderId, long toOrderId) {
+        List<OrderTrace> traces = new ArrayList<>();
+        for (long orderId = fromOrderId; orderId <= toOrderId; orderId++) {
+            OrderStatus previous = null;
+            OrderStatus[] statuses = {OrderStatus.PENDING, OrderStatus.READY, OrderStatus.DELIVERED};
+            for (int step = 0; step < statuses.length; step++) {
+                traces.add(OrderTrace.builder()
+                        .id(orderId * 10 + step)
+                        .orderId(orderId)
+                        .clientId(orderId + 100)
+                        .clientEmail("client" + orderId + "@mail.com")
+                        .previousStatus(previous)
+                        .newStatus(statuses[step])
+                        .employeeId(step == 0 ? null : 9L)
+                        .employeeEmail(step == 0 ? null : "employee@mail.com")
+                        .timestamp(START.plusMinutes(step))
+                        .build());
+                previous = statuses[step];
+            }
+        }
+        return traces;
+    }
+}
@@ -0,0 +1,22 @@
+package co.com.bancolombia.publisher;
+
+import co.com.bancolombia.model.tracechange.TraceChange;
+import co.com.bancolombia.model.tracechange.gateways.TraceChangePublisher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Local stand-in until a broker adapter is wired: consumers can already pull the same feed from /changes
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "traceability.changes.publisher", havingValue = "log", matchIfMissing = true)
+public class LoggingTraceChangePublisher implements TraceChangePublisher {
+
+    @Override
+    public void publish(List<TraceChange> changes) {
+        changes.forEach(change -> log.info("Trace change {}: order {} -> {}", change.getSequence(),
+                change.getOrderTrace().getOrderId(), change.getOrderTrace().getNewStatus()));
+    }
+}
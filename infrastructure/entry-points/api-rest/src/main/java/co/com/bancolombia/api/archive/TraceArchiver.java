@@ -0,0 +1,106 @@
+package co.com.bancolombia.api.archive;
+
+import co.com.bancolombia.usecase.tracearchive.TraceArchiveService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every {@code interval}, moves orders closed for longer than {@code older-than} out of the database into the
+ * trace archive, one chunk per transaction. A run stops between chunks on shutdown and the next one picks up
+ * where the database left off. Off by default: enable it on one node only.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "traceability.archive.enabled", havingValue = "true")
+public class TraceArchiver implements SmartLifecycle {
+
+    private static final String METRIC_PREFIX = "trace.archive.";
+
+    private final TraceArchiveService traceArchiveService;
+    private final Duration olderThan;
+    private final int chunkSize;
+    private final Duration interval;
+    private final Counter archivedOrders;
+    private final Timer runLatency;
+
+    private volatile boolean running;
+    private ScheduledExecutorService archiver;
+
+    public TraceArchiver(TraceArchiveService traceArchiveService,
+                         MeterRegistry meterRegistry,
+                         @Value("${traceability.archive.older-than:180d}") Duration olderThan,
+                         @Value("${traceability.archive.chunk-size:500}") int chunkSize,
+                         @Value("${traceability.archive.interval:6h}") Duration interval) {
+        this.traceArchiveService = traceArchiveService;
+        this.olderThan = olderThan;
+        this.chunkSize = chunkSize;
+        this.interval = interval;
+        this.archivedOrders = Counter.builder(METRIC_PREFIX + "orders")
+                .description("Closed orders moved from the database to the trace archive")
+                .register(meterRegistry);
+        this.runLatency = Timer.builder(METRIC_PREFIX + "run")
+                .description("Time spent archiving closed orders")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        archiver = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "trace-archiver"));
+        archiver.scheduleWithFixedDelay(this::archiveClosedOrders, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        archiver.shutdown();
+        try {
+            // At most the chunk in flight: it is not interrupted, so its delete is never cut off halfway
+            archiver.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    void archiveClosedOrders() {
+        long start = System.nanoTime();
+        LocalDateTime cutoff = LocalDateTime.now().minus(olderThan);
+        long archived = 0;
+        try {
+            Long afterOrderId = 0L;
+            List<Long> orderIds;
+            do {
+                orderIds = traceArchiveService.archiveClosedOrders(cutoff, afterOrderId, chunkSize);
+                archivedOrders.increment(orderIds.size());
+                archived += orderIds.size();
+                if (!orderIds.isEmpty()) {
+                    afterOrderId = orderIds.get(orderIds.size() - 1);
+                }
+            } while (running && orderIds.size() == chunkSize);
+            log.info("Archived {} orders closed before {}", archived, cutoff);
+        } catch (RuntimeException e) {
+            log.warn("Archiving closed orders failed after {} orders, retrying in {}", archived, interval, e);
+        } finally {
+            runLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package co.com.bancolombia.api.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Boot only wires virtual threads into Tomcat and Jetty; Undertow needs the servlet executor replaced by hand.
+// Blocking work is then bounded by the Hikari pool instead of the XNIO worker count.
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class UndertowVirtualThreadsConfig {
+
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> undertowVirtualThreadsCustomizer() {
+        return factory -> factory.addDeploymentInfoCustomizers(deploymentInfo -> {
+            ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("undertow-virtual-", 0).factory());
+            deploymentInfo.setExecutor(executor);
+            deploymentInfo.setAsyncExecutor(executor);
+        });
+    }
+}
@@ -1,5 +1,6 @@
 package co.com.bancolombia.api.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -8,7 +9,14 @@ import lombok.Getter;
 public class ApiResponseData<T> {
     private final T data;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final String nextCursor;
+
     public static <T> ApiResponseData<T> of(T data) {
-        return new ApiResponseData<>(data);
+        return new ApiResponseData<>(data, null);
+    }
+
+    public static <T> ApiResponseData<T> of(T data, String nextCursor) {
+        return new ApiResponseData<>(data, nextCursor);
     }
 }
@@ -0,0 +1,16 @@
+package co.com.bancolombia.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DurationBucketResponse {
+    private Long fromMinutes;
+    private Long toMinutes;
+    private Long count;
+}
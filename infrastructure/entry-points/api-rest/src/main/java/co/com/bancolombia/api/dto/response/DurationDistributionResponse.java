@@ -0,0 +1,24 @@
+package co.com.bancolombia.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DurationDistributionResponse {
+    private Long employeeId;
+    private Long processedOrders;
+    private Long minDurationInMinutes;
+    private Long maxDurationInMinutes;
+    private Double averageDurationInMinutes;
+    private Long p50DurationInMinutes;
+    private Long p90DurationInMinutes;
+    private Long p99DurationInMinutes;
+    private List<DurationBucketResponse> histogram;
+}
@@ -0,0 +1,20 @@
+package co.com.bancolombia.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EfficiencyConsistencyResponse {
+    private Long checkedOrders;
+    private boolean consistent;
+    private List<Long> inconsistentOrderIds;
+    private Long checkedEmployees;
+    private List<Long> inconsistentEmployeeIds;
+}
@@ -0,0 +1,14 @@
+package co.com.bancolombia.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EfficiencyRebuildResponse {
+    private Long rebuiltOrders;
+}
@@ -0,0 +1,27 @@
+package co.com.bancolombia.api.helper;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public final class IdempotencyKeys {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    // Leaves room for the prefix within the 255-character key column
+    private static final int MAX_LENGTH = 200;
+
+    private IdempotencyKeys() {
+    }
+
+    // Null when absent: the trace then falls back to its natural key (order and transition)
+    public static String of(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        if (header.length() > MAX_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    HEADER + " must be at most " + MAX_LENGTH + " characters");
+        }
+        return header;
+    }
+}
@@ -0,0 +1,99 @@
+package co.com.bancolombia.api.helper;
+
+import co.com.bancolombia.model.efficiency.EmployeeEfficiency;
+import co.com.bancolombia.model.efficiency.RankingCursor;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+public final class PageCursors {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private static final String SEPARATOR = "|";
+
+    private PageCursors() {
+    }
+
+    public static int normalizeLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    public static String encodeTraceCursor(OrderTrace lastTrace) {
+        return encode(lastTrace.getTimestamp() + SEPARATOR + lastTrace.getId());
+    }
+
+    public static TraceCursor decodeTraceCursor(String cursor) {
+        String value = decode(cursor);
+        int separatorIndex = value.lastIndexOf(SEPARATOR);
+        if (separatorIndex < 0) {
+            throw invalidCursor();
+        }
+        try {
+            return new TraceCursor(LocalDateTime.parse(value.substring(0, separatorIndex)),
+                    Long.parseLong(value.substring(separatorIndex + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw invalidCursor();
+        }
+    }
+
+    public static String encodeOrderCursor(Long lastOrderId) {
+        return encode(String.valueOf(lastOrderId));
+    }
+
+    public static Long decodeOrderCursor(String cursor) {
+        try {
+            return Long.parseLong(decode(cursor));
+        } catch (NumberFormatException e) {
+            throw invalidCursor();
+        }
+    }
+
+    public static String encodeRankingCursor(EmployeeEfficiency last) {
+        return encode(last.getTotalDurationInMinutes() + SEPARATOR + last.getProcessedOrders()
+                + SEPARATOR + last.getEmployeeId());
+    }
+
+    public static RankingCursor decodeRankingCursor(String cursor) {
+        String[] parts = decode(cursor).split(Pattern.quote(SEPARATOR));
+        if (parts.length != 3) {
+            throw invalidCursor();
+        }
+        try {
+            RankingCursor rankingCursor = new RankingCursor(Long.parseLong(parts[2]), Long.parseLong(parts[0]),
+                    Long.parseLong(parts[1]));
+            if (rankingCursor.getProcessedOrders() <= 0) {
+                throw invalidCursor();
+            }
+            return rankingCursor;
+        } catch (NumberFormatException e) {
+            throw invalidCursor();
+        }
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor();
+        }
+    }
+
+    private static ResponseStatusException invalidCursor() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid pagination cursor");
+    }
+
+    public record TraceCursor(LocalDateTime timestamp, Long id) {
+    }
+}
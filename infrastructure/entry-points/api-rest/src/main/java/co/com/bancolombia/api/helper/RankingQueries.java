@@ -0,0 +1,34 @@
+package co.com.bancolombia.api.helper;
+
+import co.com.bancolombia.model.efficiency.EmployeeRankingQuery;
+import co.com.bancolombia.model.efficiency.RankingOrder;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Locale;
+
+public final class RankingQueries {
+
+    private RankingQueries() {
+    }
+
+    public static EmployeeRankingQuery of(int limit, String order, long minProcessedOrders, String after) {
+        return EmployeeRankingQuery.builder()
+                .order(parseOrder(order))
+                .limit(PageCursors.normalizeLimit(limit))
+                .minProcessedOrders(Math.max(1, minProcessedOrders))
+                .after(after != null ? PageCursors.decodeRankingCursor(after) : null)
+                .build();
+    }
+
+    private static RankingOrder parseOrder(String order) {
+        if (order == null) {
+            return RankingOrder.FASTEST;
+        }
+        try {
+            return RankingOrder.valueOf(order.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid order, expected fastest or slowest");
+        }
+    }
+}
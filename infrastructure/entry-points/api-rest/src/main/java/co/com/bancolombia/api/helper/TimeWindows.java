@@ -0,0 +1,20 @@
+package co.com.bancolombia.api.helper;
+
+import co.com.bancolombia.model.efficiency.TimeWindow;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+
+public final class TimeWindows {
+
+    private TimeWindows() {
+    }
+
+    public static TimeWindow of(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'from' must be before 'to'");
+        }
+        return TimeWindow.between(from, to);
+    }
+}
@@ -0,0 +1,22 @@
+package co.com.bancolombia.api.ingestion;
+
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.usecase.ordertraceability.OrderTraceabilityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "traceability.ingestion.mode", havingValue = "direct", matchIfMissing = true)
+public class DirectTraceIngestion implements TraceIngestion {
+
+    private final OrderTraceabilityService orderTraceabilityService;
+
+    @Override
+    public CompletableFuture<OrderTrace> submit(OrderTrace orderTrace) {
+        return CompletableFuture.completedFuture(orderTraceabilityService.createTrace(orderTrace));
+    }
+}
@@ -0,0 +1,229 @@
+package co.com.bancolombia.api.ingestion;
+
+import co.com.bancolombia.model.ordertrace.InvalidStatusTransitionException;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.usecase.ordertraceability.OrderTraceabilityService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind ingestion: traces are queued and committed in groups, one transaction per flush.
+ * A flush happens once {@code max-batch-size} traces are waiting or {@code flush-interval} has
+ * elapsed since the first one, whichever comes first.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "traceability.ingestion.mode", havingValue = "group-commit")
+public class GroupCommitTraceIngestion implements TraceIngestion, SmartLifecycle {
+
+    private static final String METRIC_PREFIX = "trace.ingestion.";
+
+    private final OrderTraceabilityService orderTraceabilityService;
+    private final BlockingQueue<PendingTrace> queue;
+    private final int maxBatchSize;
+    private final Duration flushInterval;
+    private final Duration offerTimeout;
+    private final Duration shutdownTimeout;
+
+    private final DistributionSummary flushSize;
+    private final Timer flushLatency;
+    private final Counter rejected;
+
+    // Submitters hold the read lock while they check running and offer, so once stop() has taken the write
+    // lock and cleared running nothing more can reach the queue
+    private final ReadWriteLock admission = new ReentrantReadWriteLock();
+    private volatile boolean running;
+    private Thread flusher;
+
+    public GroupCommitTraceIngestion(OrderTraceabilityService orderTraceabilityService,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${traceability.ingestion.capacity:10000}") int capacity,
+                                     @Value("${traceability.ingestion.max-batch-size:200}") int maxBatchSize,
+                                     @Value("${traceability.ingestion.flush-interval:20ms}") Duration flushInterval,
+                                     @Value("${traceability.ingestion.offer-timeout:50ms}") Duration offerTimeout,
+                                     @Value("${traceability.ingestion.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        this.orderTraceabilityService = orderTraceabilityService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatchSize = maxBatchSize;
+        this.flushInterval = flushInterval;
+        this.offerTimeout = offerTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+
+        Gauge.builder(METRIC_PREFIX + "queue.depth", queue, BlockingQueue::size)
+                .description("Traces waiting to be committed")
+                .register(meterRegistry);
+        this.flushSize = DistributionSummary.builder(METRIC_PREFIX + "flush.size")
+                .description("Traces committed per flush")
+                .register(meterRegistry);
+        this.flushLatency = Timer.builder(METRIC_PREFIX + "flush.latency")
+                .description("Time spent committing one flush")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder(METRIC_PREFIX + "rejected")
+                .description("Traces rejected because the buffer was full or stopping")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<OrderTrace> submit(OrderTrace orderTrace) {
+        PendingTrace pending = new PendingTrace(orderTrace, new CompletableFuture<>());
+        boolean accepted = false;
+
+        admission.readLock().lock();
+        try {
+            if (running) {
+                accepted = queue.offer(pending, offerTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            admission.readLock().unlock();
+        }
+
+        if (!accepted) {
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Trace ingestion buffer is full");
+        }
+        return pending.result();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = new Thread(this::runFlusher, "trace-ingestion-flusher");
+        flusher.start();
+    }
+
+    /**
+     * Waits up to {@code shutdown-timeout} for the flusher to commit everything accepted before the call.
+     * Past that the flusher is interrupted and waited for; it fails whatever is still queued with a 503
+     * once its current flush has returned. Nothing is committed from here, so no two flushes overlap.
+     */
+    @Override
+    public void stop() {
+        admission.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            admission.writeLock().unlock();
+        }
+        try {
+            flusher.join(shutdownTimeout.toMillis());
+            if (flusher.isAlive()) {
+                log.warn("Trace ingestion did not drain within {}, abandoning {} queued traces",
+                        shutdownTimeout, queue.size());
+                flusher.interrupt();
+                flusher.join();
+            }
+        } catch (InterruptedException e) {
+            flusher.interrupt();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Stop after the web server so in-flight requests can still be flushed
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void runFlusher() {
+        List<PendingTrace> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                collectBatch(batch);
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                    batch.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // Only stop() interrupts, after closing admission: the queue can no longer grow
+            queue.drainTo(batch);
+            ResponseStatusException unavailable = new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Trace ingestion stopped before the trace was committed");
+            batch.forEach(pending -> pending.result().completeExceptionally(unavailable));
+        }
+    }
+
+    private void collectBatch(List<PendingTrace> batch) throws InterruptedException {
+        PendingTrace first = queue.poll(flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + flushInterval.toNanos();
+        while (batch.size() < maxBatchSize) {
+            if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !running) {
+                return;
+            }
+            PendingTrace next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingTrace> batch) {
+        List<OrderTrace> traces = batch.stream().map(PendingTrace::orderTrace).toList();
+        long start = System.nanoTime();
+        try {
+            List<OrderTrace> saved = orderTraceabilityService.createTraces(traces);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(saved.get(i));
+            }
+        } catch (InvalidStatusTransitionException e) {
+            // One rejected transition fails the whole group; only its own request should get the 409
+            batch.forEach(this::commitAlone);
+        } catch (RuntimeException e) {
+            log.error("Failed to commit a group of {} traces", batch.size(), e);
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+        } finally {
+            flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            flushSize.record(batch.size());
+        }
+    }
+
+    private void commitAlone(PendingTrace pending) {
+        try {
+            pending.result().complete(orderTraceabilityService.createTrace(pending.orderTrace()));
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    private record PendingTrace(OrderTrace orderTrace, CompletableFuture<OrderTrace> result) {
+    }
+}
@@ -0,0 +1,9 @@
+package co.com.bancolombia.api.ingestion;
+
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface TraceIngestion {
+    CompletableFuture<OrderTrace> submit(OrderTrace orderTrace);
+}
@@ -0,0 +1,30 @@
+package co.com.bancolombia.api.ingestion;
+
+import co.com.bancolombia.model.ordertrace.InvalidStatusTransitionException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+// Shared by the servlet and reactive entry points: counts a rejected transition and turns it into a 409
+@Component
+@RequiredArgsConstructor
+public class TransitionRejections {
+
+    private static final String REJECTED_METRIC = "trace.transitions.rejected";
+
+    private final MeterRegistry meterRegistry;
+
+    public ResponseStatusException conflict(InvalidStatusTransitionException rejection) {
+        // Both tags are order statuses, so the number of series stays bounded
+        Counter.builder(REJECTED_METRIC)
+                .description("Traces rejected because the order cannot make that status transition")
+                .tag("from", String.valueOf(rejection.getPreviousStatus()))
+                .tag("to", String.valueOf(rejection.getNewStatus()))
+                .register(meterRegistry)
+                .increment();
+        return new ResponseStatusException(HttpStatus.CONFLICT, rejection.getMessage(), rejection);
+    }
+}
@@ -1,7 +1,11 @@
 package co.com.bancolombia.api.mapper.dto;
 
+import co.com.bancolombia.api.dto.response.DurationDistributionResponse;
+import co.com.bancolombia.api.dto.response.EfficiencyConsistencyResponse;
 import co.com.bancolombia.api.dto.response.EmployeeEfficiencyResponse;
 import co.com.bancolombia.api.dto.response.OrderEfficiencyResponse;
+import co.com.bancolombia.model.efficiency.DurationDistribution;
+import co.com.bancolombia.model.efficiency.EfficiencyConsistencyReport;
 import co.com.bancolombia.model.efficiency.EmployeeEfficiency;
 import co.com.bancolombia.model.efficiency.OrderEfficiency;
 import org.mapstruct.Mapper;
@@ -10,4 +14,6 @@ import org.mapstruct.Mapper;
 public interface EfficiencyMapper {
     OrderEfficiencyResponse toOrderEfficiencyResponse(OrderEfficiency efficiency);
     EmployeeEfficiencyResponse toEmployeeEfficiencyResponse(EmployeeEfficiency efficiency);
-}
\ No newline at end of file
+    EfficiencyConsistencyResponse toConsistencyResponse(EfficiencyConsistencyReport report);
+    DurationDistributionResponse toDistributionResponse(DurationDistribution distribution);
+}
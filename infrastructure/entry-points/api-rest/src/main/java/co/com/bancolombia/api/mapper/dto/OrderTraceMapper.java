@@ -2,16 +2,26 @@ package co.com.bancolombia.api.mapper.dto;
 
 import co.com.bancolombia.api.dto.request.OrderTraceRequest;
 import co.com.bancolombia.api.dto.response.OrderTraceResponse;
+import co.com.bancolombia.api.dto.response.TraceChangeResponse;
 import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.model.tracechange.TraceChange;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.util.List;
+
 @Mapper(componentModel = "spring")
 public interface OrderTraceMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "timestamp", ignore = true)
+    @Mapping(target = "idempotencyKey", ignore = true)
     OrderTrace toModel(OrderTraceRequest dto);
 
+    List<OrderTrace> toModels(List<OrderTraceRequest> dtos);
+
     OrderTraceResponse toResponseDto(OrderTrace orderTrace);
+
+    @Mapping(target = "trace", source = "orderTrace")
+    TraceChangeResponse toChangeResponse(TraceChange change);
 }
@@ -0,0 +1,87 @@
+package co.com.bancolombia.api.relay;
+
+import co.com.bancolombia.usecase.tracechange.TraceChangeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the outbox and hands pending changes to the configured publisher in batches. Full batches are
+ * relayed back to back; otherwise the relay sleeps for {@code poll-interval}. A failed batch stays
+ * pending and is retried on the next poll.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "traceability.changes.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class TraceChangeRelay implements SmartLifecycle {
+
+    private final TraceChangeService traceChangeService;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Counter relayed;
+    private final Counter failures;
+
+    private volatile boolean running;
+    private ScheduledExecutorService poller;
+
+    public TraceChangeRelay(TraceChangeService traceChangeService,
+                            MeterRegistry meterRegistry,
+                            @Value("${traceability.changes.relay.batch-size:200}") int batchSize,
+                            @Value("${traceability.changes.relay.poll-interval:500ms}") Duration pollInterval) {
+        this.traceChangeService = traceChangeService;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.relayed = Counter.builder("trace.changes.relayed")
+                .description("Outbox changes handed to the publisher")
+                .register(meterRegistry);
+        this.failures = Counter.builder("trace.changes.relay.failures")
+                .description("Relay batches that failed and stayed pending")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "trace-change-relay"));
+        poller.scheduleWithFixedDelay(this::relayPending, pollInterval.toMillis(), pollInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        poller.shutdown();
+        try {
+            poller.awaitTermination(pollInterval.toMillis() * 2, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    void relayPending() {
+        try {
+            int published;
+            do {
+                published = traceChangeService.relayPendingChanges(batchSize);
+                relayed.increment(published);
+            } while (running && published == batchSize);
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Relaying trace changes failed, retrying in {}", pollInterval, e);
+        }
+    }
+}
@@ -1,19 +1,28 @@
 package co.com.bancolombia.api.rest;
 
 import co.com.bancolombia.api.dto.response.ApiResponseData;
+import co.com.bancolombia.api.dto.response.DurationDistributionResponse;
 import co.com.bancolombia.api.dto.response.EmployeeEfficiencyResponse;
 import co.com.bancolombia.api.dto.response.OrderEfficiencyResponse;
+import co.com.bancolombia.api.helper.PageCursors;
+import co.com.bancolombia.api.helper.RankingQueries;
+import co.com.bancolombia.api.helper.TimeWindows;
 import co.com.bancolombia.api.mapper.dto.EfficiencyMapper;
 import co.com.bancolombia.model.efficiency.EmployeeEfficiency;
 import co.com.bancolombia.model.efficiency.OrderEfficiency;
+import co.com.bancolombia.model.pagination.KeysetPage;
 import co.com.bancolombia.usecase.efficiency.OrderEfficiencyService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/orders/efficiency")
 @RequiredArgsConstructor
 public class EfficiencyApiRest {
@@ -22,42 +31,93 @@ public class EfficiencyApiRest {
     private final EfficiencyMapper efficiencyMapper;
 
     @GetMapping
-    public ResponseEntity<ApiResponseData<List<OrderEfficiencyResponse>>> getAllOrdersEfficiency() {
-        List<OrderEfficiency> efficiencies = orderEfficiencyService.getAllOrdersEfficiency();
-        List<OrderEfficiencyResponse> response = efficiencies.stream()
+    public ResponseEntity<ApiResponseData<List<OrderEfficiencyResponse>>> getAllOrdersEfficiency(
+            @RequestParam(value = "limit", defaultValue = "" + PageCursors.DEFAULT_LIMIT) int limit,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        Long afterOrderId = after != null ? PageCursors.decodeOrderCursor(after) : null;
+        KeysetPage<OrderEfficiency> page = orderEfficiencyService.getOrdersEfficiencyPage(afterOrderId,
+                PageCursors.normalizeLimit(limit), TimeWindows.of(from, to));
+
+        List<OrderEfficiencyResponse> response = page.getItems().stream()
                 .map(efficiencyMapper::toOrderEfficiencyResponse)
                 .toList();
+        String nextCursor = page.isHasMore()
+                ? PageCursors.encodeOrderCursor(page.getItems().get(page.getItems().size() - 1).getOrderId())
+                : null;
+
+        return ResponseEntity.ok(ApiResponseData.of(response, nextCursor));
+    }
+
+    @GetMapping("/distribution")
+    public ResponseEntity<ApiResponseData<DurationDistributionResponse>> getDurationDistribution(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        DurationDistributionResponse response = efficiencyMapper.toDistributionResponse(
+                orderEfficiencyService.getDurationDistribution(TimeWindows.of(from, to)));
 
         return ResponseEntity.ok(ApiResponseData.of(response));
     }
 
     @GetMapping("/{orderId}")
     public ResponseEntity<ApiResponseData<OrderEfficiencyResponse>> getOrderEfficiency(
-            @PathVariable("orderId") Long orderId) {
+            @PathVariable("orderId") Long orderId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
 
-        OrderEfficiency efficiency = orderEfficiencyService.getOrderEfficiency(orderId);
+        OrderEfficiency efficiency = orderEfficiencyService.getOrderEfficiency(orderId, TimeWindows.of(from, to));
         OrderEfficiencyResponse response = efficiencyMapper.toOrderEfficiencyResponse(efficiency);
 
         return ResponseEntity.ok(ApiResponseData.of(response));
     }
 
     @GetMapping("/employees/ranking")
-    public ResponseEntity<ApiResponseData<List<EmployeeEfficiencyResponse>>> getEmployeesEfficiencyRanking() {
-        List<EmployeeEfficiency> efficiencies = orderEfficiencyService.getEmployeesEfficiencyRanking();
-        List<EmployeeEfficiencyResponse> response = efficiencies.stream()
+    public ResponseEntity<ApiResponseData<List<EmployeeEfficiencyResponse>>> getEmployeesEfficiencyRanking(
+            @RequestParam(value = "limit", defaultValue = "" + PageCursors.DEFAULT_LIMIT) int limit,
+            @RequestParam(value = "order", required = false) String order,
+            @RequestParam(value = "minProcessedOrders", defaultValue = "1") long minProcessedOrders,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        KeysetPage<EmployeeEfficiency> page = orderEfficiencyService.getEmployeesEfficiencyRanking(
+                RankingQueries.of(limit, order, minProcessedOrders, after), TimeWindows.of(from, to));
+
+        List<EmployeeEfficiencyResponse> response = page.getItems().stream()
                 .map(efficiencyMapper::toEmployeeEfficiencyResponse)
                 .toList();
+        String nextCursor = page.isHasMore()
+                ? PageCursors.encodeRankingCursor(page.getItems().get(page.getItems().size() - 1))
+                : null;
 
-        return ResponseEntity.ok(ApiResponseData.of(response));
+        return ResponseEntity.ok(ApiResponseData.of(response, nextCursor));
     }
 
     @GetMapping("/employees/{employeeId}")
     public ResponseEntity<ApiResponseData<EmployeeEfficiencyResponse>> getEmployeeEfficiency(
-            @PathVariable("employeeId") Long employeeId) {
+            @PathVariable("employeeId") Long employeeId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
 
-        EmployeeEfficiency efficiency = orderEfficiencyService.getEmployeeEfficiency(employeeId);
+        EmployeeEfficiency efficiency = orderEfficiencyService.getEmployeeEfficiency(employeeId,
+                TimeWindows.of(from, to));
         EmployeeEfficiencyResponse response = efficiencyMapper.toEmployeeEfficiencyResponse(efficiency);
 
         return ResponseEntity.ok(ApiResponseData.of(response));
     }
-}
\ No newline at end of file
+
+    @GetMapping("/employees/{employeeId}/distribution")
+    public ResponseEntity<ApiResponseData<DurationDistributionResponse>> getEmployeeDurationDistribution(
+            @PathVariable("employeeId") Long employeeId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        DurationDistributionResponse response = efficiencyMapper.toDistributionResponse(
+                orderEfficiencyService.getEmployeeDurationDistribution(employeeId, TimeWindows.of(from, to)));
+
+        return ResponseEntity.ok(ApiResponseData.of(response));
+    }
+}
@@ -0,0 +1,64 @@
+package co.com.bancolombia.api.rest;
+
+import co.com.bancolombia.api.dto.response.ApiResponseData;
+import co.com.bancolombia.api.dto.response.EfficiencyConsistencyResponse;
+import co.com.bancolombia.api.dto.response.EfficiencyRebuildResponse;
+import co.com.bancolombia.api.dto.response.EmployeeEfficiencyResponse;
+import co.com.bancolombia.api.helper.PageCursors;
+import co.com.bancolombia.api.helper.RankingQueries;
+import co.com.bancolombia.api.mapper.dto.EfficiencyMapper;
+import co.com.bancolombia.model.efficiency.EfficiencyConsistencyReport;
+import co.com.bancolombia.model.efficiency.EmployeeEfficiency;
+import co.com.bancolombia.model.pagination.KeysetPage;
+import co.com.bancolombia.usecase.efficiency.OrderEfficiencyMaintenanceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/orders/efficiency/maintenance")
+@RequiredArgsConstructor
+public class EfficiencyMaintenanceApiRest {
+
+    private final OrderEfficiencyMaintenanceService orderEfficiencyMaintenanceService;
+    private final EfficiencyMapper efficiencyMapper;
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<ApiResponseData<EfficiencyRebuildResponse>> rebuildSummaries() {
+        long rebuiltOrders = orderEfficiencyMaintenanceService.rebuildSummaries();
+
+        return ResponseEntity.ok(ApiResponseData.of(new EfficiencyRebuildResponse(rebuiltOrders)));
+    }
+
+    @GetMapping("/consistency")
+    public ResponseEntity<ApiResponseData<EfficiencyConsistencyResponse>> checkConsistency() {
+        EfficiencyConsistencyReport report = orderEfficiencyMaintenanceService.checkConsistency();
+        EfficiencyConsistencyResponse response = efficiencyMapper.toConsistencyResponse(report);
+
+        return ResponseEntity.ok(ApiResponseData.of(response));
+    }
+
+    @GetMapping("/ranking")
+    public ResponseEntity<ApiResponseData<List<EmployeeEfficiencyResponse>>> rankEmployeesFromTraces(
+            @RequestParam(value = "limit", defaultValue = "" + PageCursors.DEFAULT_LIMIT) int limit,
+            @RequestParam(value = "order", required = false) String order,
+            @RequestParam(value = "minProcessedOrders", defaultValue = "1") long minProcessedOrders,
+            @RequestParam(value = "after", required = false) String after) {
+
+        KeysetPage<EmployeeEfficiency> page = orderEfficiencyMaintenanceService.rankEmployeesFromTraces(
+                RankingQueries.of(limit, order, minProcessedOrders, after));
+
+        List<EmployeeEfficiencyResponse> response = page.getItems().stream()
+                .map(efficiencyMapper::toEmployeeEfficiencyResponse)
+                .toList();
+        String nextCursor = page.isHasMore()
+                ? PageCursors.encodeRankingCursor(page.getItems().get(page.getItems().size() - 1))
+                : null;
+
+        return ResponseEntity.ok(ApiResponseData.of(response, nextCursor));
+    }
+}
@@ -3,45 +3,148 @@ package co.com.bancolombia.api.rest;
 import co.com.bancolombia.api.dto.request.OrderTraceRequest;
 import co.com.bancolombia.api.dto.response.ApiResponseData;
 import co.com.bancolombia.api.dto.response.OrderTraceResponse;
+import co.com.bancolombia.api.dto.response.TraceChangeResponse;
+import co.com.bancolombia.api.helper.IdempotencyKeys;
+import co.com.bancolombia.api.helper.PageCursors;
+import co.com.bancolombia.api.ingestion.TraceIngestion;
+import co.com.bancolombia.api.ingestion.TransitionRejections;
 import co.com.bancolombia.api.mapper.dto.OrderTraceMapper;
+import co.com.bancolombia.api.stream.OrderTraceStreamHub;
+import co.com.bancolombia.api.stream.SseTraceStreamSink;
+import co.com.bancolombia.api.stream.TraceStreamSubscription;
+import co.com.bancolombia.model.ordertrace.InvalidStatusTransitionException;
 import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.model.pagination.KeysetPage;
+import co.com.bancolombia.model.tracechange.TraceChange;
 import co.com.bancolombia.usecase.ordertraceability.OrderTraceabilityService;
+import co.com.bancolombia.usecase.tracechange.TraceChangeService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/orders/traces")
 @RequiredArgsConstructor
 public class OrderTraceApiRest {
 
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final OrderTraceabilityService orderTraceabilityService;
     private final OrderTraceMapper orderTraceMapper;
+    private final TraceIngestion traceIngestion;
+    private final OrderTraceStreamHub orderTraceStreamHub;
+    private final TraceChangeService traceChangeService;
+    private final TransitionRejections transitionRejections;
 
     @PostMapping
-    public ResponseEntity<ApiResponseData<OrderTraceResponse>> createTrace(
-            @RequestBody OrderTraceRequest request) {
+    public CompletableFuture<ResponseEntity<ApiResponseData<OrderTraceResponse>>> createTrace(
+            @RequestBody OrderTraceRequest request,
+            @RequestHeader(value = IdempotencyKeys.HEADER, required = false) String idempotencyKey) {
 
         OrderTrace orderTrace = orderTraceMapper.toModel(request);
-        OrderTrace createdTrace = orderTraceabilityService.createTrace(orderTrace);
-        OrderTraceResponse response = orderTraceMapper.toResponseDto(createdTrace);
+        orderTrace.setIdempotencyKey(IdempotencyKeys.of(idempotencyKey));
+
+        return traceIngestion.submit(orderTrace)
+                .thenApply(createdTrace -> ResponseEntity.status(HttpStatus.CREATED)
+                        .body(ApiResponseData.of(orderTraceMapper.toResponseDto(createdTrace))));
+    }
+
+    // Reached directly in direct mode and through the returned future in group-commit mode
+    @ExceptionHandler(InvalidStatusTransitionException.class)
+    public void rejectTransition(InvalidStatusTransitionException rejection, HttpServletResponse response)
+            throws IOException {
+        ResponseStatusException conflict = transitionRejections.conflict(rejection);
+        response.sendError(conflict.getStatusCode().value(), conflict.getReason());
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponseData<List<OrderTraceResponse>>> createTraces(
+            @RequestBody List<OrderTraceRequest> requests) {
+
+        if (requests == null || requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Batch must contain between 1 and " + MAX_BATCH_SIZE + " traces");
+        }
+
+        List<OrderTrace> createdTraces = orderTraceabilityService.createTraces(orderTraceMapper.toModels(requests));
+        List<OrderTraceResponse> response = createdTraces.stream()
+                .map(orderTraceMapper::toResponseDto)
+                .toList();
 
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponseData.of(response));
     }
 
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponseData<List<TraceChangeResponse>>> getChanges(
+            @RequestParam(value = "after", defaultValue = "0") long after,
+            @RequestParam(value = "limit", defaultValue = "" + PageCursors.DEFAULT_LIMIT) int limit) {
+
+        KeysetPage<TraceChange> page = traceChangeService.getChangesPage(after, PageCursors.normalizeLimit(limit));
+
+        List<TraceChangeResponse> response = page.getItems().stream()
+                .map(orderTraceMapper::toChangeResponse)
+                .toList();
+        // Plain sequence rather than an opaque cursor: consumers store it as their sync checkpoint
+        String nextCursor = page.isHasMore()
+                ? String.valueOf(page.getItems().get(page.getItems().size() - 1).getSequence())
+                : null;
+
+        return ResponseEntity.ok(ApiResponseData.of(response, nextCursor));
+    }
+
     @GetMapping("/{orderId}")
     public ResponseEntity<ApiResponseData<List<OrderTraceResponse>>> getOrderHistory(
-            @PathVariable("orderId") Long orderId) {
+            @PathVariable("orderId") Long orderId,
+            @RequestParam(value = "limit", defaultValue = "" + PageCursors.DEFAULT_LIMIT) int limit,
+            @RequestParam(value = "after", required = false) String after) {
 
-        List<OrderTrace> orderHistory = orderTraceabilityService.getOrderHistory(orderId);
-        List<OrderTraceResponse> response = orderHistory.stream()
+        PageCursors.TraceCursor cursor = after != null ? PageCursors.decodeTraceCursor(after) : null;
+        KeysetPage<OrderTrace> page = orderTraceabilityService.getOrderHistoryPage(orderId,
+                cursor != null ? cursor.timestamp() : null,
+                cursor != null ? cursor.id() : null,
+                PageCursors.normalizeLimit(limit));
+
+        List<OrderTraceResponse> response = page.getItems().stream()
                 .map(orderTraceMapper::toResponseDto)
                 .toList();
+        String nextCursor = page.isHasMore()
+                ? PageCursors.encodeTraceCursor(page.getItems().get(page.getItems().size() - 1))
+                : null;
+
+        return ResponseEntity.ok(ApiResponseData.of(response, nextCursor));
+    }
+
+    @GetMapping(value = "/{orderId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderTraces(@PathVariable("orderId") Long orderId,
+                                        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+
+        SseEmitter emitter = new SseEmitter(orderTraceStreamHub.getMaxStreamDuration().toMillis());
+        // Subscribe before reading the history so nothing committed in between is missed
+        TraceStreamSubscription subscription = orderTraceStreamHub.subscribe(orderId,
+                new SseTraceStreamSink(emitter, orderTraceMapper));
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(error -> subscription.cancel());
 
-        return ResponseEntity.ok(ApiResponseData.of(response));
+        try {
+            subscription.start(orderTraceabilityService.getOrderHistory(orderId),
+                    lastEventId != null ? PageCursors.decodeTraceCursor(lastEventId) : null);
+        } catch (RuntimeException e) {
+            subscription.cancel();
+            throw e;
+        }
+        return emitter;
     }
 }
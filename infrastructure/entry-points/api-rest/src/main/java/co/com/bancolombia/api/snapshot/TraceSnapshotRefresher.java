@@ -0,0 +1,91 @@
+package co.com.bancolombia.api.snapshot;
+
+import co.com.bancolombia.usecase.efficiency.OrderEfficiencyMaintenanceService;
+import co.com.bancolombia.usecase.efficiency.TraceSnapshot;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the trace snapshot right after startup and reloads it every {@code refresh-interval}. Appends
+ * only carry the traces this node commits, so the reload is what brings in other nodes' writes.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "traceability.snapshot.enabled", havingValue = "true", matchIfMissing = true)
+public class TraceSnapshotRefresher implements SmartLifecycle {
+
+    private static final String METRIC_PREFIX = "trace.snapshot.";
+    private static final double MILLION = 1_000_000d;
+
+    private final OrderEfficiencyMaintenanceService maintenanceService;
+    private final Duration refreshInterval;
+    private final Timer refreshLatency;
+
+    private volatile boolean running;
+    private ScheduledExecutorService refresher;
+
+    public TraceSnapshotRefresher(OrderEfficiencyMaintenanceService maintenanceService,
+                                  TraceSnapshot traceSnapshot,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${traceability.snapshot.refresh-interval:1h}") Duration refreshInterval) {
+        this.maintenanceService = maintenanceService;
+        this.refreshInterval = refreshInterval;
+
+        Gauge.builder(METRIC_PREFIX + "rows", traceSnapshot, TraceSnapshot::getRowCount)
+                .description("Traces held in the in-memory snapshot")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "memory", traceSnapshot, TraceSnapshot::getFootprintBytes)
+                .description("Bytes allocated for the snapshot columns")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "memory.per.million", traceSnapshot,
+                        snapshot -> snapshot.getRowCount() == 0 ? 0
+                                : snapshot.getFootprintBytes() * MILLION / snapshot.getRowCount())
+                .description("Snapshot bytes per million traces, including unused capacity")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.refreshLatency = Timer.builder(METRIC_PREFIX + "refresh")
+                .description("Time spent reloading the snapshot from the database")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "trace-snapshot-refresh"));
+        refresher.scheduleWithFixedDelay(this::refresh, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        refresher.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    void refresh() {
+        long start = System.nanoTime();
+        try {
+            if (maintenanceService.refreshTraceSnapshot()) {
+                refreshLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Refreshing the trace snapshot failed, keeping the previous one", e);
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package co.com.bancolombia.api.stream;
+
+import co.com.bancolombia.api.helper.PageCursors;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.model.ordertrace.gateways.OrderTraceBroadcaster;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process fan-out of committed traces to live subscribers, keyed by order id.
+ * Broadcasting only enqueues: each subscriber has its own bounded buffer drained by a virtual thread
+ * while there is something to send, so an idle connection holds no thread and a slow one only
+ * delays itself. A subscriber whose buffer overflows is closed and is expected to reconnect with
+ * {@code Last-Event-ID}. Streams end on a terminal status, after {@code max-duration}, or on shutdown.
+ * Event ids are (timestamp, id) cursors: pooled trace ids are not ordered by commit, so a resumed stream
+ * skips what sorts at or before the cursor and a bounded set of sent ids catches history/live overlap.
+ * Only traces written through this node are broadcast here, so a subscriber sees other nodes' writes
+ * only through the history it reads on (re)connect: route streams and writes for an order to the same
+ * node (sticky on order id) where live delivery matters.
+ */
+@Slf4j
+@Component
+public class OrderTraceStreamHub implements OrderTraceBroadcaster, SmartLifecycle {
+
+    private static final String METRIC_PREFIX = "trace.stream.";
+
+    private final ConcurrentMap<Long, Set<Subscription>> subscriptionsByOrder = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Duration heartbeatInterval;
+    private final Duration maxDuration;
+    private final ExecutorService deliveryExecutor;
+    private final Counter overflows;
+
+    private volatile boolean running;
+    private ScheduledExecutorService heartbeats;
+
+    public OrderTraceStreamHub(MeterRegistry meterRegistry,
+                               @Value("${traceability.stream.buffer-size:64}") int bufferSize,
+                               @Value("${traceability.stream.max-subscribers:10000}") int maxSubscribers,
+                               @Value("${traceability.stream.heartbeat-interval:15s}") Duration heartbeatInterval,
+                               @Value("${traceability.stream.max-duration:30m}") Duration maxDuration) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.heartbeatInterval = heartbeatInterval;
+        this.maxDuration = maxDuration;
+        this.deliveryExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("trace-stream-", 0).factory());
+
+        Gauge.builder(METRIC_PREFIX + "subscribers", subscribers, AtomicInteger::get)
+                .description("Open live trace streams")
+                .register(meterRegistry);
+        this.overflows = Counter.builder(METRIC_PREFIX + "overflows")
+                .description("Streams closed because the subscriber could not keep up")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers a subscriber for {@code orderId}. Traces broadcast from now on are buffered until
+     * {@link TraceStreamSubscription#start} is called with the history read after subscribing.
+     */
+    public TraceStreamSubscription subscribe(Long orderId, TraceStreamSink sink) {
+        if (!running) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Live trace streams are shutting down");
+        }
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many live trace streams");
+        }
+        Subscription subscription = new Subscription(orderId, sink, System.nanoTime() + maxDuration.toNanos());
+        subscriptionsByOrder.compute(orderId, (id, current) -> {
+            Set<Subscription> subscriptions = current != null ? current : ConcurrentHashMap.newKeySet();
+            subscriptions.add(subscription);
+            return subscriptions;
+        });
+        return subscription;
+    }
+
+    @Override
+    public void broadcast(OrderTrace orderTrace) {
+        Set<Subscription> subscriptions = subscriptionsByOrder.get(orderTrace.getOrderId());
+        if (subscriptions != null) {
+            subscriptions.forEach(subscription -> subscription.offer(orderTrace));
+        }
+    }
+
+    public Duration getMaxStreamDuration() {
+        // The deadline is checked on heartbeat ticks, so a stream can outlive max-duration by one interval
+        return maxDuration.plus(heartbeatInterval);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    int getSubscriberCount() {
+        return subscribers.get();
+    }
+
+    @Override
+    public void start() {
+        heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "trace-stream-heartbeat"));
+        heartbeats.scheduleAtFixedRate(this::tick, heartbeatInterval.toMillis(), heartbeatInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        heartbeats.shutdownNow();
+        // Completing the streams lets the web server's graceful shutdown finish instead of waiting on them
+        subscriptionsByOrder.values().forEach(subscriptions -> subscriptions.forEach(Subscription::requestClose));
+        deliveryExecutor.shutdown();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Stopped before the web server so open streams are completed rather than cut
+        return SmartLifecycle.DEFAULT_PHASE;
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        subscriptionsByOrder.values().forEach(subscriptions -> subscriptions.forEach(subscription -> {
+            if (now - subscription.deadline >= 0) {
+                subscription.requestClose();
+            } else {
+                subscription.requestHeartbeat();
+            }
+        }));
+    }
+
+    private void remove(Subscription subscription) {
+        subscriptionsByOrder.computeIfPresent(subscription.orderId, (id, subscriptions) -> {
+            subscriptions.remove(subscription);
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+        subscribers.decrementAndGet();
+    }
+
+    private static boolean isTerminal(OrderTrace orderTrace) {
+        return orderTrace.getNewStatus() != null && orderTrace.getNewStatus().isTerminal();
+    }
+
+    private static boolean isAtOrBefore(OrderTrace orderTrace, PageCursors.TraceCursor cursor) {
+        if (cursor == null || orderTrace.getTimestamp() == null) {
+            return false;
+        }
+        int byTimestamp = orderTrace.getTimestamp().compareTo(cursor.timestamp());
+        return byTimestamp < 0 || (byTimestamp == 0 && orderTrace.getId() != null && orderTrace.getId() <= cursor.id());
+    }
+
+    private static Set<Long> boundedIdSet(int capacity) {
+        return Collections.newSetFromMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    private final class Subscription implements TraceStreamSubscription {
+
+        private final Long orderId;
+        private final TraceStreamSink sink;
+        private final long deadline;
+        private final Queue<OrderTrace> buffer = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger buffered = new AtomicInteger();
+        private final AtomicInteger pendingDrains = new AtomicInteger();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+
+        private volatile boolean started;
+        private volatile boolean closeRequested;
+        private volatile List<OrderTrace> history;
+        // Only touched by the draining thread
+        private PageCursors.TraceCursor resumeAfter;
+        private Set<Long> sentIds;
+
+        private Subscription(Long orderId, TraceStreamSink sink, long deadline) {
+            this.orderId = orderId;
+            this.sink = sink;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void start(List<OrderTrace> history, PageCursors.TraceCursor lastEventId) {
+            this.resumeAfter = lastEventId;
+            // Repeats come from the history overlapping buffered broadcasts, so this many ids catches them all
+            this.sentIds = boundedIdSet(history.size() + bufferSize);
+            this.history = history;
+            started = true;
+            scheduleDrain();
+        }
+
+        @Override
+        public void cancel() {
+            if (closed.compareAndSet(false, true)) {
+                remove(this);
+            }
+        }
+
+        private void offer(OrderTrace orderTrace) {
+            if (closed.get()) {
+                return;
+            }
+            if (buffered.incrementAndGet() > bufferSize) {
+                overflows.increment();
+                requestClose();
+                return;
+            }
+            buffer.offer(orderTrace);
+            scheduleDrain();
+        }
+
+        private void requestHeartbeat() {
+            heartbeatDue.set(true);
+            scheduleDrain();
+        }
+
+        private void requestClose() {
+            closeRequested = true;
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (started && pendingDrains.getAndIncrement() == 0) {
+                try {
+                    deliveryExecutor.execute(this::drain);
+                } catch (RuntimeException e) {
+                    // Executor already shut down
+                    finish();
+                }
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                if (!deliverPending()) {
+                    return;
+                }
+                missed = pendingDrains.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        // Returns false once the subscription is over
+        private boolean deliverPending() {
+            if (closed.get()) {
+                return false;
+            }
+            try {
+                List<OrderTrace> replay = history;
+                if (replay != null) {
+                    history = null;
+                    for (OrderTrace orderTrace : replay) {
+                        if (!deliver(orderTrace)) {
+                            return false;
+                        }
+                    }
+                }
+                OrderTrace orderTrace;
+                while ((orderTrace = buffer.poll()) != null) {
+                    buffered.decrementAndGet();
+                    if (!deliver(orderTrace)) {
+                        return false;
+                    }
+                }
+                if (closeRequested) {
+                    finish();
+                    return false;
+                }
+                if (heartbeatDue.getAndSet(false)) {
+                    sink.heartbeat();
+                }
+                return true;
+            } catch (IOException | RuntimeException e) {
+                log.debug("Live trace stream for order {} closed by the client", orderId, e);
+                cancel();
+                return false;
+            }
+        }
+
+        private boolean deliver(OrderTrace orderTrace) throws IOException {
+            boolean alreadySent = isAtOrBefore(orderTrace, resumeAfter)
+                    || (orderTrace.getId() != null && !sentIds.add(orderTrace.getId()));
+            if (!alreadySent) {
+                sink.send(orderTrace);
+            }
+            // A terminal trace ends the stream whether it is sent now or was seen before a reconnect
+            if (isTerminal(orderTrace)) {
+                finish();
+                return false;
+            }
+            return true;
+        }
+
+        private void finish() {
+            if (closed.compareAndSet(false, true)) {
+                remove(this);
+                try {
+                    sink.complete();
+                } catch (RuntimeException e) {
+                    log.debug("Could not complete live trace stream for order {}", orderId, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package co.com.bancolombia.api.stream;
+
+import co.com.bancolombia.api.helper.PageCursors;
+import co.com.bancolombia.api.mapper.dto.OrderTraceMapper;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+public class SseTraceStreamSink implements TraceStreamSink {
+
+    public static final String TRACE_EVENT = "trace";
+
+    private final SseEmitter emitter;
+    private final OrderTraceMapper orderTraceMapper;
+
+    public SseTraceStreamSink(SseEmitter emitter, OrderTraceMapper orderTraceMapper) {
+        this.emitter = emitter;
+        this.orderTraceMapper = orderTraceMapper;
+    }
+
+    @Override
+    public void send(OrderTrace orderTrace) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(PageCursors.encodeTraceCursor(orderTrace))
+                .name(TRACE_EVENT)
+                .data(orderTraceMapper.toResponseDto(orderTrace), MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void heartbeat() throws IOException {
+        emitter.send(SseEmitter.event().comment("heartbeat"));
+    }
+
+    @Override
+    public void complete() {
+        emitter.complete();
+    }
+}
@@ -0,0 +1,18 @@
+package co.com.bancolombia.api.stream;
+
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+
+import java.io.IOException;
+
+/**
+ * Transport side of one live subscription (an SSE emitter or a reactive sink). Calls come from a
+ * single delivery thread at a time, so implementations do not need to synchronize.
+ */
+public interface TraceStreamSink {
+
+    void send(OrderTrace orderTrace) throws IOException;
+
+    void heartbeat() throws IOException;
+
+    void complete();
+}
@@ -0,0 +1,18 @@
+package co.com.bancolombia.api.stream;
+
+import co.com.bancolombia.api.helper.PageCursors;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+
+import java.util.List;
+
+public interface TraceStreamSubscription {
+
+    /**
+     * Starts delivery: {@code history} goes out first, then the traces broadcast since subscribing.
+     * Traces at or before {@code lastEventId} in (timestamp, id) order, or already sent, are skipped.
+     */
+    void start(List<OrderTrace> history, PageCursors.TraceCursor lastEventId);
+
+    // The client went away: stop delivering without completing the sink
+    void cancel();
+}
@@ -0,0 +1,33 @@
+package co.com.bancolombia.api.config;
+
+import io.undertow.servlet.api.DeploymentInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UndertowVirtualThreadsConfigTest {
+
+    private final UndertowVirtualThreadsConfig config = new UndertowVirtualThreadsConfig();
+
+    @Test
+    void customizerShouldRunServletRequestsOnVirtualThreads() throws Exception {
+        // Arrange
+        UndertowServletWebServerFactory factory = new UndertowServletWebServerFactory();
+        DeploymentInfo deploymentInfo = new DeploymentInfo();
+
+        // Act
+        config.undertowVirtualThreadsCustomizer().customize(factory);
+        factory.getDeploymentInfoCustomizers().forEach(customizer -> customizer.customize(deploymentInfo));
+
+        // Assert
+        CompletableFuture<Boolean> isVirtual = new CompletableFuture<>();
+        deploymentInfo.getExecutor().execute(() -> isVirtual.complete(Thread.currentThread().isVirtual()));
+        assertTrue(isVirtual.get(5, TimeUnit.SECONDS));
+        assertEquals(deploymentInfo.getExecutor(), deploymentInfo.getAsyncExecutor());
+    }
+}
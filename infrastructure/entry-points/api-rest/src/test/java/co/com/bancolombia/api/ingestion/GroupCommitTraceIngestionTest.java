@@ -0,0 +1,184 @@
+package co.com.bancolombia.api.ingestion;
+
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.InvalidStatusTransitionException;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.usecase.ordertraceability.OrderTraceabilityService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GroupCommitTraceIngestionTest {
+
+    @Mock
+    private OrderTraceabilityService orderTraceabilityService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private GroupCommitTraceIngestion ingestion;
+
+    @AfterEach
+    void tearDown() {
+        if (ingestion != null && ingestion.isRunning()) {
+            ingestion.stop();
+        }
+    }
+
+    @Test
+    void submitShouldCompleteWithSavedTraceAfterFlush() throws Exception {
+        // Arrange
+        ingestion = newIngestion(10);
+        when(orderTraceabilityService.createTraces(anyList()))
+                .thenAnswer(invocation -> invocation.<List<OrderTrace>>getArgument(0).stream()
+                        .map(trace -> trace.toBuilder().id(trace.getOrderId() * 10).build())
+                        .toList());
+        ingestion.start();
+
+        // Act
+        CompletableFuture<OrderTrace> first = ingestion.submit(trace(1L));
+        CompletableFuture<OrderTrace> second = ingestion.submit(trace(2L));
+
+        // Assert
+        assertEquals(10L, first.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(20L, second.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(2.0, meterRegistry.get("trace.ingestion.flush.size").summary().totalAmount());
+    }
+
+    @Test
+    void submitShouldFailFutureWhenFlushFails() {
+        // Arrange
+        ingestion = newIngestion(10);
+        when(orderTraceabilityService.createTraces(anyList())).thenThrow(new IllegalStateException("db down"));
+        ingestion.start();
+
+        // Act
+        CompletableFuture<OrderTrace> result = ingestion.submit(trace(1L));
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> result.get(5, TimeUnit.SECONDS));
+        assertEquals(IllegalStateException.class, exception.getCause().getClass());
+    }
+
+    @Test
+    void submitShouldFailOnlyTheRejectedTraceOfAGroup() throws Exception {
+        // Arrange
+        ingestion = newIngestion(10);
+        InvalidStatusTransitionException rejection =
+                new InvalidStatusTransitionException(2L, null, OrderStatus.PENDING, OrderStatus.DELIVERED);
+        when(orderTraceabilityService.createTraces(anyList())).thenThrow(rejection);
+        when(orderTraceabilityService.createTrace(any())).thenAnswer(invocation -> {
+            OrderTrace trace = invocation.getArgument(0);
+            if (trace.getOrderId() == 2L) {
+                throw rejection;
+            }
+            return trace.toBuilder().id(10L).build();
+        });
+        ingestion.start();
+
+        // Act
+        CompletableFuture<OrderTrace> accepted = ingestion.submit(trace(1L));
+        CompletableFuture<OrderTrace> rejected = ingestion.submit(trace(2L));
+
+        // Assert
+        assertEquals(10L, accepted.get(5, TimeUnit.SECONDS).getId());
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> rejected.get(5, TimeUnit.SECONDS));
+        assertSame(rejection, exception.getCause());
+    }
+
+    @Test
+    void submitShouldRejectWhenNotRunning() {
+        // Arrange
+        ingestion = newIngestion(1);
+
+        // Act & Assert
+        assertThrows(ResponseStatusException.class, () -> ingestion.submit(trace(1L)));
+        assertEquals(1.0, meterRegistry.get("trace.ingestion.rejected").counter().count());
+    }
+
+    @Test
+    void stopShouldCommitEverythingAcceptedBeforeIt() throws Exception {
+        // Arrange
+        ingestion = newIngestion(10);
+        when(orderTraceabilityService.createTraces(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        ingestion.start();
+        CompletableFuture<OrderTrace> first = ingestion.submit(trace(1L));
+        CompletableFuture<OrderTrace> second = ingestion.submit(trace(2L));
+
+        // Act
+        ingestion.stop();
+
+        // Assert
+        assertEquals(1L, first.getNow(null).getOrderId());
+        assertEquals(2L, second.getNow(null).getOrderId());
+        assertThrows(ResponseStatusException.class, () -> ingestion.submit(trace(3L)));
+    }
+
+    @Test
+    void stopShouldFailQueuedTracesWithServiceUnavailableWhenFlushOverrunsTimeout() throws Exception {
+        // Arrange
+        ingestion = newIngestion(10, Duration.ofMillis(50));
+        CountDownLatch flushing = new CountDownLatch(1);
+        when(orderTraceabilityService.createTraces(anyList())).thenAnswer(invocation -> {
+            flushing.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("interrupted");
+        });
+        ingestion.start();
+        CompletableFuture<OrderTrace> inFlush = ingestion.submit(trace(1L));
+        assertTrue(flushing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<OrderTrace> queued = ingestion.submit(trace(2L));
+
+        // Act
+        ingestion.stop();
+
+        // Assert
+        ExecutionException flushFailure = assertThrows(ExecutionException.class, () -> inFlush.get(0, TimeUnit.SECONDS));
+        assertEquals(IllegalStateException.class, flushFailure.getCause().getClass());
+        ExecutionException abandoned = assertThrows(ExecutionException.class, () -> queued.get(0, TimeUnit.SECONDS));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE,
+                ((ResponseStatusException) abandoned.getCause()).getStatusCode());
+    }
+
+    private GroupCommitTraceIngestion newIngestion(int capacity) {
+        return newIngestion(capacity, Duration.ofSeconds(5));
+    }
+
+    private GroupCommitTraceIngestion newIngestion(int capacity, Duration shutdownTimeout) {
+        return new GroupCommitTraceIngestion(orderTraceabilityService, meterRegistry, capacity, 50,
+                Duration.ofMillis(5), Duration.ofMillis(5), shutdownTimeout);
+    }
+
+    private OrderTrace trace(Long orderId) {
+        return OrderTrace.builder()
+                .orderId(orderId)
+                .newStatus(OrderStatus.PENDING)
+                .build();
+    }
+}
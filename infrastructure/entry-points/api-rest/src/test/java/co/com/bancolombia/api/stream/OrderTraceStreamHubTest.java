@@ -0,0 +1,214 @@
+package co.com.bancolombia.api.stream;
+
+import co.com.bancolombia.api.helper.PageCursors;
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderTraceStreamHubTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 12, 17, 10, 0, 0);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OrderTraceStreamHub hub;
+
+    @AfterEach
+    void tearDown() {
+        if (hub != null && hub.isRunning()) {
+            hub.stop();
+        }
+    }
+
+    @Test
+    void subscriberShouldReceiveHistoryThenLiveTracesWithoutDuplicates() throws Exception {
+        // Arrange
+        hub = newHub(16, 10, Duration.ofMinutes(30));
+        RecordingSink sink = new RecordingSink();
+        TraceStreamSubscription subscription = hub.subscribe(1L, sink);
+        hub.broadcast(trace(2L, OrderStatus.IN_PREPARATION));
+
+        // Act
+        subscription.start(List.of(trace(1L, OrderStatus.PENDING), trace(2L, OrderStatus.IN_PREPARATION)), null);
+        hub.broadcast(trace(3L, OrderStatus.READY));
+        hub.broadcast(trace(4L, OrderStatus.DELIVERED));
+
+        // Assert
+        assertTrue(sink.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1L, 2L, 3L, 4L), sink.sentIds);
+        assertEquals(0, hub.getSubscriberCount());
+    }
+
+    @Test
+    void subscriberShouldOnlyReceiveTracesOfItsOrder() throws Exception {
+        // Arrange
+        hub = newHub(16, 10, Duration.ofMinutes(30));
+        RecordingSink sink = new RecordingSink();
+        hub.subscribe(1L, sink).start(List.of(), null);
+
+        // Act
+        hub.broadcast(OrderTrace.builder().id(9L).orderId(2L).newStatus(OrderStatus.DELIVERED).build());
+        hub.broadcast(trace(10L, OrderStatus.CANCELLED));
+
+        // Assert
+        assertTrue(sink.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(10L), sink.sentIds);
+    }
+
+    @Test
+    void reconnectAfterTerminalTraceShouldCompleteWithoutResending() throws Exception {
+        // Arrange
+        hub = newHub(16, 10, Duration.ofMinutes(30));
+        RecordingSink sink = new RecordingSink();
+
+        // Act
+        hub.subscribe(1L, sink).start(List.of(trace(1L, OrderStatus.PENDING), trace(2L, OrderStatus.DELIVERED)),
+                new PageCursors.TraceCursor(BASE_TIME.plusMinutes(2), 2L));
+
+        // Assert
+        assertTrue(sink.completed.await(5, TimeUnit.SECONDS));
+        assertTrue(sink.sentIds.isEmpty());
+    }
+
+    @Test
+    void liveTraceWithLowerIdThanTheHistoryShouldStillBeSent() throws Exception {
+        // Arrange: pooled ids are handed out in blocks, so a later trace can carry a lower id
+        hub = newHub(16, 10, Duration.ofMinutes(30));
+        RecordingSink sink = new RecordingSink();
+        TraceStreamSubscription subscription = hub.subscribe(1L, sink);
+
+        // Act
+        subscription.start(List.of(trace(60L, OrderStatus.PENDING, 1)), null);
+        hub.broadcast(trace(12L, OrderStatus.IN_PREPARATION, 2));
+        hub.broadcast(trace(61L, OrderStatus.DELIVERED, 3));
+
+        // Assert
+        assertTrue(sink.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(60L, 12L, 61L), sink.sentIds);
+    }
+
+    @Test
+    void reconnectShouldResumeAfterTheTimestampAndIdOfTheLastEvent() throws Exception {
+        // Arrange
+        hub = newHub(16, 10, Duration.ofMinutes(30));
+        RecordingSink sink = new RecordingSink();
+        TraceStreamSubscription subscription = hub.subscribe(1L, sink);
+
+        // Act
+        subscription.start(List.of(trace(60L, OrderStatus.PENDING, 1), trace(12L, OrderStatus.IN_PREPARATION, 2)),
+                new PageCursors.TraceCursor(BASE_TIME.plusMinutes(1), 60L));
+        hub.broadcast(trace(12L, OrderStatus.IN_PREPARATION, 2));
+        hub.broadcast(trace(13L, OrderStatus.DELIVERED, 3));
+
+        // Assert
+        assertTrue(sink.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(12L, 13L), sink.sentIds);
+    }
+
+    @Test
+    void overflowingSubscriberShouldBeClosed() throws Exception {
+        // Arrange
+        hub = newHub(2, 10, Duration.ofMinutes(30));
+        RecordingSink sink = new RecordingSink();
+        TraceStreamSubscription subscription = hub.subscribe(1L, sink);
+
+        // Act: nothing drains before start, so the third trace overflows the buffer
+        hub.broadcast(trace(1L, OrderStatus.PENDING));
+        hub.broadcast(trace(2L, OrderStatus.IN_PREPARATION));
+        hub.broadcast(trace(3L, OrderStatus.READY));
+        subscription.start(List.of(), null);
+
+        // Assert
+        assertTrue(sink.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.get("trace.stream.overflows").counter().count());
+    }
+
+    @Test
+    void expiredSubscriberShouldBeClosedOnHeartbeatTick() throws Exception {
+        // Arrange
+        hub = newHub(16, 10, Duration.ZERO);
+        RecordingSink sink = new RecordingSink();
+
+        // Act
+        hub.subscribe(1L, sink).start(List.of(), null);
+
+        // Assert
+        assertTrue(sink.completed.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void subscribeBeyondLimitShouldBeRejected() {
+        // Arrange
+        hub = newHub(16, 1, Duration.ofMinutes(30));
+        hub.subscribe(1L, new RecordingSink());
+
+        // Act & Assert
+        assertThrows(ResponseStatusException.class, () -> hub.subscribe(2L, new RecordingSink()));
+        assertEquals(1, hub.getSubscriberCount());
+    }
+
+    @Test
+    void cancelShouldStopDeliveryAndReleaseTheSlot() {
+        // Arrange
+        hub = newHub(16, 10, Duration.ofMinutes(30));
+        RecordingSink sink = new RecordingSink();
+        TraceStreamSubscription subscription = hub.subscribe(1L, sink);
+
+        // Act
+        subscription.cancel();
+        hub.broadcast(trace(1L, OrderStatus.PENDING));
+
+        // Assert
+        assertEquals(0, hub.getSubscriberCount());
+        assertTrue(sink.sentIds.isEmpty());
+    }
+
+    private OrderTraceStreamHub newHub(int bufferSize, int maxSubscribers, Duration maxDuration) {
+        OrderTraceStreamHub newHub = new OrderTraceStreamHub(meterRegistry, bufferSize, maxSubscribers,
+                Duration.ofMillis(20), maxDuration);
+        newHub.start();
+        return newHub;
+    }
+
+    private static OrderTrace trace(Long id, OrderStatus status) {
+        return trace(id, status, id.intValue());
+    }
+
+    private static OrderTrace trace(Long id, OrderStatus status, int minutesAfterStart) {
+        return OrderTrace.builder().id(id).orderId(1L).newStatus(status)
+                .timestamp(BASE_TIME.plusMinutes(minutesAfterStart)).build();
+    }
+
+    private static final class RecordingSink implements TraceStreamSink {
+
+        private final List<Long> sentIds = new CopyOnWriteArrayList<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(OrderTrace orderTrace) {
+            sentIds.add(orderTrace.getId());
+        }
+
+        @Override
+        public void heartbeat() {
+            // Not recorded
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
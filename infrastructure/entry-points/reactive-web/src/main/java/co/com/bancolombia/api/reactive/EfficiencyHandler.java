@@ -0,0 +1,84 @@
+package co.com.bancolombia.api.reactive;
+
+import co.com.bancolombia.api.dto.response.ApiResponseData;
+import co.com.bancolombia.api.dto.response.EmployeeEfficiencyResponse;
+import co.com.bancolombia.api.dto.response.OrderEfficiencyResponse;
+import co.com.bancolombia.api.helper.PageCursors;
+import co.com.bancolombia.api.mapper.dto.EfficiencyMapper;
+import co.com.bancolombia.usecase.efficiency.ReactiveOrderEfficiencyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class EfficiencyHandler {
+
+    private final ReactiveOrderEfficiencyService orderEfficiencyService;
+    private final EfficiencyMapper efficiencyMapper;
+
+    public Mono<ServerResponse> getAllOrdersEfficiency(ServerRequest request) {
+        return Mono.defer(() -> {
+                    String after = RequestParams.after(request);
+                    Long afterOrderId = after != null ? PageCursors.decodeOrderCursor(after) : null;
+                    return orderEfficiencyService.getOrdersEfficiencyPage(afterOrderId, RequestParams.limit(request),
+                            RequestParams.window(request));
+                })
+                .flatMap(page -> {
+                    List<OrderEfficiencyResponse> response = page.getItems().stream()
+                            .map(efficiencyMapper::toOrderEfficiencyResponse)
+                            .toList();
+                    String nextCursor = page.isHasMore()
+                            ? PageCursors.encodeOrderCursor(page.getItems().get(page.getItems().size() - 1).getOrderId())
+                            : null;
+                    return ServerResponse.ok().bodyValue(ApiResponseData.of(response, nextCursor));
+                });
+    }
+
+    public Mono<ServerResponse> getOrderEfficiency(ServerRequest request) {
+        return Mono.defer(() -> orderEfficiencyService.getOrderEfficiency(RequestParams.pathId(request, "orderId"),
+                        RequestParams.window(request)))
+                .map(efficiencyMapper::toOrderEfficiencyResponse)
+                .flatMap(response -> ServerResponse.ok().bodyValue(ApiResponseData.of(response)));
+    }
+
+    public Mono<ServerResponse> getEmployeesEfficiencyRanking(ServerRequest request) {
+        return Mono.defer(() -> orderEfficiencyService.getEmployeesEfficiencyRanking(
+                        RequestParams.rankingQuery(request), RequestParams.window(request)))
+                .flatMap(page -> {
+                    List<EmployeeEfficiencyResponse> response = page.getItems().stream()
+                            .map(efficiencyMapper::toEmployeeEfficiencyResponse)
+                            .toList();
+                    String nextCursor = page.isHasMore()
+                            ? PageCursors.encodeRankingCursor(page.getItems().get(page.getItems().size() - 1))
+                            : null;
+                    return ServerResponse.ok().bodyValue(ApiResponseData.of(response, nextCursor));
+                });
+    }
+
+    public Mono<ServerResponse> getEmployeeEfficiency(ServerRequest request) {
+        return Mono.defer(() -> orderEfficiencyService.getEmployeeEfficiency(RequestParams.pathId(request, "employeeId"),
+                        RequestParams.window(request)))
+                .map(efficiencyMapper::toEmployeeEfficiencyResponse)
+                .flatMap(response -> ServerResponse.ok().bodyValue(ApiResponseData.of(response)));
+    }
+
+    public Mono<ServerResponse> getDurationDistribution(ServerRequest request) {
+        return Mono.defer(() -> orderEfficiencyService.getDurationDistribution(RequestParams.window(request)))
+                .map(efficiencyMapper::toDistributionResponse)
+                .flatMap(response -> ServerResponse.ok().bodyValue(ApiResponseData.of(response)));
+    }
+
+    public Mono<ServerResponse> getEmployeeDurationDistribution(ServerRequest request) {
+        return Mono.defer(() -> orderEfficiencyService.getEmployeeDurationDistribution(
+                        RequestParams.pathId(request, "employeeId"), RequestParams.window(request)))
+                .map(efficiencyMapper::toDistributionResponse)
+                .flatMap(response -> ServerResponse.ok().bodyValue(ApiResponseData.of(response)));
+    }
+}
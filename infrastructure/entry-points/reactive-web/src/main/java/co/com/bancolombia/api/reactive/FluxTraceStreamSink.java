@@ -0,0 +1,40 @@
+package co.com.bancolombia.api.reactive;
+
+import co.com.bancolombia.api.dto.response.OrderTraceResponse;
+import co.com.bancolombia.api.helper.PageCursors;
+import co.com.bancolombia.api.mapper.dto.OrderTraceMapper;
+import co.com.bancolombia.api.stream.TraceStreamSink;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.FluxSink;
+
+class FluxTraceStreamSink implements TraceStreamSink {
+
+    static final String TRACE_EVENT = "trace";
+
+    private final FluxSink<ServerSentEvent<OrderTraceResponse>> sink;
+    private final OrderTraceMapper orderTraceMapper;
+
+    FluxTraceStreamSink(FluxSink<ServerSentEvent<OrderTraceResponse>> sink, OrderTraceMapper orderTraceMapper) {
+        this.sink = sink;
+        this.orderTraceMapper = orderTraceMapper;
+    }
+
+    @Override
+    public void send(OrderTrace orderTrace) {
+        sink.next(ServerSentEvent.builder(orderTraceMapper.toResponseDto(orderTrace))
+                .id(PageCursors.encodeTraceCursor(orderTrace))
+                .event(TRACE_EVENT)
+                .build());
+    }
+
+    @Override
+    public void heartbeat() {
+        sink.next(ServerSentEvent.<OrderTraceResponse>builder().comment("heartbeat").build());
+    }
+
+    @Override
+    public void complete() {
+        sink.complete();
+    }
+}
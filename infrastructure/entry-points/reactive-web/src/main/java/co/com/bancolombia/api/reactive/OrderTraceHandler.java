@@ -0,0 +1,128 @@
+package co.com.bancolombia.api.reactive;
+
+import co.com.bancolombia.api.dto.request.OrderTraceRequest;
+import co.com.bancolombia.api.dto.response.ApiResponseData;
+import co.com.bancolombia.api.dto.response.OrderTraceResponse;
+import co.com.bancolombia.api.dto.response.TraceChangeResponse;
+import co.com.bancolombia.api.helper.PageCursors;
+import co.com.bancolombia.api.ingestion.TransitionRejections;
+import co.com.bancolombia.api.mapper.dto.OrderTraceMapper;
+import co.com.bancolombia.api.stream.OrderTraceStreamHub;
+import co.com.bancolombia.api.stream.TraceStreamSubscription;
+import co.com.bancolombia.model.ordertrace.InvalidStatusTransitionException;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.usecase.ordertraceability.ReactiveOrderTraceabilityService;
+import co.com.bancolombia.usecase.tracechange.ReactiveTraceChangeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class OrderTraceHandler {
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final ReactiveOrderTraceabilityService orderTraceabilityService;
+    private final OrderTraceMapper orderTraceMapper;
+    private final OrderTraceStreamHub orderTraceStreamHub;
+    private final ReactiveTraceChangeService traceChangeService;
+    private final TransitionRejections transitionRejections;
+
+    public Mono<ServerResponse> createTrace(ServerRequest request) {
+        return request.bodyToMono(OrderTraceRequest.class)
+                .map(body -> {
+                    OrderTrace orderTrace = orderTraceMapper.toModel(body);
+                    orderTrace.setIdempotencyKey(RequestParams.idempotencyKey(request));
+                    return orderTrace;
+                })
+                .flatMap(orderTraceabilityService::createTrace)
+                .onErrorMap(InvalidStatusTransitionException.class, transitionRejections::conflict)
+                .map(orderTraceMapper::toResponseDto)
+                .flatMap(response -> ServerResponse.status(HttpStatus.CREATED)
+                        .bodyValue(ApiResponseData.of(response)));
+    }
+
+    public Mono<ServerResponse> createTraces(ServerRequest request) {
+        return request.bodyToFlux(OrderTraceRequest.class)
+                .take(MAX_BATCH_SIZE + 1L)
+                .collectList()
+                .filter(requests -> !requests.isEmpty() && requests.size() <= MAX_BATCH_SIZE)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Batch must contain between 1 and " + MAX_BATCH_SIZE + " traces")))
+                .flatMap(requests -> orderTraceabilityService.createTraces(orderTraceMapper.toModels(requests))
+                        .map(orderTraceMapper::toResponseDto)
+                        .collectList())
+                .onErrorMap(InvalidStatusTransitionException.class, transitionRejections::conflict)
+                .flatMap(response -> ServerResponse.status(HttpStatus.CREATED)
+                        .bodyValue(ApiResponseData.of(response)));
+    }
+
+    public Mono<ServerResponse> getOrderHistory(ServerRequest request) {
+        return Mono.defer(() -> {
+                    String after = RequestParams.after(request);
+                    PageCursors.TraceCursor cursor = after != null ? PageCursors.decodeTraceCursor(after) : null;
+                    return orderTraceabilityService.getOrderHistoryPage(RequestParams.pathId(request, "orderId"),
+                            cursor != null ? cursor.timestamp() : null,
+                            cursor != null ? cursor.id() : null,
+                            RequestParams.limit(request));
+                })
+                .flatMap(page -> {
+                    List<OrderTraceResponse> response = page.getItems().stream()
+                            .map(orderTraceMapper::toResponseDto)
+                            .toList();
+                    String nextCursor = page.isHasMore()
+                            ? PageCursors.encodeTraceCursor(page.getItems().get(page.getItems().size() - 1))
+                            : null;
+                    return ServerResponse.ok().bodyValue(ApiResponseData.of(response, nextCursor));
+                });
+    }
+
+    public Mono<ServerResponse> getChanges(ServerRequest request) {
+        return Mono.defer(() -> traceChangeService.getChangesPage(RequestParams.sequence(request),
+                        RequestParams.limit(request)))
+                .flatMap(page -> {
+                    List<TraceChangeResponse> response = page.getItems().stream()
+                            .map(orderTraceMapper::toChangeResponse)
+                            .toList();
+                    String nextCursor = page.isHasMore()
+                            ? String.valueOf(page.getItems().get(page.getItems().size() - 1).getSequence())
+                            : null;
+                    return ServerResponse.ok().bodyValue(ApiResponseData.of(response, nextCursor));
+                });
+    }
+
+    public Mono<ServerResponse> streamOrderTraces(ServerRequest request) {
+        return Mono.defer(() -> {
+            Long orderId = RequestParams.pathId(request, "orderId");
+            PageCursors.TraceCursor lastEventId = RequestParams.lastEventId(request);
+            Flux<ServerSentEvent<OrderTraceResponse>> events = Flux.<ServerSentEvent<OrderTraceResponse>>create(sink -> {
+                        // Subscribe before reading the history so nothing committed in between is missed
+                        TraceStreamSubscription subscription = orderTraceStreamHub.subscribe(orderId,
+                                new FluxTraceStreamSink(sink, orderTraceMapper));
+                        sink.onDispose(subscription::cancel);
+                        orderTraceabilityService.getOrderHistory(orderId)
+                                .collectList()
+                                .subscribe(history -> subscription.start(history, lastEventId), sink::error);
+                    })
+                    // The hub bounds what it queues; this bounds what waits for the connection to accept it
+                    .onBackpressureBuffer(orderTraceStreamHub.getBufferSize());
+            return ServerResponse.ok()
+                    .contentType(MediaType.TEXT_EVENT_STREAM)
+                    .body(events, new ParameterizedTypeReference<ServerSentEvent<OrderTraceResponse>>() {
+                    });
+        });
+    }
+}
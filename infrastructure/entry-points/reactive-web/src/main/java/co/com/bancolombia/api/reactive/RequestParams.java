@@ -0,0 +1,81 @@
+package co.com.bancolombia.api.reactive;
+
+import co.com.bancolombia.api.helper.IdempotencyKeys;
+import co.com.bancolombia.api.helper.PageCursors;
+import co.com.bancolombia.api.helper.RankingQueries;
+import co.com.bancolombia.api.helper.TimeWindows;
+import co.com.bancolombia.model.efficiency.EmployeeRankingQuery;
+import co.com.bancolombia.model.efficiency.TimeWindow;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+final class RequestParams {
+
+    private RequestParams() {
+    }
+
+    static Long pathId(ServerRequest request, String name) {
+        try {
+            return Long.parseLong(request.pathVariable(name));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid " + name);
+        }
+    }
+
+    static int limit(ServerRequest request) {
+        try {
+            return PageCursors.normalizeLimit(request.queryParam("limit")
+                    .map(Integer::parseInt)
+                    .orElse(PageCursors.DEFAULT_LIMIT));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid limit");
+        }
+    }
+
+    static PageCursors.TraceCursor lastEventId(ServerRequest request) {
+        String lastEventId = request.headers().firstHeader("Last-Event-ID");
+        return lastEventId != null ? PageCursors.decodeTraceCursor(lastEventId) : null;
+    }
+
+    static String idempotencyKey(ServerRequest request) {
+        return IdempotencyKeys.of(request.headers().firstHeader(IdempotencyKeys.HEADER));
+    }
+
+    static String after(ServerRequest request) {
+        return request.queryParam("after").orElse(null);
+    }
+
+    static long sequence(ServerRequest request) {
+        try {
+            return request.queryParam("after").map(Long::parseLong).orElse(0L);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid after");
+        }
+    }
+
+    static EmployeeRankingQuery rankingQuery(ServerRequest request) {
+        try {
+            long minProcessedOrders = request.queryParam("minProcessedOrders").map(Long::parseLong).orElse(1L);
+            return RankingQueries.of(limit(request), request.queryParam("order").orElse(null), minProcessedOrders,
+                    after(request));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid minProcessedOrders");
+        }
+    }
+
+    static TimeWindow window(ServerRequest request) {
+        return TimeWindows.of(dateTime(request, "from"), dateTime(request, "to"));
+    }
+
+    private static LocalDateTime dateTime(ServerRequest request, String name) {
+        try {
+            return request.queryParam(name).map(LocalDateTime::parse).orElse(null);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid " + name);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package co.com.bancolombia.api.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+// Mirrors OrderTraceApiRest and EfficiencyApiRest for deployments running with spring.main.web-application-type=reactive
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class RouterRest {
+
+    @Bean
+    public RouterFunction<ServerResponse> orderTraceRoutes(OrderTraceHandler handler) {
+        return route(POST("/api/orders/traces"), handler::createTrace)
+                .andRoute(POST("/api/orders/traces/batch"), handler::createTraces)
+                .andRoute(GET("/api/orders/traces/changes"), handler::getChanges)
+                .andRoute(GET("/api/orders/traces/{orderId}/stream"), handler::streamOrderTraces)
+                .andRoute(GET("/api/orders/traces/{orderId}"), handler::getOrderHistory);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> efficiencyRoutes(EfficiencyHandler handler) {
+        return route(GET("/api/orders/efficiency"), handler::getAllOrdersEfficiency)
+                .andRoute(GET("/api/orders/efficiency/distribution"), handler::getDurationDistribution)
+                .andRoute(GET("/api/orders/efficiency/employees/ranking"), handler::getEmployeesEfficiencyRanking)
+                .andRoute(GET("/api/orders/efficiency/employees/{employeeId}/distribution"),
+                        handler::getEmployeeDurationDistribution)
+                .andRoute(GET("/api/orders/efficiency/employees/{employeeId}"), handler::getEmployeeEfficiency)
+                .andRoute(GET("/api/orders/efficiency/{orderId}"), handler::getOrderEfficiency);
+    }
+}
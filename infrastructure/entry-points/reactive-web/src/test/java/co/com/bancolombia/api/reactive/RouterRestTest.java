@@ -0,0 +1,272 @@
+package co.com.bancolombia.api.reactive;
+
+import co.com.bancolombia.api.helper.PageCursors;
+import co.com.bancolombia.api.ingestion.TransitionRejections;
+import co.com.bancolombia.api.mapper.dto.EfficiencyMapper;
+import co.com.bancolombia.api.mapper.dto.OrderTraceMapper;
+import co.com.bancolombia.api.stream.OrderTraceStreamHub;
+import co.com.bancolombia.api.stream.TraceStreamSink;
+import co.com.bancolombia.api.stream.TraceStreamSubscription;
+import co.com.bancolombia.model.efficiency.EmployeeEfficiency;
+import co.com.bancolombia.model.efficiency.OrderEfficiency;
+import co.com.bancolombia.model.efficiency.TimeWindow;
+import co.com.bancolombia.model.enums.OrderStatus;
+import co.com.bancolombia.model.ordertrace.InvalidStatusTransitionException;
+import co.com.bancolombia.model.ordertrace.OrderTrace;
+import co.com.bancolombia.model.pagination.KeysetPage;
+import co.com.bancolombia.model.tracechange.TraceChange;
+import co.com.bancolombia.usecase.efficiency.ReactiveOrderEfficiencyService;
+import co.com.bancolombia.usecase.ordertraceability.ReactiveOrderTraceabilityService;
+import co.com.bancolombia.usecase.tracechange.ReactiveTraceChangeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Services emit on the parallel scheduler, so handler mapping and response encoding run on a non-blocking
+// thread; BlockHound (installed by blockhound-junit-platform) turns any blocking call there into a 500.
+@ExtendWith(MockitoExtension.class)
+class RouterRestTest {
+
+    @Mock
+    private ReactiveOrderTraceabilityService orderTraceabilityService;
+
+    @Mock
+    private ReactiveOrderEfficiencyService orderEfficiencyService;
+
+    @Mock
+    private OrderTraceStreamHub orderTraceStreamHub;
+
+    @Mock
+    private ReactiveTraceChangeService traceChangeService;
+
+    @Mock
+    private TransitionRejections transitionRejections;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        RouterRest routerRest = new RouterRest();
+        OrderTraceHandler orderTraceHandler = new OrderTraceHandler(orderTraceabilityService,
+                Mappers.getMapper(OrderTraceMapper.class), orderTraceStreamHub, traceChangeService,
+                transitionRejections);
+        EfficiencyHandler efficiencyHandler = new EfficiencyHandler(orderEfficiencyService,
+                Mappers.getMapper(EfficiencyMapper.class));
+
+        webTestClient = WebTestClient.bindToRouterFunction(routerRest.orderTraceRoutes(orderTraceHandler)
+                        .and(routerRest.efficiencyRoutes(efficiencyHandler)))
+                .build();
+    }
+
+    @Test
+    void createTraceShouldReturnCreated() {
+        when(orderTraceabilityService.createTrace(any())).thenAnswer(invocation -> Mono.just(
+                        invocation.<OrderTrace>getArgument(0).toBuilder().id(1L).timestamp(LocalDateTime.now()).build())
+                .publishOn(Schedulers.parallel()));
+
+        webTestClient.post().uri("/api/orders/traces")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("orderId", 10, "clientId", 2, "clientEmail", "client@test.com",
+                        "newStatus", "PENDING"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.data.id").isEqualTo(1)
+                .jsonPath("$.data.orderId").isEqualTo(10);
+    }
+
+    @Test
+    void createTraceShouldPassIdempotencyKeyHeader() {
+        when(orderTraceabilityService.createTrace(any())).thenAnswer(invocation -> Mono.just(
+                invocation.<OrderTrace>getArgument(0).toBuilder().id(1L).timestamp(LocalDateTime.now()).build()));
+
+        webTestClient.post().uri("/api/orders/traces")
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("orderId", 10, "clientId", 2, "clientEmail", "client@test.com",
+                        "newStatus", "PENDING"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        verify(orderTraceabilityService).createTrace(argThat(trace -> "retry-1".equals(trace.getIdempotencyKey())));
+    }
+
+    @Test
+    void createTraceShouldReturnConflictWhenTransitionIsRejected() {
+        when(orderTraceabilityService.createTrace(any())).thenReturn(Mono.<OrderTrace>error(
+                new InvalidStatusTransitionException(10L, OrderStatus.DELIVERED, OrderStatus.PENDING, null))
+                .publishOn(Schedulers.parallel()));
+        when(transitionRejections.conflict(any()))
+                .thenAnswer(invocation -> new ResponseStatusException(HttpStatus.CONFLICT));
+
+        webTestClient.post().uri("/api/orders/traces")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("orderId", 10, "clientId", 2, "clientEmail", "client@test.com",
+                        "previousStatus", "DELIVERED", "newStatus", "PENDING"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    void createTracesShouldRejectEmptyBatch() {
+        webTestClient.post().uri("/api/orders/traces/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void getOrderHistoryShouldReturnNextCursorWhenMoreRows() {
+        OrderTrace trace = OrderTrace.builder().id(5L).orderId(10L).newStatus(OrderStatus.PENDING)
+                .timestamp(LocalDateTime.of(2024, 1, 1, 10, 0)).build();
+        when(orderTraceabilityService.getOrderHistoryPage(10L, null, null, 1))
+                .thenReturn(Mono.just(new KeysetPage<>(List.of(trace), true)).publishOn(Schedulers.parallel()));
+
+        webTestClient.get().uri("/api/orders/traces/10?limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data[0].id").isEqualTo(5)
+                .jsonPath("$.nextCursor").exists();
+    }
+
+    @Test
+    void getOrderHistoryShouldRejectInvalidCursor() {
+        webTestClient.get().uri("/api/orders/traces/10?after=%%%")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void getChangesShouldReturnLastSequenceAsNextCursor() {
+        OrderTrace trace = OrderTrace.builder().id(5L).orderId(10L).newStatus(OrderStatus.PENDING)
+                .timestamp(LocalDateTime.of(2024, 1, 1, 10, 0)).build();
+        TraceChange change = new TraceChange(42L, trace);
+        when(traceChangeService.getChangesPage(41L, 1))
+                .thenReturn(Mono.just(new KeysetPage<>(List.of(change), true)).publishOn(Schedulers.parallel()));
+
+        webTestClient.get().uri("/api/orders/traces/changes?after=41&limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data[0].sequence").isEqualTo(42)
+                .jsonPath("$.data[0].trace.orderId").isEqualTo(10)
+                .jsonPath("$.nextCursor").isEqualTo("42");
+    }
+
+    @Test
+    void getChangesShouldRejectNonNumericSequence() {
+        webTestClient.get().uri("/api/orders/traces/changes?after=abc")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void streamOrderTracesShouldReplayHistoryAndCompleteOnTerminalTrace() {
+        OrderTrace history = OrderTrace.builder().id(5L).orderId(10L).newStatus(OrderStatus.READY)
+                .timestamp(LocalDateTime.of(2024, 1, 1, 10, 0)).build();
+        OrderTrace delivered = history.toBuilder().id(6L).newStatus(OrderStatus.DELIVERED).build();
+        PageCursors.TraceCursor lastEvent = new PageCursors.TraceCursor(LocalDateTime.of(2024, 1, 1, 9, 0), 4L);
+        TraceStreamSubscription subscription = mock(TraceStreamSubscription.class);
+        when(orderTraceabilityService.getOrderHistory(10L)).thenReturn(Flux.just(history).publishOn(Schedulers.parallel()));
+        when(orderTraceStreamHub.getBufferSize()).thenReturn(64);
+        when(orderTraceStreamHub.subscribe(eq(10L), any())).thenAnswer(subscribe -> {
+            TraceStreamSink sink = subscribe.getArgument(1);
+            doAnswer(start -> {
+                List<OrderTrace> replay = start.getArgument(0);
+                for (OrderTrace trace : replay) {
+                    sink.send(trace);
+                }
+                sink.send(delivered);
+                sink.complete();
+                return null;
+            }).when(subscription).start(any(), eq(lastEvent));
+            return subscription;
+        });
+
+        String body = webTestClient.get().uri("/api/orders/traces/10/stream")
+                .header("Last-Event-ID", PageCursors.encodeTraceCursor(
+                        OrderTrace.builder().id(4L).timestamp(lastEvent.timestamp()).build()))
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertTrue(body.contains("id:" + PageCursors.encodeTraceCursor(history)));
+        assertTrue(body.contains("id:" + PageCursors.encodeTraceCursor(delivered)));
+        assertTrue(body.contains("\"newStatus\":\"DELIVERED\""));
+        verify(subscription).cancel();
+    }
+
+    @Test
+    void streamOrderTracesShouldRejectInvalidLastEventId() {
+        webTestClient.get().uri("/api/orders/traces/10/stream")
+                .header("Last-Event-ID", "abc")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void efficiencyRoutesShouldServeOrderAndRanking() {
+        when(orderEfficiencyService.getOrderEfficiency(3L, TimeWindow.ALL_TIME)).thenReturn(Mono.just(
+                OrderEfficiency.builder().orderId(3L).durationInMinutes(25L).build()).publishOn(Schedulers.parallel()));
+        when(orderEfficiencyService.getEmployeesEfficiencyRanking(any(), eq(TimeWindow.ALL_TIME))).thenReturn(Mono.just(
+                new KeysetPage<>(List.of(EmployeeEfficiency.builder().employeeId(1L).employeeEmail("e@test.com")
+                        .averageDurationInMinutes(12.5).processedOrders(4L).totalDurationInMinutes(50L).build()), true))
+                .publishOn(Schedulers.parallel()));
+
+        webTestClient.get().uri("/api/orders/efficiency/3")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.durationInMinutes").isEqualTo(25);
+
+        webTestClient.get().uri("/api/orders/efficiency/employees/ranking")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data[0].employeeId").isEqualTo(1)
+                .jsonPath("$.nextCursor").exists();
+    }
+
+    @Test
+    void efficiencyRoutesShouldRejectInvertedWindow() {
+        webTestClient.get().uri("/api/orders/efficiency/employees/ranking?from=2025-01-02T00:00:00&to=2025-01-01T00:00:00")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webTestClient.get().uri("/api/orders/efficiency/3?from=yesterday")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webTestClient.get().uri("/api/orders/efficiency/employees/ranking?order=median")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}